@@ -75,10 +75,10 @@ class ConsoleService {
     private var newPersistedConcepts = mutableListOf<PersistedConceptEntry>()
 
     // Cache for QueryTrees to support lazy loading
-    private var queryTreeCache: Map<String, QueryTree<*>> = emptyMap()
+    private var queryTreeCache: MutableMap<String, QueryTree<*>> = mutableMapOf()
 
     // Cache for parent relationships to support tree expansion
-    private var queryTreeParentMap: Map<String, String> = emptyMap()
+    private var queryTreeParentMap: MutableMap<String, String> = mutableMapOf()
 
     /**
      * Analyzes the given source directory and returns the analysis result as [AnalysisResultJSON].
@@ -146,29 +146,27 @@ class ConsoleService {
      * lazy loading of QueryTree children and builds parent relationships for tree expansion.
      */
     private fun populateQueryTreeCache(requirementsResults: Map<String, QueryTree<Boolean>>?) {
-        if (requirementsResults == null) {
-            queryTreeCache = emptyMap()
-            queryTreeParentMap = emptyMap()
-            return
-        }
-
         val cache = mutableMapOf<String, QueryTree<*>>()
         val parentMap = mutableMapOf<String, String>()
 
-        // Recursively collect all QueryTrees and build parent relationships
-        fun collectQueryTrees(queryTree: QueryTree<*>) {
-            cache[queryTree.id.toString()] = queryTree
-            queryTree.children.forEach { child ->
-                parentMap[child.id.toString()] = queryTree.id.toString()
-                collectQueryTrees(child)
-            }
-        }
-
-        requirementsResults.values.forEach { collectQueryTrees(it) }
+        requirementsResults?.values?.forEach { collectQueryTrees(it, cache, parentMap) }
         queryTreeCache = cache
         queryTreeParentMap = parentMap
     }
 
+    /** Recursively collects all QueryTrees below [queryTree] and builds parent relationships. */
+    private fun collectQueryTrees(
+        queryTree: QueryTree<*>,
+        cache: MutableMap<String, QueryTree<*>>,
+        parentMap: MutableMap<String, String>,
+    ) {
+        cache[queryTree.id.toString()] = queryTree
+        queryTree.children.forEach { child ->
+            parentMap[child.id.toString()] = queryTree.id.toString()
+            collectQueryTrees(child, cache, parentMap)
+        }
+    }
+
     /** Returns the translation result of the last analysis as [AnalysisResultJSON]. */
     fun getTranslationResult(): AnalysisResultJSON? {
         return analysisResult
@@ -216,6 +214,20 @@ class ConsoleService {
         return queryTreeCache[queryTreeId]?.toJSON()
     }
 
+    /**
+     * Restores the evidence of the QueryTree with the given ID that was omitted because of
+     * [QueryTree.maxEvidence] and returns the expanded QueryTree as [QueryTreeJSON]. The restored
+     * children are added to the cache so that they can be lazily loaded afterwards.
+     */
+    fun expandQueryTree(queryTreeId: String): QueryTreeJSON? {
+        val queryTree = queryTreeCache[queryTreeId] ?: return null
+        if (queryTree.expandEvidence()) {
+            collectQueryTrees(queryTree, queryTreeCache, queryTreeParentMap)
+        }
+
+        return queryTree.toJSON()
+    }
+
     /** Returns multiple QueryTrees by their IDs as a list of [QueryTreeJSON] for lazy loading. */
     fun getQueryTrees(queryTreeIds: List<String>): List<QueryTreeJSON> {
         val results =
@@ -201,6 +201,7 @@ data class QueryTreeJSON(
     val childrenWithAssumptionIds: Map<String, List<String>> =
         emptyMap(), // Map from assumption ID to list of child QueryTree IDs with that assumption
     val hasChildren: Boolean = false, // Quick check for UI expansion
+    val omittedChildren: Int = 0, // Number of children not retained due to the evidence bound
     val nodeId: String? = null, // UUID of associated node, if any
     val node: NodeJSON? = null, // Full node information, if any
     val callerInfo: CallerInfoJSON? = null, // Information about where the query was called from
@@ -479,7 +480,8 @@ fun <T> QueryTree<T>.toJSON(): QueryTreeJSON {
         queryTreeType = queryTreeType,
         childrenIds = this.children.map { it.id.toString() },
         childrenWithAssumptionIds = this.getChildrenGroupedByAssumptions(),
-        hasChildren = this.children.isNotEmpty(),
+        hasChildren = this.children.isNotEmpty() || this.omittedChildren > 0,
+        omittedChildren = this.omittedChildren,
         nodeId = this.node?.id?.toString(),
         node = this.node?.toJSON(noEdges = true),
         callerInfo =
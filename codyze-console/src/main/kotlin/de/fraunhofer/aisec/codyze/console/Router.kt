@@ -250,6 +250,23 @@ fun Routing.apiRoutes(service: ConsoleService, chatEnabled: Boolean) {
             }
         }
 
+        // The endpoint to restore the omitted evidence of a QueryTree
+        post("/querytrees/{queryTreeId}/expand") {
+            val queryTreeId =
+                call.parameters["queryTreeId"]
+                    ?: return@post call.respond(
+                        HttpStatusCode.BadRequest,
+                        mapOf("error" to "Missing QueryTree ID"),
+                    )
+
+            val queryTree = service.expandQueryTree(queryTreeId)
+            if (queryTree != null) {
+                call.respond(queryTree)
+            } else {
+                call.respond(HttpStatusCode.NotFound, mapOf("error" to "QueryTree not found"))
+            }
+        }
+
         // Feature flags endpoint
         get("/features") { call.respond(mapOf("mcpEnabled" to chatEnabled)) }
 
@@ -40,14 +40,28 @@ import de.fraunhofer.aisec.cpg.TranslationResult.Companion.DEFAULT_APPLICATION_N
 import de.fraunhofer.aisec.cpg.assumptions.Assumption
 import de.fraunhofer.aisec.cpg.assumptions.AssumptionStatus
 import de.fraunhofer.aisec.cpg.graph.ContextProvider
+import de.fraunhofer.aisec.cpg.fingerprint
+import de.fraunhofer.aisec.cpg.persistence.loadSnapshot
+import de.fraunhofer.aisec.cpg.persistence.persistSnapshot
+import de.fraunhofer.aisec.cpg.persistence.toTranslationResult
 import de.fraunhofer.aisec.cpg.project.Project
+import de.fraunhofer.aisec.cpg.query.QueryMemo
 import de.fraunhofer.aisec.cpg.query.QueryTree
 import io.github.detekt.sarif4k.*
 import java.io.File
 import java.nio.file.Path
+import java.security.MessageDigest
+import java.util.HexFormat
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
 import kotlin.io.path.Path
 import kotlin.io.path.isDirectory
 import kotlin.io.path.listDirectoryEntries
+import kotlin.time.DurationUnit
+import kotlin.time.measureTimedValue
+import org.apache.commons.lang3.builder.ReflectionToStringBuilder
+import org.apache.commons.lang3.builder.ToStringStyle
 
 /** Options common to all subcommands dealing projects. */
 class ProjectOptions : OptionGroup("Project Options") {
@@ -145,8 +159,101 @@ class AnalysisProject(
     var postProcess:
         (AnalysisProject.(AnalysisResult) -> Pair<List<ReportingDescriptor>, List<Result>>)? =
         null,
+    /**
+     * The number of threads used to evaluate the [requirementFunctions] on the translated graph. By
+     * default, requirements are evaluated one after another. A higher value should only be set if
+     * all requirement functions can safely be evaluated concurrently, e.g., if they do not modify
+     * shared state.
+     */
+    var requirementParallelism: Int = 1,
+    /**
+     * The maximum number of pieces of evidence (e.g., paths) that are retained in the query trees
+     * of the requirements. Omitted evidence can be restored on demand, e.g., in the console. All
+     * evidence is retained if this is null.
+     */
+    var maxEvidence: Int? = null,
+    /**
+     * A snapshot file of the translated graph (see [persistSnapshot]). If the file exists and was
+     * created from the same source files and configuration, the graph is loaded from it instead of
+     * running the translation. Otherwise, the translation result is persisted to this file, so that
+     * later analyses can skip the translation.
+     */
+    var snapshot: Path? = null,
 ) {
 
+    /**
+     * Translates the project, or loads the translation result from the [snapshot] file if it
+     * exists and its fingerprint matches the current inputs (see [inputFingerprint]).
+     */
+    private fun translate(): TranslationResult {
+        val snapshot = snapshot?.toFile() ?: return translateSources()
+
+        val fingerprint = inputFingerprint()
+        if (snapshot.exists()) {
+            loadSnapshot(snapshot).use {
+                if (it.fingerprint == fingerprint) {
+                    return it.toTranslationResult(config)
+                }
+            }
+        }
+
+        val tr = translateSources()
+        tr.persistSnapshot(snapshot, fingerprint)
+
+        return tr
+    }
+
+    private fun translateSources(): TranslationResult {
+        return TranslationManager.builder().config(config).build().analyze().get()
+    }
+
+    /**
+     * Computes a fingerprint of the inputs of the translation, i.e., the contents of all source
+     * files and the options of the [config] that influence the translated graph. Options are
+     * compared by their string representation, so options without a meaningful one (e.g., some pass
+     * configurations) make every snapshot outdated.
+     */
+    private fun inputFingerprint(): String {
+        val digest = MessageDigest.getInstance("SHA-256")
+        fun add(value: Any?) = digest.update("$value\n".toByteArray(Charsets.UTF_8))
+        fun describe(value: Any) =
+            ReflectionToStringBuilder.toString(value, ToStringStyle.SHORT_PREFIX_STYLE)
+
+        for ((component, locations) in config.softwareComponents.toSortedMap()) {
+            add(component)
+            locations
+                .flatMap { location -> location.walkTopDown().filter { it.isFile }.toList() }
+                .sortedBy { it.absolutePath }
+                .forEach {
+                    add(it.absolutePath)
+                    add(it.fingerprint)
+                }
+        }
+
+        with(config) {
+            add(symbols.toSortedMap())
+            add(topLevels.toSortedMap())
+            add(listOf(includePaths, includeWhitelist, includeBlocklist))
+            add(listOf(loadIncludes, addIncludesToGraph, processAnnotations, useUnityBuild))
+            add(listOf(matchCommentsToNodes, disableTypeObserver, maxPassExecutions))
+            add(exclusionPatternsByString)
+            add(exclusionPatternsByRegex.map { it.pattern })
+            add(languages.map { it.qualifiedName }.sorted())
+            add(registeredPasses.map { layer -> layer.map { it.qualifiedName } })
+            add(replacedPasses)
+            add(describe(inferenceConfiguration))
+            passConfigurations.entries
+                .sortedBy { it.key.qualifiedName }
+                .forEach { (pass, configuration) ->
+                    add(pass.qualifiedName)
+                    add(describe(configuration))
+                }
+            with(targetEnvironment) { add(listOf(os, architecture, env.toSortedMap(), sysroot)) }
+        }
+
+        return HexFormat.of().formatHex(digest.digest())
+    }
+
     /** Analyzes the project and returns the result. */
     fun analyze(): AnalysisResult {
         // Propagate assumption status
@@ -155,11 +262,16 @@ class AnalysisProject(
         // Propagate suppressed query tree IDs into translation result
         QueryTree.suppressions += suppressedQueryTreeIDs
 
-        val tr = TranslationManager.builder().config(config).build().analyze().get()
+        // Propagate the bound for the retained evidence
+        QueryTree.maxEvidence = maxEvidence
 
-        // Run requirements
-        val requirementsResults =
-            requirementFunctions.map { (name, func) -> Pair(name, func(tr)) }.associate { it }
+        val tr = translate()
+
+        // Run requirements. All requirements share a memo for the results of path-based queries,
+        // since many of them start the same traversals from the same nodes.
+        val memo = QueryMemo()
+        val durations = ConcurrentHashMap<String, Long>()
+        val requirementsResults = evaluateRequirements(tr, memo, durations)
 
         // Prepare analysis result
         val runs = mutableListOf<Run>()
@@ -183,12 +295,61 @@ class AnalysisProject(
                     config.topLevels
                         .mapNotNull { Pair(it.key, it.toSarifLocation()) }
                         .associate { it },
+                properties =
+                    PropertyBag(
+                        mapOf(
+                            "requirementDurationsMillis" to
+                                requirementsResults.keys.associateWith { durations[it] },
+                            "queryMemoHits" to memo.hits.get(),
+                            "queryMemoMisses" to memo.misses.get(),
+                        )
+                    ),
             )
         runs += run
 
         return result
     }
 
+    /**
+     * Evaluates the [requirementFunctions] on [tr] using up to [requirementParallelism] threads and
+     * records the wall-clock time (in milliseconds) of each requirement in [durations]. The graph
+     * is not modified anymore at this point, so the requirements can safely read it concurrently.
+     * Each requirement is evaluated with [memo] installed on the thread evaluating it.
+     */
+    private fun evaluateRequirements(
+        tr: TranslationResult,
+        memo: QueryMemo,
+        durations: MutableMap<String, Long>,
+    ): Map<String, QueryTree<Boolean>> {
+        fun evaluate(name: String, func: TranslationResult.() -> QueryTree<Boolean>) =
+            measureTimedValue { QueryMemo.withMemo(memo) { func(tr) } }
+                .also { durations[name] = it.duration.toLong(DurationUnit.MILLISECONDS) }
+                .value
+
+        val threads = requirementParallelism.coerceAtMost(requirementFunctions.size)
+        if (threads <= 1) {
+            return requirementFunctions.mapValues { (name, func) -> evaluate(name, func) }
+        }
+
+        val pool = Executors.newFixedThreadPool(threads)
+        try {
+            val futures =
+                requirementFunctions.mapValues { (name, func) ->
+                    pool.submit<QueryTree<Boolean>> { evaluate(name, func) }
+                }
+            // Collect the results in the order of the requirements
+            return futures.mapValues { (_, future) ->
+                try {
+                    future.get()
+                } catch (e: ExecutionException) {
+                    throw e.cause ?: e
+                }
+            }
+        } finally {
+            pool.shutdownNow()
+        }
+    }
+
     companion object {
         /**
          * Builds a new [AnalysisProject] from a directory that contains a `project.codyze.kts`
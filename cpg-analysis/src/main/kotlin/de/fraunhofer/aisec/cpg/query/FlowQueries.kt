@@ -187,10 +187,15 @@ fun dataFlow(
 ): QueryTree<Boolean> {
     val collectFailedPaths = type == Must
     val findAllPossiblePaths = type == Must
-    val earlyTermination = { n: Node, _: Context -> earlyTermination?.let { it(n) } == true }
+    val earlyTerminationWithContext = { n: Node, _: Context ->
+        earlyTermination?.let { it(n) } == true
+    }
 
-    val evalRes =
-        if (direction is Bidirectional) {
+    // The traversal may modify the context, so we keep a copy in case we have to re-evaluate the
+    // query to restore omitted evidence
+    val initialContext = ctx.clone()
+    fun evaluate(ctx: Context): FulfilledAndFailedPaths {
+        return if (direction is Bidirectional) {
                 arrayOf(Forward(GraphToFollow.DFG), Backward(GraphToFollow.DFG))
             } else {
                 arrayOf(direction)
@@ -204,12 +209,32 @@ fun dataFlow(
                         sensitivities = sensitivities,
                         scope = scope,
                         ctx = ctx,
-                        earlyTermination = earlyTermination,
+                        earlyTermination = earlyTerminationWithContext,
                         predicate = predicate,
                     )
             }
+    }
+
+    val evalRes =
+        QueryMemo.memoized(
+            "dataFlow",
+            startNode,
+            direction,
+            type,
+            sensitivities,
+            scope,
+            ctx,
+            earlyTermination,
+            predicate,
+        ) {
+            evaluate(ctx)
+        }
 
-    return type.createQueryTree(evalRes = evalRes, startNode = startNode, queryType = "data flow")
+    return type
+        .createQueryTree(evalRes = evalRes, startNode = startNode, queryType = "data flow")
+        .boundEvidence {
+            type.createQueryTree(evaluate(initialContext.clone()), startNode, "data flow").children
+        }
 }
 
 /**
@@ -234,10 +259,12 @@ fun executionPath(
 ): QueryTree<Boolean> {
     val collectFailedPaths = type == Must
     val findAllPossiblePaths = type == Must
-    val earlyTermination = { n: Node, _: Context -> earlyTermination?.let { it(n) } == true }
+    val earlyTerminationWithContext = { n: Node, _: Context ->
+        earlyTermination?.let { it(n) } == true
+    }
 
-    val evalRes =
-        if (direction is Bidirectional) {
+    fun evaluate(): FulfilledAndFailedPaths {
+        return if (direction is Bidirectional) {
                 arrayOf(Forward(GraphToFollow.EOG), Backward(GraphToFollow.EOG))
             } else {
                 arrayOf(direction)
@@ -250,16 +277,34 @@ fun executionPath(
                         direction = direction,
                         sensitivities = FilterUnreachableEOG + ContextSensitive,
                         scope = scope,
-                        earlyTermination = earlyTermination,
+                        earlyTermination = earlyTerminationWithContext,
                         predicate = predicate,
                     )
             }
+    }
 
-    return type.createQueryTree(
-        evalRes = evalRes,
-        startNode = startNode,
-        queryType = "execution path",
-    )
+    val evalRes =
+        QueryMemo.memoized(
+            "executionPath",
+            startNode,
+            direction,
+            type,
+            scope,
+            earlyTermination,
+            predicate,
+        ) {
+            evaluate()
+        }
+
+    return type
+        .createQueryTree(
+            evalRes = evalRes,
+            startNode = startNode,
+            queryType = "execution path",
+        )
+        .boundEvidence {
+            type.createQueryTree(evaluate(), startNode, "execution path").children
+        }
 }
 
 /**
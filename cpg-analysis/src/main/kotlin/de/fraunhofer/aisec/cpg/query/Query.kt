@@ -52,7 +52,9 @@ inline fun <reified T> Node.allExtended(
     noinline sel: ((T) -> Boolean)? = null,
     noinline mustSatisfy: (T) -> QueryTree<Boolean>,
 ): QueryTree<Boolean> {
-    return evaluateExtended(sel, mustSatisfy).mergeWithAll(node = this)
+    return evaluateExtended(sel, mustSatisfy).mergeWithAll(node = this).boundEvidence {
+        evaluateExtended(sel, mustSatisfy)
+    }
 }
 
 /**
@@ -126,7 +128,9 @@ inline fun <reified T> Node.existsExtended(
     noinline sel: ((T) -> Boolean)? = null,
     noinline mustSatisfy: (T) -> QueryTree<Boolean>,
 ): QueryTree<Boolean> {
-    return evaluateExtended(sel, mustSatisfy).mergeWithAny(node = this)
+    return evaluateExtended(sel, mustSatisfy).mergeWithAny(node = this).boundEvidence {
+        evaluateExtended(sel, mustSatisfy)
+    }
 }
 
 /**
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2026, Fraunhofer AISEC. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *                    $$$$$$\  $$$$$$$\   $$$$$$\
+ *                   $$  __$$\ $$  __$$\ $$  __$$\
+ *                   $$ /  \__|$$ |  $$ |$$ /  \__|
+ *                   $$ |      $$$$$$$  |$$ |$$$$\
+ *                   $$ |      $$  ____/ $$ |\_$$ |
+ *                   $$ |  $$\ $$ |      $$ |  $$ |
+ *                   \$$$$$   |$$ |      \$$$$$   |
+ *                    \______/ \__|       \______/
+ *
+ */
+package de.fraunhofer.aisec.cpg.query
+
+import de.fraunhofer.aisec.cpg.graph.AnalysisDirection
+import de.fraunhofer.aisec.cpg.graph.AnalysisSensitivity
+import de.fraunhofer.aisec.cpg.graph.Context
+import de.fraunhofer.aisec.cpg.graph.FulfilledAndFailedPaths
+import de.fraunhofer.aisec.cpg.graph.Interprocedural
+import de.fraunhofer.aisec.cpg.graph.Intraprocedural
+import de.fraunhofer.aisec.cpg.graph.Node
+import java.lang.reflect.Modifier
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+import kotlin.jvm.internal.CallableReference
+
+/**
+ * A memo for the results of the path-based queries (e.g., [dataFlow] and [executionPath]) which can
+ * be shared by several requirements that are evaluated on the same (read-only) graph. The results
+ * are keyed by the query, the start node (by identity) and the parameters of the query.
+ *
+ * Only the traversal result ([FulfilledAndFailedPaths]) is memoised, the [QueryTree]s are built
+ * anew for every call, so that they can be modified (e.g., suppressed) per requirement. A query is
+ * only memoised if all of its parameters can be compared: lambdas which do not capture any state
+ * are keyed by their class and function references which are not bound to a receiver by [equals].
+ * A lambda capturing local state would only be equal to itself, so its results could never be
+ * reused and the call is not memoised. Analysis scopes other than [Intraprocedural] and
+ * [Interprocedural] as well as a non-empty [Context] disable the memo for the call.
+ *
+ * The memo is only used by the thread which installed it with [withMemo]. Threads which evaluate
+ * requirements in parallel each have to install the shared memo themselves.
+ *
+ * The memo keeps strong references to the start nodes and the paths of its results, so it should
+ * not outlive the evaluation of the requirements on a graph. To bound its size, at most
+ * [maxEntries] results are stored; further queries are still answered, but not memoised.
+ */
+class QueryMemo(val maxEntries: Int = DEFAULT_MAX_ENTRIES) {
+    private class Key(val query: String, val startNode: Node, val parameters: List<Any?>) {
+        override fun equals(other: Any?): Boolean {
+            return other is Key &&
+                query == other.query &&
+                startNode === other.startNode &&
+                parameters == other.parameters
+        }
+
+        override fun hashCode(): Int {
+            return 31 * (31 * query.hashCode() + System.identityHashCode(startNode)) +
+                parameters.hashCode()
+        }
+    }
+
+    private val results = ConcurrentHashMap<Key, FulfilledAndFailedPaths>()
+
+    /** The number of query calls which were answered from the memo. */
+    val hits = AtomicLong()
+
+    /** The number of query calls which had to be computed. */
+    val misses = AtomicLong()
+
+    /**
+     * Returns the memoised result of [query] from [startNode] with the given [parameters] or
+     * computes it with [compute]. If the same query is computed concurrently, the first stored
+     * result wins.
+     */
+    fun getOrCompute(
+        query: String,
+        startNode: Node,
+        parameters: List<Any?>,
+        compute: () -> FulfilledAndFailedPaths,
+    ): FulfilledAndFailedPaths {
+        val keyParameters = parameters.map { keyOf(it) }
+        if (keyParameters.any { it === Unsupported }) {
+            misses.incrementAndGet()
+            return compute()
+        }
+
+        val key = Key(query, startNode, keyParameters)
+        results[key]?.let {
+            hits.incrementAndGet()
+            return it
+        }
+
+        // We do not use computeIfAbsent here, since the predicates may issue further (memoised)
+        // queries while we hold the lock of the map
+        misses.incrementAndGet()
+        val result = compute()
+        if (results.size >= maxEntries) {
+            return result
+        }
+        return results.putIfAbsent(key, result) ?: result
+    }
+
+    /** Marks a parameter that cannot be part of a key. */
+    private object Unsupported
+
+    /** Returns a comparable representation of [parameter] or [Unsupported]. */
+    private fun keyOf(parameter: Any?): Any? {
+        return when (parameter) {
+            null,
+            is AnalysisType,
+            is AnalysisSensitivity -> parameter
+            is CallableReference ->
+                if (parameter.boundReceiver === CallableReference.NO_RECEIVER) parameter
+                else Unsupported
+            is Function<*> ->
+                if (capturesState.get(parameter.javaClass)) Unsupported else parameter.javaClass
+            is Array<*> -> parameter.map { keyOf(it) }.takeIf { Unsupported !in it } ?: Unsupported
+            is AnalysisDirection -> listOf(parameter::class, parameter.graphToFollow)
+            is Intraprocedural -> listOf(Intraprocedural::class, parameter.maxSteps)
+            is Interprocedural ->
+                listOf(Interprocedural::class, parameter.maxCallDepth, parameter.maxSteps)
+            is Context ->
+                if (
+                    parameter.steps == 0 &&
+                        parameter.indexStack.isEmpty() &&
+                        parameter.callStack.isEmpty() &&
+                        parameter.assumptions.isEmpty()
+                ) {
+                    Context::class
+                } else {
+                    Unsupported
+                }
+            else -> Unsupported
+        }
+    }
+
+    companion object {
+        /** The default for [maxEntries]. */
+        const val DEFAULT_MAX_ENTRIES = 100_000
+
+        /** Whether instances of a lambda class capture state, i.e., have instance fields. */
+        private val capturesState =
+            object : ClassValue<Boolean>() {
+                override fun computeValue(type: Class<*>): Boolean {
+                    return type.declaredFields.any { !Modifier.isStatic(it.modifiers) }
+                }
+            }
+
+        private val installed = ThreadLocal<QueryMemo?>()
+
+        /** The memo which is installed with [withMemo] on the current thread, if any. */
+        val current: QueryMemo?
+            get() = installed.get()
+
+        /**
+         * Installs [memo] on the current thread while [block] runs and restores the previous memo
+         * afterward.
+         */
+        fun <R> withMemo(memo: QueryMemo, block: () -> R): R {
+            val previous = installed.get()
+            installed.set(memo)
+            try {
+                return block()
+            } finally {
+                installed.set(previous)
+            }
+        }
+
+        /**
+         * Returns the result of [compute] from the [current] memo (or computes it if there is
+         * none). [query] identifies the query function, [parameters] its remaining arguments.
+         */
+        internal fun memoized(
+            query: String,
+            startNode: Node,
+            vararg parameters: Any?,
+            compute: () -> FulfilledAndFailedPaths,
+        ): FulfilledAndFailedPaths {
+            return current?.getOrCompute(query, startNode, parameters.asList(), compute)
+                ?: compute()
+        }
+    }
+}
@@ -98,9 +98,26 @@ open class QueryTree<T>(
      */
     open val confidence: AcceptanceStatus
         get() {
-            return calculateConfidence()
+            return completeConfidence ?: calculateConfidence()
         }
 
+    /**
+     * The confidence based on all children, if some of them were omitted by [boundEvidence]. This
+     * keeps the [confidence] independent of which children are retained.
+     */
+    private var completeConfidence: AcceptanceStatus? = null
+
+    /**
+     * Computes all [children] again if some of them were omitted by [boundEvidence]. See
+     * [expandEvidence].
+     */
+    var evidenceHandle: (() -> List<QueryTree<*>>)? = null
+        private set
+
+    /** The number of [children] which were omitted by [boundEvidence]. */
+    var omittedChildren: Int = 0
+        private set
+
     /**
      * A human-readable string representation of the query tree element. This should contain info
      * about the (syntactic) meaning or interpretation of this query tree.
@@ -158,6 +175,41 @@ open class QueryTree<T>(
         checkForSuppression()
     }
 
+    /**
+     * Retains at most [maxEvidence] of the [children], preferring those whose value equals [value],
+     * i.e., the ones which support the verdict (e.g., the failing paths of a failed [Must]
+     * analysis). The [value], [id] and [confidence] remain those computed from all children.
+     * [reevaluate] has to compute all children again, it is only called if a user requests the
+     * omitted evidence with [expandEvidence]. Returns this [QueryTree].
+     */
+    fun boundEvidence(reevaluate: () -> List<QueryTree<*>>): QueryTree<T> {
+        val max = maxEvidence ?: return this
+        if (children.size <= max) {
+            return this
+        }
+
+        completeConfidence = confidence
+        val (supporting, other) = children.partition { it.value == value }
+        omittedChildren = children.size - max
+        children = (supporting + other).take(max)
+        evidenceHandle = reevaluate
+        return this
+    }
+
+    /**
+     * Re-evaluates the [children] which were omitted by [boundEvidence]. Returns `true` if this
+     * [QueryTree] had omitted children.
+     */
+    fun expandEvidence(): Boolean {
+        val handle = evidenceHandle ?: return false
+
+        children = handle()
+        evidenceHandle = null
+        omittedChildren = 0
+        completeConfidence = null
+        return true
+    }
+
     /** Sets the [metricId] and returns this [QueryTree]. */
     fun withMetricId(metricId: String?): QueryTree<T> {
         this.metricId = metricId
@@ -348,6 +400,13 @@ open class QueryTree<T>(
 
     companion object {
         val suppressions = mutableMapOf<(QueryTree<*>) -> Boolean, Any>()
+
+        /**
+         * The maximum number of children retained by [boundEvidence] for the query trees of
+         * path-based queries and of [allExtended]/[existsExtended]. If `null`, all children are
+         * retained.
+         */
+        @Volatile var maxEvidence: Int? = null
     }
 }
 
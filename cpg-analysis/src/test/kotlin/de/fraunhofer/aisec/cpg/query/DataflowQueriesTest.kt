@@ -33,15 +33,92 @@ import de.fraunhofer.aisec.cpg.graph.expressions.Literal
 import de.fraunhofer.aisec.cpg.graph.expressions.Reference
 import de.fraunhofer.aisec.cpg.test.assertLocalName
 import de.fraunhofer.aisec.cpg.testcases.FlowQueriesTest
+import kotlin.concurrent.thread
 import kotlin.test.Test
 import kotlin.test.assertEquals
 import kotlin.test.assertFalse
 import kotlin.test.assertIs
 import kotlin.test.assertNotNull
+import kotlin.test.assertNull
 import kotlin.test.assertTrue
 
 class DataflowQueriesTest {
 
+    @Test
+    fun testQueryMemo() {
+        val result = FlowQueriesTest.verySimpleDataflow()
+        val literal5 = result.literals.singleOrNull { it.value == 5 }
+        assertNotNull(literal5)
+
+        val predicate = { n: Node -> (n.astParent as? Call)?.name?.localName == "baz" }
+        val query = {
+            dataFlow(
+                startNode = literal5,
+                direction = Forward(GraphToFollow.DFG),
+                scope = Intraprocedural(),
+                type = May,
+                predicate = predicate,
+            )
+        }
+
+        val memo = QueryMemo()
+        val (first, second) = QueryMemo.withMemo(memo) { Pair(query(), query()) }
+        assertEquals(1, memo.misses.get())
+        assertEquals(1, memo.hits.get())
+        assertNull(QueryMemo.current)
+
+        // The query trees are built for every call, only the paths are shared
+        assertTrue(first !== second)
+        assertEquals(first.value, second.value)
+        assertEquals(first.children.size, second.children.size)
+        assertEquals(query().value, first.value)
+
+        // A different scope is a different query
+        QueryMemo.withMemo(memo) {
+            dataFlow(
+                startNode = literal5,
+                direction = Forward(GraphToFollow.DFG),
+                scope = Intraprocedural(1),
+                type = May,
+                predicate = predicate,
+            )
+        }
+        assertEquals(2, memo.misses.get())
+
+        // The memo is only installed on the thread which called withMemo
+        QueryMemo.withMemo(memo) {
+            var other: QueryMemo? = memo
+            thread { other = QueryMemo.current }.join()
+            assertNull(other)
+        }
+
+        // A lambda capturing local state can never be hit again, so it is not memoised
+        val name = "baz"
+        val capturing = QueryMemo()
+        QueryMemo.withMemo(capturing) {
+            repeat(2) {
+                dataFlow(
+                    startNode = literal5,
+                    direction = Forward(GraphToFollow.DFG),
+                    scope = Intraprocedural(),
+                    type = May,
+                    predicate = { (it.astParent as? Call)?.name?.localName == name },
+                )
+            }
+        }
+        assertEquals(2, capturing.misses.get())
+        assertEquals(0, capturing.hits.get())
+
+        // No results are stored beyond the maximum number of entries
+        val bounded = QueryMemo(maxEntries = 0)
+        QueryMemo.withMemo(bounded) {
+            query()
+            query()
+        }
+        assertEquals(2, bounded.misses.get())
+        assertEquals(0, bounded.hits.get())
+    }
+
     @Test
     fun testIntraproceduralForwardDFG() {
         val result = FlowQueriesTest.verySimpleDataflow()
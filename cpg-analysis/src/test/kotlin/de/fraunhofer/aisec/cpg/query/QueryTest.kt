@@ -391,6 +391,37 @@ class QueryTest {
         println(queryTreeResult2.printNicely())
     }
 
+    @Test
+    fun testBoundedEvidence() {
+        val result = Query.getArray()
+
+        val mustSatisfy = { it: Node ->
+            QueryTree(it is Subscription, operator = GenericQueryOperators.EVALUATE)
+        }
+        val unbounded = result.allExtended<Node>(mustSatisfy = mustSatisfy)
+        assertFalse(unbounded.value)
+        assertTrue(unbounded.children.size > 2)
+
+        try {
+            QueryTree.maxEvidence = 2
+            val bounded = result.allExtended<Node>(mustSatisfy = mustSatisfy)
+            assertFalse(bounded.value)
+            assertEquals(unbounded.id, bounded.id)
+            assertEquals(unbounded.confidence, bounded.confidence)
+            assertEquals(2, bounded.children.size)
+            assertEquals(unbounded.children.size - 2, bounded.omittedChildren)
+            // The retained children are the ones which support the verdict
+            assertTrue(bounded.children.all { it.value == false })
+
+            assertTrue(bounded.expandEvidence())
+            assertEquals(unbounded.children.size, bounded.children.size)
+            assertEquals(0, bounded.omittedChildren)
+            assertFalse(bounded.expandEvidence())
+        } finally {
+            QueryTree.maxEvidence = null
+        }
+    }
+
     @Test
     fun testOutOfBoundsQueryExists() {
         val result = Query.getArray()
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2026, Fraunhofer AISEC. All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *                    $$$$$$\  $$$$$$$\   $$$$$$\
+ *                   $$  __$$\ $$  __$$\ $$  __$$\
+ *                   $$ /  \__|$$ |  $$ |$$ /  \__|
+ *                   $$ |      $$$$$$$  |$$ |$$$$\
+ *                   $$ |      $$  ____/ $$ |\_$$ |
+ *                   $$ |  $$\ $$ |      $$ |  $$ |
+ *                   \$$$$$   |$$ |      \$$$$$   |
+ *                    \______/ \__|       \______/
+ *
+ */
+plugins {
+    id("cpg.common-conventions")
+    alias(libs.plugins.jmh)
+}
+
+dependencies {
+    jmhImplementation(projects.cpgCore)
+    jmhImplementation(testFixtures(projects.cpgCore))
+    // The frontend benchmarks need the actual language frontends, but they are only available if
+    // enabled. Benchmarks for a frontend that is not enabled fail with a descriptive message.
+    findProject(":cpg-language-cxx")?.also { jmhImplementation(it) }
+    findProject(":cpg-language-java")?.also { jmhImplementation(it) }
+    findProject(":cpg-language-python")?.also { jmhImplementation(it) }
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    warmupIterations.set(2)
+    iterations.set(5)
+    fork.set(1)
+    resultFormat.set("JSON")
+    // Allows to run a subset of the suites, e.g., `-PjmhIncludes=PassBenchmark`
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.set(listOf(it)) }
+}
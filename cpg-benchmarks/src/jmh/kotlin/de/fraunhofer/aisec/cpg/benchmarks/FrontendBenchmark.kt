@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026, Fraunhofer AISEC. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *                    $$$$$$\  $$$$$$$\   $$$$$$\
+ *                   $$  __$$\ $$  __$$\ $$  __$$\
+ *                   $$ /  \__|$$ |  $$ |$$ /  \__|
+ *                   $$ |      $$$$$$$  |$$ |$$$$\
+ *                   $$ |      $$  ____/ $$ |\_$$ |
+ *                   $$ |  $$\ $$ |      $$ |  $$ |
+ *                   \$$$$$   |$$ |      \$$$$$   |
+ *                    \______/ \__|       \______/
+ *
+ */
+package de.fraunhofer.aisec.cpg.benchmarks
+
+import de.fraunhofer.aisec.cpg.TranslationConfiguration
+import de.fraunhofer.aisec.cpg.TranslationManager
+import de.fraunhofer.aisec.cpg.TranslationResult
+import java.io.File
+import java.nio.file.Files
+import java.util.concurrent.TimeUnit
+import org.openjdk.jmh.annotations.*
+
+/**
+ * Measures the time it takes a language frontend to translate a set of synthetic source files
+ * (see [cxxSource], [javaSource] and [pythonSource]) into a [TranslationResult]. No passes are
+ * executed, so this only covers parsing and the initial AST construction.
+ *
+ * The frontends are looked up by their class name, since they are optional modules. A benchmark
+ * for a frontend that is not enabled in the build fails during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class FrontendBenchmark {
+
+    enum class Frontend(
+        val languageClass: String,
+        val extension: String,
+        val source: (Size, Int) -> String,
+    ) {
+        CXX("de.fraunhofer.aisec.cpg.frontends.cxx.CPPLanguage", "cpp", ::cxxSource),
+        JAVA("de.fraunhofer.aisec.cpg.frontends.java.JavaLanguage", "java", ::javaSource),
+        PYTHON("de.fraunhofer.aisec.cpg.frontends.python.PythonLanguage", "py", ::pythonSource),
+    }
+
+    @Param lateinit var frontend: Frontend
+
+    @Param lateinit var size: Size
+
+    private lateinit var directory: File
+    private lateinit var config: TranslationConfiguration
+
+    @Setup(Level.Trial)
+    fun setup() {
+        directory = Files.createTempDirectory("cpg-benchmark").toFile()
+        val files =
+            (0 until size.translationUnits).map { tu ->
+                // Java requires the file name to match the public class
+                val name = if (frontend == Frontend.JAVA) "Tu$tu" else "tu$tu"
+                File(directory, "$name.${frontend.extension}").apply {
+                    writeText(frontend.source(size, tu))
+                }
+            }
+
+        config =
+            TranslationConfiguration.builder()
+                .sourceLocations(files)
+                .topLevel(directory)
+                .registerLanguage(frontend.languageClass)
+                .build()
+    }
+
+    @TearDown(Level.Trial)
+    fun tearDown() {
+        directory.deleteRecursively()
+    }
+
+    @Benchmark
+    fun parse(): TranslationResult {
+        return TranslationManager.builder().config(config).build().analyze().get()
+    }
+}
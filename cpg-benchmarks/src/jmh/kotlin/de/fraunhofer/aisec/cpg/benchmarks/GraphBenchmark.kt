@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026, Fraunhofer AISEC. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *                    $$$$$$\  $$$$$$$\   $$$$$$\
+ *                   $$  __$$\ $$  __$$\ $$  __$$\
+ *                   $$ /  \__|$$ |  $$ |$$ /  \__|
+ *                   $$ |      $$$$$$$  |$$ |$$$$\
+ *                   $$ |      $$  ____/ $$ |\_$$ |
+ *                   $$ |  $$\ $$ |      $$ |  $$ |
+ *                   \$$$$$   |$$ |      \$$$$$   |
+ *                    \______/ \__|       \______/
+ *
+ */
+package de.fraunhofer.aisec.cpg.benchmarks
+
+import de.fraunhofer.aisec.cpg.TranslationResult
+import de.fraunhofer.aisec.cpg.graph.*
+import de.fraunhofer.aisec.cpg.graph.declarations.Function
+import de.fraunhofer.aisec.cpg.graph.edges.flows.EvaluationOrder
+import de.fraunhofer.aisec.cpg.graph.expressions.Literal
+import de.fraunhofer.aisec.cpg.graph.expressions.Return
+import de.fraunhofer.aisec.cpg.helpers.SubgraphWalker
+import de.fraunhofer.aisec.cpg.helpers.functional.Lattice
+import de.fraunhofer.aisec.cpg.helpers.functional.PowersetLattice
+import de.fraunhofer.aisec.cpg.passes.ControlFlowSensitiveDFGPass
+import de.fraunhofer.aisec.cpg.passes.SymbolResolver
+import java.util.concurrent.TimeUnit
+import org.openjdk.jmh.annotations.*
+import org.openjdk.jmh.infra.Blackhole
+
+/**
+ * Measures commonly used graph traversals and queries on a fully analyzed synthetic input (see
+ * [syntheticTranslationResult]). The graph is only built once per trial, since none of the
+ * benchmarks modify it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class GraphBenchmark {
+
+    @Param lateinit var size: Size
+
+    private lateinit var result: TranslationResult
+    private lateinit var functions: List<Function>
+    private lateinit var returns: List<Return>
+
+    @Setup(Level.Trial)
+    fun setup() {
+        result =
+            syntheticTranslationResult(
+                size,
+                listOf(SymbolResolver::class, ControlFlowSensitiveDFGPass::class),
+            )
+        functions = result.functions
+        returns = result.returns
+    }
+
+    @Benchmark
+    fun flattenAST(): Int {
+        return SubgraphWalker.flattenAST(result).size
+    }
+
+    @Benchmark
+    fun followDFGEdgesUntilHit(blackhole: Blackhole) {
+        for (ret in returns) {
+            blackhole.consume(
+                ret.followDFGEdgesUntilHit(direction = Backward(GraphToFollow.DFG)) {
+                    it is Literal<*>
+                }
+            )
+        }
+    }
+
+    @Benchmark
+    fun iterateEOG(blackhole: Blackhole) {
+        val lattice = PowersetLattice<Node>()
+        for (function in functions) {
+            blackhole.consume(
+                lattice.iterateEOG(function.nextEOGEdges, PowersetLattice.Element(), ::transfer)
+            )
+        }
+    }
+
+    /** Collects all nodes that are reachable via the EOG. */
+    private suspend fun transfer(
+        lattice: Lattice<PowersetLattice.Element<Node>>,
+        edge: EvaluationOrder,
+        state: PowersetLattice.Element<Node>,
+    ): PowersetLattice.Element<Node> {
+        return lattice.lub(state, PowersetLattice.Element(edge.end), false)
+    }
+}
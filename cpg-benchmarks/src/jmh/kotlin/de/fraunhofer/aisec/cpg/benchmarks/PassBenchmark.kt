@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026, Fraunhofer AISEC. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *                    $$$$$$\  $$$$$$$\   $$$$$$\
+ *                   $$  __$$\ $$  __$$\ $$  __$$\
+ *                   $$ /  \__|$$ |  $$ |$$ /  \__|
+ *                   $$ |      $$$$$$$  |$$ |$$$$\
+ *                   $$ |      $$  ____/ $$ |\_$$ |
+ *                   $$ |  $$\ $$ |      $$ |  $$ |
+ *                   \$$$$$   |$$ |      \$$$$$   |
+ *                    \______/ \__|       \______/
+ *
+ */
+package de.fraunhofer.aisec.cpg.benchmarks
+
+import de.fraunhofer.aisec.cpg.TranslationResult
+import de.fraunhofer.aisec.cpg.passes.*
+import java.util.concurrent.TimeUnit
+import kotlin.reflect.KClass
+import org.openjdk.jmh.annotations.*
+
+/**
+ * Measures the execution time of individual core passes on the synthetic inputs of
+ * [syntheticTranslationResult]. Before each invocation, a fresh graph is built and all hard
+ * dependencies of the benchmarked pass are executed, so that only the pass itself is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class PassBenchmark {
+
+    enum class BenchmarkedPass(val passClass: KClass<out Pass<*>>) {
+        SYMBOL_RESOLVER(SymbolResolver::class),
+        EOG(EvaluationOrderGraphPass::class),
+        CONTROL_FLOW_SENSITIVE_DFG(ControlFlowSensitiveDFGPass::class),
+        POINTS_TO(PointsToPass::class),
+    }
+
+    @Param lateinit var pass: BenchmarkedPass
+
+    @Param lateinit var size: Size
+
+    private lateinit var result: TranslationResult
+
+    /**
+     * Reports how many symbol lookups of the benchmarked pass were answered by the symbol lookup
+     * cache of the [de.fraunhofer.aisec.cpg.ScopeManager] as additional benchmark results.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    open class SymbolLookupCounters {
+        @JvmField var symbolLookupCacheHits = 0L
+        @JvmField var symbolLookupCacheMisses = 0L
+
+        @Setup(Level.Iteration)
+        fun reset() {
+            symbolLookupCacheHits = 0L
+            symbolLookupCacheMisses = 0L
+        }
+    }
+
+    @Setup(Level.Invocation)
+    fun setup() {
+        result = syntheticTranslationResult(size, pass.passClass.hardDependencies)
+    }
+
+    @Benchmark
+    fun execute(counters: SymbolLookupCounters): TranslationResult {
+        val scopeManager = result.finalCtx.scopeManager
+        val hits = scopeManager.symbolLookupCacheHits
+        val misses = scopeManager.symbolLookupCacheMisses
+
+        executePass(pass.passClass, result.finalCtx, result, listOf())
+
+        counters.symbolLookupCacheHits += scopeManager.symbolLookupCacheHits - hits
+        counters.symbolLookupCacheMisses += scopeManager.symbolLookupCacheMisses - misses
+        return result
+    }
+}
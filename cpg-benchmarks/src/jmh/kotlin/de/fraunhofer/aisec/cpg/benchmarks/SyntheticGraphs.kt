@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026, Fraunhofer AISEC. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *                    $$$$$$\  $$$$$$$\   $$$$$$\
+ *                   $$  __$$\ $$  __$$\ $$  __$$\
+ *                   $$ /  \__|$$ |  $$ |$$ /  \__|
+ *                   $$ |      $$$$$$$  |$$ |$$$$\
+ *                   $$ |      $$  ____/ $$ |\_$$ |
+ *                   $$ |  $$\ $$ |      $$ |  $$ |
+ *                   \$$$$$   |$$ |      \$$$$$   |
+ *                    \______/ \__|       \______/
+ *
+ */
+package de.fraunhofer.aisec.cpg.benchmarks
+
+import de.fraunhofer.aisec.cpg.TranslationConfiguration
+import de.fraunhofer.aisec.cpg.TranslationResult
+import de.fraunhofer.aisec.cpg.frontends.TestLanguage
+import de.fraunhofer.aisec.cpg.frontends.testFrontend
+import de.fraunhofer.aisec.cpg.graph.builder.*
+import de.fraunhofer.aisec.cpg.passes.Pass
+import kotlin.reflect.KClass
+
+/**
+ * The size of a synthetic input. Each input consists of [translationUnits] translation units with
+ * [functions] functions each. Every function contains [statements] branches that update a local
+ * variable and calls the previous function of the same translation unit, so that the call graph
+ * forms a chain.
+ */
+enum class Size(val translationUnits: Int, val functions: Int, val statements: Int) {
+    SMALL(1, 10, 5),
+    MEDIUM(5, 50, 10),
+    LARGE(20, 100, 20),
+}
+
+/**
+ * Builds a synthetic [TranslationResult] of the given [size] using the Fluent Node DSL and the
+ * [TestLanguage]. Only the given [passes] (and their hard dependencies) are executed.
+ */
+fun syntheticTranslationResult(
+    size: Size,
+    passes: Collection<KClass<out Pass<*>>> = listOf(),
+): TranslationResult {
+    val builder = TranslationConfiguration.builder().registerLanguage<TestLanguage>()
+    passes.forEach { builder.registerPass(it) }
+
+    return testFrontend(builder.build()).build {
+        translationResult {
+            for (tu in 0 until size.translationUnits) {
+                translationUnit("tu$tu.cpp") {
+                    for (i in 0 until size.functions) {
+                        function("tu${tu}_f$i", t("int")) {
+                            param("p", t("int"))
+                            body {
+                                declare { variable("a", t("int")) { literal(0, t("int")) } }
+                                for (s in 0 until size.statements) {
+                                    ifStmt {
+                                        condition { ref("p") gt literal(s, t("int")) }
+                                        thenStmt { ref("a") assign { ref("a") + ref("p") } }
+                                        elseStmt {
+                                            ref("a") assign { ref("a") - literal(s, t("int")) }
+                                        }
+                                    }
+                                }
+                                if (i > 0) {
+                                    ref("a") assign { call("tu${tu}_f${i - 1}") { ref("a") } }
+                                }
+                                returnStmt { ref("a") }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
+
+/** Generates C++ source code that mirrors the structure of [syntheticTranslationResult]. */
+fun cxxSource(size: Size, tu: Int): String {
+    return buildString {
+        for (i in 0 until size.functions) {
+            appendLine("int tu${tu}_f$i(int p) {")
+            appendLine("  int a = 0;")
+            for (s in 0 until size.statements) {
+                appendLine("  if (p > $s) { a = a + p; } else { a = a - $s; }")
+            }
+            if (i > 0) appendLine("  a = tu${tu}_f${i - 1}(a);")
+            appendLine("  return a;")
+            appendLine("}")
+        }
+    }
+}
+
+/** Generates Java source code that mirrors the structure of [syntheticTranslationResult]. */
+fun javaSource(size: Size, tu: Int): String {
+    return buildString {
+        appendLine("public class Tu$tu {")
+        for (i in 0 until size.functions) {
+            appendLine("  static int f$i(int p) {")
+            appendLine("    int a = 0;")
+            for (s in 0 until size.statements) {
+                appendLine("    if (p > $s) { a = a + p; } else { a = a - $s; }")
+            }
+            if (i > 0) appendLine("    a = f${i - 1}(a);")
+            appendLine("    return a;")
+            appendLine("  }")
+        }
+        appendLine("}")
+    }
+}
+
+/** Generates Python source code that mirrors the structure of [syntheticTranslationResult]. */
+fun pythonSource(size: Size, tu: Int): String {
+    return buildString {
+        for (i in 0 until size.functions) {
+            appendLine("def tu${tu}_f$i(p):")
+            appendLine("    a = 0")
+            for (s in 0 until size.statements) {
+                appendLine("    if p > $s:")
+                appendLine("        a = a + p")
+                appendLine("    else:")
+                appendLine("        a = a - $s")
+            }
+            if (i > 0) appendLine("    a = tu${tu}_f${i - 1}(a)")
+            appendLine("    return a")
+            appendLine()
+        }
+    }
+}
@@ -26,26 +26,48 @@
 package de.fraunhofer.aisec.cpg.concepts
 
 import de.fraunhofer.aisec.cpg.frontends.cxx.CLanguage
+import de.fraunhofer.aisec.cpg.graph.Node
 import de.fraunhofer.aisec.cpg.graph.conceptNodes
 import de.fraunhofer.aisec.cpg.graph.concepts.arch.POSIX
 import de.fraunhofer.aisec.cpg.graph.concepts.arch.Win32
 import de.fraunhofer.aisec.cpg.graph.concepts.flows.Main
 import de.fraunhofer.aisec.cpg.graph.get
+import de.fraunhofer.aisec.cpg.passes.concepts.FusedConceptPass
+import de.fraunhofer.aisec.cpg.passes.concepts.config.ini.IniFileConfigurationSourcePass
 import de.fraunhofer.aisec.cpg.passes.concepts.flows.cxx.CXXEntryPointsPass
+import de.fraunhofer.aisec.cpg.passes.fusedPassGroups
+import de.fraunhofer.aisec.cpg.passes.supportsParallelExecution
 import de.fraunhofer.aisec.cpg.test.analyze
 import java.io.File
+import kotlin.test.assertEquals
 import kotlin.test.assertIs
 import kotlin.test.assertNotNull
+import kotlin.test.assertTrue
 import org.junit.jupiter.api.Test
 
 class EntryPointTest {
     @Test
     fun testCXX() {
+        checkCXX(fused = false)
+    }
+
+    @Test
+    fun testCXXFusedParallel() {
+        checkCXX(fused = true)
+    }
+
+    private fun checkCXX(fused: Boolean) {
         val topLevel = File("src/integrationTest/resources/c")
         val result =
             analyze(listOf(), topLevel.toPath(), true) {
                 it.registerLanguage<CLanguage>()
                 it.registerPass<CXXEntryPointsPass>()
+                if (fused) {
+                    // A second concept pass, so that both are walked together in parallel
+                    it.registerPass<IniFileConfigurationSourcePass>()
+                    it.useParallelPasses(true)
+                    it.useFusedPasses(true)
+                }
                 it.softwareComponents(
                     mutableMapOf(
                         "main" to listOf(topLevel.resolve("main")),
@@ -55,13 +77,22 @@ class EntryPointTest {
             }
         assertNotNull(result)
 
-        val main = result.components["main"]?.conceptNodes?.filterIsInstance<Main>()?.singleOrNull()
+        if (fused) {
+            val passes = listOf(CXXEntryPointsPass::class, IniFileConfigurationSourcePass::class)
+            assertEquals(passes, fusedPassGroups(passes, result.config)[FusedConceptPass::class])
+            assertTrue(passes.all { supportsParallelExecution(it, result.config) })
+        }
+
+        val mainComponent = result.components["main"]
+        val main = mainComponent?.conceptNodes?.filterIsInstance<Main>()?.singleOrNull()
         assertNotNull(main)
         assertIs<POSIX>(main.os)
+        assertEquals(listOf<Node>(main), mainComponent.incomingInteractions)
 
-        val winMain =
-            result.components["winmain"]?.conceptNodes?.filterIsInstance<Main>()?.singleOrNull()
+        val winMainComponent = result.components["winmain"]
+        val winMain = winMainComponent?.conceptNodes?.filterIsInstance<Main>()?.singleOrNull()
         assertNotNull(winMain)
         assertIs<Win32>(winMain.os)
+        assertEquals(listOf<Node>(winMain), winMainComponent.incomingInteractions)
     }
 }
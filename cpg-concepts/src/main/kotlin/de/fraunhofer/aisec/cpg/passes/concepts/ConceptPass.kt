@@ -25,7 +25,9 @@
  */
 package de.fraunhofer.aisec.cpg.passes.concepts
 
+import de.fraunhofer.aisec.cpg.TranslationConfiguration
 import de.fraunhofer.aisec.cpg.TranslationContext
+import de.fraunhofer.aisec.cpg.graph.Component
 import de.fraunhofer.aisec.cpg.graph.Node
 import de.fraunhofer.aisec.cpg.graph.allEOGStarters
 import de.fraunhofer.aisec.cpg.graph.component
@@ -35,7 +37,9 @@ import de.fraunhofer.aisec.cpg.graph.concepts.Operation
 import de.fraunhofer.aisec.cpg.graph.declarations.TranslationUnit
 import de.fraunhofer.aisec.cpg.helpers.SubgraphWalker
 import de.fraunhofer.aisec.cpg.passes.TranslationUnitPass
+import de.fraunhofer.aisec.cpg.passes.configuration.FusedBy
 import de.fraunhofer.aisec.cpg.processing.strategy.Strategy
+import kotlin.reflect.KClass
 
 /**
  * An abstract pass that is used to identify and create [Concept] and [Operation] nodes in the
@@ -43,21 +47,39 @@ import de.fraunhofer.aisec.cpg.processing.strategy.Strategy
  * the graph. This means it will visit each node exactly once what might result in missing handling
  * some paths in the EOG which is an issue if two paths lead to different results when generating
  * the [Concept]s and [Operation]s.
+ *
+ * If [TranslationConfiguration.useFusedPasses] is enabled, all [ConceptPass]es of the same
+ * dependency layer share a single walk per [TranslationUnit] (see [FusedConceptPass]).
  */
+@FusedBy(FusedConceptPass::class)
 abstract class ConceptPass(ctx: TranslationContext) : TranslationUnitPass(ctx) {
 
     lateinit var walker: SubgraphWalker.ScopedWalker<Node>
 
+    /**
+     * The component of the translation unit that is currently handled. Concept passes can be
+     * executed in parallel, so we do not store it in the shared [TranslationContext].
+     */
+    override var currentComponent: Component? = null
+
+    /**
+     * The types of nodes which are handled by [handleNode]. This is used by the [FusedConceptPass]
+     * to only dispatch nodes to the passes that are interested in them. Subclasses should narrow
+     * this down as far as possible.
+     */
+    open val handledNodeTypes: Set<KClass<out Node>> = setOf(Node::class)
+
     override fun accept(tu: TranslationUnit) {
-        ctx.currentComponent = tu.component
+        currentComponent = tu.component
         walker = SubgraphWalker.ScopedWalker(ctx.scopeManager, Strategy::EOG_FORWARD)
         walker.registerHandler { node -> handleNode(node, tu) }
 
-        // Gather all resolution EOG starters; and make sure they really do not have a
-        // predecessor, otherwise we might analyze a node multiple times
-        val nodes = tu.allEOGStarters.filter { it.prevEOGEdges.isEmpty() }
+        walker.iterateAll(tu.conceptPassStarters)
+    }
 
-        walker.iterateAll(nodes)
+    /** Checks, whether [node] is one of the [handledNodeTypes]. */
+    fun handles(node: Node): Boolean {
+        return handledNodeTypes.any { it.isInstance(node) }
     }
 
     /**
@@ -86,3 +108,10 @@ abstract class ConceptPass(ctx: TranslationContext) : TranslationUnitPass(ctx) {
         // Nothing to do
     }
 }
+
+/**
+ * Gathers all resolution EOG starters of this [TranslationUnit] for a [ConceptPass]; and makes sure
+ * they really do not have a predecessor, otherwise we might analyze a node multiple times.
+ */
+internal val TranslationUnit.conceptPassStarters: List<Node>
+    get() = this.allEOGStarters.filter { it.prevEOGEdges.isEmpty() }
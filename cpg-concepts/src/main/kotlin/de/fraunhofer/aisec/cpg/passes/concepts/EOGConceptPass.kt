@@ -38,6 +38,7 @@ import de.fraunhofer.aisec.cpg.helpers.functional.Lattice
 import de.fraunhofer.aisec.cpg.helpers.functional.PowersetLattice
 import de.fraunhofer.aisec.cpg.passes.*
 import de.fraunhofer.aisec.cpg.passes.configuration.DependsOn
+import de.fraunhofer.aisec.cpg.passes.configuration.FusedBy
 import kotlinx.coroutines.runBlocking
 
 typealias NodeToOverlayStateElement =
@@ -66,12 +67,16 @@ typealias NodeToOverlayState = ConcurrentMapLattice<Node, PowersetLattice.Elemen
 @DependsOn(EvaluationOrderGraphPass::class)
 @DependsOn(DFGPass::class)
 @DependsOn(ControlFlowSensitiveDFGPass::class, softDependency = true)
+@FusedBy(FusedEOGConceptPass::class)
 @Description("Creates Concept and Operation overlay nodes based on EOG traversal.")
 open class EOGConceptPass(ctx: TranslationContext) :
     EOGStarterPass(ctx, sort = EOGStarterLeastTUImportCatchLastSorter) {
 
-    /** Stores the current component in case we need it to look up some stuff. */
-    var currentComponent: Component? = null
+    /**
+     * Stores the current component in case we need it to look up some stuff. EOG concept passes
+     * can be executed in parallel, so we do not store it in the shared [TranslationContext].
+     */
+    override var currentComponent: Component? = null
 
     override fun cleanup() {
         // Nothing to do
@@ -82,36 +87,12 @@ open class EOGConceptPass(ctx: TranslationContext) :
     }
 
     override fun accept(node: Node) {
-        ctx.currentComponent = node.component
-        currentComponent = ctx.currentComponent
+        currentComponent = node.component
 
         val lattice = NodeToOverlayState(PowersetLattice())
         val startState = getInitialState(lattice, node)
 
-        val nextEog = node.nextEOGEdges
-        val finalState = runBlocking {
-            lattice.iterateEOG(nextEog, startState, ::transfer).first.let { tmpFinalState ->
-                lattice.lub(tmpFinalState, startState, true)
-            } ?: startState
-        }
-
-        // We set the underlying node based on the final state
-        for ((underlyingNode, overlayNodes) in finalState) {
-            overlayNodes.forEach {
-                it.underlyingNode = underlyingNode
-                if (it is Operation) {
-                    // Connect with the EOG
-                    underlyingNode.insertNodeAfterwardInEOGPath(it)
-                    // Call the default DFG method for this operation.
-                    it.setDFG()
-                    // Add the operation to the concept.
-                    it.concept.ops += it
-                } else if (it is Concept) {
-                    // Call the default DFG method for this operation.
-                    it.setDFG()
-                }
-            }
-        }
+        connectOverlays(iterateOverlays(lattice, node, startState, ::transfer))
     }
 
     /**
@@ -245,6 +226,50 @@ open class EOGConceptPass(ctx: TranslationContext) :
     }
 
     companion object {
+        /**
+         * Computes the fixpoint of [transfer] starting at [startNode] with [startState] and returns
+         * the final state, which contains all [OverlayNode]s created along the way.
+         */
+        internal fun iterateOverlays(
+            lattice: NodeToOverlayState,
+            startNode: Node,
+            startState: NodeToOverlayStateElement,
+            transfer:
+                suspend (
+                    Lattice<NodeToOverlayStateElement>,
+                    EvaluationOrder,
+                    NodeToOverlayStateElement,
+                ) -> NodeToOverlayStateElement,
+        ): NodeToOverlayStateElement {
+            val nextEog = startNode.nextEOGEdges
+            return runBlocking {
+                lattice.iterateEOG(nextEog, startState, transfer).first.let { tmpFinalState ->
+                    lattice.lub(tmpFinalState, startState, true)
+                } ?: startState
+            }
+        }
+
+        /** Connects all [OverlayNode]s in the [finalState] to their respective underlying node. */
+        internal fun connectOverlays(finalState: NodeToOverlayStateElement) {
+            // We set the underlying node based on the final state
+            for ((underlyingNode, overlayNodes) in finalState) {
+                overlayNodes.forEach {
+                    it.underlyingNode = underlyingNode
+                    if (it is Operation) {
+                        // Connect with the EOG
+                        underlyingNode.insertNodeAfterwardInEOGPath(it)
+                        // Call the default DFG method for this operation.
+                        it.setDFG()
+                        // Add the operation to the concept.
+                        it.concept.ops += it
+                    } else if (it is Concept) {
+                        // Call the default DFG method for this operation.
+                        it.setDFG()
+                    }
+                }
+            }
+        }
+
         /**
          * This is some magic to filter out overlays from [newOverlays] that are already in the
          * [currentState] (equal but not identical) for the same [node]. It also filters the
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2026, Fraunhofer AISEC. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *                    $$$$$$\  $$$$$$$\   $$$$$$\
+ *                   $$  __$$\ $$  __$$\ $$  __$$\
+ *                   $$ /  \__|$$ |  $$ |$$ /  \__|
+ *                   $$ |      $$$$$$$  |$$ |$$$$\
+ *                   $$ |      $$  ____/ $$ |\_$$ |
+ *                   $$ |  $$\ $$ |      $$ |  $$ |
+ *                   \$$$$$   |$$ |      \$$$$$   |
+ *                    \______/ \__|       \______/
+ *
+ */
+package de.fraunhofer.aisec.cpg.passes.concepts
+
+import de.fraunhofer.aisec.cpg.TranslationContext
+import de.fraunhofer.aisec.cpg.graph.Node
+import de.fraunhofer.aisec.cpg.graph.component
+import de.fraunhofer.aisec.cpg.graph.declarations.TranslationUnit
+import de.fraunhofer.aisec.cpg.helpers.SubgraphWalker
+import de.fraunhofer.aisec.cpg.passes.FusedPass
+import de.fraunhofer.aisec.cpg.passes.Pass
+import de.fraunhofer.aisec.cpg.passes.configuration.FusedBy
+import de.fraunhofer.aisec.cpg.processing.strategy.Strategy
+import kotlin.reflect.KClass
+
+/**
+ * Executes several [ConceptPass]es (see [FusedBy]) on a [TranslationUnit] with a single
+ * [SubgraphWalker.ScopedWalker]. Instead of calling the [ConceptPass.handleNode] of each pass for
+ * every node, we look up the passes which handle the class of the node (see
+ * [ConceptPass.handledNodeTypes]) in a table, which is filled on demand.
+ */
+class FusedConceptPass(ctx: TranslationContext, passes: List<KClass<out Pass<out Node>>>) :
+    FusedPass(ctx, passes) {
+
+    /** The passes which handle nodes of a certain class, in the order of the fused passes. */
+    private val handlers = HashMap<Class<out Node>, List<ConceptPass>>()
+
+    override fun acceptAll(tu: TranslationUnit, instances: List<Pass<*>>) {
+        val conceptPasses = instances.filterIsInstance<ConceptPass>()
+        val walker = SubgraphWalker.ScopedWalker(ctx.scopeManager, Strategy::EOG_FORWARD)
+        conceptPasses.forEach {
+            it.walker = walker
+            it.currentComponent = tu.component
+        }
+
+        walker.registerHandler { node ->
+            val passes =
+                handlers.getOrPut(node.javaClass) { conceptPasses.filter { it.handles(node) } }
+            passes.forEach { it.handleNode(node, tu) }
+        }
+
+        walker.iterateAll(tu.conceptPassStarters)
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026, Fraunhofer AISEC. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *                    $$$$$$\  $$$$$$$\   $$$$$$\
+ *                   $$  __$$\ $$  __$$\ $$  __$$\
+ *                   $$ /  \__|$$ |  $$ |$$ /  \__|
+ *                   $$ |      $$$$$$$  |$$ |$$$$\
+ *                   $$ |      $$  ____/ $$ |\_$$ |
+ *                   $$ |  $$\ $$ |      $$ |  $$ |
+ *                   \$$$$$   |$$ |      \$$$$$   |
+ *                    \______/ \__|       \______/
+ *
+ */
+package de.fraunhofer.aisec.cpg.passes.concepts
+
+import de.fraunhofer.aisec.cpg.TranslationContext
+import de.fraunhofer.aisec.cpg.graph.Node
+import de.fraunhofer.aisec.cpg.graph.allUniqueEOGStartersOrSingles
+import de.fraunhofer.aisec.cpg.graph.component
+import de.fraunhofer.aisec.cpg.graph.declarations.TranslationUnit
+import de.fraunhofer.aisec.cpg.graph.edges.flows.EvaluationOrder
+import de.fraunhofer.aisec.cpg.graph.expressions.CatchClause
+import de.fraunhofer.aisec.cpg.helpers.functional.Lattice
+import de.fraunhofer.aisec.cpg.helpers.functional.PowersetLattice
+import de.fraunhofer.aisec.cpg.passes.EOGStarterLeastTUImportCatchLastSorter
+import de.fraunhofer.aisec.cpg.passes.FusedPass
+import de.fraunhofer.aisec.cpg.passes.Pass
+import de.fraunhofer.aisec.cpg.passes.configuration.FusedBy
+import kotlin.reflect.KClass
+import kotlinx.coroutines.runBlocking
+
+/**
+ * Executes several [EOGConceptPass]es (see [FusedBy]) on the EOG starters of a [TranslationUnit].
+ * Instead of computing one fixpoint per pass, the transfer functions of all passes are applied one
+ * after another on a shared [NodeToOverlayState], so that each EOG is only iterated once. Since the
+ * fused passes belong to the same dependency layer, they do not rely on the overlays created by
+ * each other, which would otherwise only be visible via [Node.overlays] after the other pass has
+ * finished.
+ *
+ * The EOG starters are visited in the same order as with [EOGStarterLeastTUImportCatchLastSorter].
+ */
+class FusedEOGConceptPass(ctx: TranslationContext, passes: List<KClass<out Pass<out Node>>>) :
+    FusedPass(ctx, passes) {
+
+    override fun acceptAll(tu: TranslationUnit, instances: List<Pass<*>>) {
+        val eogPasses = instances.filterIsInstance<EOGConceptPass>()
+        if (eogPasses.isEmpty()) {
+            return
+        }
+
+        eogPasses.forEach { it.currentComponent = tu.component }
+
+        val starters = tu.allUniqueEOGStartersOrSingles
+        val (catchClauses, others) = starters.partition { it is CatchClause }
+        for (starter in others + catchClauses) {
+            val lattice = NodeToOverlayState(PowersetLattice())
+            val startState =
+                eogPasses
+                    .map { it.getInitialState(lattice, starter) }
+                    .reduce { acc, state -> runBlocking { lattice.lub(acc, state, true) } }
+
+            val transfer:
+                suspend (
+                    Lattice<NodeToOverlayStateElement>,
+                    EvaluationOrder,
+                    NodeToOverlayStateElement,
+                ) -> NodeToOverlayStateElement =
+                { lattice, currentEdge, currentState ->
+                    eogPasses.fold(currentState) { state, pass ->
+                        pass.transfer(lattice, currentEdge, state)
+                    }
+                }
+
+            EOGConceptPass.connectOverlays(
+                EOGConceptPass.iterateOverlays(lattice, starter, startState, transfer)
+            )
+        }
+    }
+}
@@ -47,6 +47,7 @@ import de.fraunhofer.aisec.cpg.helpers.flatMapNotNull
 import de.fraunhofer.aisec.cpg.passes.Description
 import de.fraunhofer.aisec.cpg.passes.concepts.ConceptPass
 import de.fraunhofer.aisec.cpg.passes.concepts.config.python.stringValues
+import kotlin.reflect.KClass
 
 /**
  * This is a generic pass that is responsible for creating [ProvideConfiguration] nodes based on the
@@ -57,6 +58,8 @@ import de.fraunhofer.aisec.cpg.passes.concepts.config.python.stringValues
     "A pass that creates ProvideConfiguration concepts linking ConfigurationSources to Configurations."
 )
 class ProvideConfigPass(ctx: TranslationContext) : ConceptPass(ctx) {
+    override val handledNodeTypes: Set<KClass<out Node>> = setOf(TranslationUnit::class)
+
     override fun handleNode(node: Node, tu: TranslationUnit) {
         when (node) {
             is TranslationUnit -> handleTranslationUnit(node)
@@ -39,7 +39,9 @@ import de.fraunhofer.aisec.cpg.passes.concepts.ConceptPass
 import de.fraunhofer.aisec.cpg.passes.concepts.config.ProvideConfigPass
 import de.fraunhofer.aisec.cpg.passes.configuration.DependsOn
 import de.fraunhofer.aisec.cpg.passes.configuration.ExecuteBefore
+import de.fraunhofer.aisec.cpg.passes.configuration.SupportsParallelExecution
 import kotlin.collections.singleOrNull
+import kotlin.reflect.KClass
 
 /**
  * This pass is responsible for creating [ConfigurationSource] nodes based on the INI file frontend.
@@ -49,7 +51,11 @@ import kotlin.collections.singleOrNull
 @Description(
     "This pass is responsible for creating ConfigurationSource nodes based on the INI file frontend."
 )
+@SupportsParallelExecution
 class IniFileConfigurationSourcePass(ctx: TranslationContext) : ConceptPass(ctx) {
+    override val handledNodeTypes: Set<KClass<out Node>> =
+        setOf(TranslationUnit::class, Record::class, Field::class)
+
     override fun handleNode(node: Node, tu: TranslationUnit) {
         // Since we cannot directly depend on the ini frontend, we have to check the language here
         // based on the node's language.
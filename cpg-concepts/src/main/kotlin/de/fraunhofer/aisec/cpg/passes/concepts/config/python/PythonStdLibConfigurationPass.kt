@@ -52,6 +52,7 @@ import de.fraunhofer.aisec.cpg.passes.concepts.ConceptPass
 import de.fraunhofer.aisec.cpg.passes.concepts.config.ProvideConfigPass
 import de.fraunhofer.aisec.cpg.passes.configuration.DependsOn
 import de.fraunhofer.aisec.cpg.passes.configuration.ExecuteBefore
+import kotlin.reflect.KClass
 
 /**
  * This pass is responsible for creating [ConfigurationOperation] nodes based on the
@@ -67,6 +68,9 @@ import de.fraunhofer.aisec.cpg.passes.configuration.ExecuteBefore
     "This pass is responsible for creating [ConfigurationOperation] nodes based on the configparser module of the Python standard library."
 )
 class PythonStdLibConfigurationPass(ctx: TranslationContext) : ConceptPass(ctx) {
+    override val handledNodeTypes: Set<KClass<out Node>> =
+        setOf(Construction::class, MemberCall::class, Subscription::class)
+
     override fun handleNode(node: Node, tu: TranslationUnit) {
         when (node) {
             is Construction -> handleConstruction(node)
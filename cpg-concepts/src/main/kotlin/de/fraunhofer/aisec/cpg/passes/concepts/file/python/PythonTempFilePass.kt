@@ -39,6 +39,7 @@ import de.fraunhofer.aisec.cpg.passes.concepts.NodeToOverlayStateElement
 import de.fraunhofer.aisec.cpg.passes.configuration.DependsOn
 import de.fraunhofer.aisec.cpg.passes.configuration.ExecuteBefore
 import de.fraunhofer.aisec.cpg.passes.configuration.ExecuteLate
+import de.fraunhofer.aisec.cpg.passes.configuration.SupportsParallelExecution
 import de.fraunhofer.aisec.cpg.passes.reconstructedImportName
 
 /**
@@ -54,6 +55,7 @@ import de.fraunhofer.aisec.cpg.passes.reconstructedImportName
 @Description(
     "This pass handles various library calls in Python code that are related to temporary files."
 )
+@SupportsParallelExecution
 class PythonTempFilePass(ctx: TranslationContext) : EOGConceptPass(ctx) {
 
     override fun handleCall(state: NodeToOverlayStateElement, node: Call): Collection<OverlayNode> {
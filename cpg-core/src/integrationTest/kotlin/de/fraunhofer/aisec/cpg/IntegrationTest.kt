@@ -25,15 +25,23 @@
  */
 package de.fraunhofer.aisec.cpg
 
+import de.fraunhofer.aisec.cpg.graph.calls
 import de.fraunhofer.aisec.cpg.graph.declarations.Function
 import de.fraunhofer.aisec.cpg.graph.expressions.Call
 import de.fraunhofer.aisec.cpg.graph.functions
+import de.fraunhofer.aisec.cpg.graph.get
+import de.fraunhofer.aisec.cpg.graph.nodes
+import de.fraunhofer.aisec.cpg.persistence.SHARED_SECTION
 import de.fraunhofer.aisec.cpg.persistence.createJsonGraph
+import de.fraunhofer.aisec.cpg.persistence.loadSnapshot
+import de.fraunhofer.aisec.cpg.persistence.loadTranslationResult
 import de.fraunhofer.aisec.cpg.persistence.persistJson
+import de.fraunhofer.aisec.cpg.persistence.persistSnapshot
 import de.fraunhofer.aisec.cpg.test.GraphExamples
 import kotlin.io.path.createTempFile
 import kotlin.test.assertEquals
 import kotlin.test.assertNotNull
+import kotlin.test.assertTrue
 import org.junit.jupiter.api.Test
 
 /**
@@ -78,4 +86,77 @@ class IntegrationTest {
         translationResult.persistJson(path)
         assert(path.length() > 0)
     }
+
+    @Test
+    fun testSnapshotRoundTrip() {
+        val translationResult = GraphExamples.getInitializerListExprDFG()
+        val path = createTempFile().toFile()
+        translationResult.persistSnapshot(path, fingerprint = "inputs")
+        assert(path.length() > 0)
+
+        loadSnapshot(path).use { snapshot ->
+            assertEquals("inputs", snapshot.fingerprint)
+
+            val component = translationResult.components.first()
+            val section = snapshot.section(component.name.toString())
+            assertNotNull(section)
+            assertTrue(section.nodeCount > 0)
+            assertNotNull(snapshot.section(SHARED_SECTION))
+
+            val func =
+                snapshot.nodesOf(section).firstOrNull {
+                    it.labels.contains(Function::class.simpleName) && it.name?.toString() == "foo"
+                }
+            assertNotNull(func)
+
+            val call =
+                snapshot.nodesOf(section).firstOrNull {
+                    it.labels.contains(Call::class.simpleName) && it.name?.toString() == "foo"
+                }
+            assertNotNull(call)
+
+            // Edges can be navigated in both directions
+            assertTrue(func in call.next("INVOKES"))
+            assertTrue(call in func.prev("INVOKES"))
+            assertTrue(call.outgoing.any { it.type == "EOG" })
+            assertTrue(call.incoming.any { it.start in snapshot.nodesOf(section) })
+        }
+    }
+
+    @Test
+    fun testSnapshotTranslationResult() {
+        val translationResult = GraphExamples.getInitializerListExprDFG()
+        val path = createTempFile().toFile()
+        translationResult.persistSnapshot(path)
+
+        val restored = loadTranslationResult(path, translationResult.config)
+        assertEquals(translationResult.nodes.size, restored.nodes.size)
+        assertEquals(
+            translationResult.finalCtx.typeManager.resolvedTypes.size,
+            restored.finalCtx.typeManager.resolvedTypes.size,
+        )
+
+        // The restored nodes can be used with the query API
+        val func = restored.functions["foo"]
+        assertNotNull(func)
+        val call = restored.calls["foo"]
+        assertNotNull(call)
+        assertEquals(listOf(func), call.invokes)
+
+        // The restored scopes are known to the scope manager
+        val scope = restored.finalCtx.scopeManager.lookupScope(func)
+        assertNotNull(scope)
+        assertTrue(scope in assertNotNull(scope.parent).children)
+
+        // The EOG and DFG edges are restored in both directions
+        assertEquals(
+            translationResult.nodes.sumOf { it.nextEOG.size },
+            restored.nodes.sumOf { it.nextEOG.size },
+        )
+        assertEquals(
+            translationResult.nodes.sumOf { it.nextDFG.size },
+            restored.nodes.sumOf { it.nextDFG.size },
+        )
+        assertTrue(restored.nodes.all { node -> node.prevDFG.all { node in it.nextDFG } })
+    }
 }
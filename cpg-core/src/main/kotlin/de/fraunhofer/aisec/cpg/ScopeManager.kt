@@ -33,6 +33,7 @@ import de.fraunhofer.aisec.cpg.graph.expressions.*
 import de.fraunhofer.aisec.cpg.graph.scopes.*
 import de.fraunhofer.aisec.cpg.graph.types.DeclaresType
 import de.fraunhofer.aisec.cpg.graph.types.Type
+import de.fraunhofer.aisec.cpg.helpers.SubgraphWalker
 import de.fraunhofer.aisec.cpg.helpers.Util
 import de.fraunhofer.aisec.cpg.helpers.mapFiltered
 import de.fraunhofer.aisec.cpg.passes.SymbolResolver
@@ -78,43 +79,46 @@ class ScopeManager(override var ctx: TranslationContext) : ScopeProvider, Contex
     private val nameScopeMap: MutableMap<Name, NameScope> = mutableMapOf()
 
     /**
-     * Caches the result of [lookupSymbolByName] (for calls without a custom [predicate], which
-     * cannot be cached safely). [lookupSymbolByName] can be called repeatedly for the same symbol
-     * (e.g. once per reference to the same variable, or once per candidate scope during ambiguous
-     * call/member resolution), and walking the scope chain for every single call is unnecessarily
-     * expensive.
+     * Caches the result of [lookupSymbolByName]. [lookupSymbolByName] can be called repeatedly for
+     * the same symbol (e.g. once per reference to the same variable, or once per candidate scope
+     * during ambiguous call/member resolution), and walking the scope chain for every single call
+     * is unnecessarily expensive.
      *
-     * The cache is invalidated wholesale (see [symbolTableGeneration]) whenever a symbol table is
-     * mutated (see [invalidateSymbolLookupCache]), rather than per-entry, to keep invalidation
-     * trivially correct. This is cheap in practice because virtually all symbol table mutations
-     * happen while the language frontend is still building the AST, before any of the passes that
-     * call [lookupSymbolByName] (e.g. [SymbolResolver]) run.
+     * Each entry is only invalidated if one of the scopes it was looked up in is modified (see
+     * [invalidateSymbolLookupCache]), so that passes that add declarations while resolving symbols
+     * (e.g. through inference) keep the cached lookups of unrelated scopes. The cache is safe to
+     * use from parallel passes (see [TranslationConfiguration.useParallelPasses]). Its size is
+     * configured by [TranslationConfiguration.symbolLookupCacheSize].
      */
-    private val symbolLookupCache: MutableMap<SymbolLookupCacheKey, List<Declaration>> =
-        mutableMapOf()
+    private val symbolLookupCache = SymbolLookupCache(ctx.config.symbolLookupCacheSize)
 
-    /** See [symbolLookupCache]. Bumped by [invalidateSymbolLookupCache]. */
-    private var symbolTableGeneration: Int = 0
+    /** The number of [lookupSymbolByName] calls that were answered from the cache. */
+    val symbolLookupCacheHits: Long
+        get() = symbolLookupCache.hits.sum()
 
-    /** The [symbolTableGeneration] that [symbolLookupCache] was last cleared for. */
-    private var symbolLookupCacheGeneration: Int = -1
+    /** The number of [lookupSymbolByName] calls that needed to walk the scope chain. */
+    val symbolLookupCacheMisses: Long
+        get() = symbolLookupCache.misses.sum()
 
     /**
      * Must be called whenever a symbol table (i.e. [Scope.symbols] or [Scope.wildcardImports]) is
-     * mutated, so that [symbolLookupCache] does not serve stale results.
+     * mutated, so that the symbol lookup cache does not serve stale results. If the mutated [scope]
+     * is known, only lookups that depend on it are invalidated, otherwise all of them.
      */
-    internal fun invalidateSymbolLookupCache() {
-        symbolTableGeneration++
-    }
+    internal fun invalidateSymbolLookupCache(scope: Scope? = null) {
+        if (scope == null) {
+            symbolLookupCache.invalidateAll()
+            return
+        }
 
-    /** The key identifying a cached [lookupSymbolByName] result in [symbolLookupCache]. */
-    private data class SymbolLookupCacheKey(
-        val scope: Scope?,
-        val symbol: Symbol,
-        val language: Language<*>,
-        val qualifiedLookup: Boolean,
-        val replaceImports: Boolean,
-    )
+        scope.symbolsVersion.incrementAndGet()
+
+        // The symbols of this scope are also visible through the wildcard imports of other scopes,
+        // which we do not track individually
+        if (scope.symbolsShared) {
+            symbolLookupCache.invalidateAll()
+        }
+    }
 
     /** True, if the scope manager is currently in a [FunctionScope]. */
     val isInFunction: Boolean
@@ -124,12 +128,46 @@ class ScopeManager(override var ctx: TranslationContext) : ScopeProvider, Contex
     val isInRecord: Boolean
         get() = this.firstScopeOrNull { it is RecordScope } != null
 
+    /**
+     * The currently active scope of each thread, if [TranslationConfiguration.useParallelPasses] is
+     * enabled. Passes that are executed in parallel enter and leave scopes independently of each
+     * other (e.g., using a [SubgraphWalker.ScopedWalker]), so they must not share a single
+     * [currentScope].
+     */
+    private val threadLocalScope: ThreadLocal<Scope>? =
+        if (ctx.config.useParallelPasses) {
+            ThreadLocal.withInitial { globalScope }
+        } else {
+            null
+        }
+
+    /** The [currentScope], if it is not confined to the current thread. */
+    private var sharedScope: Scope = globalScope
+
     /**
      * The currently active scope. When the [ScopeManager] is initialized, this is set to the global
-     * scope
+     * scope. If [TranslationConfiguration.useParallelPasses] is enabled, each thread has its own
+     * current scope.
+     */
+    var currentScope: Scope
+        get() = threadLocalScope?.get() ?: sharedScope
+        private set(value) {
+            if (threadLocalScope != null) {
+                threadLocalScope.set(value)
+            } else {
+                sharedScope = value
+            }
+        }
+
+    /**
+     * Resets the [currentScope] of the current thread to the global scope, if it is confined to the
+     * thread. This needs to be called once a task of a thread pool has finished, so that the next
+     * task that is executed by the same worker thread does not start in the scope of the previous
+     * one.
      */
-    var currentScope: Scope = globalScope
-        private set
+    fun resetThreadScope() {
+        threadLocalScope?.remove()
+    }
 
     /** The current function, according to the scope that is currently active. */
     val currentFunction: Function?
@@ -169,8 +207,9 @@ class ScopeManager(override var ctx: TranslationContext) : ScopeProvider, Contex
      */
     fun mergeFrom(toMerge: Collection<ScopeManager>) {
         // Merging combines symbol tables from several scope managers into this one, so any cached
-        // lookups may no longer be valid.
+        // lookups may no longer be valid. The same applies to typedefs and memoised type casts.
         invalidateSymbolLookupCache()
+        ctx.typeManager.hierarchyVersion.incrementAndGet()
 
         val globalScopes = toMerge.map { it.globalScope }
         val currGlobalScope = scopeMap[null]
@@ -235,6 +274,64 @@ class ScopeManager(override var ctx: TranslationContext) : ScopeProvider, Contex
         }
     }
 
+    /**
+     * Registers [scopes] that were created outside of this scope manager, e.g., when a
+     * [TranslationResult] is restored from a snapshot. Each scope is associated with its AST node
+     * and added to the children of its parent, so that it can be found with [lookupScope]. Scopes
+     * without a parent are added to the [globalScope] and restored [GlobalScope]s are merged into
+     * it. The symbols of the scopes are not registered.
+     */
+    fun registerScopes(scopes: Collection<Scope>) {
+        invalidateSymbolLookupCache()
+
+        for (scope in scopes) {
+            if (scope is GlobalScope) {
+                continue
+            }
+
+            scope.astNode?.let { scopeMap[it] = scope }
+            if (scope is NameScope) {
+                scope.astNode?.name?.let { nameScopeMap[it] = scope }
+            }
+
+            val parent = scope.parent ?: globalScope.also { scope.parent = it }
+            parent.children.add(scope)
+        }
+
+        globalScope.mergeFrom(scopes.filterIsInstance<GlobalScope>())
+    }
+
+    /**
+     * Removes all scopes and symbols that originate from the AST [nodes] of a [TranslationUnit]
+     * that is no longer part of the analysis. This is used by
+     * [TranslationManager.analyzeIncrementally] before a changed file is parsed again into the
+     * existing scope tree.
+     *
+     * A [NameScope] (e.g. of a namespace) that still contains symbols from other translation units
+     * is kept, only the symbols declared in [nodes] are removed from it.
+     */
+    fun removeScopesOf(nodes: Set<Node>) {
+        invalidateSymbolLookupCache()
+
+        // Remove all symbols that are declared by one of the nodes
+        for (scope in scopeMap.values.distinct()) {
+            scope.symbols.values.forEach { list -> list.removeIf { it in nodes } }
+            scope.symbols.values.removeIf { it.isEmpty() }
+            scope.wildcardImports.removeIf { it in nodes }
+        }
+
+        // Remove all scopes that belong to one of the nodes
+        val stale =
+            scopeMap.entries.filter { (node, scope) ->
+                node != null && node in nodes && (scope !is NameScope || scope.symbols.isEmpty())
+            }
+        for ((node, scope) in stale) {
+            scopeMap.remove(node)
+            scope.parent?.children?.remove(scope)
+            nameScopeMap.values.removeIf { it === scope }
+        }
+    }
+
     /**
      * Pushes the scope on the current scope stack. Used internally by [enterScope].
      *
@@ -517,6 +614,9 @@ class ScopeManager(override var ctx: TranslationContext) : ScopeProvider, Contex
      */
     fun addTypedef(typedef: Typedef, scope: Scope = globalScope) {
         scope.addTypedef(typedef)
+
+        // Typedefs are considered when casting types, so memoised cast results are outdated
+        ctx.typeManager.hierarchyVersion.incrementAndGet()
     }
 
     /**
@@ -841,78 +941,136 @@ class ScopeManager(override var ctx: TranslationContext) : ScopeProvider, Contex
             n = extractedScope.adjustedName
         }
 
-        // A custom predicate is a per-call lambda and cannot be safely used as (or compared
-        // through)
-        // a cache key, so we only cache the common case where no predicate is given.
-        val cacheKey =
-            if (predicate == null) {
-                SymbolLookupCacheKey(
-                    scope = scope ?: startScope,
-                    symbol = n.localName,
-                    language = language,
-                    qualifiedLookup = scope != null,
-                    replaceImports = replaceImports,
-                )
-            } else {
-                null
-            }
-        if (cacheKey != null) {
-            if (symbolLookupCacheGeneration != symbolTableGeneration) {
-                symbolLookupCache.clear()
-                symbolLookupCacheGeneration = symbolTableGeneration
-            }
-            symbolLookupCache[cacheKey]?.let {
-                return it
-            }
+        val searchScope = scope ?: startScope ?: return listOf()
+        val key =
+            SymbolLookupCache.Key(
+                scope = searchScope,
+                symbol = n.localName,
+                language = language,
+                qualifiedLookup = scope != null,
+                replaceImports = replaceImports,
+            )
+        val entry = symbolLookupCache.get(key) ?: lookupSymbolUncached(key, searchScope)
+        if (predicate == null) {
+            return entry.result
         }
 
-        // We need to differentiate between a qualified and unqualified lookup. We have a qualified
-        // lookup, if the scope is not null. In this case we need to stay within the specified scope
+        // A custom predicate is only applied to the declarations of the first scope that contains
+        // the symbol at all. If it accepts any of them, the lookup would have stopped in the same
+        // scope, otherwise we need to continue in the parent scopes.
+        val filtered = entry.declarations.filterTo(mutableListOf(), predicate)
+        if (filtered.isNotEmpty()) {
+            return filtered.preferDefinitions()
+        }
+
+        return searchScope
+            .lookupSymbol(
+                key.symbol,
+                languageOnly = language,
+                qualifiedLookup = key.qualifiedLookup,
+                replaceImports = replaceImports,
+                predicate = predicate,
+            )
+            .toMutableList()
+            .preferDefinitions()
+    }
+
+    /**
+     * Looks up the symbol described by [key] in [searchScope] and stores the result in the symbol
+     * lookup cache, if possible.
+     */
+    private fun lookupSymbolUncached(
+        key: SymbolLookupCache.Key,
+        searchScope: Scope,
+    ): SymbolLookupCache.Entry {
+        // We need to remember the state of all scopes that the lookup depends on *before* we
+        // actually look up the symbol, so that concurrent modifications invalidate the entry
+        val generation = symbolLookupCache.currentGeneration
+        val dependencies =
+            symbolLookupDependencies(searchScope, key.symbol, key.language, key.qualifiedLookup)
+        val versions = dependencies?.let { LongArray(it.size) { i -> it[i].symbolsVersion.get() } }
+
+        // We need to differentiate between a qualified and unqualified lookup. In the qualified
+        // case we need to stay within the specified scope
         val list =
-            when {
-                scope != null -> {
-                    scope
-                        .lookupSymbol(
-                            n.localName,
-                            languageOnly = language,
-                            qualifiedLookup = true,
-                            replaceImports = replaceImports,
-                            predicate = predicate,
-                        )
-                        .toMutableList()
-                }
-                else -> {
-                    // Otherwise, we can look up the symbol alone (without any FQN) starting from
-                    // the startScope
-                    startScope
-                        ?.lookupSymbol(
-                            n.localName,
-                            languageOnly = language,
-                            replaceImports = replaceImports,
-                            predicate = predicate,
-                        )
-                        ?.toMutableList() ?: mutableListOf()
-                }
-            }
+            searchScope
+                .lookupSymbol(
+                    key.symbol,
+                    languageOnly = key.language,
+                    qualifiedLookup = key.qualifiedLookup,
+                    replaceImports = key.replaceImports,
+                )
+                .toMutableList()
+        val declarations = list.toList()
+        val entry =
+            SymbolLookupCache.Entry(
+                declarations,
+                list.preferDefinitions(),
+                generation,
+                dependencies ?: arrayOf(),
+                versions ?: LongArray(0),
+            )
+
+        if (dependencies != null) {
+            symbolLookupCache.put(key, entry)
+        }
+
+        return entry
+    }
 
-        // If we have both the definition and the declaration of a function declaration in our list,
-        // we chose only the definition
-        val it = list.iterator()
+    /**
+     * If we have both the definition and the declaration of a function declaration in our list, we
+     * chose only the definition.
+     */
+    private fun MutableList<Declaration>.preferDefinitions(): MutableList<Declaration> {
+        val it = this.iterator()
         while (it.hasNext()) {
             val decl = it.next()
             if (decl is Function) {
                 val definition = decl.definition
-                if (!decl.isDefinition && definition != null && definition in list) {
+                if (!decl.isDefinition && definition != null && definition in this) {
                     it.remove()
                 }
             }
         }
 
-        if (cacheKey != null) {
-            symbolLookupCache[cacheKey] = list
+        return this
+    }
+
+    /**
+     * Returns all scopes whose symbols [Scope.lookupSymbol] might consider when looking up [symbol]
+     * in [scope]. This is (a superset of) the scope chain that is walked, including the one of the
+     * language's builtins. Returns null, if the result of the lookup should not be cached.
+     */
+    private fun symbolLookupDependencies(
+        scope: Scope,
+        symbol: Symbol,
+        language: Language<*>,
+        qualifiedLookup: Boolean,
+    ): Array<Scope>? {
+        val dependencies = mutableListOf<Scope>(scope)
+        val target = scope.predefinedLookupScopes[symbol]?.targetScope
+        if (target != null || qualifiedLookup) {
+            dependencies += target ?: scope
+        } else {
+            var parent = scope.parent
+            while (parent != null) {
+                dependencies += parent
+                parent = parent.parent
+            }
+        }
+
+        if (!qualifiedLookup && language is HasBuiltins) {
+            // The builtins scope might still be created later, in which case the result of
+            // the lookup would change without any existing scope being modified
+            var builtins: Scope? = lookupScope(language.builtinsNamespace) ?: return null
+            while (builtins != null) {
+                dependencies += builtins
+                builtins = builtins.parent
+            }
         }
 
-        return list
+        return dependencies.distinct().toTypedArray()
     }
 
     /**
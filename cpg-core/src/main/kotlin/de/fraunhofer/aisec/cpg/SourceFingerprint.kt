@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2026, Fraunhofer AISEC. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *                    $$$$$$\  $$$$$$$\   $$$$$$\
+ *                   $$  __$$\ $$  __$$\ $$  __$$\
+ *                   $$ /  \__|$$ |  $$ |$$ /  \__|
+ *                   $$ |      $$$$$$$  |$$ |$$$$\
+ *                   $$ |      $$  ____/ $$ |\_$$ |
+ *                   $$ |  $$\ $$ |      $$ |  $$ |
+ *                   \$$$$$   |$$ |      \$$$$$   |
+ *                    \______/ \__|       \______/
+ *
+ */
+package de.fraunhofer.aisec.cpg
+
+import de.fraunhofer.aisec.cpg.graph.Component
+import de.fraunhofer.aisec.cpg.graph.declarations.TranslationUnit
+import java.io.File
+import java.security.MessageDigest
+import java.util.HexFormat
+
+/**
+ * The fingerprint of a parsed source file, consisting of a SHA-256 [hash] of its contents and the
+ * [translationUnit] that was created for it in [component]. Fingerprints are collected in
+ * [TranslationResult.sourceFingerprints] and used by [TranslationManager.analyzeIncrementally] to
+ * detect which files need to be parsed again. The [hash] is only computed if
+ * [TranslationConfiguration.useIncrementalAnalysis] is enabled, otherwise it is null.
+ */
+data class SourceFingerprint(
+    val hash: String?,
+    val translationUnit: TranslationUnit,
+    val component: Component,
+)
+
+/** Computes the SHA-256 hash of the contents of this file as a hex string. */
+val File.fingerprint: String
+    get() {
+        val digest = MessageDigest.getInstance("SHA-256")
+        inputStream().buffered().use { stream ->
+            val buffer = ByteArray(DEFAULT_BUFFER_SIZE)
+            var read = stream.read(buffer)
+            while (read >= 0) {
+                digest.update(buffer, 0, read)
+                read = stream.read(buffer)
+            }
+        }
+
+        return HexFormat.of().formatHex(digest.digest())
+    }
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026, Fraunhofer AISEC. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *                    $$$$$$\  $$$$$$$\   $$$$$$\
+ *                   $$  __$$\ $$  __$$\ $$  __$$\
+ *                   $$ /  \__|$$ |  $$ |$$ /  \__|
+ *                   $$ |      $$$$$$$  |$$ |$$$$\
+ *                   $$ |      $$  ____/ $$ |\_$$ |
+ *                   $$ |  $$\ $$ |      $$ |  $$ |
+ *                   \$$$$$   |$$ |      \$$$$$   |
+ *                    \______/ \__|       \______/
+ *
+ */
+package de.fraunhofer.aisec.cpg
+
+import de.fraunhofer.aisec.cpg.frontends.Language
+import de.fraunhofer.aisec.cpg.graph.declarations.Declaration
+import de.fraunhofer.aisec.cpg.graph.scopes.Scope
+import de.fraunhofer.aisec.cpg.graph.scopes.Symbol
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.LongAdder
+
+/**
+ * A thread-safe, size-bounded cache for the results of [ScopeManager.lookupSymbolByName].
+ *
+ * Instead of being cleared as a whole whenever any symbol table changes, each entry remembers the
+ * scopes its result depends on (the scope chain that was walked) together with their
+ * [Scope.symbolsVersion] at the time of the lookup. An entry is only discarded if one of these
+ * scopes was modified since, so that adding a symbol to one function or namespace does not evict
+ * the lookups of all others. Mutations that cannot be attributed to a single scope chain (e.g.
+ * [ScopeManager.mergeFrom]) still invalidate all entries through [invalidateAll].
+ *
+ * The cache is split into [STRIPES] independently locked segments, each of which evicts its least
+ * recently used entry once it is full.
+ */
+internal class SymbolLookupCache(maxSize: Int) {
+
+    /** The key identifying a cached lookup. */
+    data class Key(
+        val scope: Scope?,
+        val symbol: Symbol,
+        val language: Language<*>,
+        val qualifiedLookup: Boolean,
+        val replaceImports: Boolean,
+    )
+
+    /**
+     * A cached lookup. [declarations] is the result of the scope walk before redundant function
+     * declarations were removed, [result] the final result of [ScopeManager.lookupSymbolByName].
+     */
+    class Entry(
+        val declarations: List<Declaration>,
+        val result: List<Declaration>,
+        val generation: Long,
+        val dependencies: Array<Scope>,
+        val versions: LongArray,
+    ) {
+        fun isValid(currentGeneration: Long): Boolean {
+            if (generation != currentGeneration) {
+                return false
+            }
+
+            for (i in dependencies.indices) {
+                if (dependencies[i].symbolsVersion.get() != versions[i]) {
+                    return false
+                }
+            }
+
+            return true
+        }
+    }
+
+    private val stripeSize = (maxSize / STRIPES).coerceAtLeast(1)
+
+    private val stripes =
+        Array(STRIPES) {
+            object : LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+                override fun removeEldestEntry(eldest: MutableMap.MutableEntry<Key, Entry>?) =
+                    size > stripeSize
+            }
+        }
+
+    /** Bumped by [invalidateAll]. Entries of an older generation are treated as absent. */
+    private val generation = AtomicLong()
+
+    /** The number of lookups that were answered from the cache. */
+    val hits = LongAdder()
+
+    /** The number of lookups that were not (or no longer) in the cache. */
+    val misses = LongAdder()
+
+    /** The current generation, which needs to be passed to [put] when the lookup started. */
+    val currentGeneration: Long
+        get() = generation.get()
+
+    /** The number of entries currently held by the cache, including stale ones. */
+    val size: Int
+        get() = stripes.sumOf { synchronized(it) { it.size } }
+
+    private fun stripeOf(key: Key) = stripes[(key.hashCode() and Int.MAX_VALUE) % STRIPES]
+
+    /** Returns the valid entry for [key], if any, and records a hit or miss. */
+    fun get(key: Key): Entry? {
+        val stripe = stripeOf(key)
+        val entry = synchronized(stripe) { stripe[key] }
+        if (entry != null && entry.isValid(generation.get())) {
+            hits.increment()
+            return entry
+        }
+
+        if (entry != null) {
+            synchronized(stripe) { stripe.remove(key, entry) }
+        }
+        misses.increment()
+        return null
+    }
+
+    fun put(key: Key, entry: Entry) {
+        val stripe = stripeOf(key)
+        synchronized(stripe) { stripe[key] = entry }
+    }
+
+    /** Invalidates all entries, regardless of the scopes they depend on. */
+    fun invalidateAll() {
+        generation.incrementAndGet()
+    }
+
+    /** Removes all entries and resets the hit and miss counters. */
+    fun clear() {
+        stripes.forEach { synchronized(it) { it.clear() } }
+        hits.reset()
+        misses.reset()
+    }
+
+    companion object {
+        private const val STRIPES = 16
+    }
+}
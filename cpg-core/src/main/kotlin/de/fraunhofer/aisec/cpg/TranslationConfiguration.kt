@@ -37,11 +37,18 @@ import de.fraunhofer.aisec.cpg.frontends.Language
 import de.fraunhofer.aisec.cpg.frontends.LanguageFrontend
 import de.fraunhofer.aisec.cpg.graph.Component
 import de.fraunhofer.aisec.cpg.graph.Node
+import de.fraunhofer.aisec.cpg.graph.NodeIndex
+import de.fraunhofer.aisec.cpg.graph.callsByName
+import de.fraunhofer.aisec.cpg.graph.declarations.TranslationUnit
+import de.fraunhofer.aisec.cpg.graph.edges.flows.CompactFlows
 import de.fraunhofer.aisec.cpg.graph.types.HasType.TypeObserver
+import de.fraunhofer.aisec.cpg.helpers.functional.PersistentConcurrentMapLattice
 import de.fraunhofer.aisec.cpg.passes.*
+import de.fraunhofer.aisec.cpg.passes.configuration.FusedBy
 import de.fraunhofer.aisec.cpg.passes.configuration.PassOrderingHelper
 import de.fraunhofer.aisec.cpg.passes.configuration.RegisterExtraPass
 import de.fraunhofer.aisec.cpg.passes.configuration.ReplacePass
+import de.fraunhofer.aisec.cpg.passes.configuration.SupportsParallelExecution
 import de.fraunhofer.aisec.cpg.passes.inference.DFGFunctionSummaries
 import de.fraunhofer.aisec.cpg.persistence.DoNotPersist
 import de.fraunhofer.aisec.cpg.project.TargetEnvironment
@@ -120,6 +127,10 @@ private constructor(
     disableCleanup: Boolean,
     useUnityBuild: Boolean,
     useParallelFrontends: Boolean,
+    useParallelPasses: Boolean,
+    useFusedPasses: Boolean,
+    usePipelinedPasses: Boolean,
+    useIncrementalAnalysis: Boolean,
     inferenceConfiguration: InferenceConfiguration,
     compilationDatabase: CompilationDatabase?,
     matchCommentsToNodes: Boolean,
@@ -142,6 +153,45 @@ private constructor(
      * constraints (Go). Defaults to the environment of the current host.
      */
     val targetEnvironment: TargetEnvironment,
+    /**
+     * Whether the node-type accessors on a [TranslationResult] (e.g. `result.calls`) are answered
+     * from a [NodeIndex] instead of flattening the whole AST on every access.
+     */
+    val useNodeIndex: Boolean,
+    /**
+     * Whether the EOG and DFG edges are moved into a [CompactFlows] storage once all passes have
+     * been executed. The edge containers of the nodes are then only restored on access.
+     */
+    val useCompactFlowEdges: Boolean,
+    /**
+     * Whether the [PointsToPass] keeps its [PointsToState] in [PersistentConcurrentMapLattice]s, so
+     * that copies of the state share their entries instead of copying them.
+     */
+    val usePersistentPointsToState: Boolean,
+    /**
+     * The directory in which summaries are cached across analyses, if any. This contains the parsed
+     * [functionSummaries] as well as the function summaries computed by the [PointsToPass] (see
+     * [FunctionSummaryCache]).
+     */
+    val summaryCacheDirectory: Path?,
+    /**
+     * The maximum number of characters (across all files) of the cache for the contents of header
+     * files, which is shared by all (C/C++) frontends of a translation. A size of 0 disables the
+     * cache.
+     */
+    val headerCacheSize: Long,
+    /**
+     * The maximum number of Python interpreters and thus the number of Python files that can be
+     * parsed in parallel.
+     */
+    val pythonInterpreters: Int,
+    /** The maximum number of entries of the cache for symbol lookups of the [ScopeManager]. */
+    val symbolLookupCacheSize: Int,
+    /**
+     * The maximum number of TypeScript parser processes and thus the number of TypeScript files
+     * that can be parsed in parallel.
+     */
+    val typeScriptParsers: Int,
 ) {
     /** This list contains all languages which we want to translate. */
     @JsonIgnore val languages: Set<KClass<out Language<*>>>
@@ -173,6 +223,37 @@ private constructor(
      */
     val useParallelFrontends: Boolean
 
+    /**
+     * If true, the passes are executed in parallel (see [executePassesInParallel]). Passes of the
+     * same dependency layer that are annotated with [SupportsParallelExecution] are executed
+     * concurrently and consume their targets (e.g., [TranslationUnit]s or EOG starters) on a
+     * work-stealing thread pool. All other passes are still executed one after another.
+     */
+    val useParallelPasses: Boolean
+
+    /**
+     * If true, passes of the same dependency layer that share a [FusedBy.fuser] are executed
+     * together in a single walk per [TranslationUnit] (see [executeFusedPasses]) instead of one
+     * after another.
+     */
+    val useFusedPasses: Boolean
+
+    /**
+     * If true, passes that only need a single [TranslationUnit] are already executed on each
+     * translation unit directly after it has been parsed (see [pipelinedPasses]), while the
+     * frontends are still parsing the remaining files. All other passes are executed after all
+     * frontends have finished, as usual.
+     */
+    val usePipelinedPasses: Boolean
+
+    /**
+     * If true, the contents of each parsed source file are hashed (see [SourceFingerprint.hash]),
+     * so that the result can be updated using [TranslationManager.analyzeIncrementally].
+     * Otherwise, hashing the files is skipped and an incremental analysis falls back to a full
+     * analysis.
+     */
+    val useIncrementalAnalysis: Boolean
+
     /**
      * This is the data structure for storing the compilation database. It stores a mapping from the
      * File to the list of files that have to be included to their path, specified by the parameter
@@ -221,6 +302,10 @@ private constructor(
         this.disableCleanup = disableCleanup
         this.useUnityBuild = useUnityBuild
         this.useParallelFrontends = useParallelFrontends
+        this.useParallelPasses = useParallelPasses
+        this.useFusedPasses = useFusedPasses
+        this.usePipelinedPasses = usePipelinedPasses
+        this.useIncrementalAnalysis = useIncrementalAnalysis
         this.inferenceConfiguration = inferenceConfiguration
         this.compilationDatabase = compilationDatabase
         this.matchCommentsToNodes = matchCommentsToNodes
@@ -273,6 +358,10 @@ private constructor(
         private var disableCleanup = false
         private var useUnityBuild = false
         private var useParallelFrontends = false
+        private var useParallelPasses = false
+        private var useFusedPasses = false
+        private var usePipelinedPasses = false
+        private var useIncrementalAnalysis = false
         private var inferenceConfiguration = InferenceConfiguration.Builder().build()
         private var compilationDatabase: CompilationDatabase? = null
         private var matchCommentsToNodes = false
@@ -292,6 +381,14 @@ private constructor(
         private val exclusionPatternsByString = mutableListOf<String>()
         private var disableTypeObserver = false
         private var targetEnvironment = TargetEnvironment.host()
+        private var useNodeIndex = false
+        private var useCompactFlowEdges = false
+        private var usePersistentPointsToState = false
+        private var summaryCacheDirectory: Path? = null
+        private var headerCacheSize = 256L * 1024 * 1024
+        private var pythonInterpreters = Runtime.getRuntime().availableProcessors()
+        private var symbolLookupCacheSize = 200_000
+        private var typeScriptParsers = Runtime.getRuntime().availableProcessors()
 
         fun symbols(symbols: Map<String, String>): Builder {
             this.symbols = symbols
@@ -646,6 +743,110 @@ private constructor(
             return this
         }
 
+        /**
+         * If true, the node-type accessors on the [TranslationResult] (such as `calls`,
+         * `functions` or `refs`) and [callsByName] are served from a [NodeIndex], which is only
+         * rebuilt after the AST changed. This pays off if the same result is queried many times,
+         * e.g. by a set of analysis queries.
+         *
+         * @param b the new value
+         */
+        fun useNodeIndex(b: Boolean): Builder {
+            useNodeIndex = b
+            return this
+        }
+
+        /**
+         * If true, the EOG and DFG edges of all nodes are moved into a [CompactFlows] storage
+         * after all passes have been executed. It keeps the adjacency in primitive arrays and only
+         * restores the edge containers of a node when they are accessed. This considerably reduces
+         * the memory footprint of large graphs that are only partially queried afterward.
+         *
+         * @param b the new value
+         */
+        fun useCompactFlowEdges(b: Boolean): Builder {
+            useCompactFlowEdges = b
+            return this
+        }
+
+        /**
+         * If true, the [PointsToPass] stores the maps of its [PointsToState] in
+         * [PersistentConcurrentMapLattice]s. Copying such a state at a branch of the EOG is O(1),
+         * and an entry is only copied once it is modified on one of the paths. This reduces the
+         * memory churn of the analysis of large functions, while the results stay the same.
+         *
+         * @param b the new value
+         */
+        fun usePersistentPointsToState(b: Boolean): Builder {
+            usePersistentPointsToState = b
+            return this
+        }
+
+        /**
+         * Caches summaries in the given [directory], so that later analyses of the same code can
+         * re-use them. This covers the registered function summary files (see
+         * [registerFunctionSummaries]), which are then only parsed again if their contents change,
+         * and the function summaries computed by the [PointsToPass]. A function whose summary is
+         * loaded from the cache is not analyzed by the [PointsToPass] again, so only its summary
+         * (and not the dataflows within the function) is available, similar to a function that
+         * exceeds [PointsToPass.Configuration.maxComplexity].
+         */
+        fun summaryCacheDirectory(directory: Path): Builder {
+            summaryCacheDirectory = directory
+            return this
+        }
+
+        /**
+         * Sets the maximum number of characters that the cache for the contents of header files may
+         * hold. The cache is shared by all (parallel) frontends of a translation, so that the same
+         * headers are not read and decoded again for every translation unit, and is cleared once
+         * the translation is finished. Defaults to 256 Mi characters, a size of 0 disables the
+         * cache.
+         *
+         * @param size the maximum number of characters
+         */
+        fun headerCacheSize(size: Long): Builder {
+            headerCacheSize = size.coerceAtLeast(0)
+            return this
+        }
+
+        /**
+         * Sets the maximum number of Python interpreters, i.e., the number of Python files that can
+         * be parsed in parallel (see [useParallelFrontends]). Since creating an interpreter is
+         * expensive, they are kept for later translations. Defaults to the number of available
+         * processors.
+         *
+         * @param count the maximum number of interpreters
+         */
+        fun pythonInterpreters(count: Int): Builder {
+            pythonInterpreters = count.coerceAtLeast(1)
+            return this
+        }
+
+        /**
+         * Sets the maximum number of entries of the cache for the results of
+         * [ScopeManager.lookupSymbolByName]. Each [ScopeManager] (one per parallel frontend) has
+         * its own cache. Defaults to 200,000 entries.
+         *
+         * @param size the maximum number of entries
+         */
+        fun symbolLookupCacheSize(size: Int): Builder {
+            symbolLookupCacheSize = size.coerceAtLeast(1)
+            return this
+        }
+
+        /**
+         * Sets the maximum number of TypeScript parser processes, i.e., the number of TypeScript
+         * files that can be parsed in parallel (see [useParallelFrontends]). The processes are kept
+         * running for later translations. Defaults to the number of available processors.
+         *
+         * @param count the maximum number of parser processes
+         */
+        fun typeScriptParsers(count: Int): Builder {
+            typeScriptParsers = count.coerceAtLeast(1)
+            return this
+        }
+
         /**
          * Register extra passes declared by a frontend with [RegisterExtraPass], but only if
          * [useDefaultPasses] is true (which is set to true by invoking [defaultPasses]).
@@ -743,6 +944,53 @@ private constructor(
             return this
         }
 
+        /**
+         * If true, passes of the same dependency layer and their individual targets are executed in
+         * parallel, as long as the pass is annotated with [SupportsParallelExecution]. All other
+         * passes are still executed sequentially.
+         *
+         * @param b the new value
+         */
+        fun useParallelPasses(b: Boolean): Builder {
+            useParallelPasses = b
+            return this
+        }
+
+        /**
+         * If true, passes of the same dependency layer that are annotated with the same [FusedBy]
+         * fuser are executed together, so that each [TranslationUnit] is only walked once for all
+         * of them.
+         *
+         * @param b the new value
+         */
+        fun useFusedPasses(b: Boolean): Builder {
+            useFusedPasses = b
+            return this
+        }
+
+        /**
+         * If true, passes that only operate on a single [TranslationUnit] and only depend on such
+         * passes are executed on each translation unit as soon as it has been parsed. This overlaps
+         * the frontends with the passes, especially in combination with [useParallelFrontends].
+         *
+         * @param b the new value
+         */
+        fun usePipelinedPasses(b: Boolean): Builder {
+            usePipelinedPasses = b
+            return this
+        }
+
+        /**
+         * If true, the contents of all parsed source files are hashed, so that the result can be
+         * updated using [TranslationManager.analyzeIncrementally].
+         *
+         * @param b the new value
+         */
+        fun useIncrementalAnalysis(b: Boolean): Builder {
+            useIncrementalAnalysis = b
+            return this
+        }
+
         fun inferenceConfiguration(configuration: InferenceConfiguration): Builder {
             inferenceConfiguration = configuration
             return this
@@ -773,13 +1021,17 @@ private constructor(
                 includeBlocklist,
                 orderPasses(),
                 replacedPasses,
-                DFGFunctionSummaries.fromFiles(functionSummaries),
+                DFGFunctionSummaries.fromFiles(functionSummaries, summaryCacheDirectory),
                 languages,
                 codeInNodes,
                 processAnnotations,
                 disableCleanup,
                 useUnityBuild,
                 useParallelFrontends,
+                useParallelPasses,
+                useFusedPasses,
+                usePipelinedPasses,
+                useIncrementalAnalysis,
                 inferenceConfiguration,
                 compilationDatabase,
                 matchCommentsToNodes,
@@ -791,6 +1043,14 @@ private constructor(
                 exclusionPatternsByRegex,
                 disableTypeObserver,
                 targetEnvironment,
+                useNodeIndex,
+                useCompactFlowEdges,
+                usePersistentPointsToState,
+                summaryCacheDirectory,
+                headerCacheSize,
+                pythonInterpreters,
+                symbolLookupCacheSize,
+                typeScriptParsers,
             )
         }
 
@@ -31,8 +31,13 @@ import de.fraunhofer.aisec.cpg.frontends.Language
 import de.fraunhofer.aisec.cpg.frontends.LanguageFrontend
 import de.fraunhofer.aisec.cpg.graph.Component
 import de.fraunhofer.aisec.cpg.graph.ContextProvider
+import de.fraunhofer.aisec.cpg.graph.NameTable
+import de.fraunhofer.aisec.cpg.graph.NodeIndex
 import de.fraunhofer.aisec.cpg.persistence.DoNotPersist
 import java.io.File
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.LongAdder
+import kotlin.reflect.KClass
 
 /**
  * The translation context holds all necessary managers and configurations needed during the
@@ -53,7 +58,20 @@ open class TranslationContext(
      * Some frontends need access to the current [Component] we are currently processing. Note: for
      * the [TranslationResult.finalCtx] this may either be null or the last component analyzed.
      */
-    var currentComponent: Component? = null,
+    override var currentComponent: Component? = null,
+
+    /**
+     * The table that interns the names (and other strings) of all nodes. Similar to the
+     * [typeManager], we have one instance for the overall [TranslationResult].
+     */
+    val nameTable: NameTable = NameTable(),
+
+    /**
+     * Caches that are shared by all frontends and passes (e.g., for the contents of header files),
+     * keyed by their class. Similar to the [typeManager], we have one instance for the overall
+     * [TranslationResult]. The caches are dropped once the translation is finished.
+     */
+    val caches: ConcurrentHashMap<KClass<*>, Any> = ConcurrentHashMap(),
 ) : ContextProvider {
     /**
      * The scope manager which comprises the complete translation result. In case of sequential
@@ -81,6 +99,13 @@ open class TranslationContext(
      */
     var importedSources: MutableSet<AdditionalSource> = mutableSetOf()
 
+    /**
+     * Counts the modifications of the AST (including names and locations of AST nodes) of the
+     * [TranslationResult] this context belongs to, so that its [NodeIndex] can detect that it is
+     * outdated. See [NodeIndex.astChanged].
+     */
+    val astModifications = LongAdder()
+
     /**
      * The set of languages available in this translation context. We store this information here
      * because we want to ensure that we only have one instance of a language per
@@ -107,6 +132,7 @@ open class TranslationContext(
             if (language == null) {
                 log.error("Could not create language instance for {}", it.simpleName)
             }
+            language?.typeManager = typeManager
             language
         }
     }
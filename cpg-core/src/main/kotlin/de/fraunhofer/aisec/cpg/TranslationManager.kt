@@ -30,12 +30,31 @@ import de.fraunhofer.aisec.cpg.frontends.LanguageFrontend
 import de.fraunhofer.aisec.cpg.frontends.SupportsNewParse
 import de.fraunhofer.aisec.cpg.frontends.SupportsParallelParsing
 import de.fraunhofer.aisec.cpg.frontends.TranslationException
-import de.fraunhofer.aisec.cpg.graph.Component
-import de.fraunhofer.aisec.cpg.graph.Name
+import de.fraunhofer.aisec.cpg.graph.*
+import de.fraunhofer.aisec.cpg.graph.declarations.TranslationUnit
+import de.fraunhofer.aisec.cpg.graph.declarations.ValueDeclaration
+import de.fraunhofer.aisec.cpg.graph.edges.flows.CompactFlows
+import de.fraunhofer.aisec.cpg.graph.expressions.Call
+import de.fraunhofer.aisec.cpg.graph.expressions.Reference
 import de.fraunhofer.aisec.cpg.graph.scopes.GlobalScope
+import de.fraunhofer.aisec.cpg.graph.types.ObjectType
 import de.fraunhofer.aisec.cpg.graph.types.Type
 import de.fraunhofer.aisec.cpg.helpers.Benchmark
+import de.fraunhofer.aisec.cpg.helpers.SubgraphWalker
+import de.fraunhofer.aisec.cpg.helpers.identitySetOf
+import de.fraunhofer.aisec.cpg.helpers.toIdentitySet
+import de.fraunhofer.aisec.cpg.passes.ComponentPass
+import de.fraunhofer.aisec.cpg.passes.EOGStarterPass
+import de.fraunhofer.aisec.cpg.passes.Pass
+import de.fraunhofer.aisec.cpg.passes.TranslationResultPass
+import de.fraunhofer.aisec.cpg.passes.TranslationUnitPass
+import de.fraunhofer.aisec.cpg.passes.executePass
+import de.fraunhofer.aisec.cpg.passes.executePassesInParallel
 import de.fraunhofer.aisec.cpg.passes.executePassesSequentially
+import de.fraunhofer.aisec.cpg.passes.executePipelinedPasses
+import de.fraunhofer.aisec.cpg.passes.markDirty
+import de.fraunhofer.aisec.cpg.passes.notifyAfterPass
+import de.fraunhofer.aisec.cpg.passes.pipelinedPasses
 import de.fraunhofer.aisec.cpg.sarif.toLocation
 import java.io.File
 import java.io.PrintWriter
@@ -50,7 +69,10 @@ import kotlin.io.path.absolute
 import kotlin.io.path.name
 import kotlin.io.path.readText
 import kotlin.math.max
+import kotlin.reflect.KClass
 import kotlin.reflect.full.findAnnotation
+import kotlin.reflect.full.isSubclassOf
+import kotlin.reflect.full.primaryConstructor
 import kotlin.time.DurationUnit
 import org.slf4j.LoggerFactory
 
@@ -97,27 +119,43 @@ private constructor(
             Benchmark(TranslationManager::class.java, "Translation into full graph", false, result)
 
         try {
+            // Passes that only need a single translation unit are already executed on each
+            // translation unit once it is parsed
+            val pipelined = if (config.usePipelinedPasses) pipelinedPasses(ctx) else listOf()
+
             // Parse Java/C/CPP files
             val bench = Benchmark(this.javaClass, "Executing Language Frontend", false, result)
-            executedFrontends = runFrontends(ctx, result)
-            callbacks?.forEach { callback ->
-                runCatching { callback.afterFrontends(ctx, result, executedFrontends) }
-                    .onFailure {
-                        log.warn(
-                            "Progress callback {} failed after frontend execution",
-                            callback::class.simpleName ?: callback.javaClass.simpleName,
-                            it,
-                        )
-                    }
-            }
+            executedFrontends = runFrontends(ctx, result, pipelined)
+            notifyAfterFrontends(ctx, result, executedFrontends, callbacks)
             ctx.executedFrontends.addAll(executedFrontends)
             bench.addMeasurement()
 
-            executePassesSequentially(ctx, result, executedFrontends, callbacks)
+            finishPipelinedPasses(pipelined, ctx, result, callbacks)
+
+            if (config.useParallelPasses) {
+                executePassesInParallel(
+                    ctx,
+                    result,
+                    executedFrontends,
+                    callbacks,
+                    executedPasses = pipelined.toSet(),
+                )
+            } else {
+                executePassesSequentially(
+                    ctx,
+                    result,
+                    executedFrontends,
+                    callbacks,
+                    executedPasses = pipelined.toSet(),
+                )
+            }
+
+            compactFlowEdges(result)
         } catch (ex: TranslationException) {
             throw CompletionException(ex)
         } finally {
             outerBench.addMeasurement()
+            ctx.caches.clear()
             if (!config.disableCleanup) {
                 log.debug("Cleaning up {} Frontends", executedFrontends.size)
 
@@ -138,6 +176,343 @@ private constructor(
         return result
     }
 
+    /**
+     * Kicks off an incremental analysis that updates the [previous] result instead of rebuilding
+     * the whole graph. Each source file of [TranslationConfiguration.softwareComponents] is
+     * compared to its [SourceFingerprint] in [TranslationResult.sourceFingerprints]:
+     * - The [TranslationUnit]s of unchanged files are kept, including all of their edges.
+     * - The [TranslationUnit]s of changed and deleted files are removed from the graph, including
+     *   their scopes and symbols.
+     * - Changed and new files are parsed into the [TranslationResult.finalCtx] of [previous].
+     *
+     * Afterward, the new translation units as well as the EOG starters of unchanged translation
+     * units that referred to a removed (or an inferred) declaration are marked as dirty (see
+     * [TranslationResult.markDirty]) and the passes only consume these targets (see [executePass]).
+     * [ComponentPass]es are executed again on all components that contain such a target and
+     * [TranslationResultPass]es are executed again on the whole result. Therefore, all passes must
+     * be able to consume a target more than once, which is already required by the [markDirty]
+     * system.
+     *
+     * The [previous] result must have been created with
+     * [TranslationConfiguration.useIncrementalAnalysis] enabled. Unity builds (see
+     * [TranslationConfiguration.useUnityBuild]) are not supported. In both cases, a full analysis
+     * is performed instead. Files in [TranslationConfiguration.includePaths] are not checked for
+     * changes.
+     *
+     * @param previous The result of a previous analysis, which is updated in-place.
+     * @param callbacks Callback(s) that are notified after frontend parsing and after each pass.
+     * @return a [CompletableFuture] with the updated [TranslationResult].
+     */
+    fun analyzeIncrementally(
+        previous: TranslationResult,
+        callbacks: Collection<TranslationProgressCallback>? = null,
+    ): CompletableFuture<TranslationResult> {
+        return CompletableFuture.supplyAsync { analyzeIncrementallyNonAsync(previous, callbacks) }
+    }
+
+    private fun analyzeIncrementallyNonAsync(
+        result: TranslationResult,
+        callbacks: Collection<TranslationProgressCallback>?,
+    ): TranslationResult {
+        val ctx = result.finalCtx
+        if (ctx.config.useUnityBuild) {
+            log.warn("Unity builds cannot be analyzed incrementally, performing a full analysis")
+            return analyzeNonAsync(TranslationContext(ctx.config), callbacks)
+        }
+
+        if (!ctx.config.useIncrementalAnalysis) {
+            log.warn("Incremental analysis is not enabled, performing a full analysis")
+            return analyzeNonAsync(TranslationContext(ctx.config), callbacks)
+        }
+
+        var executedFrontends = setOf<LanguageFrontend<*, *>>()
+
+        val outerBench =
+            Benchmark(TranslationManager::class.java, "Incremental translation", false, result)
+
+        try {
+            // Compare all source files with their fingerprints of the previous analysis
+            val staleUnits = mutableListOf<TranslationUnit>()
+            val changedFiles = mutableMapOf<Component, MutableList<File>>()
+            val currentFiles = mutableSetOf<File>()
+
+            for ((sc, sourceLocations) in ctx.config.softwareComponents) {
+                val component =
+                    result.components.firstOrNull { it.name.localName == sc }
+                        ?: Component().also {
+                            it.name = Name(sc)
+                            it.location = with(ctx) { it.topLevel()?.toPath()?.toLocation() }
+                            result.addComponent(it)
+                        }
+
+                val files =
+                    sourceLocations.flatMap {
+                        if (it.isDirectory) sourceFilesIn(ctx, it) else listOf(it)
+                    }
+                for (file in files) {
+                    val absoluteFile = file.absoluteFile
+                    currentFiles += absoluteFile
+
+                    val fingerprint = result.sourceFingerprints[absoluteFile]
+                    if (fingerprint?.hash == file.fingerprint) {
+                        continue
+                    }
+
+                    if (fingerprint != null) {
+                        staleUnits += fingerprint.translationUnit
+                        result.sourceFingerprints.remove(absoluteFile)
+                    }
+                    changedFiles.computeIfAbsent(component) { mutableListOf() }.add(file)
+                }
+            }
+
+            // The translation units of deleted files are stale as well
+            val deletedFiles =
+                result.sourceFingerprints.filter { (file, fingerprint) ->
+                    file !in currentFiles &&
+                        fingerprint.component.name.localName in ctx.config.softwareComponents
+                }
+            for ((file, fingerprint) in deletedFiles) {
+                staleUnits += fingerprint.translationUnit
+                result.sourceFingerprints.remove(file)
+            }
+
+            if (staleUnits.isEmpty() && changedFiles.isEmpty()) {
+                log.info("No source file has changed since the previous analysis")
+                return result
+            }
+
+            log.info(
+                "Re-translating {} changed source file(s), removing {} stale translation unit(s)",
+                changedFiles.values.sumOf { it.size },
+                staleUnits.size,
+            )
+
+            val affected = removeTranslationUnits(ctx, result, staleUnits)
+
+            // Parse the changed files into the existing context
+            val bench = Benchmark(this.javaClass, "Executing Language Frontend", false, result)
+            executedFrontends =
+                changedFiles
+                    .flatMap { (component, files) ->
+                        parseSequentially(component, result, ctx, files)
+                    }
+                    .toSet()
+            notifyAfterFrontends(ctx, result, executedFrontends, callbacks)
+            ctx.executedFrontends.addAll(executedFrontends)
+            bench.addMeasurement()
+
+            val newUnits =
+                changedFiles.values.flatten().mapNotNull {
+                    result.sourceFingerprints[it.absoluteFile]?.translationUnit
+                }
+            markDirtyForIncrementalAnalysis(ctx, result, newUnits, affected)
+
+            if (ctx.config.useParallelPasses) {
+                executePassesInParallel(ctx, result, executedFrontends, callbacks, onlyDirty = true)
+            } else {
+                executePassesSequentially(
+                    ctx,
+                    result,
+                    executedFrontends,
+                    callbacks,
+                    onlyDirty = true,
+                )
+            }
+
+            compactFlowEdges(result)
+        } catch (ex: TranslationException) {
+            throw CompletionException(ex)
+        } finally {
+            outerBench.addMeasurement()
+            ctx.caches.clear()
+            if (!config.disableCleanup) {
+                log.debug("Cleaning up {} Frontends", executedFrontends.size)
+
+                executedFrontends.forEach { it.cleanup() }
+            }
+        }
+
+        return result
+    }
+
+    /**
+     * Moves the EOG and DFG edges of [result] into a [CompactFlows] storage, if
+     * [TranslationConfiguration.useCompactFlowEdges] is enabled.
+     */
+    private fun compactFlowEdges(result: TranslationResult) {
+        if (!config.useCompactFlowEdges) {
+            return
+        }
+
+        val bench = Benchmark(this.javaClass, "Compacting flow edges", false, result)
+        try {
+            CompactFlows.compact(result)
+        } catch (e: IllegalStateException) {
+            log.error("Could not compact the flow edges, keeping them in their containers", e)
+        }
+        bench.addMeasurement()
+    }
+
+    /**
+     * Removes the [staleUnits] from [result], including their scopes, symbols and all edges that
+     * connect them to the remaining graph.
+     *
+     * @return all nodes of the remaining translation units that referred to one of the removed (or
+     *   to an inferred) declaration and therefore need to be resolved again.
+     */
+    private fun removeTranslationUnits(
+        ctx: TranslationContext,
+        result: TranslationResult,
+        staleUnits: List<TranslationUnit>,
+    ): Set<Node> {
+        val removed = identitySetOf<Node>()
+        for (tu in staleUnits) {
+            removed += tu
+            removed += SubgraphWalker.flattenAST(tu)
+            result.components.forEach { it.translationUnitEdges.remove(tu) }
+        }
+
+        // Disconnect every node of the removed translation units, so that the remaining graph does
+        // not keep mirrored edges (e.g., DFG, EOG or usages) into a removed subtree
+        for (node in removed) {
+            node.disconnectFromGraph()
+            when (node) {
+                is Reference ->
+                    (node.refersTo as? ValueDeclaration)?.usageEdges?.removeIf { it.end === node }
+                is Call -> node.invokeEdges.clear()
+            }
+        }
+
+        ctx.scopeManager.removeScopesOf(removed)
+
+        // Types that were resolved to a removed declaration need to be resolved again, since the
+        // changed files could declare them again
+        val staleTypes =
+            ctx.typeManager.resolvedTypes.filter { type ->
+                listOfNotNull(type.declaredFrom as? Node, (type as? ObjectType)?.recordDeclaration)
+                    .any { it in removed }
+            }
+        for (type in staleTypes) {
+            ctx.typeManager.resolvedTypes.remove(type)
+            type.declaredFrom = null
+            (type as? ObjectType)?.recordDeclaration = null
+            type.typeOrigin = Type.Origin.UNRESOLVED
+        }
+
+        // Unresolve all references and calls that point into the removed translation units. We
+        // also need to resolve unresolved and inferred references again, because the changed files
+        // could contain their declarations now.
+        val affected = identitySetOf<Node>()
+        for (tu in result.components.flatMap { it.translationUnits }) {
+            for (ref in tu.refs) {
+                val refersTo = ref.refersTo
+                if (refersTo != null && refersTo in removed) {
+                    ref.refersTo = null
+                    affected += ref
+                } else if (refersTo == null || refersTo.isInferred) {
+                    affected += ref
+                }
+            }
+
+            for (call in tu.calls) {
+                if (call.invokes.any { it.isInferred || it in removed }) {
+                    call.invokeEdges.clear()
+                    affected += call
+                }
+            }
+        }
+
+        return affected
+    }
+
+    /**
+     * Marks all targets as dirty for the registered passes that need to be consumed again in an
+     * incremental analysis (see [analyzeIncrementally]). These are all [newUnits] and their EOG
+     * starters, the EOG starters that contain one of the [affected] nodes and all components of
+     * these targets.
+     */
+    private fun markDirtyForIncrementalAnalysis(
+        ctx: TranslationContext,
+        result: TranslationResult,
+        newUnits: List<TranslationUnit>,
+        affected: Set<Node>,
+    ) {
+        val passes = ctx.config.registeredPasses.flatten()
+        fun markDirtyFor(node: Node, kind: KClass<out Pass<*>>) {
+            passes.filter { it.isSubclassOf(kind) }.forEach { result.markDirty(node, it) }
+        }
+
+        val components = identitySetOf<Component>()
+        for (tu in newUnits) {
+            markDirtyFor(tu, TranslationUnitPass::class)
+            (tu.allEOGStarters + tu).forEach { markDirtyFor(it, EOGStarterPass::class) }
+            tu.firstParentOrNull<Component>()?.let { components += it }
+        }
+
+        // The AST and EOG of the unchanged translation units did not change, so we only need to
+        // consume the EOG starters that contain an affected node again
+        for ((tu, nodes) in affected.groupBy { it.translationUnit }) {
+            if (tu == null) {
+                continue
+            }
+
+            val starters = tu.allUniqueEOGStartersOrSingles.toIdentitySet()
+            nodes
+                .mapNotNull { it.firstParentOrNull<Node> { parent -> parent in starters } }
+                .toIdentitySet()
+                .forEach { markDirtyFor(it, EOGStarterPass::class) }
+            tu.firstParentOrNull<Component>()?.let { components += it }
+        }
+
+        components.forEach { markDirtyFor(it, ComponentPass::class) }
+    }
+
+    /** Notifies all [callbacks] that the [executedFrontends] have been executed. */
+    private fun notifyAfterFrontends(
+        ctx: TranslationContext,
+        result: TranslationResult,
+        executedFrontends: Set<LanguageFrontend<*, *>>,
+        callbacks: Collection<TranslationProgressCallback>?,
+    ) {
+        callbacks?.forEach { callback ->
+            runCatching { callback.afterFrontends(ctx, result, executedFrontends) }
+                .onFailure {
+                    log.warn(
+                        "Progress callback {} failed after frontend execution",
+                        callback::class.simpleName ?: callback.javaClass.simpleName,
+                        it,
+                    )
+                }
+        }
+    }
+
+    /**
+     * Notifies all [callbacks] that the [pipelined] passes, which have been executed on each
+     * translation unit while parsing it (see [executePipelinedPasses]), have been executed on all
+     * of their targets, and calls [Pass.finalCleanup] for each of them.
+     */
+    private fun finishPipelinedPasses(
+        pipelined: List<KClass<out Pass<out Node>>>,
+        ctx: TranslationContext,
+        result: TranslationResult,
+        callbacks: Collection<TranslationProgressCallback>?,
+    ) {
+        for (cls in pipelined) {
+            val prototype = cls.primaryConstructor?.call(ctx) ?: continue
+
+            @Suppress("UNCHECKED_CAST")
+            notifyAfterPass(
+                cls as KClass<out Pass<Node>>,
+                ctx,
+                prototype.sort(result),
+                result,
+                callbacks,
+            )
+            prototype.finalCleanup()
+        }
+    }
+
     fun isCancelled(): Boolean {
         return isCancelled.get()
     }
@@ -148,6 +523,8 @@ private constructor(
      *
      * @param result the translation result that is being mutated
      * @param ctx the translation context
+     * @param pipelined the passes that are executed on each translation unit directly after it has
+     *   been parsed (see [pipelinedPasses])
      * @throws TranslationException if the language front-end runs into an error and
      *   [TranslationConfiguration.failOnError]
      * * is `true`.
@@ -156,6 +533,7 @@ private constructor(
     fun runFrontends(
         ctx: TranslationContext,
         result: TranslationResult,
+        pipelined: List<KClass<out Pass<out Node>>> = listOf(),
     ): Set<LanguageFrontend<*, *>> {
         val usedFrontends = mutableSetOf<LanguageFrontend<*, *>>()
 
@@ -181,23 +559,7 @@ private constructor(
             val list =
                 sourceLocations.flatMap { file ->
                     if (file.isDirectory) {
-                        val files =
-                            file
-                                .walkTopDown()
-                                .onEnter { !it.name.startsWith(".") }
-                                .filter { it.isFile && !it.name.startsWith(".") }
-                                .filter {
-                                    ctx.config.exclusionPatternsByString.none { pattern ->
-                                        it.absolutePath.contains(pattern)
-                                    }
-                                }
-                                .filter {
-                                    ctx.config.exclusionPatternsByRegex.none { pattern ->
-                                        pattern.containsMatchIn(it.absolutePath)
-                                    }
-                                }
-                                .toList()
-                        files
+                        sourceFilesIn(ctx, file)
                     } else {
                         // Retrieve the file's language based on the available languages of the
                         // result
@@ -275,9 +637,9 @@ private constructor(
 
             usedFrontends.addAll(
                 if (useParallelFrontends) {
-                    parseParallel(component, result, ctx, sourceLocations)
+                    parseParallel(component, result, ctx, sourceLocations, pipelined)
                 } else {
-                    parseSequentially(component, result, ctx, sourceLocations)
+                    parseSequentially(component, result, ctx, sourceLocations, pipelined)
                 }
             )
 
@@ -334,6 +696,7 @@ private constructor(
                                 result,
                                 ctx,
                                 unprocessedFilesInIncludePath.map { it.absolute },
+                                pipelined,
                             )
                         } else {
                             parseSequentially(
@@ -341,6 +704,7 @@ private constructor(
                                 result,
                                 ctx,
                                 unprocessedFilesInIncludePath.map { it.absolute },
+                                pipelined,
                             )
                         }
                     )
@@ -353,6 +717,29 @@ private constructor(
         return usedFrontends
     }
 
+    /**
+     * Returns all (non-hidden) files in [directory] that are not excluded by
+     * [TranslationConfiguration.exclusionPatternsByString] or
+     * [TranslationConfiguration.exclusionPatternsByRegex].
+     */
+    private fun sourceFilesIn(ctx: TranslationContext, directory: File): List<File> {
+        return directory
+            .walkTopDown()
+            .onEnter { !it.name.startsWith(".") }
+            .filter { it.isFile && !it.name.startsWith(".") }
+            .filter {
+                ctx.config.exclusionPatternsByString.none { pattern ->
+                    it.absolutePath.contains(pattern)
+                }
+            }
+            .filter {
+                ctx.config.exclusionPatternsByRegex.none { pattern ->
+                    pattern.containsMatchIn(it.absolutePath)
+                }
+            }
+            .toList()
+    }
+
     /**
      * Extracts all files from the given include path as an [AdditionalSource]. If the path is a
      * directory, all files in the directory are returned. If the path is a single file, the file
@@ -377,11 +764,13 @@ private constructor(
         result: TranslationResult,
         globalCtx: TranslationContext,
         sourceLocations: Collection<File>,
+        pipelined: List<KClass<out Pass<out Node>>> = listOf(),
     ): Set<LanguageFrontend<*, *>> {
         val usedFrontends = mutableSetOf<LanguageFrontend<*, *>>()
 
         log.info("Parallel parsing started")
         val futures = mutableListOf<CompletableFuture<LanguageFrontend<*, *>?>>()
+        val pipelineFutures = mutableListOf<CompletableFuture<Void>>()
         val parallelContexts = mutableListOf<TranslationContext>()
 
         val futureToFile: MutableMap<CompletableFuture<LanguageFrontend<*, *>?>, File> =
@@ -390,8 +779,15 @@ private constructor(
         for (sourceLocation in sourceLocations) {
             // Build a new translation context for this parallel parsing process. We need to do this
             // until we can use a single scope manager concurrently. We can re-use the global
-            // configuration and type manager.
-            val ctx = TranslationContext(globalCtx.config, globalCtx.typeManager, component)
+            // configuration, type manager, name table and caches.
+            val ctx =
+                TranslationContext(
+                    globalCtx.config,
+                    globalCtx.typeManager,
+                    component,
+                    globalCtx.nameTable,
+                    globalCtx.caches,
+                )
             parallelContexts.add(ctx)
 
             val future =
@@ -405,6 +801,23 @@ private constructor(
 
             futures.add(future)
             futureToFile[future] = sourceLocation
+
+            // Execute the pipelined passes as soon as the file is parsed, while the remaining files
+            // are still being parsed. They use the context of this file, since its scopes are only
+            // merged into the global context afterward. Errors of the frontend are handled below.
+            if (pipelined.isNotEmpty()) {
+                pipelineFutures +=
+                    future
+                        .exceptionally { null }
+                        .thenAcceptAsync { f ->
+                            val tu =
+                                result.sourceFingerprints[sourceLocation.absoluteFile]
+                                    ?.translationUnit
+                            if (f != null && tu != null) {
+                                executePipelinedPasses(pipelined, ctx, tu, result)
+                            }
+                        }
+            }
         }
 
         for (future in futures) {
@@ -427,6 +840,10 @@ private constructor(
             }
         }
 
+        // Calling get() on the futures makes sure that exceptions of the pipelined passes are
+        // propagated to the caller
+        pipelineFutures.forEach { it.get() }
+
         val b =
             Benchmark(
                 TranslationManager::class.java,
@@ -448,6 +865,7 @@ private constructor(
         result: TranslationResult,
         ctx: TranslationContext,
         sourceLocations: Collection<File>,
+        pipelined: List<KClass<out Pass<out Node>>> = listOf(),
     ): Set<LanguageFrontend<*, *>> {
         val usedFrontends = mutableSetOf<LanguageFrontend<*, *>>()
 
@@ -456,6 +874,10 @@ private constructor(
             val f = parse(component, result, ctx, ctx, sourceLocation)
             if (f != null) {
                 handleCompletion(result, usedFrontends, sourceLocation, f)
+
+                result.sourceFingerprints[sourceLocation.absoluteFile]?.translationUnit?.let {
+                    executePipelinedPasses(pipelined, ctx, it, result)
+                }
             }
         }
 
@@ -526,6 +948,15 @@ private constructor(
                     frontend.parse(sourceLocation)
                 }
             component.addTranslationUnit(tu)
+
+            // Remember the fingerprint of the file, so that we can detect changes to it in an
+            // incremental analysis
+            result.sourceFingerprints[sourceLocation.absoluteFile] =
+                SourceFingerprint(
+                    if (config.useIncrementalAnalysis) sourceLocation.fingerprint else null,
+                    tu,
+                    component,
+                )
         } catch (ex: TranslationException) {
             log.error("An error occurred during parsing of ${sourceLocation.name}: ${ex.message}")
             if (config.failOnError) {
@@ -40,6 +40,7 @@ import de.fraunhofer.aisec.cpg.helpers.StatisticsHolder
 import de.fraunhofer.aisec.cpg.passes.ImportDependencies
 import de.fraunhofer.aisec.cpg.passes.ImportResolver
 import de.fraunhofer.aisec.cpg.passes.Pass
+import de.fraunhofer.aisec.cpg.passes.executePassesInParallel
 import de.fraunhofer.aisec.cpg.passes.executePassesSequentially
 import de.fraunhofer.aisec.cpg.passes.markClean
 import de.fraunhofer.aisec.cpg.passes.markDirty
@@ -48,6 +49,7 @@ import de.fraunhofer.aisec.cpg.persistence.DoNotPersist
 import de.fraunhofer.aisec.cpg.persistence.Relationship
 import de.fraunhofer.aisec.cpg.persistence.converters.TranslationStatsConverter
 import de.fraunhofer.aisec.cpg.processing.strategy.Strategy
+import java.io.File
 import java.util.*
 import java.util.concurrent.ConcurrentHashMap
 import kotlin.reflect.KClass
@@ -107,6 +109,13 @@ class TranslationResult(
 
     @Convert(TranslationStatsConverter::class) var stats = TranslationStats()
 
+    /**
+     * The [SourceFingerprint] of each source file that was parsed into this result, keyed by its
+     * absolute path. This is used by [TranslationManager.analyzeIncrementally] to find out which
+     * files have changed since this result was created.
+     */
+    @DoNotPersist val sourceFingerprints: MutableMap<File, SourceFingerprint> = ConcurrentHashMap()
+
     /**
      * Checks if only a single software component has been analyzed and returns its translation
      * units. For multiple software components, it aggregates the results.
@@ -162,6 +171,7 @@ class TranslationResult(
         components.add(sc)
     }
 
+    @Synchronized
     override fun addBenchmark(b: MeasurementHolder) {
         benchmarks.add(b)
     }
@@ -178,6 +188,13 @@ class TranslationResult(
     override val config: TranslationConfiguration
         get() = finalCtx.config
 
+    /**
+     * The [NodeIndex] over the AST of this result, which is used by the node-type accessors (e.g.
+     * [calls]) if [TranslationConfiguration.useNodeIndex] is enabled. Otherwise, this is `null`.
+     */
+    @DoNotPersist
+    val nodeIndex: NodeIndex? by lazy { if (config.useNodeIndex) NodeIndex(this) else null }
+
     override var language: Language<*>
         get() {
             return multiLanguage()
@@ -194,8 +211,8 @@ class TranslationResult(
 
     /**
      * A map of nodes that are dirty for a specific pass. This is used to track which nodes need to
-     * be reprocessed again by a specific pass. The function [executePassesSequentially] will use
-     * this in order to populate the queue of passes accordingly.
+     * be reprocessed again by a specific pass. The functions [executePassesSequentially] and
+     * [executePassesInParallel] will use this in order to populate the queue of passes accordingly.
      *
      * Users should not access this directly, but rather use the [markDirty] and [markClean] methods
      * or the [Node.markDirty] and [Node.markClean] extension function.
@@ -206,14 +223,22 @@ class TranslationResult(
      * Marks a node as dirty for a specific pass. This is used to indicate that the node needs to be
      * reprocessed by the specified pass.
      */
+    @Synchronized
     fun markDirty(node: Node, pass: KClass<out Pass<*>>) {
         dirtyNodes.computeIfAbsent(node) { mutableListOf() }.add(pass)
     }
 
+    /** Checks, whether a node is marked as dirty for a specific pass. */
+    @Synchronized
+    fun isDirty(node: Node, pass: KClass<out Pass<*>>): Boolean {
+        return dirtyNodes[node]?.contains(pass) == true
+    }
+
     /**
      * Marks a node as clean for a specific pass. This is used to indicate that the node was
      * reprocessed by the specified pass anymore.
      */
+    @Synchronized
     fun markClean(node: Node, pass: KClass<out Pass<*>>) {
         dirtyNodes.computeIfAbsent(node) { mutableListOf() }.remove(pass)
     }
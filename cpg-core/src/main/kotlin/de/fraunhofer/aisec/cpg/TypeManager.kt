@@ -35,13 +35,14 @@ import de.fraunhofer.aisec.cpg.graph.expressions.Reference
 import de.fraunhofer.aisec.cpg.graph.scopes.Scope
 import de.fraunhofer.aisec.cpg.graph.scopes.TemplateScope
 import de.fraunhofer.aisec.cpg.graph.types.*
-import de.fraunhofer.aisec.cpg.helpers.identitySetOf
+import de.fraunhofer.aisec.cpg.helpers.IdentitySet
 import de.fraunhofer.aisec.cpg.passes.Pass
 import de.fraunhofer.aisec.cpg.passes.Pass.Companion.log
 import de.fraunhofer.aisec.cpg.passes.ResolveCallAmbiguityPass
 import de.fraunhofer.aisec.cpg.passes.TypeResolver
 import java.util.*
 import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
 
@@ -50,6 +51,14 @@ class TypeManager {
         val log: Logger = LoggerFactory.getLogger(TypeManager::class.java)
     }
 
+    /**
+     * Incremented whenever the type hierarchy of this translation changes, i.e., the
+     * [Type.superTypes] of a type, the [resolvedTypes] or a typedef. Memoised [ancestors] and
+     * [tryCast] results are only valid for the version they were computed in. The types find their
+     * type manager through [Language.typeManager].
+     */
+    internal val hierarchyVersion = AtomicLong()
+
     /**
      * Stores the relationship between parameterized RecordDeclarations (e.g. Classes using
      * Generics) to the ParameterizedType to be able to resolve the Type of the fields, since
@@ -60,11 +69,14 @@ class TypeManager {
     private val templateToTypeParameters: MutableMap<Template, MutableList<ParameterizedType>> =
         ConcurrentHashMap()
 
+    /** Backing field of [resolvedTypes], which additionally indexes the types by their name. */
+    private val resolvedTypeIndex = ResolvedTypes(this)
+
     /**
      * Stores all resolved first order types. This is a set of all types that have been resolved by
      * the [TypeResolver].
      */
-    val resolvedTypes = identitySetOf<Type>()
+    val resolvedTypes: IdentitySet<Type> = resolvedTypeIndex
 
     /**
      * @param recordDeclaration that is instantiated by a template containing parameterizedtypes
@@ -192,7 +204,7 @@ class TypeManager {
 
     /** Checks, whether a [Type] with the given [name] exists. */
     fun typeExists(name: CharSequence): Boolean {
-        return resolvedTypes.any { type: Type -> type.root.name == name }
+        return resolvedTypeIndex.withName(name).any { type: Type -> type.root.name == name }
     }
 
     fun resolvePossibleTypedef(alias: Type, scopeManager: ScopeManager): Type {
@@ -215,7 +227,7 @@ class TypeManager {
             return primitiveType
         }
 
-        return resolvedTypes.firstOrNull {
+        return resolvedTypeIndex.withName(fqn).firstOrNull {
             (it.typeOrigin == Type.Origin.RESOLVED || it.typeOrigin == Type.Origin.GUESSED) &&
                 it.root.name == fqn &&
                 if (generics != null) {
@@ -227,13 +239,118 @@ class TypeManager {
     }
 }
 
+/**
+ * A value that was computed for a [Type] in the given [TypeManager.hierarchyVersion] of
+ * [typeManager]. It needs to be computed again, once the type hierarchy changed.
+ */
+internal class TypeMemo<T>(val typeManager: TypeManager, val version: Long, val value: T) {
+    fun isValid(typeManager: TypeManager): Boolean {
+        return this.typeManager === typeManager && version == typeManager.hierarchyVersion.get()
+    }
+}
+
+/**
+ * The set of [TypeManager.resolvedTypes]. In addition to the types themselves, it keeps an index
+ * from the (root) name of each type at the time it was added to the types with this name, so that
+ * [TypeManager.typeExists] and [TypeManager.lookupResolvedType] do not need to scan all types.
+ */
+internal class ResolvedTypes(private val typeManager: TypeManager) : IdentitySet<Type>() {
+    private val byName = HashMap<String, MutableList<Type>>()
+
+    /** Returns all types whose root had the name [fqn] when they were added. */
+    fun withName(fqn: CharSequence): List<Type> {
+        return byName[fqn.toString()] ?: listOf()
+    }
+
+    override fun add(element: Type): Boolean {
+        if (!super.add(element)) {
+            return false
+        }
+
+        byName.computeIfAbsent(element.root.name.toString()) { mutableListOf() } += element
+        typeManager.hierarchyVersion.incrementAndGet()
+        return true
+    }
+
+    override fun addAllWithoutCheck(elements: IdentitySet<Type>) {
+        addAll(elements)
+    }
+
+    override fun remove(element: Type): Boolean {
+        if (!super.remove(element)) {
+            return false
+        }
+
+        unindex(element)
+        return true
+    }
+
+    override fun clear() {
+        super.clear()
+        byName.clear()
+        typeManager.hierarchyVersion.incrementAndGet()
+    }
+
+    override fun iterator(): MutableIterator<Type> {
+        val iterator = super.iterator()
+        return object : MutableIterator<Type> {
+            private var current: Type? = null
+
+            override fun hasNext() = iterator.hasNext()
+
+            override fun next() = iterator.next().also { current = it }
+
+            override fun remove() {
+                iterator.remove()
+                current?.let { unindex(it) }
+            }
+        }
+    }
+
+    private fun unindex(type: Type) {
+        // The name of the type might have changed since it was added, so we cannot rely on it
+        val iterator = byName.values.iterator()
+        while (iterator.hasNext()) {
+            val list = iterator.next()
+            if (list.removeIf { it === type } && list.isEmpty()) {
+                iterator.remove()
+            }
+        }
+        typeManager.hierarchyVersion.incrementAndGet()
+    }
+}
+
 val Type.ancestors: Set<Type.Ancestor>
     get() {
         return this.getAncestors(0)
     }
 
+/**
+ * Returns the ancestors of this type, starting with the given [depth]. The ancestors themselves are
+ * only computed once per [TypeManager.hierarchyVersion] and then shared.
+ */
 internal fun Type.getAncestors(depth: Int): Set<Type.Ancestor> {
-    val types = mutableSetOf<Type.Ancestor>()
+    // Without a type manager, we cannot tell whether the type hierarchy changed
+    val typeManager = language.typeManager
+    val ancestors =
+        if (typeManager == null) {
+            computeAncestors()
+        } else {
+            var memo = memoisedAncestors
+            if (memo == null || !memo.isValid(typeManager)) {
+                // Read the version before computing, so that a concurrent change invalidates it
+                val version = typeManager.hierarchyVersion.get()
+                memo = TypeMemo(typeManager, version, computeAncestors())
+                memoisedAncestors = memo
+            }
+            memo.value
+        }
+
+    return if (depth == 0) ancestors else OffsetAncestors(ancestors, depth)
+}
+
+private fun Type.computeAncestors(): Set<Type.Ancestor> {
+    val types = LinkedHashSet<Type.Ancestor>()
 
     // Recursively call ourselves on our super types.
     types +=
@@ -249,14 +366,35 @@ internal fun Type.getAncestors(depth: Int): Set<Type.Ancestor> {
                     true
                 }
             }
-            .flatMap { it.getAncestors(depth + 1) }
+            .flatMap { it.getAncestors(1) }
 
     // Since the chain starts with our type, we add ourselves to it
-    types += Type.Ancestor(this, depth)
+    types += Type.Ancestor(this, 0)
 
     return types
 }
 
+/**
+ * A view on the memoised [ancestors] of a type, whose depths are increased by [offset]. Since
+ * [Type.Ancestor.equals] ignores the depth, we can directly delegate [contains] to the [ancestors].
+ */
+private class OffsetAncestors(val ancestors: Set<Type.Ancestor>, val offset: Int) :
+    AbstractSet<Type.Ancestor>() {
+    override val size: Int
+        get() = ancestors.size
+
+    override fun contains(element: Type.Ancestor) = ancestors.contains(element)
+
+    override fun iterator(): Iterator<Type.Ancestor> {
+        val iterator = ancestors.iterator()
+        return object : Iterator<Type.Ancestor> {
+            override fun hasNext() = iterator.hasNext()
+
+            override fun next() = iterator.next().let { Type.Ancestor(it.type, it.depth + offset) }
+        }
+    }
+}
+
 /**
  * This function checks, if this [Type] can be cast into [targetType]. Note, this also takes the
  * [TypeOperations] of the type into account, which means that pointer types of derived types will
@@ -266,7 +404,29 @@ internal fun Type.getAncestors(depth: Int): Set<Type.Ancestor> {
  * Optionally, the nodes that hold the respective type can be supplied as [hint] and [targetHint].
  */
 fun Type.tryCast(targetType: Type, hint: HasType? = null, targetHint: HasType? = null): CastResult {
-    return this.language.tryCast(this, targetType, hint, targetHint)
+    // The hints can change the result of the cast (e.g. for literals), so we only memoise the
+    // result of casts without them
+    if (hint != null || targetHint != null) {
+        return this.language.tryCast(this, targetType, hint, targetHint)
+    }
+
+    // Without a type manager, we cannot tell whether the type hierarchy changed
+    val typeManager = language.typeManager ?: return this.language.tryCast(this, targetType)
+    var memo = memoisedCasts
+    if (memo == null || !memo.isValid(typeManager)) {
+        memo = TypeMemo(typeManager, typeManager.hierarchyVersion.get(), IdentityHashMap())
+        memoisedCasts = memo
+    }
+
+    val cached = synchronized(memo.value) { memo.value[targetType] }
+    if (cached != null) {
+        return cached
+    }
+
+    val result = this.language.tryCast(this, targetType)
+    synchronized(memo.value) { memo.value[targetType] = result }
+
+    return result
 }
 
 /**
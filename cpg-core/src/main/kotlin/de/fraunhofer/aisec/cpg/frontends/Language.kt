@@ -33,6 +33,7 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize
 import de.fraunhofer.aisec.cpg.CallResolutionResult
 import de.fraunhofer.aisec.cpg.SignatureResult
 import de.fraunhofer.aisec.cpg.TranslationContext
+import de.fraunhofer.aisec.cpg.TypeManager
 import de.fraunhofer.aisec.cpg.evaluation.ValueEvaluator
 import de.fraunhofer.aisec.cpg.getAncestors
 import de.fraunhofer.aisec.cpg.graph.AstNode
@@ -135,6 +136,14 @@ abstract class Language<T : LanguageFrontend<*, *>>() : Node() {
     /** The standard evaluator to be used with this language. */
     @DoNotPersist open val evaluator: ValueEvaluator = ValueEvaluator()
 
+    /**
+     * The [TypeManager] of the translation this language is used in. It is set once a
+     * [TranslationContext] or a [LanguageFrontend] is created for this language and allows the
+     * types of this language to memoise their [ancestors] and [tryCast] results per version of the
+     * type hierarchy (see [TypeManager.hierarchyVersion]).
+     */
+    @DoNotPersist @JsonIgnore @Volatile internal var typeManager: TypeManager? = null
+
     init {
         this.language = this
         this.name = Name(this::class.simpleName ?: EMPTY_NAME)
@@ -551,11 +560,9 @@ abstract class Language<T : LanguageFrontend<*, *>>() : Node() {
         // component.
         val component =
             if (source !is Type) {
-                source.component
-                    ?: provider.ctx.currentComponent
-                    ?: source.scope?.astNode?.component
+                source.component ?: provider.currentComponent ?: source.scope?.astNode?.component
             } else {
-                provider.ctx.currentComponent ?: source.scope?.astNode?.component
+                provider.currentComponent ?: source.scope?.astNode?.component
             }
         if (component == null) {
             val msg =
@@ -80,6 +80,10 @@ abstract class LanguageFrontend<AstNode, TypeNode>(
     val typeManager: TypeManager = ctx.typeManager
     val config: TranslationConfiguration = ctx.config
 
+    init {
+        language.typeManager = typeManager
+    }
+
     open val frontendConfiguration: FrontendConfiguration<out LanguageFrontend<*, *>>? by lazy {
         this.ctx.config.frontendConfigurations[this::class]
     }
@@ -44,7 +44,6 @@ import de.fraunhofer.aisec.cpg.helpers.functional.CPU_CORES
 import de.fraunhofer.aisec.cpg.helpers.functional.MIN_CHUNK_SIZE
 import de.fraunhofer.aisec.cpg.helpers.identitySetOf
 import de.fraunhofer.aisec.cpg.helpers.mapFiltered
-import de.fraunhofer.aisec.cpg.helpers.mapFilteredTo
 import de.fraunhofer.aisec.cpg.passes.reconstructedImportName
 import java.util.Objects
 import java.util.concurrent.ConcurrentHashMap
@@ -83,6 +82,15 @@ inline fun <reified T> AstNode?.allChildren(
     }
 }
 
+/**
+ * Returns all nodes of type [T] in the AST beginning with this node, like [allChildren]. If this is
+ * a [TranslationResult] with a [TranslationResult.nodeIndex], the nodes are taken from the index
+ * instead of flattening the AST.
+ */
+inline fun <reified T> AstNode?.indexedChildren(): List<T> {
+    return (this as? TranslationResult)?.nodeIndex?.nodesOfType<T>() ?: this.allChildren()
+}
+
 /**
  * Checks, whether this [Node] has a location that matches the given parameters.
  *
@@ -1130,11 +1138,19 @@ fun Node.followXUntilHit(
     // failedPaths: All the paths which do not satisfy "predicate"
     val failedPaths = mutableListOf<Pair<FailureReason, NodePath>>()
     val loopingPaths: MutableSet<NodePath> = ConcurrentHashMap.newKeySet()
-    // The list of paths where we're not done yet.
-    val worklist = identitySetOf<List<Triple<Node, Edge<Node>?, Context>>>()
-    worklist.add(listOf(Triple(this, null, ctx))) // We start only with the "from" node (=this)
+    // The paths where we're not done yet, each represented by its last step. We always continue
+    // with the longest path. Since a path is only ever replaced by its (longer) extensions, the top
+    // of this stack always is one of the longest paths, so we do not need to search for it.
+    val worklist = ArrayDeque<PathStep>()
+    worklist.addLast(PathStep(this, null, ctx, null)) // We start only with the "from" node (=this)
+
+    // The (node, call stack) states that were already added to the worklist. We only need them if
+    // we do not look for all possible paths.
+    val seenStates = mutableSetOf<Pair<Node, SimpleStack<Call>>>()
+    if (!findAllPossiblePaths) {
+        seenStates += this to ctx.callStack.clone()
+    }
 
-    val alreadySeenNodes = mutableSetOf<Triple<Node, Edge<Node>?, Context>>()
     // First check if the current node satisfies the predicate.
     // If it does, we consider this path fulfilled and skip further traversal.
     if (predicate(this)) {
@@ -1142,96 +1158,65 @@ fun Node.followXUntilHit(
         return FulfilledAndFailedPaths(fulfilledPaths, failedPaths)
     }
     while (worklist.isNotEmpty()) {
-        val currentPath = worklist.maxBy { it.size }
-        worklist.remove(currentPath)
-        val currentNode = currentPath.last().first
-        val currentEdge = currentPath.last().second
-        val currentContext = currentPath.last().third
-        alreadySeenNodes.add(Triple(currentNode, currentEdge, currentContext))
-        val currentPathNodes = currentPath.map { it.first }
-        val currentPathEdges = currentPath.mapNotNull { it.second }
-        // The last node of the path is where we continue. We get all of its outgoing CDG edges and
+        val current = worklist.removeLast()
+        val currentContext = current.context
+        // The last node of the path is where we continue. We get all of its outgoing edges and
         // follow them
-        val nextNodes = x(currentNode, currentContext, currentPath, loopingPaths)
+        val nextNodes = x(current.node, currentContext, current.path, loopingPaths)
 
         // No further nodes in the path and the path criteria are not satisfied.
         if (nextNodes.isEmpty() && collectFailedPaths) {
             // TODO: How to determine if this path is really at the end or if it exceeded the number
             // of steps?
-            failedPaths.add(
-                FailureReason.PATH_ENDED to
-                    NodePath(currentPathNodes, currentPathEdges)
-                        .addAssumptionDependence(currentPath.map { it.third })
-            )
+            failedPaths.add(FailureReason.PATH_ENDED to current.toNodePath())
         }
 
-        for ((nextNode, edge, newContext) in nextNodes) {
-            // Copy the path for each outgoing edge and add the next node
+        // The extended paths are pushed in reverse order, so that they are explored in the order
+        // returned by x
+        val extended = mutableListOf<PathStep>()
+        for (next in nextNodes) {
+            val (nextNode, edge, newContext) = next
             if (predicate(nextNode)) {
                 // We ended up in the node fulfilling "predicate", so we're done for this path. Add
                 // the path to the results.
-                val nodePath =
-                    NodePath(currentPathNodes + nextNode, currentPathEdges + edge)
-                        .addAssumptionDependence(currentPath.map { it.third } + newContext)
-                fulfilledPaths.add(nodePath)
+                fulfilledPaths.add(current.toNodePath(next))
                 continue // Don't add this path anymore. The requirement is satisfied.
             }
             if (earlyTermination(nextNode, currentContext)) {
-                failedPaths.add(
-                    FailureReason.HIT_EARLY_TERMINATION to
-                        NodePath(currentPathNodes + nextNode, currentPathEdges + edge)
-                            .addAssumptionDependence(currentPath.map { it.third } + newContext)
-                )
+                failedPaths.add(FailureReason.HIT_EARLY_TERMINATION to current.toNodePath(next))
                 continue // Don't add this path anymore. We already failed.
             }
             // The next node is new in the current path (i.e., there's no loop), so we add the path
             // with the next step to the worklist.
             if (
-                !isNodeWithCallStackInPath(nextNode, newContext, currentPath) &&
+                !current.contains(nextNode, newContext) &&
                     // A hack that tries to ensure that we are not running in circles: Watch out if
                     // the top of the newContext and the currentPath callStack are the same and not
                     // null, this could indicate a loop
                     // However, if the newContext and the currentPath last's callStack are the same,
                     // it should be fine I guess
                     !newContext.callStack.clone().isLoop() &&
-                    (newContext.callStack.top != currentPath.last().third.callStack.top ||
+                    (newContext.callStack.top != currentContext.callStack.top ||
                         newContext.callStack.top == null ||
-                        newContext.callStack == currentPath.last().third.callStack) &&
-                    (findAllPossiblePaths ||
-                        (!isNodeWithCallStackInPath(nextNode, newContext, alreadySeenNodes) &&
-                            worklist.none { isNodeWithCallStackInPath(nextNode, newContext, it) }))
+                        newContext.callStack == currentContext.callStack) &&
+                    (findAllPossiblePaths || nextNode to newContext.callStack !in seenStates)
             ) {
-                worklist.add(currentPath.toMutableList() + Triple(nextNode, edge, newContext.inc()))
+                if (!findAllPossiblePaths) {
+                    seenStates += nextNode to newContext.callStack.clone()
+                }
+                extended += PathStep(nextNode, edge, newContext.inc(), current)
             } else {
                 // There's a loop.
-                loopingPaths.add(
-                    NodePath(currentPathNodes + nextNode, currentPathEdges + edge)
-                        .addAssumptionDependence(currentPath.map { it.third } + newContext)
-                )
+                loopingPaths.add(current.toNodePath(next))
             }
         }
+        extended.asReversed().forEach { worklist.addLast(it) }
     }
 
-    val failedLoops =
-        loopingPaths.mapFilteredTo(
-            mutableSetOf(),
-            { path ->
-                fulfilledPaths.none {
-                    it.nodes.size > path.nodes.size &&
-                        it.nodes.subList(0, path.nodes.size - 1) == path.nodes
-                } &&
-                    failedPaths.none {
-                        it.second.nodes.size > path.nodes.size &&
-                            it.second.nodes.subList(0, path.nodes.size - 1) == path.nodes
-                    }
-            },
-        ) {
-            FailureReason.PATH_ENDED to it
-        }
-
+    // Looping paths end where the loop would start again, so they are reported as failed paths
     return FulfilledAndFailedPaths(
         fulfilledPaths,
-        (failedPaths + failedLoops).toSet().map { Pair(it.first, it.second) },
+        (failedPaths + loopingPaths.map { FailureReason.PATH_ENDED to it }).toSet().toList(),
     )
 }
 
@@ -1416,131 +1401,131 @@ fun Node.followPrevDFG(predicate: (Node) -> Boolean): NodePath? {
 
 /** Returns all [Node] children in the AST-subgraph, starting with this [Node]. */
 val AstNode?.nodes: List<AstNode>
-    get() = this.allChildren()
+    get() = this.indexedChildren()
 
 /** Returns all [Call] children in this graph, starting with this [Node]. */
 val AstNode?.calls: List<Call>
-    get() = this.allChildren()
+    get() = this.indexedChildren()
 
 /** Returns all [OperatorCall] children in this graph, starting with this [Node]. */
 val AstNode?.operatorCalls: List<OperatorCall>
-    get() = this.allChildren()
+    get() = this.indexedChildren()
 
 /** Returns all [MemberCall] children in this graph, starting with this [Node]. */
 val AstNode?.mcalls: List<MemberCall>
-    get() = this.allChildren()
+    get() = this.indexedChildren()
 
 /** Returns all [Cast] children in this graph, starting with this [Node]. */
 val AstNode?.casts: List<Cast>
-    get() = this.allChildren()
+    get() = this.indexedChildren()
 
 /** Returns all [Method] children in this graph, starting with this [Node]. */
 val AstNode?.methods: List<Method>
-    get() = this.allChildren()
+    get() = this.indexedChildren()
 
 /** Returns all [Operator] children in this graph, starting with this [Node]. */
 val AstNode?.operators: List<Operator>
-    get() = this.allChildren()
+    get() = this.indexedChildren()
 
 /** Returns all [Field] children in this graph, starting with this [Node]. */
 val AstNode?.fields: List<Field>
-    get() = this.allChildren()
+    get() = this.indexedChildren()
 
 /** Returns all [Parameter] children in this graph, starting with this [Node]. */
 val AstNode?.parameters: List<Parameter>
-    get() = this.allChildren()
+    get() = this.indexedChildren()
 
 /** Returns all [Function] children in this graph, starting with this [Node]. */
 val AstNode?.functions: List<Function>
-    get() = this.allChildren()
+    get() = this.indexedChildren()
 
 /** Returns all [Record] children in this graph, starting with this [Node]. */
 val AstNode?.records: List<Record>
-    get() = this.allChildren()
+    get() = this.indexedChildren()
 
 /** Returns all [Record] children in this graph, starting with this [Node]. */
 val AstNode?.namespaces: List<Namespace>
-    get() = this.allChildren()
+    get() = this.indexedChildren()
 
 /** Returns all [Import] children in this graph, starting with this [Node]. */
 val AstNode?.imports: List<Import>
-    get() = this.allChildren()
+    get() = this.indexedChildren()
 
 /** Returns all [Variable] children in this graph, starting with this [Node]. */
 val AstNode?.variables: List<Variable>
-    get() = this.allChildren()
+    get() = this.indexedChildren()
 
 /** Returns all [Literal] children in this graph, starting with this [Node]. */
 val AstNode?.literals: List<Literal<*>>
-    get() = this.allChildren()
+    get() = this.indexedChildren()
 
 /** Returns all [Block] child edges in this graph, starting with this [Node]. */
 val AstNode?.blocks: List<Block>
-    get() = this.allChildren()
+    get() = this.indexedChildren()
 
 /** Returns all [Reference] children in this graph, starting with this [Node]. */
 val AstNode?.refs: List<Reference>
-    get() = this.allChildren()
+    get() = this.indexedChildren()
 
 /** Returns all [MemberAccess] children in this graph, starting with this [Node]. */
 val AstNode?.memberExpressions: List<MemberAccess>
-    get() = this.allChildren()
+    get() = this.indexedChildren()
 
 /** Returns all [Expression] child edges in this graph, starting with this [Node]. */
 val AstNode?.statements: List<Expression>
-    get() = this.allChildren()
+    get() = this.indexedChildren()
 
 /** Returns all [For] child edges in this graph, starting with this [Node]. */
 val AstNode?.forLoops: List<For>
-    get() = this.allChildren()
+    get() = this.indexedChildren()
 
 /** Returns all [Try] child edges in this graph, starting with this [Node]. */
 val AstNode?.trys: List<Try>
-    get() = this.allChildren()
+    get() = this.indexedChildren()
 
 /** Returns all [Throw] child edges in this graph, starting with this [Node]. */
 val AstNode?.throws: List<Throw>
-    get() = this.allChildren()
+    get() = this.indexedChildren()
 
 /** Returns all [ForEach] child edges in this graph, starting with this [Node]. */
 val AstNode?.forEachLoops: List<ForEach>
-    get() = this.allChildren()
+    get() = this.indexedChildren()
 
 /** Returns all [Switch] child edges in this graph, starting with this [Node]. */
 val AstNode?.switches: List<Switch>
-    get() = this.allChildren()
+    get() = this.indexedChildren()
 
 /** Returns all [While] child edges in this graph, starting with this [Node]. */
 val AstNode?.whileLoops: List<While>
-    get() = this.allChildren()
+    get() = this.indexedChildren()
 
 /** Returns all [DoWhile] child edges in this graph, starting with this [Node]. */
 val AstNode?.doLoops: List<DoWhile>
-    get() = this.allChildren()
+    get() = this.indexedChildren()
 
 /** Returns all [Break] child edges in this graph, starting with this [Node]. */
 val AstNode?.breaks: List<Break>
-    get() = this.allChildren()
+    get() = this.indexedChildren()
 
 /** Returns all [Continue] child edges in this graph, starting with this [Node]. */
 val AstNode?.continues: List<Continue>
-    get() = this.allChildren()
+    get() = this.indexedChildren()
 
 /** Returns all [IfElse] child edges in this graph, starting with this [Node]. */
 val AstNode?.ifs: List<IfElse>
-    get() = this.allChildren()
+    get() = this.indexedChildren()
 
 /** Returns all [Label] child edges in this graph, starting with this [Node]. */
 val AstNode?.labels: List<Label>
-    get() = this.allChildren()
+    get() = this.indexedChildren()
 
 /** Returns all [Return] child edges in this graph, starting with this [Node]. */
 val AstNode?.returns: List<Return>
-    get() = this.allChildren()
+    get() = this.indexedChildren()
 
 /** Returns all [Assign] child edges in this graph, starting with this [Node]. */
 val AstNode?.assigns: List<Assign>
-    get() = this.allChildren()
+    get() = this.indexedChildren()
 
 /**
  * This function tries to find the first parent node of type [T] that satisfies the optional
@@ -1656,10 +1641,7 @@ operator fun <N : Expression> Expression?.invoke(): N? {
 
 /** Returns all [Call]s in this graph which call a method with the given [name]. */
 fun TranslationResult.callsByName(name: String): List<Call> {
-    @Suppress("UNCHECKED_CAST")
-    return SubgraphWalker.flattenAST(this).filter { node ->
-        node is Call && node.invokes.any { it.name.lastPartsMatch(name) }
-    } as List<Call>
+    return this.calls.filter { call -> call.invokes.any { it.name.lastPartsMatch(name) } }
 }
 
 /** Set of all functions which are called from this function */
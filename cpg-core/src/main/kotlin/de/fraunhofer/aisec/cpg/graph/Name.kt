@@ -28,7 +28,6 @@ package de.fraunhofer.aisec.cpg.graph
 import de.fraunhofer.aisec.cpg.frontends.Handler
 import de.fraunhofer.aisec.cpg.frontends.Language
 import de.fraunhofer.aisec.cpg.frontends.LanguageFrontend
-import java.util.*
 import kotlin.uuid.Uuid
 
 /**
@@ -69,9 +68,16 @@ class Name(
      * this is basically a cache for [toString]. Otherwise, we would need to call [toString] a lot
      * of times, to implement the necessary functions for [CharSequence].
      */
-    private val fullName: String by lazy {
-        (if (parent != null) parent.toString() + delimiter else "") + localName
-    }
+    private val fullName: String =
+        if (parent != null) parent.fullName + delimiter + localName else localName
+
+    /**
+     * The hash code of this name. Since all components are immutable, we can compute it once
+     * instead of hashing the whole [parent] chain on every call to [hashCode]. It has the same
+     * value as `Objects.hash(localName, parent, delimiter)`.
+     */
+    private val hash: Int =
+        31 * (31 * (31 + localName.hashCode()) + (parent?.hash ?: 0)) + delimiter.hashCode()
 
     public override fun clone(): Name = Name(localName, parent?.clone(), delimiter)
 
@@ -95,13 +101,15 @@ class Name(
      */
     override fun toString() = fullName
 
-    override val length = fullName.length
+    override val length: Int
+        get() = fullName.length
 
     override fun equals(other: Any?): Boolean {
         if (this === other) return true
         if (other is String) return this.fullName == other
         if (other is Name)
-            return localName == other.localName &&
+            return hash == other.hash &&
+                localName == other.localName &&
                 parent == other.parent &&
                 delimiter == other.delimiter
 
@@ -110,7 +118,7 @@ class Name(
 
     override fun get(index: Int) = fullName[index]
 
-    override fun hashCode() = Objects.hash(localName, parent, delimiter)
+    override fun hashCode() = hash
 
     override fun subSequence(startIndex: Int, endIndex: Int): CharSequence =
         fullName.subSequence(startIndex, endIndex)
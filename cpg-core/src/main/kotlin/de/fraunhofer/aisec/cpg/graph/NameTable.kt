@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026, Fraunhofer AISEC. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *                    $$$$$$\  $$$$$$$\   $$$$$$\
+ *                   $$  __$$\ $$  __$$\ $$  __$$\
+ *                   $$ /  \__|$$ |  $$ |$$ /  \__|
+ *                   $$ |      $$$$$$$  |$$ |$$$$\
+ *                   $$ |      $$  ____/ $$ |\_$$ |
+ *                   $$ |  $$\ $$ |      $$ |  $$ |
+ *                   \$$$$$   |$$ |      \$$$$$   |
+ *                    \______/ \__|       \______/
+ *
+ */
+package de.fraunhofer.aisec.cpg.graph
+
+import de.fraunhofer.aisec.cpg.TranslationContext
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * A table that interns [Name] objects and strings, so that equal names of different nodes share a
+ * single instance (including all of their parent names and the strings of their local names). This
+ * considerably reduces the memory footprint of large graphs, since many nodes (e.g., all references
+ * to the same variable and all types with the same name) carry equal names. Additionally, equal
+ * interned names can already be identified by reference in [Name.equals].
+ *
+ * There is one table per [TranslationContext], which is shared with all contexts that are used to
+ * parse files in parallel. All operations are thread-safe.
+ */
+class NameTable {
+    private val names = ConcurrentHashMap<Name, Name>()
+    private val strings = ConcurrentHashMap<String, String>()
+
+    /** The number of distinct names in this table. */
+    val size: Int
+        get() = names.size
+
+    /**
+     * Returns the canonical instance of [name]. The parents of the canonical instance are also
+     * canonical instances.
+     */
+    fun intern(name: Name): Name {
+        names[name]?.let {
+            return it
+        }
+
+        val parent = name.parent?.let { intern(it) }
+        val localName = intern(name.localName)
+        val canonical =
+            if (parent === name.parent && localName === name.localName) {
+                name
+            } else {
+                Name(localName, parent, name.delimiter)
+            }
+
+        return names.putIfAbsent(canonical, canonical) ?: canonical
+    }
+
+    /** Returns the canonical instance of [string]. */
+    fun intern(string: String): String {
+        return strings.putIfAbsent(string, string) ?: string
+    }
+
+    /**
+     * Returns the canonical instance of the source [code] of a node, if it is short enough (see
+     * [MAX_INTERNED_CODE_LENGTH]). Longer code (e.g., of whole functions) is rarely repeated and
+     * returned as it is.
+     */
+    fun internCode(code: String): String {
+        return if (code.length <= MAX_INTERNED_CODE_LENGTH) intern(code) else code
+    }
+
+    companion object {
+        /** The maximum length of source code that is interned by [internCode]. */
+        const val MAX_INTERNED_CODE_LENGTH = 64
+    }
+}
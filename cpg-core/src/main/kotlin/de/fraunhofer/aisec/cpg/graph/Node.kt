@@ -30,6 +30,7 @@ package de.fraunhofer.aisec.cpg.graph
 import com.fasterxml.jackson.annotation.JsonBackReference
 import com.fasterxml.jackson.annotation.JsonIgnore
 import de.fraunhofer.aisec.cpg.PopulatedByPass
+import de.fraunhofer.aisec.cpg.TranslationConfiguration
 import de.fraunhofer.aisec.cpg.assumptions.Assumption
 import de.fraunhofer.aisec.cpg.assumptions.HasAssumptions
 import de.fraunhofer.aisec.cpg.frontends.Handler
@@ -38,6 +39,7 @@ import de.fraunhofer.aisec.cpg.frontends.UnknownLanguage
 import de.fraunhofer.aisec.cpg.graph.declarations.Method
 import de.fraunhofer.aisec.cpg.graph.declarations.Record
 import de.fraunhofer.aisec.cpg.graph.declarations.TranslationUnit
+import de.fraunhofer.aisec.cpg.graph.edges.Edge
 import de.fraunhofer.aisec.cpg.graph.edges.flows.*
 import de.fraunhofer.aisec.cpg.graph.edges.overlay.BasicBlockEdgeList
 import de.fraunhofer.aisec.cpg.graph.edges.overlay.Overlays
@@ -49,6 +51,7 @@ import de.fraunhofer.aisec.cpg.graph.scopes.Scope
 import de.fraunhofer.aisec.cpg.helpers.mapFiltered
 import de.fraunhofer.aisec.cpg.helpers.smallMutableSetOf
 import de.fraunhofer.aisec.cpg.passes.*
+import de.fraunhofer.aisec.cpg.passes.configuration.SupportsParallelExecution
 import de.fraunhofer.aisec.cpg.persistence.Convert
 import de.fraunhofer.aisec.cpg.persistence.DoNotPersist
 import de.fraunhofer.aisec.cpg.persistence.Relationship
@@ -57,6 +60,7 @@ import de.fraunhofer.aisec.cpg.persistence.converters.NameConverter
 import de.fraunhofer.aisec.cpg.processing.IVisitable
 import de.fraunhofer.aisec.cpg.sarif.PhysicalLocation
 import java.util.*
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater
 import kotlin.uuid.Uuid
 import org.apache.commons.lang3.builder.ToStringBuilder
 import org.apache.commons.lang3.builder.ToStringStyle
@@ -89,6 +93,7 @@ abstract class Node() :
         set(value) {
             field = value
             cachedHashCode = 0
+            NodeIndex.astChanged(this)
         }
 
     /**
@@ -126,21 +131,71 @@ abstract class Node() :
         set(value) {
             field = value
             cachedHashCode = 0
+            NodeIndex.astChanged(this)
         }
 
-    /** Incoming control flow edges. */
+    /**
+     * The [CompactFlows] that hold the EOG and DFG edges of this node while their containers are
+     * not allocated, if [TranslationConfiguration.useCompactFlowEdges] is enabled.
+     */
+    @DoNotPersist @get:JsonIgnore internal var compactFlows: CompactFlows? = null
+        private set
+
+    /** The dense id of this node in [compactFlows]. */
+    @DoNotPersist @get:JsonIgnore internal var compactId: Int = -1
+        private set
+
+    /** Lazy backing field for [prevEOGEdges] (see [allocateFlowEdges]). */
+    @Volatile private var _prevEOGEdges: EvaluationOrders<Node>? = null
+
+    /**
+     * Incoming control flow edges.
+     *
+     * The backing container is allocated lazily on first access: many nodes (e.g., types, most
+     * declarations and scopes) are never part of the EOG. The container is not part of
+     * [equals]/[hashCode], so lazy-on-access is safe.
+     */
     @Relationship(value = "EOG", direction = Relationship.Direction.INCOMING)
     @PopulatedByPass(EvaluationOrderGraphPass::class)
-    var prevEOGEdges: EvaluationOrders<Node> =
-        EvaluationOrders<Node>(this, mirrorProperty = Node::nextEOGEdges, outgoing = false)
-        protected set
+    var prevEOGEdges: EvaluationOrders<Node>
+        get() =
+            _prevEOGEdges
+                ?: allocateFlowEdges(PREV_EOG_EDGES) {
+                    EvaluationOrders<Node>(
+                            this,
+                            mirrorProperty = Node::nextEOGEdges,
+                            outgoing = false,
+                        )
+                        .also { compactFlows?.restore(this, it) }
+                }
+        protected set(value) {
+            _prevEOGEdges = value
+        }
+
+    /** Lazy backing field for [nextEOGEdges] (see [allocateFlowEdges]). */
+    @Volatile private var _nextEOGEdges: EvaluationOrders<Node>? = null
 
-    /** Outgoing control flow edges. */
+    /**
+     * Outgoing control flow edges.
+     *
+     * The backing container is allocated lazily on first access (see [prevEOGEdges]).
+     */
     @Relationship(value = "EOG", direction = Relationship.Direction.OUTGOING)
     @PopulatedByPass(EvaluationOrderGraphPass::class)
-    var nextEOGEdges: EvaluationOrders<Node> =
-        EvaluationOrders<Node>(this, mirrorProperty = Node::prevEOGEdges, outgoing = true)
-        protected set
+    var nextEOGEdges: EvaluationOrders<Node>
+        get() =
+            _nextEOGEdges
+                ?: allocateFlowEdges(NEXT_EOG_EDGES) {
+                    EvaluationOrders<Node>(
+                            this,
+                            mirrorProperty = Node::prevEOGEdges,
+                            outgoing = true,
+                        )
+                        .also { compactFlows?.restore(this, it) }
+                }
+        protected set(value) {
+            _nextEOGEdges = value
+        }
 
     /** Lazy backing field for [basicBlockEdges]. */
     private var _basicBlockEdges: BasicBlockEdgeList<Node>? = null
@@ -232,22 +287,59 @@ abstract class Node() :
 
     @DoNotPersist @JsonIgnore var astParent: AstNode? = null
 
-    /** Virtual property for accessing [prevEOGEdges] without property edges. */
-    @PopulatedByPass(EvaluationOrderGraphPass::class) var prevEOG by unwrapping(Node::prevEOGEdges)
+    /**
+     * Virtual property for accessing [prevEOGEdges] without property edges. This is not a delegate
+     * (see [unwrapping]), since a delegate would allocate the lazy container when the node is
+     * created.
+     */
+    @DoNotPersist
+    @PopulatedByPass(EvaluationOrderGraphPass::class)
+    var prevEOG: MutableList<Node>
+        get() = prevEOGEdges.unwrap()
+        set(value) {
+            prevEOGEdges.resetTo(value)
+        }
 
-    /** Virtual property for accessing [nextEOGEdges] without property edges. */
-    @PopulatedByPass(EvaluationOrderGraphPass::class) var nextEOG by unwrapping(Node::nextEOGEdges)
+    /** Virtual property for accessing [nextEOGEdges] without property edges (see [prevEOG]). */
+    @DoNotPersist
+    @PopulatedByPass(EvaluationOrderGraphPass::class)
+    var nextEOG: MutableList<Node>
+        get() = nextEOGEdges.unwrap()
+        set(value) {
+            nextEOGEdges.resetTo(value)
+        }
 
-    /** Incoming data flow edges */
+    /** Lazy backing field for [prevDFGEdges] (see [allocateFlowEdges]). */
+    @Volatile private var _prevDFGEdges: Dataflows<Node>? = null
+
+    /**
+     * Incoming data flow edges.
+     *
+     * The backing container is allocated lazily on first access: many nodes (e.g., types, records
+     * and scopes) never have any data flow. The container is not part of [equals]/[hashCode], so
+     * lazy-on-access is safe.
+     */
     @Relationship(value = "DFG", direction = Relationship.Direction.INCOMING)
     @PopulatedByPass(DFGPass::class, PointsToPass::class)
-    var prevDFGEdges: Dataflows<Node> =
-        Dataflows<Node>(this, mirrorProperty = Node::nextDFGEdges, outgoing = false)
-        protected set
+    var prevDFGEdges: Dataflows<Node>
+        get() =
+            _prevDFGEdges
+                ?: allocateFlowEdges(PREV_DFG_EDGES) {
+                    Dataflows<Node>(this, mirrorProperty = Node::nextDFGEdges, outgoing = false)
+                        .also { compactFlows?.restore(this, it) }
+                }
+        protected set(value) {
+            _prevDFGEdges = value
+        }
 
     /** Virtual property for accessing [prevDFGEdges] without property edges. */
+    @DoNotPersist
     @PopulatedByPass(DFGPass::class, PointsToPass::class)
-    var prevDFG by unwrapping(Node::prevDFGEdges)
+    var prevDFG: MutableSet<Node>
+        get() = prevDFGEdges.unwrap()
+        set(value) {
+            prevDFGEdges.resetTo(value)
+        }
 
     /** Virtual property for accessing [nextDFGEdges] that have a [FullDataflowGranularity]. */
     @DoNotPersist
@@ -271,16 +363,35 @@ abstract class Node() :
             return prevDFGEdges.mapFiltered({ it.functionSummary }) { it.start }
         }
 
-    /** Outgoing data flow edges */
+    /** Lazy backing field for [nextDFGEdges] (see [allocateFlowEdges]). */
+    @Volatile private var _nextDFGEdges: Dataflows<Node>? = null
+
+    /**
+     * Outgoing data flow edges.
+     *
+     * The backing container is allocated lazily on first access (see [prevDFGEdges]).
+     */
     @PopulatedByPass(DFGPass::class, PointsToPass::class)
     @Relationship(value = "DFG", direction = Relationship.Direction.OUTGOING)
-    var nextDFGEdges: Dataflows<Node> =
-        Dataflows<Node>(this, mirrorProperty = Node::prevDFGEdges, outgoing = true)
-        protected set
+    var nextDFGEdges: Dataflows<Node>
+        get() =
+            _nextDFGEdges
+                ?: allocateFlowEdges(NEXT_DFG_EDGES) {
+                    Dataflows<Node>(this, mirrorProperty = Node::prevDFGEdges, outgoing = true)
+                        .also { compactFlows?.restore(this, it) }
+                }
+        protected set(value) {
+            _nextDFGEdges = value
+        }
 
     /** Virtual property for accessing [nextDFGEdges] without property edges. */
+    @DoNotPersist
     @PopulatedByPass(DFGPass::class, PointsToPass::class)
-    var nextDFG by unwrapping(Node::nextDFGEdges)
+    var nextDFG: MutableSet<Node>
+        get() = nextDFGEdges.unwrap()
+        set(value) {
+            nextDFGEdges.resetTo(value)
+        }
 
     /** Virtual property for accessing [nextDFGEdges] that have a [FullDataflowGranularity]. */
     @DoNotPersist
@@ -444,16 +555,16 @@ abstract class Node() :
      * further children that have no alternative connection paths to the rest of the graph.
      */
     open fun disconnectFromGraph() {
-        nextDFGEdges.clear()
-        prevDFGEdges.clear()
-        // The CDG/PDG/overlay containers are lazily allocated; only clear them if they were ever
-        // populated, so disconnecting does not allocate empty containers just to clear them.
+        // The edge containers are lazily allocated; only clear them if they were ever populated,
+        // so disconnecting does not allocate empty containers just to clear them.
+        flowEdgesOrNull(eog = false, outgoing = true)?.clear()
+        flowEdgesOrNull(eog = false, outgoing = false)?.clear()
         _prevCDGEdges?.clear()
         _nextCDGEdges?.clear()
         _prevPDGEdges?.clear()
         _nextPDGEdges?.clear()
-        nextEOGEdges.clear()
-        prevEOGEdges.clear()
+        flowEdgesOrNull(eog = true, outgoing = true)?.clear()
+        flowEdgesOrNull(eog = true, outgoing = false)?.clear()
 
         if (this is OverlayNode) {
             underlyingNodeEdge.clear()
@@ -507,8 +618,8 @@ abstract class Node() :
     override fun hashCode(): Int {
         // Cached (see [cachedHashCode]); invalidated by the [name]/[location] setters. This is
         // called very frequently (every structural HashMap/HashSet operation on a node), so
-        // avoiding
-        // the recomputation - and the varargs array [Objects.hash] allocates - is worthwhile.
+        // avoiding the recomputation - and the varargs array [Objects.hash] allocates - is
+        // worthwhile.
         var h = cachedHashCode
         if (h == 0) {
             h = Objects.hash(name, location, this.javaClass.name)
@@ -517,6 +628,85 @@ abstract class Node() :
         return h
     }
 
+    /**
+     * Publishes the lazily allocated flow edge container returned by [create] in the field of
+     * [updater], unless another thread was faster. Passes that support parallel execution (see
+     * [SupportsParallelExecution]) can touch the same node, such as a global variable, from
+     * several threads at once. A plain check-then-set could then hand out two different
+     * containers, and the edges added to the losing one would be lost.
+     *
+     * If the edges of this node were compacted (see [compactFlows]), [create] also restores them.
+     * Restoring one end of an edge consults the already allocated container of the other end, so
+     * the restore and the publication happen under the lock of the [CompactFlows]. Otherwise, two
+     * threads restoring both ends of the same edge could each create their own copy of it.
+     */
+    private fun <T : Any> allocateFlowEdges(
+        updater: AtomicReferenceFieldUpdater<Node, *>,
+        create: () -> T,
+    ): T {
+        @Suppress("UNCHECKED_CAST") val field = updater as AtomicReferenceFieldUpdater<Node, T?>
+        val flows = compactFlows
+        if (flows != null) {
+            return synchronized(flows) { field.get(this) ?: create().also { field.set(this, it) } }
+        }
+
+        val container = create()
+        return if (field.compareAndSet(this, null, container)) {
+            container
+        } else {
+            field.get(this) as T
+        }
+    }
+
+    /**
+     * Returns the EOG ([eog]) or DFG edges in the given direction, without allocating an empty
+     * container. Edges that are only kept in the [compactFlows] are restored.
+     */
+    internal fun flowEdgesOrNull(
+        eog: Boolean,
+        outgoing: Boolean,
+    ): MutableCollection<out Edge<Node>>? {
+        if (compactFlows != null) {
+            return when {
+                eog && outgoing -> nextEOGEdges
+                eog -> prevEOGEdges
+                outgoing -> nextDFGEdges
+                else -> prevDFGEdges
+            }
+        }
+
+        return allocatedFlowEdges(eog, outgoing)
+    }
+
+    /**
+     * Returns the EOG ([eog]) or DFG edges in the given direction if the container has already been
+     * allocated, without allocating or restoring it.
+     */
+    internal fun allocatedFlowEdges(
+        eog: Boolean,
+        outgoing: Boolean,
+    ): MutableCollection<out Edge<Node>>? {
+        return when {
+            eog && outgoing -> _nextEOGEdges
+            eog -> _prevEOGEdges
+            outgoing -> _nextDFGEdges
+            else -> _prevDFGEdges
+        }
+    }
+
+    /**
+     * Hands the EOG and DFG edges of this node over to [flows]. The containers are dropped and
+     * restored from [flows] on their next access.
+     */
+    internal fun compactFlowEdges(flows: CompactFlows, id: Int) {
+        _nextEOGEdges = null
+        _prevEOGEdges = null
+        _nextDFGEdges = null
+        _prevDFGEdges = null
+        compactFlows = flows
+        compactId = id
+    }
+
     /** Returns the starting point of the EOG outside this node and its children. */
     open fun getStartingPrevEOG(): Collection<Node> {
         return this.prevEOG
@@ -533,6 +723,34 @@ abstract class Node() :
         @JvmStatic protected val log: Logger = LoggerFactory.getLogger(Node::class.java)
 
         const val EMPTY_NAME = ""
+
+        private val PREV_EOG_EDGES =
+            AtomicReferenceFieldUpdater.newUpdater(
+                Node::class.java,
+                EvaluationOrders::class.java,
+                "_prevEOGEdges",
+            )
+
+        private val NEXT_EOG_EDGES =
+            AtomicReferenceFieldUpdater.newUpdater(
+                Node::class.java,
+                EvaluationOrders::class.java,
+                "_nextEOGEdges",
+            )
+
+        private val PREV_DFG_EDGES =
+            AtomicReferenceFieldUpdater.newUpdater(
+                Node::class.java,
+                Dataflows::class.java,
+                "_prevDFGEdges",
+            )
+
+        private val NEXT_DFG_EDGES =
+            AtomicReferenceFieldUpdater.newUpdater(
+                Node::class.java,
+                Dataflows::class.java,
+                "_nextDFGEdges",
+            )
     }
 }
 
@@ -153,7 +153,9 @@ fun Node.applyMetadata(
             } else {
                 defaultNamespace
             }
-        this.name = this.newName(name, doNotPrependNamespace, namespace)
+        val nodeName = this.newName(name, doNotPrependNamespace, namespace)
+        this.name =
+            if (provider is ContextProvider) provider.ctx.nameTable.intern(nodeName) else nodeName
     }
 
     // Disable the type observer if the config says so.
@@ -239,6 +241,15 @@ fun NamespaceProvider.fqn(localName: String): Name {
 
 interface ContextProvider : MetadataProvider {
     val ctx: TranslationContext
+
+    /**
+     * The [Component] this provider is currently processing. By default, this is the
+     * [TranslationContext.currentComponent]. Passes that are executed in parallel (e.g., the
+     * concept passes) keep track of their own component instead, since the context is shared
+     * between all threads.
+     */
+    val currentComponent: Component?
+        get() = ctx.currentComponent
 }
 
 /**
@@ -395,7 +406,7 @@ private fun <AstNode> Node.setCodeAndLocation(
         // only set code, if it's not already set or empty
         val code = provider.codeOf(rawNode)
         if (code != null) {
-            this.code = code
+            this.code = contextProvider.ctx.nameTable.internCode(code)
         } else {
             LOGGER.warn("Unexpected: No code for node {}", rawNode)
         }
@@ -414,7 +425,7 @@ context(provider: ContextProvider)
 val Path.topLevel: File
     get() {
         // First, try to see if the current component has a top-level that contains the path
-        val topLevel = provider.ctx.currentComponent?.topLevel()
+        val topLevel = provider.currentComponent?.topLevel()
         if (topLevel != null && toAbsolutePath().startsWith(topLevel.absoluteFile.toPath())) {
             return topLevel.absoluteFile
         }
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2026, Fraunhofer AISEC. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *                    $$$$$$\  $$$$$$$\   $$$$$$\
+ *                   $$  __$$\ $$  __$$\ $$  __$$\
+ *                   $$ /  \__|$$ |  $$ |$$ /  \__|
+ *                   $$ |      $$$$$$$  |$$ |$$$$\
+ *                   $$ |      $$  ____/ $$ |\_$$ |
+ *                   $$ |  $$\ $$ |      $$ |  $$ |
+ *                   \$$$$$   |$$ |      \$$$$$   |
+ *                    \______/ \__|       \______/
+ *
+ */
+package de.fraunhofer.aisec.cpg.graph
+
+import de.fraunhofer.aisec.cpg.TranslationContext
+import de.fraunhofer.aisec.cpg.TranslationResult
+import de.fraunhofer.aisec.cpg.helpers.SubgraphWalker
+import java.lang.ref.Cleaner
+import java.net.URI
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.LongAdder
+
+/**
+ * An index over all AST nodes of the [TranslationResult] [root], which answers "all nodes of type
+ * X", "all nodes named X" and "all nodes starting at file/line X" without flattening the AST again
+ * for every request. All results are in the same order as [SubgraphWalker.flattenAST] returns the
+ * nodes.
+ *
+ * The index is built lazily on the first request. Every creation, removal or replacement of an AST
+ * edge and every change of the name or location of a node below [root] increases the modification
+ * counter of its [TranslationContext] (see [astChanged]); a request that observes a different
+ * counter value than the one the index was built with rebuilds it. The index is therefore always
+ * consistent with the AST, but only pays off once the AST is stable, e.g. when running queries on
+ * a finished [TranslationResult].
+ *
+ * An index is available through [TranslationResult.nodeIndex] if enabled with
+ * [de.fraunhofer.aisec.cpg.TranslationConfiguration.Builder.useNodeIndex].
+ */
+class NodeIndex(val root: TranslationResult) {
+
+    /** The nodes of the AST at a specific modification count, and the indices derived from them. */
+    private class Snapshot(
+        val modifications: LongAdder,
+        val version: Long,
+        val nodes: List<AstNode>,
+    ) {
+        val byType = ConcurrentHashMap<Class<*>, List<*>>()
+
+        val byName: Map<String, List<AstNode>> by lazy { nodes.groupBy { it.name.localName } }
+
+        val byLocation: Map<URI, Map<Int, List<AstNode>>> by lazy {
+            nodes
+                .filter { it.location != null }
+                .groupBy { it.location!!.artifactLocation.uri }
+                .mapValues { (_, nodes) -> nodes.groupBy { it.location!!.region.startLine } }
+        }
+    }
+
+    @Volatile private var snapshot: Snapshot? = null
+
+    init {
+        liveIndices.incrementAndGet()
+        cleaner.register(this) { liveIndices.decrementAndGet() }
+    }
+
+    /** Returns the snapshot for the current state of the AST, (re-)building it if necessary. */
+    private fun current(): Snapshot {
+        // The final context (and therefore the counter) can be replaced after the index was built
+        val modifications = root.finalCtx.astModifications
+        val version = modifications.sum()
+        snapshot
+            ?.takeIf { it.modifications === modifications && it.version == version }
+            ?.let {
+                return it
+            }
+
+        synchronized(this) {
+            snapshot
+                ?.takeIf { it.modifications === modifications && it.version == version }
+                ?.let {
+                    return it
+                }
+
+            // If the AST is modified while we are flattening it, the counter will differ on the
+            // next request and the snapshot is simply rebuilt
+            return Snapshot(modifications, version, SubgraphWalker.flattenAST(root)).also {
+                snapshot = it
+            }
+        }
+    }
+
+    /** Returns all nodes of the AST. */
+    val nodes: List<AstNode>
+        get() = current().nodes
+
+    /** Returns all nodes of the AST that are an instance of [type]. */
+    fun <T> nodesOfType(type: Class<T>): List<T> {
+        val snapshot = current()
+
+        @Suppress("UNCHECKED_CAST")
+        return snapshot.byType.computeIfAbsent(type) { snapshot.nodes.filterIsInstance(type) }
+            as List<T>
+    }
+
+    /** Returns all nodes of the AST whose [Name.localName] is [localName]. */
+    fun nodesByName(localName: String): List<AstNode> {
+        return current().byName[localName] ?: emptyList()
+    }
+
+    /** Returns all nodes of the AST whose location in the file [uri] starts at the given [line]. */
+    fun nodesAt(uri: URI, line: Int): List<AstNode> {
+        return current().byLocation[uri]?.get(line) ?: emptyList()
+    }
+
+    companion object {
+        /**
+         * The number of [NodeIndex] instances that are still reachable. As long as there are none,
+         * there is no index that could be outdated, so [astChanged] does not need to do anything.
+         * An index that is created later builds its snapshot from scratch anyway.
+         */
+        private val liveIndices = AtomicInteger()
+
+        private val cleaner = Cleaner.create()
+
+        /**
+         * Needs to be called whenever an AST edge starting at [node] is created, removed or
+         * replaced, or the name or location of [node] changes. If [node] is part of the AST of a
+         * [TranslationResult], the [TranslationContext.astModifications] of its final context are
+         * increased, so that its index is invalidated. A [LongAdder] keeps the contention low when
+         * many passes modify the AST in parallel. Modifications of nodes that are not (yet) part of
+         * a [TranslationResult] do not need to be counted, since attaching them creates an AST edge
+         * below the result.
+         */
+        internal fun astChanged(node: Node) {
+            // Most translations do not use an index, so we avoid walking up the AST for every
+            // modification
+            if (liveIndices.get() == 0) {
+                return
+            }
+
+            var root = node
+            while (true) {
+                root = root.astParent ?: break
+            }
+
+            (root as? TranslationResult)?.finalCtx?.astModifications?.increment()
+        }
+    }
+}
+
+/** Returns all nodes of type [T] in this index. */
+inline fun <reified T> NodeIndex.nodesOfType(): List<T> = nodesOfType(T::class.java)
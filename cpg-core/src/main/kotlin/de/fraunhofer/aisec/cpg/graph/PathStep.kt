@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026, Fraunhofer AISEC. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *                    $$$$$$\  $$$$$$$\   $$$$$$\
+ *                   $$  __$$\ $$  __$$\ $$  __$$\
+ *                   $$ /  \__|$$ |  $$ |$$ /  \__|
+ *                   $$ |      $$$$$$$  |$$ |$$$$\
+ *                   $$ |      $$  ____/ $$ |\_$$ |
+ *                   $$ |  $$\ $$ |      $$ |  $$ |
+ *                   \$$$$$   |$$ |      \$$$$$   |
+ *                    \______/ \__|       \______/
+ *
+ */
+package de.fraunhofer.aisec.cpg.graph
+
+import de.fraunhofer.aisec.cpg.assumptions.addAssumptionDependence
+import de.fraunhofer.aisec.cpg.graph.edges.Edge
+
+/**
+ * A single step of a path explored by [followXUntilHit]. A path is represented by its last step
+ * and all paths share their common prefixes through [parent]. Extending a path by one step is
+ * therefore O(1) and does not copy the path. The full path is only reconstructed (see [toList] and
+ * [toNodePath]) for the paths that are actually reported or requested by a step selector.
+ */
+internal class PathStep(
+    val node: Node,
+    val edge: Edge<Node>?,
+    val context: Context,
+    val parent: PathStep?,
+) {
+    /** The number of steps from the start of the path up to (and including) this step. */
+    val length: Int = (parent?.length ?: 0) + 1
+
+    /** The list of `(node, edge, context)` triples of the path, which is created on first use. */
+    val path: List<Triple<Node, Edge<Node>?, Context>> = LazyPath(this)
+
+    /**
+     * Checks if [node] is already on this path with the same call stack as in [context]. This is
+     * the equivalent of [isNodeWithCallStackInPath] without reconstructing the path.
+     */
+    fun contains(node: Node, context: Context): Boolean {
+        var step: PathStep? = this
+        while (step != null) {
+            if (step.node == node && step.context.callStack == context.callStack) {
+                return true
+            }
+            step = step.parent
+        }
+
+        return false
+    }
+
+    /** Reconstructs the path from its start up to this step. */
+    fun toList(): List<Triple<Node, Edge<Node>?, Context>> {
+        val steps = arrayOfNulls<PathStep>(length)
+        var step: PathStep? = this
+        while (step != null) {
+            steps[step.length - 1] = step
+            step = step.parent
+        }
+
+        return steps.map { Triple(it!!.node, it.edge, it.context) }
+    }
+
+    /**
+     * Reconstructs the [NodePath] from the start of the path up to this step, optionally extended
+     * by a [next] step that is not (yet) part of the path.
+     */
+    fun toNodePath(next: Triple<Node, Edge<Node>, Context>? = null): NodePath {
+        val steps = toList()
+        val nodes = ArrayList<Node>(steps.size + 1)
+        val edges = ArrayList<Edge<Node>>(steps.size)
+        val contexts = ArrayList<Context>(steps.size + 1)
+        for ((node, edge, context) in steps) {
+            nodes += node
+            edge?.let { edges += it }
+            contexts += context
+        }
+        next?.let { (node, edge, context) ->
+            nodes += node
+            edges += edge
+            contexts += context
+        }
+
+        return NodePath(nodes, edges).addAssumptionDependence(contexts)
+    }
+
+    /** A [List] view on the path ending in [step] which is only reconstructed on first access. */
+    private class LazyPath(private val step: PathStep) :
+        AbstractList<Triple<Node, Edge<Node>?, Context>>() {
+        private val list by lazy { step.toList() }
+
+        override val size: Int
+            get() = step.length
+
+        override fun get(index: Int) = list[index]
+    }
+}
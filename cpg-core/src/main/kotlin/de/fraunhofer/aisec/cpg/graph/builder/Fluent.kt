@@ -42,6 +42,7 @@ import de.fraunhofer.aisec.cpg.graph.types.FunctionType.Companion.computeType
 import de.fraunhofer.aisec.cpg.graph.types.IncompleteType
 import de.fraunhofer.aisec.cpg.graph.types.Type
 import de.fraunhofer.aisec.cpg.graph.types.UnknownType
+import de.fraunhofer.aisec.cpg.passes.executePassesInParallel
 import de.fraunhofer.aisec.cpg.passes.executePassesSequentially
 import de.fraunhofer.aisec.cpg.sarif.PhysicalLocation
 import de.fraunhofer.aisec.cpg.sarif.Region
@@ -61,7 +62,11 @@ fun LanguageFrontend<*, *>.translationResult(
     node.addComponent(component)
     init(node)
 
-    executePassesSequentially(ctx, node, mutableSetOf())
+    if (ctx.config.useParallelPasses) {
+        executePassesInParallel(ctx, node, mutableSetOf())
+    } else {
+        executePassesSequentially(ctx, node, mutableSetOf())
+    }
 
     // Start pseudo location inference for the root node of translation, propagating to its
     // descendents.
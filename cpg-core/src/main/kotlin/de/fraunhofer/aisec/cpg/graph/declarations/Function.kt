@@ -146,6 +146,13 @@ open class Function :
 
     var functionSummary = ConcurrentIdentityHashMap<Node, MutableSet<FSEntry>>()
 
+    /**
+     * The key of the [functionSummary] in a [de.fraunhofer.aisec.cpg.passes.FunctionSummaryCache],
+     * i.e., a hash of this function, the summaries of its callees and the configuration of the
+     * pass. It is only set if a summary cache is configured.
+     */
+    @DoNotPersist var functionSummaryKey: String? = null
+
     /** Returns true, if this function has a [body] statement. */
     fun hasBody(): Boolean {
         return body != null
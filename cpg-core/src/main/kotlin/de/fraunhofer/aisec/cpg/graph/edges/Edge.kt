@@ -52,10 +52,28 @@ import org.apache.commons.lang3.builder.ToStringBuilder
  */
 abstract class Edge<NodeType : Node> : Persistable, Cloneable, HasAssumptions {
     // Node where the edge is outgoing
-    @JsonIgnore var start: Node
+    @get:JsonIgnore
+    var start: Node
+        get() = _start
+        set(value) {
+            _start = value
+            nodesChanged()
+        }
 
     // Node where the edge is ingoing
-    @JsonBackReference var end: NodeType
+    @get:JsonBackReference
+    var end: NodeType
+        get() = _end
+        set(value) {
+            _end = value
+            nodesChanged()
+        }
+
+    /** Backing field of [start]. */
+    private var _start: Node
+
+    /** Backing field of [end]. */
+    private var _end: NodeType
 
     /** Lazy backing field for [assumptions]. */
     private var _assumptions: MutableSet<Assumption>? = null
@@ -73,15 +91,23 @@ abstract class Edge<NodeType : Node> : Persistable, Cloneable, HasAssumptions {
         get() = _assumptions ?: mutableSetOf<Assumption>().also { _assumptions = it }
 
     constructor(start: Node, end: NodeType) {
-        this.start = start
-        this.end = end
+        _start = start
+        _end = end
     }
 
     constructor(edge: Edge<NodeType>) {
-        start = edge.start
-        end = edge.end
+        _start = edge.start
+        _end = edge.end
     }
 
+    /** Returns whether this edge carries any [assumptions], without allocating them. */
+    internal fun hasAssumptions(): Boolean {
+        return _assumptions?.isNotEmpty() == true
+    }
+
+    /** Called when [start] or [end] of this edge is replaced after the edge was created. */
+    protected open fun nodesChanged() {}
+
     abstract var labels: Set<String>
 
     /** `true` if one of the two nodes connected by the [Edge] is an overlay node. */
@@ -162,8 +188,8 @@ abstract class Edge<NodeType : Node> : Persistable, Cloneable, HasAssumptions {
         }
 
         operator fun setValue(thisRef: ThisType, property: KProperty<*>, value: NodeType) {
+            // This triggers nodesChanged, e.g., to update the AST parent of an AST edge
             this@Edge.end = value
-            // TODO: trigger some update hook
         }
     }
 }
@@ -41,19 +41,7 @@ inline fun <reified EdgeType : Edge<out Node>> Node.edges(
     noinline predicate: ((EdgeType) -> Boolean) = { true }
 ): Collection<EdgeType> {
     val edges = mutableSetOf<EdgeType>()
-    val fields = SubgraphWalker.getAllEdgeFields(this::class.java)
-    for (field in fields) {
-        var obj =
-            synchronized(field) {
-                // Disable access mechanisms
-                field.isAccessible = true
-                val obj = field[this]
-
-                // Restore old state
-                field.isAccessible = false
-                obj
-            } ?: continue
-
+    SubgraphWalker.forEachEdgeField(this) { obj ->
         // Gather all edges
         if (obj is EdgeCollection<*, *>) {
             for (edge in obj.toList()) {
@@ -27,6 +27,7 @@ package de.fraunhofer.aisec.cpg.graph.edges.ast
 
 import de.fraunhofer.aisec.cpg.graph.AstNode
 import de.fraunhofer.aisec.cpg.graph.Node
+import de.fraunhofer.aisec.cpg.graph.NodeIndex
 import de.fraunhofer.aisec.cpg.graph.edges.Edge
 import de.fraunhofer.aisec.cpg.graph.edges.collections.EdgeList
 import de.fraunhofer.aisec.cpg.graph.edges.collections.EdgeSingletonList
@@ -35,6 +36,12 @@ import de.fraunhofer.aisec.cpg.graph.edges.collections.EdgeSingletonList
 open class AstEdge<T : AstNode>(start: AstNode, end: T) : Edge<T>(start, end) {
     init {
         end.astParent = start
+        NodeIndex.astChanged(start)
+    }
+
+    override fun nodesChanged() {
+        end.astParent = start as? AstNode
+        NodeIndex.astChanged(start)
     }
 
     override var labels: Set<String> = LABELS
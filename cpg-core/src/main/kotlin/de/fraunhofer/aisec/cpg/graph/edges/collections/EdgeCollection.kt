@@ -26,7 +26,9 @@
 package de.fraunhofer.aisec.cpg.graph.edges.collections
 
 import de.fraunhofer.aisec.cpg.graph.Node
+import de.fraunhofer.aisec.cpg.graph.NodeIndex
 import de.fraunhofer.aisec.cpg.graph.edges.Edge
+import de.fraunhofer.aisec.cpg.graph.edges.ast.AstEdge
 import de.fraunhofer.aisec.cpg.graph.types.HasType.TypeObserver
 
 /**
@@ -158,6 +160,9 @@ interface EdgeCollection<NodeType : Node, EdgeType : Edge<NodeType>> : MutableCo
      * to unregister additional handlers, e.g. a [TypeObserver].
      */
     fun handleOnRemove(edge: EdgeType) {
+        if (edge is AstEdge<*>) {
+            NodeIndex.astChanged(edge.start)
+        }
         onRemove?.invoke(edge)
     }
 }
@@ -27,6 +27,7 @@ package de.fraunhofer.aisec.cpg.graph.edges.collections
 
 import de.fraunhofer.aisec.cpg.graph.Node
 import de.fraunhofer.aisec.cpg.graph.edges.Edge
+import de.fraunhofer.aisec.cpg.graph.edges.flows.CompactFlows
 import java.util.function.Predicate
 
 /** This class extends a list of edges. This allows us to use lists of edges more conveniently. */
@@ -62,6 +63,18 @@ abstract class EdgeList<NodeType : Node, EdgeType : Edge<NodeType>>(
         return ok
     }
 
+    /**
+     * Adds [element] without notifying [onAdd] and thus without touching the mirror property. This
+     * is only used to restore edges that already exist in the graph (see [CompactFlows]).
+     */
+    internal fun addWithoutNotification(element: EdgeType) {
+        if (element.index == null) {
+            element.index = this.size
+        }
+
+        super<ArrayList>.add(element)
+    }
+
     override fun remove(element: EdgeType): Boolean {
         val ok = super<ArrayList>.remove(element)
         if (ok) {
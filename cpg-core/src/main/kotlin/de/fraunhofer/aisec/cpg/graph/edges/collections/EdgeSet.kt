@@ -27,6 +27,9 @@ package de.fraunhofer.aisec.cpg.graph.edges.collections
 
 import de.fraunhofer.aisec.cpg.graph.Node
 import de.fraunhofer.aisec.cpg.graph.edges.Edge
+import de.fraunhofer.aisec.cpg.graph.edges.flows.CompactFlows
+import de.fraunhofer.aisec.cpg.graph.edges.flows.Dataflow
+import de.fraunhofer.aisec.cpg.passes.configuration.SupportsParallelExecution
 import java.util.function.Predicate
 
 /**
@@ -41,6 +44,14 @@ import java.util.function.Predicate
  * even when there is only one. To avoid that overhead for the common case, this class stores up to
  * two elements directly in fields and only falls back to a real [HashSet] once a third distinct
  * element is added.
+ *
+ * Edge sets are usually mirrored (see [MirroredEdgeCollection]), e.g., a [Dataflow] edge is added
+ * both to the `nextDFG` of its start and the `prevDFG` of its end. Since passes can run in parallel
+ * on different functions (see [SupportsParallelExecution]), the mirrored side can belong to a node
+ * that is shared between these functions, such as a global variable. Therefore, modifications of
+ * the backing storage are synchronized. The [onAdd]/[onRemove] notifications (and thus the updates
+ * of the mirror) happen outside the lock, so that we never hold the locks of two sets at the same
+ * time.
  */
 abstract class EdgeSet<NodeType : Node, EdgeType : Edge<NodeType>>(
     override var thisRef: Node,
@@ -73,6 +84,7 @@ abstract class EdgeSet<NodeType : Node, EdgeType : Edge<NodeType>>(
     override fun iterator(): MutableIterator<EdgeType> = EdgeSetIterator()
 
     /** Mutates the backing storage only, without triggering [onAdd]/[onRemove] notifications. */
+    @Synchronized
     private fun addInternal(element: EdgeType): Boolean {
         if (contains(element)) return false
         return when {
@@ -91,6 +103,7 @@ abstract class EdgeSet<NodeType : Node, EdgeType : Edge<NodeType>>(
         }
     }
 
+    @Synchronized
     private fun removeInternal(element: EdgeType): Boolean {
         return when {
             elem0 == element -> {
@@ -119,6 +132,14 @@ abstract class EdgeSet<NodeType : Node, EdgeType : Edge<NodeType>>(
         return ok
     }
 
+    /**
+     * Adds [element] without notifying [onAdd] and thus without touching the mirror property. This
+     * is only used to restore edges that already exist in the graph (see [CompactFlows]).
+     */
+    internal fun addWithoutNotification(element: EdgeType) {
+        addInternal(element)
+    }
+
     override fun remove(element: EdgeType): Boolean {
         val ok = removeInternal(element)
         if (ok) {
@@ -158,10 +179,14 @@ abstract class EdgeSet<NodeType : Node, EdgeType : Edge<NodeType>>(
 
     override fun clear() {
         // Make a copy of our edges so we can pass a copy to our on-remove handler
-        val edges = this.toSet()
-        elem0 = null
-        elem1 = null
-        overflow = null
+        val edges =
+            synchronized(this) {
+                val copy = this.toSet()
+                elem0 = null
+                elem1 = null
+                overflow = null
+                copy
+            }
         edges.forEach { handleOnRemove(it) }
     }
 
@@ -189,61 +214,49 @@ abstract class EdgeSet<NodeType : Node, EdgeType : Edge<NodeType>>(
         return internalHashcode(this, outgoing)
     }
 
+    /**
+     * Iterates over a snapshot of the elements, which is taken under the lock. Passes that are
+     * executed in parallel (see [SupportsParallelExecution]), such as the PointsToPass, read the
+     * edges of shared nodes while other threads add edges to them. Iterating the live storage could
+     * then observe a half-updated [overflow] set.
+     */
     private inner class EdgeSetIterator : MutableIterator<EdgeType> {
-        /** 0: about to yield [elem0], 1: about to yield [elem1], 2: yielding [overflow]. */
-        private var stage = 0
-        private var overflowIterator: MutableIterator<EdgeType>? = null
+        private var first: EdgeType? = null
+        private var second: EdgeType? = null
+        private var rest: Array<Any?>? = null
+        private var restIndex = 0
         private var lastReturned: EdgeType? = null
-        private var lastFromOverflow = false
 
-        private fun skipEmptyStages() {
-            if (stage == 0 && elem0 == null) stage = 1
-            if (stage == 1 && elem1 == null) stage = 2
-        }
-
-        private fun ensureOverflowIterator(): MutableIterator<EdgeType>? {
-            var it = overflowIterator
-            if (it == null) {
-                it = overflow?.iterator()
-                overflowIterator = it
+        init {
+            synchronized(this@EdgeSet) {
+                first = elem0
+                second = elem1
+                rest = overflow?.toTypedArray()
             }
-            return it
         }
 
         override fun hasNext(): Boolean {
-            skipEmptyStages()
-            return when (stage) {
-                0 -> elem0 != null
-                1 -> elem1 != null
-                else -> ensureOverflowIterator()?.hasNext() == true
-            }
+            return first != null || second != null || restIndex < (rest?.size ?: 0)
         }
 
         override fun next(): EdgeType {
-            skipEmptyStages()
-            return when (stage) {
-                0 -> {
-                    val value = elem0 ?: throw NoSuchElementException()
-                    lastReturned = value
-                    lastFromOverflow = false
-                    stage = 1
-                    value
-                }
-                1 -> {
-                    val value = elem1 ?: throw NoSuchElementException()
-                    lastReturned = value
-                    lastFromOverflow = false
-                    stage = 2
-                    value
-                }
-                else -> {
-                    val it = ensureOverflowIterator() ?: throw NoSuchElementException()
-                    val value = it.next()
-                    lastReturned = value
-                    lastFromOverflow = true
-                    value
-                }
+            val value =
+                first?.also { first = null }
+                    ?: second?.also { second = null }
+                    ?: nextFromRest()
+                    ?: throw NoSuchElementException()
+            lastReturned = value
+            return value
+        }
+
+        private fun nextFromRest(): EdgeType? {
+            val rest = rest ?: return null
+            if (restIndex >= rest.size) {
+                return null
             }
+
+            @Suppress("UNCHECKED_CAST")
+            return rest[restIndex++] as EdgeType
         }
 
         override fun remove() {
@@ -252,16 +265,7 @@ abstract class EdgeSet<NodeType : Node, EdgeType : Edge<NodeType>>(
             // which do) - this matches the behavior of java.util.HashSet's iterator, which
             // EdgeSet used to inherit from directly.
             val value = lastReturned ?: throw IllegalStateException("next() has not been called")
-            if (lastFromOverflow) {
-                overflowIterator?.remove()
-                if (overflow?.isEmpty() == true) {
-                    overflow = null
-                }
-            } else if (elem0 == value) {
-                elem0 = null
-            } else if (elem1 == value) {
-                elem1 = null
-            }
+            removeInternal(value)
             lastReturned = null
         }
     }
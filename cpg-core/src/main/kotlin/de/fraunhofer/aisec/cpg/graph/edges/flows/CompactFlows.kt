@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2026, Fraunhofer AISEC. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *                    $$$$$$\  $$$$$$$\   $$$$$$\
+ *                   $$  __$$\ $$  __$$\ $$  __$$\
+ *                   $$ /  \__|$$ |  $$ |$$ /  \__|
+ *                   $$ |      $$$$$$$  |$$ |$$$$\
+ *                   $$ |      $$  ____/ $$ |\_$$ |
+ *                   $$ |  $$\ $$ |      $$ |  $$ |
+ *                   \$$$$$   |$$ |      \$$$$$   |
+ *                    \______/ \__|       \______/
+ *
+ */
+package de.fraunhofer.aisec.cpg.graph.edges.flows
+
+import de.fraunhofer.aisec.cpg.TranslationConfiguration
+import de.fraunhofer.aisec.cpg.TranslationResult
+import de.fraunhofer.aisec.cpg.graph.Node
+import de.fraunhofer.aisec.cpg.graph.allChildrenWithOverlays
+import de.fraunhofer.aisec.cpg.graph.edges.Edge
+import de.fraunhofer.aisec.cpg.graph.edges.collections.EdgeCollection
+import java.util.Collections
+import java.util.IdentityHashMap
+import org.slf4j.LoggerFactory
+
+/**
+ * A compact storage of the [EvaluationOrder] and [Dataflow] edges of a translated graph. It is
+ * used if [TranslationConfiguration.useCompactFlowEdges] is enabled.
+ *
+ * [compact] assigns a dense id to every node (see [Node.compactId]) and stores the EOG and DFG
+ * adjacency in primitive arrays in a compressed sparse row (CSR) layout. A default edge, e.g. an
+ * [EvaluationOrder] without a branch or a [Dataflow] with a [FullDataflowGranularity], only costs
+ * a few integers. All other edges, such as [ContextSensitiveDataflow]s, are kept as objects in a
+ * side table.
+ *
+ * The edge containers of the nodes are dropped and restored from this storage on their next access,
+ * so the [EdgeCollection] API does not change. A restored container is a regular container, which
+ * can be modified as before. The arrays themselves are never modified. Instead, if the container on
+ * the other end of an edge has already been restored, the edges are taken over from that container.
+ * Restoring is synchronized on this storage (see [Node.prevEOGEdges]), so both ends of an edge
+ * always share the same edge object, even if they are restored from different threads.
+ */
+class CompactFlows
+private constructor(
+    private val nodes: Array<Node>,
+    private val eog: Adjacency,
+    private val dfg: Adjacency,
+) {
+    /** The number of nodes in this storage. */
+    val size: Int
+        get() = nodes.size
+
+    /** Restores the [edges] of [node] (see [Node.prevEOGEdges] and [Node.nextEOGEdges]). */
+    internal fun restore(node: Node, edges: EvaluationOrders<Node>) {
+        restore(node, eog, true, edges.outgoing) {
+            edges.addWithoutNotification(it as EvaluationOrder)
+        }
+    }
+
+    /** Restores the [edges] of [node] (see [Node.prevDFGEdges] and [Node.nextDFGEdges]). */
+    internal fun restore(node: Node, edges: Dataflows<Node>) {
+        restore(node, dfg, false, edges.outgoing) { edges.addWithoutNotification(it as Dataflow) }
+    }
+
+    private fun restore(
+        node: Node,
+        adjacency: Adjacency,
+        isEOG: Boolean,
+        outgoing: Boolean,
+        add: (Edge<Node>) -> Unit,
+    ) {
+        if (node.compactFlows !== this) {
+            return
+        }
+
+        val id = node.compactId
+        val offsets = if (outgoing) adjacency.nextOffsets else adjacency.prevOffsets
+        var takenOver: MutableSet<Node>? = null
+        for (i in offsets[id] until offsets[id + 1]) {
+            val slot = if (outgoing) i else adjacency.prevSlots[i]
+            val other = nodes[if (outgoing) adjacency.targets[slot] else adjacency.sources[slot]]
+
+            // If the container on the other end has already been restored, it holds the current
+            // state of the edges between both nodes, which might have been modified since
+            val mirror = other.allocatedFlowEdges(isEOG, !outgoing)
+            if (mirror == null) {
+                add(edge(adjacency, slot, isEOG))
+                continue
+            }
+
+            val seen = takenOver ?: Collections.newSetFromMap(IdentityHashMap<Node, Boolean>())
+            takenOver = seen
+            if (seen.add(other)) {
+                mirror
+                    .filter { if (outgoing) it.start === node else it.end === node }
+                    .forEach(add)
+            }
+        }
+    }
+
+    /** Returns the edge in [slot], which is either kept in the side table or a default edge. */
+    private fun edge(adjacency: Adjacency, slot: Int, isEOG: Boolean): Edge<Node> {
+        adjacency.properties[slot]?.let {
+            return it
+        }
+
+        val source = adjacency.sources[slot]
+        val start = nodes[source]
+        val end = nodes[adjacency.targets[slot]]
+        return if (isEOG) {
+            EvaluationOrder(start, end).also { it.index = slot - adjacency.nextOffsets[source] }
+        } else {
+            Dataflow(start, end)
+        }
+    }
+
+    /**
+     * The adjacency of one edge type. The outgoing edges of the node with the id `n` occupy the
+     * slots `nextOffsets[n] until nextOffsets[n + 1]`, in the order of its outgoing container. The
+     * incoming edges of the node are listed in `prevSlots[prevOffsets[n] until prevOffsets[n + 1]]`
+     * in the order of its incoming container.
+     */
+    private class Adjacency(
+        val nextOffsets: IntArray,
+        /** The id of the end node of each slot. */
+        val targets: IntArray,
+        /** The id of the start node of each slot. */
+        val sources: IntArray,
+        val prevOffsets: IntArray,
+        val prevSlots: IntArray,
+        /** The edges that differ from the default edge of their slot. */
+        val properties: Map<Int, Edge<Node>>,
+    ) {
+        val edges: Int
+            get() = targets.size
+    }
+
+    companion object {
+        private val log = LoggerFactory.getLogger(CompactFlows::class.java)
+
+        /**
+         * Moves the EOG and DFG edges of all nodes of [result] into a new [CompactFlows]. This
+         * includes all AST nodes and all nodes that are (transitively) connected to them by such
+         * an edge. This should only be called once all passes have been executed.
+         *
+         * @throws IllegalStateException if the incoming and outgoing edges of the nodes do not
+         *   match. In this case, no node has been modified.
+         */
+        fun compact(result: TranslationResult): CompactFlows {
+            val ids = IdentityHashMap<Node, Int>()
+            val nodes = ArrayList<Node>()
+            val worklist = ArrayDeque<Node>()
+            val visit = { node: Node ->
+                if (ids.putIfAbsent(node, nodes.size) == null) {
+                    nodes += node
+                    worklist += node
+                }
+            }
+
+            visit(result)
+            result.allChildrenWithOverlays<Node>().forEach(visit)
+            while (worklist.isNotEmpty()) {
+                val node = worklist.removeFirst()
+                for (isEOG in listOf(true, false)) {
+                    for (outgoing in listOf(true, false)) {
+                        node.flowEdgesOrNull(isEOG, outgoing)?.forEach {
+                            visit(it.start)
+                            visit(it.end)
+                        }
+                    }
+                }
+            }
+
+            val flows =
+                CompactFlows(
+                    nodes.toTypedArray(),
+                    adjacency(nodes, ids, true),
+                    adjacency(nodes, ids, false),
+                )
+            nodes.forEachIndexed { id, node -> node.compactFlowEdges(flows, id) }
+
+            log.info(
+                "Compacted {} EOG and {} DFG edges of {} nodes ({} edges in side tables)",
+                flows.eog.edges,
+                flows.dfg.edges,
+                nodes.size,
+                flows.eog.properties.size + flows.dfg.properties.size,
+            )
+
+            return flows
+        }
+
+        private fun adjacency(
+            nodes: List<Node>,
+            ids: IdentityHashMap<Node, Int>,
+            isEOG: Boolean,
+        ): Adjacency {
+            val nextOffsets = IntArray(nodes.size + 1)
+            nodes.forEachIndexed { id, node ->
+                val size = node.allocatedFlowEdges(isEOG, true)?.size ?: 0
+                nextOffsets[id + 1] = nextOffsets[id] + size
+            }
+
+            val targets = IntArray(nextOffsets[nodes.size])
+            val sources = IntArray(targets.size)
+            val properties = HashMap<Int, Edge<Node>>()
+            val slots = IdentityHashMap<Edge<Node>, Int>(targets.size)
+            nodes.forEachIndexed { id, node ->
+                var slot = nextOffsets[id]
+                node.allocatedFlowEdges(isEOG, true)?.forEach { edge ->
+                    targets[slot] = ids.getValue(edge.end)
+                    sources[slot] = id
+                    if (!isDefault(edge, slot - nextOffsets[id])) {
+                        properties[slot] = edge
+                    }
+                    slots[edge] = slot
+                    slot++
+                }
+            }
+
+            // Both ends of an edge share the same edge object (see MirroredEdgeCollection)
+            val prevOffsets = IntArray(nodes.size + 1)
+            val prevSlots = IntArray(targets.size)
+            var count = 0
+            nodes.forEachIndexed { id, node ->
+                node.allocatedFlowEdges(isEOG, false)?.forEach { edge ->
+                    val slot = slots[edge]
+                    check(slot != null && count < prevSlots.size) {
+                        "Incoming ${if (isEOG) "EOG" else "DFG"} edge $edge of $node has no " +
+                            "matching outgoing edge, cannot compact the flow edges"
+                    }
+                    prevSlots[count++] = slot
+                }
+                prevOffsets[id + 1] = count
+            }
+
+            return Adjacency(nextOffsets, targets, sources, prevOffsets, prevSlots, properties)
+        }
+
+        /**
+         * Returns whether [edge] equals the edge that [edge] restores for its slot, i.e., whether
+         * it can be dropped in favour of its start and end node.
+         */
+        private fun isDefault(edge: Edge<Node>, position: Int): Boolean {
+            return when {
+                edge.name != null || edge.hasAssumptions() -> false
+                edge.javaClass == EvaluationOrder::class.java -> {
+                    val eog = edge as EvaluationOrder
+                    !eog.unreachable &&
+                        eog.branch == null &&
+                        eog.scc == null &&
+                        eog.index == position &&
+                        eog.labels === EvaluationOrder.LABELS
+                }
+                edge.javaClass == Dataflow::class.java -> {
+                    val dataflow = edge as Dataflow
+                    dataflow.granularity == FullDataflowGranularity &&
+                        !dataflow.functionSummary &&
+                        dataflow.derefDepth == null &&
+                        dataflow.index == null &&
+                        dataflow.labels === Dataflow.LABELS
+                }
+                else -> false
+            }
+        }
+    }
+}
@@ -50,6 +50,7 @@ import de.fraunhofer.aisec.cpg.passes.ImportResolver
 import de.fraunhofer.aisec.cpg.persistence.DoNotPersist
 import de.fraunhofer.aisec.cpg.persistence.Relationship
 import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
 import org.apache.commons.lang3.builder.ToStringBuilder
 
 /**
@@ -97,6 +98,20 @@ sealed class Scope(
      */
     @DoNotPersist var wildcardImports: MutableSet<Import> = mutableSetOf()
 
+    /**
+     * Incremented whenever [symbols] or [wildcardImports] are modified through [addSymbol]. The
+     * [de.fraunhofer.aisec.cpg.ScopeManager] uses this to detect which of its cached symbol lookups
+     * depend on this scope and are therefore outdated.
+     */
+    @DoNotPersist val symbolsVersion = AtomicLong()
+
+    /**
+     * Set to true, if [symbols] is shared with an [Import.importedSymbols] (i.e., this scope is
+     * imported by a wildcard import). Modifications of this scope then also affect lookups in the
+     * scopes that import it.
+     */
+    @DoNotPersist @Volatile var symbolsShared: Boolean = false
+
     /**
      * This set of edges is used to store [Import] edges that denotes foreign [NamespaceScope]
      * information that is imported into this scope. The edge holds information about the "style" of
@@ -192,8 +207,8 @@ sealed class Scope(
             }
 
         // This scope's symbol table changed, so any cached ScopeManager.lookupSymbolByName results
-        // may no longer be valid.
-        provider.ctx.scopeManager.invalidateSymbolLookupCache()
+        // that depend on this scope may no longer be valid.
+        provider.ctx.scopeManager.invalidateSymbolLookupCache(this)
         return canonical
     }
 
@@ -201,7 +201,7 @@ interface HasType : LanguageProvider {
                 return
             }
             // Inform all type observers about the changes
-            for (observer in typeObservers) {
+            for (observer in observerSnapshot()) {
                 observer.assignedTypeChanged(assignedTypes, this)
             }
         } else {
@@ -210,18 +210,29 @@ interface HasType : LanguageProvider {
                 return
             }
             // Inform all type observers about the changes
-            for (observer in typeObservers) {
+            for (observer in observerSnapshot()) {
                 observer.typeChanged(newType, this)
             }
         }
     }
 
+    /**
+     * Returns a copy of the [typeObservers], taken under their lock. Observers can be registered
+     * from another thread while we inform them (see [registerTypeObserver]), and an observer
+     * might also (un)register observers of this node itself.
+     */
+    private fun observerSnapshot(): List<TypeObserver> {
+        return synchronized(typeObservers) { typeObservers.toList() }
+    }
+
     /**
      * Registers the given [typeObservers] to be informed about type updates. This also immediately
      * invokes both [TypeObserver.typeChanged] and [TypeObserver.assignedTypeChanged].
      */
     fun registerTypeObserver(typeObserver: TypeObserver) {
-        typeObservers += typeObserver
+        // Observers can be registered by passes running in parallel (e.g., when adding a DFG edge
+        // to a node that is shared between functions)
+        synchronized(typeObservers) { typeObservers += typeObserver }
 
         // If we would only propagate the unknown type, we can also skip it
         val newType = this.type
@@ -240,7 +251,7 @@ interface HasType : LanguageProvider {
 
     /** Unregisters the given [typeObservers] from the list of observers. */
     fun unregisterTypeObserver(typeObserver: TypeObserver) {
-        typeObservers -= typeObserver
+        synchronized(typeObservers) { typeObservers -= typeObserver }
     }
 }
 
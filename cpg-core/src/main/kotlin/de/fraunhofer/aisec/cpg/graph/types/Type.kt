@@ -27,6 +27,9 @@ package de.fraunhofer.aisec.cpg.graph.types
 
 import com.fasterxml.jackson.annotation.JsonIgnore
 import de.fraunhofer.aisec.cpg.PopulatedByPass
+import de.fraunhofer.aisec.cpg.TypeManager
+import de.fraunhofer.aisec.cpg.TypeMemo
+import de.fraunhofer.aisec.cpg.frontends.CastResult
 import de.fraunhofer.aisec.cpg.frontends.Language
 import de.fraunhofer.aisec.cpg.graph.Name
 import de.fraunhofer.aisec.cpg.graph.Node
@@ -66,7 +69,7 @@ abstract class Type : Node {
     /** All direct supertypes of this type. */
     @PopulatedByPass(TypeHierarchyResolver::class)
     @Relationship(value = "SUPER_TYPE", direction = Relationship.Direction.OUTGOING)
-    var superTypes = mutableSetOf<Type>()
+    var superTypes: MutableSet<Type> = SuperTypeSet(this)
         protected set
 
     var isPrimitive = false
@@ -83,6 +86,18 @@ abstract class Type : Node {
      */
     @DoNotPersist val secondOrderTypes = mutableListOf<Type>()
 
+    /** The memoised result of [de.fraunhofer.aisec.cpg.ancestors]. */
+    @DoNotPersist
+    @JsonIgnore
+    @Volatile
+    internal var memoisedAncestors: TypeMemo<Set<Ancestor>>? = null
+
+    /** The memoised results of [de.fraunhofer.aisec.cpg.tryCast], keyed by the target type. */
+    @DoNotPersist
+    @JsonIgnore
+    @Volatile
+    internal var memoisedCasts: TypeMemo<IdentityHashMap<Type, CastResult>>? = null
+
     /**
      * This points to the [DeclaresType] node (most likely a [Declaration]), that declares this
      * type. At some point this should replace [ObjectType.recordDeclaration].
@@ -308,3 +323,40 @@ interface DeclaresType {
     /** The [Type] that is being declared. */
     val declaredType: Type
 }
+
+/**
+ * The set of [Type.superTypes] of [owner]. Every modification increments the
+ * [TypeManager.hierarchyVersion] of the type manager of its language, so that memoised ancestors
+ * and cast results are computed again.
+ */
+private class SuperTypeSet(private val owner: Type) : AbstractMutableSet<Type>() {
+    private val types = LinkedHashSet<Type>()
+
+    override val size: Int
+        get() = types.size
+
+    override fun contains(element: Type) = types.contains(element)
+
+    override fun add(element: Type): Boolean {
+        val added = types.add(element)
+        if (added) {
+            hierarchyChanged()
+        }
+
+        return added
+    }
+
+    override fun iterator(): MutableIterator<Type> {
+        val iterator = types.iterator()
+        return object : MutableIterator<Type> by iterator {
+            override fun remove() {
+                iterator.remove()
+                hierarchyChanged()
+            }
+        }
+    }
+
+    private fun hierarchyChanged() {
+        owner.language.typeManager?.hierarchyVersion?.incrementAndGet()
+    }
+}
@@ -169,3 +169,104 @@ fun orderEOGStartersBasedOnDependencies(eogStarters: Iterable<Node>): List<Node>
 
     return orderedList
 }
+
+/**
+ * A strongly connected component of the call graph, i.e., a set of [functions] that (transitively)
+ * call each other. [callees] contains all other components that are called by one of the
+ * [functions].
+ */
+class CallGraphComponent(val functions: List<Function>) {
+    val callees = identitySetOf<CallGraphComponent>()
+}
+
+/**
+ * Splits the call graph of [functions] into its strongly connected components (see
+ * [CallGraphComponent]) using Tarjan's algorithm. Calls to functions which are not part of
+ * [functions] are ignored. The components are returned bottom-up, i.e., each component comes after
+ * all components it calls. Components which do not (transitively) call each other do not depend on
+ * each other and can therefore be analyzed in parallel. The functions within a single component
+ * are ordered by [orderEOGStartersBasedOnDependencies].
+ */
+fun callGraphComponents(functions: Iterable<Function>): List<CallGraphComponent> {
+    val callees = prepareCallGraph(functions)
+
+    val index = IdentityHashMap<Function, Int>()
+    val lowLink = IdentityHashMap<Function, Int>()
+    val stack = ArrayDeque<Function>()
+    val onStack = identitySetOf<Function>()
+    val components = mutableListOf<CallGraphComponent>()
+    val componentOf = IdentityHashMap<Function, CallGraphComponent>()
+
+    // We emulate the recursion of Tarjan's algorithm with an explicit stack of the callees that
+    // still need to be visited, so that long call chains do not overflow the stack
+    val work = ArrayDeque<Pair<Function, Iterator<Function>>>()
+
+    fun visit(function: Function) {
+        index[function] = index.size
+        lowLink[function] = index[function]
+        stack.addLast(function)
+        onStack.add(function)
+        work.addLast(Pair(function, callees.getValue(function).filter { it in callees }.iterator()))
+    }
+
+    for (root in callees.keys) {
+        if (root in index) {
+            continue
+        }
+
+        visit(root)
+        while (work.isNotEmpty()) {
+            val (function, remaining) = work.last()
+            if (remaining.hasNext()) {
+                val callee = remaining.next()
+                if (callee !in index) {
+                    visit(callee)
+                } else if (callee in onStack) {
+                    lowLink[function] = minOf(lowLink.getValue(function), index.getValue(callee))
+                }
+                continue
+            }
+
+            work.removeLast()
+            work.lastOrNull()?.let { (caller, _) ->
+                lowLink[caller] = minOf(lowLink.getValue(caller), lowLink.getValue(function))
+            }
+
+            // The function is the root of a component, so all functions above it on the stack
+            // belong to its component
+            if (lowLink[function] == index[function]) {
+                val members = mutableListOf<Function>()
+                do {
+                    val member = stack.removeLast()
+                    onStack.remove(member)
+                    members += member
+                } while (member !== function)
+
+                val component =
+                    CallGraphComponent(
+                        if (members.size == 1) members
+                        else
+                            orderEOGStartersBasedOnDependencies(members)
+                                .filterIsInstance<Function>()
+                    )
+                members.forEach { componentOf[it] = component }
+                components += component
+            }
+        }
+    }
+
+    for (component in components) {
+        for (function in component.functions) {
+            for (callee in callees.getValue(function)) {
+                val other = componentOf[callee]
+                if (other != null && other !== component) {
+                    component.callees += other
+                }
+            }
+        }
+    }
+
+    log.info("Split {} functions into {} call graph components", index.size, components.size)
+
+    return components
+}
@@ -35,6 +35,8 @@ import de.fraunhofer.aisec.cpg.graph.Node
 import de.fraunhofer.aisec.cpg.graph.StatementHolder
 import de.fraunhofer.aisec.cpg.graph.edges.ast.AstEdge
 import de.fraunhofer.aisec.cpg.graph.edges.collections.EdgeCollection
+import de.fraunhofer.aisec.cpg.graph.edges.collections.EdgeSet
+import de.fraunhofer.aisec.cpg.graph.edges.flows.CompactFlows
 import de.fraunhofer.aisec.cpg.graph.expressions.Call
 import de.fraunhofer.aisec.cpg.graph.expressions.Construction
 import de.fraunhofer.aisec.cpg.graph.expressions.Expression
@@ -47,14 +49,55 @@ import de.fraunhofer.aisec.cpg.passes.EvaluationOrderGraphPass
 import de.fraunhofer.aisec.cpg.passes.Pass
 import de.fraunhofer.aisec.cpg.processing.strategy.Strategy
 import java.lang.annotation.AnnotationFormatError
+import java.lang.invoke.MethodHandle
+import java.lang.invoke.MethodHandles
+import java.lang.invoke.MethodType
 import java.lang.reflect.Field
 import java.util.*
+import java.util.concurrent.ConcurrentHashMap
 import org.slf4j.LoggerFactory
 
 /** Helper class for graph walking: Walking through ast-, cfg-, ...- edges */
 object SubgraphWalker {
     private val LOGGER = LoggerFactory.getLogger(SubgraphWalker::class.java)
-    private val fieldCache = HashMap<String, List<Field>>()
+    private val fieldCache = ConcurrentHashMap<String, List<Field>>()
+
+    /**
+     * The backing fields of the EOG and DFG edges in [Node]. They are dropped when the edges are
+     * compacted (see [CompactFlows]), so we never read them directly, but go through
+     * [Node.flowEdgesOrNull], which restores the edges.
+     */
+    private val compactableFlowFields =
+        setOf("_prevEOGEdges", "_nextEOGEdges", "_prevDFGEdges", "_nextDFGEdges")
+
+    /**
+     * The accessors for all edge fields of a class (see [getAllEdgeFields]), except for the
+     * [compactableFlowFields]. They are created once per class, with the fields already made
+     * accessible, so that they can afterward be invoked concurrently without any locking. The
+     * [ClassValue] takes care of computing them in a thread-safe way.
+     */
+    private val edgeAccessors =
+        object : ClassValue<Array<MethodHandle>>() {
+            override fun computeValue(type: Class<*>): Array<MethodHandle> {
+                val lookup = MethodHandles.lookup()
+                return getAllEdgeFields(type)
+                    .filterNot {
+                        it.declaringClass == Node::class.java && it.name in compactableFlowFields
+                    }
+                    .mapNotNull { field ->
+                        try {
+                            field.trySetAccessible()
+                            lookup
+                                .unreflectGetter(field)
+                                .asType(MethodType.methodType(Any::class.java, Any::class.java))
+                        } catch (ex: IllegalAccessException) {
+                            LOGGER.error("Error while retrieving AST children: {}", ex.message)
+                            null
+                        }
+                    }
+                    .toTypedArray()
+            }
+        }
 
     /**
      * Returns all the fields for a specific class type. Because this information is static during
@@ -68,21 +111,76 @@ object SubgraphWalker {
             val cacheKey = classType.name
 
             // Note: we cannot use computeIfAbsent here, because we are calling our function
-            // recursively and this would result in a ConcurrentModificationException
-            if (fieldCache.containsKey(cacheKey)) {
-                return fieldCache[cacheKey] ?: ArrayList()
+            // recursively and this would result in a recursive update of the map
+            fieldCache[cacheKey]?.let {
+                return it
             }
             val fields = ArrayList<Field>()
             fields.addAll(getAllEdgeFields(classType.superclass))
             fields.addAll(classType.declaredFields.filter { it.name.contains("Edge") })
 
             // update the cache
-            fieldCache[cacheKey] = fields
-            return fields
+            return fieldCache.putIfAbsent(cacheKey, fields) ?: fields
         }
         return ArrayList()
     }
 
+    /**
+     * Calls [action] with the (non-null) value of every edge field (see [getAllEdgeFields]) of
+     * [node]. This does not use any locks and does not allocate. The EOG and DFG edges are only
+     * included if [includeFlowEdges] is set; if they have been compacted (see [CompactFlows]), they
+     * are restored.
+     */
+    fun forEachEdgeField(node: Node, includeFlowEdges: Boolean = true, action: (Any) -> Unit) {
+        // We currently need to stick to pure Java reflection, since Kotlin reflection
+        // is EXTREMELY slow. See https://youtrack.jetbrains.com/issue/KT-32198
+        for (accessor in edgeAccessors.get(node.javaClass)) {
+            action(accessor.invoke(node) ?: continue)
+        }
+
+        if (includeFlowEdges) {
+            for (eog in arrayOf(true, false)) {
+                for (outgoing in arrayOf(false, true)) {
+                    action(node.flowEdgesOrNull(eog, outgoing) ?: continue)
+                }
+            }
+        }
+    }
+
+    /**
+     * Calls [action] for every AST child of [node], i.e. all nodes connected through an [AstEdge]
+     * in one of its edge fields, in the same order as [getAstChildren] returns them. In contrast
+     * to [getAstChildren], this does not allocate an intermediate list.
+     */
+    inline fun forEachAstChild(node: AstNode, crossinline action: (AstNode) -> Unit) {
+        // The EOG and DFG edges are never AST edges
+        forEachEdgeField(node, includeFlowEdges = false) { obj ->
+            when (obj) {
+                // Sets de-duplicate the nodes, so we stay consistent with toNodeCollection
+                is EdgeSet<*, *> -> {
+                    for (child in obj.toNodeCollection { it is AstEdge<*> }) {
+                        (child as? AstNode)?.let(action)
+                    }
+                }
+                is EdgeCollection<*, *> -> {
+                    for (edge in obj) {
+                        if (edge is AstEdge<*>) {
+                            val child = if (obj.outgoing) edge.end else edge.start
+                            (child as? AstNode)?.let(action)
+                        }
+                    }
+                }
+                else -> {
+                    throw AnnotationFormatError(
+                        "Found  on field of type " +
+                            obj.javaClass +
+                            " but can only used with edge classes or edge collections"
+                    )
+                }
+            }
+        }
+    }
+
     /**
      * Retrieves a list of AST children of the specified node by iterating all edge fields that are
      * of type [AstEdge].
@@ -103,42 +201,9 @@ object SubgraphWalker {
     ): List<AstNode> {
         val children = ArrayList<AstNode>()
         if (node == null) return children
-        val classType: Class<*> = node.javaClass
 
-        // We currently need to stick to pure Java reflection, since Kotlin reflection
-        // is EXTREMELY slow. See https://youtrack.jetbrains.com/issue/KT-32198
-        for (field in getAllEdgeFields(classType)) {
-            try {
-                // We need to synchronize access to the field, because otherwise different
-                // threads might restore the isAccessible property while this thread is still
-                // accessing the field
-                val obj =
-                    synchronized(field) {
-                        // disable access mechanisms
-                        field.trySetAccessible()
-                        val obj = field[node]
-
-                        // restore old state
-                        field.isAccessible = false
-                        obj
-                    } ?: continue
-
-                when (obj) {
-                    is EdgeCollection<*, *> -> {
-                        obj.toNodeCollection({ it is AstEdge<*> }).filterIsInstanceTo(children)
-                    }
-                    else -> {
-                        throw AnnotationFormatError(
-                            "Found  on field of type " +
-                                obj.javaClass +
-                                " but can only used with edge classes or edge collections"
-                        )
-                    }
-                }
-            } catch (ex: IllegalAccessException) {
-                LOGGER.error("Error while retrieving AST children: {}", ex.message)
-            }
-        }
+        forEachAstChild(node) { children += it }
+
         return children
     }
 
@@ -171,9 +236,7 @@ object SubgraphWalker {
         if (stopAtNode(n) || !identitySet.add(n)) {
             return
         }
-        for (child in getAstChildren(n)) {
-            flattenASTInternal(identitySet, child, stopAtNode)
-        }
+        forEachAstChild(n) { flattenASTInternal(identitySet, it, stopAtNode) }
     }
 
     /**
@@ -483,7 +546,7 @@ fun SubgraphWalker.ScopedWalker<Node>.replace(
         }
 
         // Also move over any type observers
-        old.typeObservers.forEach {
+        synchronized(old.typeObservers) { old.typeObservers.toList() }.forEach {
             old.unregisterTypeObserver(it)
             new.registerTypeObserver(it)
         }
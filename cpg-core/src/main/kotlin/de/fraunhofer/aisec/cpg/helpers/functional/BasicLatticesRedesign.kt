@@ -66,9 +66,9 @@ open class ConcurrentIdentityHashMap<K, V>(expectedMaxSize: Int = 32) : Map<K, V
 
     open fun put(key: K, value: V): V? = backing.put(PointsToPass.IdKey(key), value)
 
-    fun remove(key: K): V? = backing.remove(PointsToPass.IdKey(key))
+    open fun remove(key: K): V? = backing.remove(PointsToPass.IdKey(key))
 
-    fun removeKeyIf(filter: Predicate<in K>): Boolean {
+    open fun removeKeyIf(filter: Predicate<in K>): Boolean {
         var removed = false
         val each: MutableIterator<PointsToPass.IdKey<K>> = this.backing.keys.iterator()
         while (each.hasNext()) {
@@ -193,10 +193,10 @@ open class ConcurrentIdentityHashMap<K, V>(expectedMaxSize: Int = 32) : Map<K, V
         return backing.isEmpty()
     }
 
-    fun computeIfAbsent(key: K, mappingFunction: (K) -> V): V =
+    open fun computeIfAbsent(key: K, mappingFunction: (K) -> V): V =
         backing.computeIfAbsent(PointsToPass.IdKey(key)) { mappingFunction(it.ref) }
 
-    fun putAll(map: Map<out K, V>) {
+    open fun putAll(map: Map<out K, V>) {
         val wrapped = HashMap<PointsToPass.IdKey<K>, V>(map.size)
         for ((k, v) in map) {
             wrapped[PointsToPass.IdKey(k)] = v
@@ -208,7 +208,7 @@ open class ConcurrentIdentityHashMap<K, V>(expectedMaxSize: Int = 32) : Map<K, V
     fun putAll(pairs: Array<out Pair<K, V>>) = putAll(pairs.asIterable())
 
     /** Inserts all entries from the given [Iterable] of pairs. */
-    fun putAll(pairs: Iterable<Pair<K, V>>) {
+    open fun putAll(pairs: Iterable<Pair<K, V>>) {
         val wrapped = HashMap<PointsToPass.IdKey<K>, V>()
         for ((k, v) in pairs) {
             wrapped[PointsToPass.IdKey(k)] = v
@@ -223,7 +223,14 @@ open class ConcurrentIdentityHashMap<K, V>(expectedMaxSize: Int = 32) : Map<K, V
         backing.putAll(other.backing)
     }
 
-    fun clear() = backing.clear()
+    /** Copies all entries of [other] into this map, replacing each value by [transform] of it. */
+    internal fun copyFrom(other: ConcurrentIdentityHashMap<K, V>, transform: (V) -> V) {
+        for ((key, value) in other.backing) {
+            backing[key] = transform(value)
+        }
+    }
+
+    open fun clear() = backing.clear()
 
     override fun hashCode() = backing.hashCode()
 
@@ -259,8 +266,17 @@ fun <T> equalLinkedHashSetOf(vararg elements: T): EqualLinkedHashSet<T> {
     return set
 }
 
-/** Used to track the timeout of all functions being currently analyzed * */
-val timeouts = mutableListOf<Long>()
+/**
+ * Used to track the timeout of all functions being currently analyzed by the current thread. Nested
+ * analyses (e.g., of a callee without a function summary) run on the thread of their caller, but
+ * independent functions can be analyzed by different threads at the same time, so each thread
+ * keeps its own stack of timeouts.
+ */
+private val threadTimeouts = ThreadLocal.withInitial { mutableListOf<Long>() }
+
+/** The timeouts of all functions being currently analyzed by the current thread. */
+val timeouts: MutableList<Long>
+    get() = threadTimeouts.get()
 
 /** Used to identify the order of elements */
 enum class Order {
@@ -334,6 +350,24 @@ interface Lattice<T : Lattice.Element> {
         NARROWING,
     }
 
+    /** The algorithm that [iterateEOG] uses to compute the fixpoint. */
+    enum class Solver {
+        /**
+         * Keeps a state for every visited [EvaluationOrder] edge and processes one edge at a time.
+         * Edges of the current basic block are preferred over edges within loops, branches and
+         * finally merge points.
+         */
+        EDGES,
+
+        /**
+         * Groups the edges into chains without branches or merges (see [EOGChains]), which
+         * correspond to the edges of a basic block, and only keeps a state at the first edge of
+         * each chain. The chains are taken from a worklist ordered by their reverse post-order and
+         * the edges within a chain are transformed one after another without copying the state.
+         */
+        BASIC_BLOCKS,
+    }
+
     /**
      * Represents a single element of the [Lattice]. It also provides the functionality to compare
      * and duplicate the element.
@@ -397,7 +431,7 @@ interface Lattice<T : Lattice.Element> {
      * [Lattice] which represents possible values (or abstractions thereof) that they hold. The
      * [timeout] can be used to limit the time spent in this function. If the timeout is reached and
      * the fixpoint is not reached yet, we return `null`. If [timeout] is `null`, we will not time
-     * out.
+     * out. The [solver] selects the algorithm used to compute the fixpoint.
      */
     fun iterateEOG(
         startEdges: List<EvaluationOrder>,
@@ -405,6 +439,7 @@ interface Lattice<T : Lattice.Element> {
         transformation: suspend (Lattice<T>, EvaluationOrder, T) -> T,
         strategy: Strategy = Strategy.PRECISE,
         timeout: Long? = null,
+        solver: Solver = Solver.EDGES,
     ): Pair<T, Boolean> {
         return runBlocking {
             /*            if (timeout != null) {
@@ -412,11 +447,126 @@ interface Lattice<T : Lattice.Element> {
                     iterateEogInternal(startEdges, startState, transformation, strategy)
                 }
             } else {*/
-            iterateEogInternal(startEdges, startState, transformation, strategy, timeout)
+            when (solver) {
+                Solver.EDGES ->
+                    iterateEogInternal(startEdges, startState, transformation, strategy, timeout)
+                Solver.BASIC_BLOCKS ->
+                    iterateBasicBlocks(startEdges, startState, transformation, strategy, timeout)
+            }
             //            }
         }
     }
 
+    /**
+     * The implementation of [iterateEOG] for [Solver.BASIC_BLOCKS]. The state is only stored at the
+     * entry of each chain of edges (see [EOGChains]). Whenever the state at the entry of a chain
+     * changes, the chain is added to a worklist which always returns the chain with the lowest
+     * reverse post-order first, so that the predecessors of a merge point are usually processed
+     * before the merge point itself.
+     */
+    suspend fun iterateBasicBlocks(
+        startEdges: List<EvaluationOrder>,
+        startState: T,
+        transformation: suspend (Lattice<T>, EvaluationOrder, T) -> T,
+        strategy: Strategy,
+        timeout: Long?,
+    ): Pair<T, Boolean> {
+        // mark the time when we started the calculation to know when we stop
+        val startTime = TimeSource.Monotonic.markNow()
+        if (timeout != null) {
+            timeouts.addLast(timeout)
+        }
+
+        val chains = EOGChains(startEdges)
+        val entryStates = ArrayList<T?>(Collections.nCopies(chains.size, null))
+        val worklist = PriorityQueue<Int>()
+        val queued = BooleanArray(chains.size)
+
+        for (startEdge in startEdges) {
+            val index = chains.indexOf(startEdge)
+            entryStates[index] = startState
+            if (!queued[index]) {
+                queued[index] = true
+                worklist.add(index)
+            }
+        }
+
+        var finalState: T = this.bottom
+        while (worklist.isNotEmpty()) {
+            val index = worklist.poll()
+            queued[index] = false
+            val chain = chains.chains[index]
+
+            // The entry state is needed for later comparisons, so we only copy it once and then
+            // pass the state from one edge of the chain to the next
+            @Suppress("UNCHECKED_CAST")
+            var state = entryStates[index]?.duplicate() as? T ?: continue
+            for (edge in chain.edges) {
+                if (
+                    timeout != null &&
+                        startTime.elapsedNow().toLong(DurationUnit.MILLISECONDS) >= timeouts.last()
+                ) {
+                    TranslationManager.Companion.log.info(
+                        "Reached analysis timeout for ${startEdges.first().start.name.localName}, stopping further analysis"
+                    )
+                    // We are done, so we remove the current timeout
+                    timeouts.removeLast()
+                    return Pair(this@Lattice.lub(finalState, state, false), true)
+                }
+                state = transformation(this@Lattice, edge, state)
+            }
+
+            val lastNode = chain.edges.last().end
+            for (successor in chain.successors) {
+                val oldState = entryStates[successor]
+                val newState =
+                    when {
+                        oldState == null -> state
+                        lastNode.isBranchOf<Loop>() &&
+                            (strategy == Strategy.WIDENING ||
+                                strategy == Strategy.WIDENING_NARROWING) ->
+                            this@Lattice.lub(one = state, two = oldState, widen = true)
+                        strategy == Strategy.NARROWING -> TODO()
+                        else -> this@Lattice.lub(one = state, two = oldState)
+                    }
+
+                if (oldState == null || isGreaterOrUnequal(newState, oldState)) {
+                    entryStates[successor] = newState
+                    if (!queued[successor]) {
+                        queued[successor] = true
+                        worklist.add(successor)
+                    }
+                }
+            }
+
+            // Same as the edge-based solver, we add the state at the end of the EOG and the last
+            // state we computed to the final state
+            if (chain.successors.isEmpty() || worklist.isEmpty()) {
+                finalState = this@Lattice.lub(finalState, state, false)
+            }
+        }
+
+        // We are done, so we remove the current timeout
+        if (timeout != null) {
+            timeouts.removeLast()
+        }
+        return Pair(finalState, false)
+    }
+
+    /**
+     * Checks whether [newState] is [Order.GREATER] or [Order.UNEQUAL] compared to [oldState], i.e.,
+     * whether we learned something new. If we deal with [PointsToState.Element]s or
+     * [ConcurrentMapLattice.Element]s, we use their special parallelCompare function, otherwise, we
+     * resort to the traditional compare.
+     */
+    private suspend fun isGreaterOrUnequal(newState: T, oldState: T): Boolean {
+        val order =
+            (newState as? PointsToState.Element)?.parallelCompare(oldState)
+                ?: (newState as? ConcurrentMapLattice.Element<*, *>)?.parallelCompare(oldState)
+                ?: newState.compare(oldState)
+        return order == Order.GREATER || order == Order.UNEQUAL
+    }
+
     suspend fun iterateEogInternal(
         startEdges: List<EvaluationOrder>,
         startState: T,
@@ -612,16 +762,7 @@ interface Lattice<T : Lattice.Element> {
                             it !in nextBranchEdgesList &&
                             (isNoBranchingPoint ||
                                 oldGlobalIt == null ||
-                                // If we deal with PointsToState Elements, we use their special
-                                // parallelCompare function, otherwise, we resort to the
-                                // traditional compare
-                                ((newGlobalIt as? PointsToState.Element)?.parallelCompare(
-                                    oldGlobalIt
-                                )
-                                    ?: (newGlobalIt as? ConcurrentMapLattice.Element<*, *>)
-                                        ?.parallelCompare(oldGlobalIt)
-                                    ?: newGlobalIt.compare(oldGlobalIt)) in
-                                    setOf(Order.GREATER, Order.UNEQUAL))
+                                isGreaterOrUnequal(newGlobalIt, oldGlobalIt))
                     ) {
                         if (
                             // We might be at the merge point.
@@ -927,6 +1068,15 @@ open class ConcurrentMapLattice<K, V : Lattice.Element>(val innerLattice: Lattic
             putAll(entries)
         }
 
+        /**
+         * Returns the value of [key] for reading only. In contrast to [get], the value must not be
+         * modified, which allows [PersistentConcurrentMapLattice.Element] to skip copying it.
+         */
+        internal open fun peek(key: K): V? = get(key)
+
+        /** Returns a copy of this map which shares its values with this map. */
+        open fun shallowCopy(): Element<K, V> = Element<K, V>(this)
+
         override fun equals(other: Any?): Boolean {
             return other is Element<K, V> && this@Element.compare(other) == Order.EQUAL
         }
@@ -945,7 +1095,7 @@ open class ConcurrentMapLattice<K, V : Lattice.Element>(val innerLattice: Lattic
             var someGreater = false
             var someLesser = otherKeySetIsBigger
             this.entries.forEach { (k, v) ->
-                val otherV = other[k]
+                val otherV = other.peek(k)
                 if (otherV != null) {
                     when (v.compare(otherV)) {
                         Order.EQUAL -> {
@@ -993,7 +1143,7 @@ open class ConcurrentMapLattice<K, V : Lattice.Element>(val innerLattice: Lattic
         }
 
         @OptIn(ExperimentalAtomicApi::class)
-        suspend fun parallelCompare(other: Lattice.Element): Order {
+        open suspend fun parallelCompare(other: Lattice.Element): Order {
             if (this === other) return Order.EQUAL
 
             if (other !is Element<K, V>)
@@ -1018,7 +1168,7 @@ open class ConcurrentMapLattice<K, V : Lattice.Element>(val innerLattice: Lattic
                     // We can't return in the coroutines, so we only set the return value
                     // there. If we have a return value, we can stop here
                     if (ret.load() != null) return@forEachMaybeParallel
-                    val otherV = other[k]
+                    val otherV = other.peek(k)
                     if (otherV != null) {
                         // Do not use parallelCompare since that would be too many
                         // coroutines
@@ -1079,7 +1229,9 @@ open class ConcurrentMapLattice<K, V : Lattice.Element>(val innerLattice: Lattic
         }
 
         override fun duplicate(): Element<K, V> {
-            return Element(this.map { (k, v) -> Pair<K, V>(k, v.duplicate() as V) })
+            // Copy the entries directly (reusing their keys) instead of collecting them into
+            // pairs and re-wrapping each key first
+            return Element<K, V>(this.size).also { it.copyFrom(this) { v -> v.duplicate() as V } }
         }
 
         override fun hashCode(): Int {
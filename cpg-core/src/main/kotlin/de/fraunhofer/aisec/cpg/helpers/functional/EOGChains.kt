@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026, Fraunhofer AISEC. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *                    $$$$$$\  $$$$$$$\   $$$$$$\
+ *                   $$  __$$\ $$  __$$\ $$  __$$\
+ *                   $$ /  \__|$$ |  $$ |$$ /  \__|
+ *                   $$ |      $$$$$$$  |$$ |$$$$\
+ *                   $$ |      $$  ____/ $$ |\_$$ |
+ *                   $$ |  $$\ $$ |      $$ |  $$ |
+ *                   \$$$$$   |$$ |      \$$$$$   |
+ *                    \______/ \__|       \______/
+ *
+ */
+package de.fraunhofer.aisec.cpg.helpers.functional
+
+import de.fraunhofer.aisec.cpg.graph.edges.flows.EvaluationOrder
+import de.fraunhofer.aisec.cpg.helpers.identitySetOf
+import java.util.IdentityHashMap
+
+/**
+ * The [EvaluationOrder] edges reachable from [startEdges], grouped into [Chain]s. A chain is a
+ * sequence of edges without any branches or merges in between, i.e., the state after one edge of a
+ * chain only flows into the next edge of the same chain. This basically corresponds to the edges of
+ * a basic block. The chains are numbered in reverse post-order starting at [startEdges], so that
+ * processing the chains by their index visits the predecessors of a chain before the chain itself
+ * (except for loops).
+ */
+internal class EOGChains(startEdges: List<EvaluationOrder>) {
+    /**
+     * A chain of [edges] without branches or merges. [successors] contains the indices of the
+     * chains that start with one of the next EOG edges of the last edge.
+     */
+    class Chain(val edges: List<EvaluationOrder>) {
+        var successors = IntArray(0)
+    }
+
+    /** The chains, indexed by their reverse post-order. */
+    val chains: List<Chain>
+
+    private val indexByEntry = IdentityHashMap<EvaluationOrder, Int>()
+
+    init {
+        val starts = identitySetOf<EvaluationOrder>()
+        starts += startEdges
+
+        val chainByEntry = IdentityHashMap<EvaluationOrder, Chain>()
+        fun chainOf(entry: EvaluationOrder): Chain {
+            return chainByEntry.getOrPut(entry) {
+                val edges = mutableListOf(entry)
+                var edge = entry
+                while (true) {
+                    // The chain ends at merge and branch points
+                    val node = edge.end
+                    if (node.prevEOGEdges.size != 1 || node.nextEOGEdges.size != 1) {
+                        break
+                    }
+
+                    // It also ends if we reach another entry, e.g., in a loop without branches
+                    val next = node.nextEOGEdges.single()
+                    if (next in starts || next === entry) {
+                        break
+                    }
+                    edges += next
+                    edge = next
+                }
+                Chain(edges)
+            }
+        }
+
+        // Compute the post-order of the chains with an iterative depth-first search, so that long
+        // functions do not overflow the stack
+        val postOrder = mutableListOf<EvaluationOrder>()
+        val visited = identitySetOf<EvaluationOrder>()
+        val stack = ArrayDeque<Pair<EvaluationOrder, Iterator<EvaluationOrder>>>()
+        for (start in startEdges) {
+            if (!visited.add(start)) {
+                continue
+            }
+
+            stack.addLast(Pair(start, chainOf(start).edges.last().end.nextEOGEdges.iterator()))
+            while (stack.isNotEmpty()) {
+                val (entry, successors) = stack.last()
+                if (successors.hasNext()) {
+                    val successor = successors.next()
+                    if (visited.add(successor)) {
+                        stack.addLast(
+                            Pair(
+                                successor,
+                                chainOf(successor).edges.last().end.nextEOGEdges.iterator(),
+                            )
+                        )
+                    }
+                } else {
+                    stack.removeLast()
+                    postOrder += entry
+                }
+            }
+        }
+
+        postOrder.reverse()
+        postOrder.forEachIndexed { index, entry -> indexByEntry[entry] = index }
+        chains = postOrder.map { chainByEntry.getValue(it) }
+        for (chain in chains) {
+            chain.successors =
+                chain.edges.last().end.nextEOGEdges.map { indexByEntry.getValue(it) }.toIntArray()
+        }
+    }
+
+    /** Returns the index of the chain starting with [entry]. */
+    fun indexOf(entry: EvaluationOrder): Int = indexByEntry.getValue(entry)
+
+    val size: Int
+        get() = chains.size
+}
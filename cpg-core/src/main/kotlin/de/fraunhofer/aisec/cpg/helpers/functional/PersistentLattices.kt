@@ -25,10 +25,16 @@
  */
 package de.fraunhofer.aisec.cpg.helpers.functional
 
+import de.fraunhofer.aisec.cpg.graph.forEachMaybeParallel
 import de.fraunhofer.aisec.cpg.helpers.ConcurrentIdentitySet
 import de.fraunhofer.aisec.cpg.passes.PointsToPass
+import java.util.concurrent.atomic.AtomicReference
+import java.util.function.Predicate
 import kotlinx.collections.immutable.PersistentMap
+import kotlinx.collections.immutable.PersistentSet
+import kotlinx.collections.immutable.mutate
 import kotlinx.collections.immutable.persistentHashMapOf
+import kotlinx.collections.immutable.persistentHashSetOf
 
 /**
  * Like [ConcurrentMapLattice], a [Lattice] over a map of [K] to another lattice represented by
@@ -53,6 +59,11 @@ import kotlinx.collections.immutable.persistentHashMapOf
  * [de.fraunhofer.aisec.cpg.graph.Node] (and its subclasses, e.g.
  * [de.fraunhofer.aisec.cpg.graph.overlays.BasicBlock]) define structural equals/hashCode, and two
  * distinct nodes that happen to compare structurally equal must not collide as the same key.
+ *
+ * If the values are persistent as well (e.g., [PersistentPowersetLattice]), [lub] returns one of
+ * its operands whenever the result would be equal to it, so that unchanged states keep sharing
+ * their maps. Merges of more than two states should use [lubAll], which builds the result in a
+ * single pass.
  */
 open class PersistentMapLattice<K, V : Lattice.Element>(val innerLattice: Lattice<V>) :
     Lattice<PersistentMapLattice.Element<K, V>> {
@@ -115,6 +126,8 @@ open class PersistentMapLattice<K, V : Lattice.Element>(val innerLattice: Lattic
                     "$other should be of type PersistentMapLattice.Element<K, V> but is of type ${other.javaClass}"
                 )
             @Suppress("UNCHECKED_CAST") val otherMap = other as Element<K, V>
+            // Elements which share their map are equal without looking at the entries
+            if (this.map === otherMap.map) return Order.EQUAL
 
             val otherKeySetIsBigger = otherMap.map.keys.any { it !in this.map.keys }
 
@@ -122,7 +135,9 @@ open class PersistentMapLattice<K, V : Lattice.Element>(val innerLattice: Lattic
             var someLesser = otherKeySetIsBigger
             for ((k, v) in this.map) {
                 val otherV = otherMap.map[k]
-                if (otherV != null) {
+                if (otherV === v) {
+                    continue
+                } else if (otherV != null) {
                     when (v.compare(otherV)) {
                         Order.EQUAL -> {
                             /* Nothing to do*/
@@ -170,22 +185,50 @@ open class PersistentMapLattice<K, V : Lattice.Element>(val innerLattice: Lattic
         widen: Boolean,
         concurrencyCounter: Int,
     ): Element<K, V> {
-        var result = one.map
-        for ((key, v) in two.map) {
-            val existing = result[key]
-            val newValue =
-                if (existing != null) {
-                    if (existing === v) {
-                        existing
-                    } else {
-                        innerLattice.lub(existing, v, allowModify = false, widen = widen, 1)
-                    }
-                } else {
-                    v
+        if (one === two || one.map === two.map || two.isEmpty()) return one
+        if (one.isEmpty()) return two
+
+        val builder = one.map.builder()
+        mergeInto(builder, two, widen)
+        val result = builder.build()
+        return if (result === one.map) one else Element(result)
+    }
+
+    /**
+     * Computes the [lub] of all [elements] at once. In contrast to folding the elements with [lub],
+     * this only builds a single new map (starting from the largest element) instead of one
+     * intermediate map per element. Returns [bottom] if [elements] is empty.
+     */
+    suspend fun lubAll(elements: Collection<Element<K, V>>, widen: Boolean = false): Element<K, V> {
+        val largest = elements.maxByOrNull { it.size } ?: return bottom
+
+        val builder = largest.map.builder()
+        for (element in elements) {
+            if (element !== largest && element.map !== largest.map) {
+                mergeInto(builder, element, widen)
+            }
+        }
+        val result = builder.build()
+        return if (result === largest.map) largest else Element(result)
+    }
+
+    /** Merges the entries of [element] into [builder], only touching keys whose value changes. */
+    private suspend fun mergeInto(
+        builder: PersistentMap.Builder<PointsToPass.IdKey<K>, V>,
+        element: Element<K, V>,
+        widen: Boolean,
+    ) {
+        for ((key, v) in element.map) {
+            val existing = builder[key]
+            if (existing == null) {
+                builder[key] = v
+            } else if (existing !== v) {
+                val newValue = innerLattice.lub(existing, v, allowModify = false, widen = widen, 1)
+                if (newValue !== existing) {
+                    builder[key] = newValue
                 }
-            result = result.put(key, newValue)
+            }
         }
-        return Element(result)
     }
 
     override suspend fun glb(one: Element<K, V>, two: Element<K, V>): Element<K, V> {
@@ -207,3 +250,535 @@ open class PersistentMapLattice<K, V : Lattice.Element>(val innerLattice: Lattic
         return one.duplicate()
     }
 }
+
+/**
+ * A [ConcurrentMapLattice] whose [Element]s are backed by a [PersistentMap] instead of a
+ * [java.util.concurrent.ConcurrentHashMap]. In contrast to [PersistentMapLattice], the [Element]s
+ * are still mutable [ConcurrentMapLattice.Element]s. This lattice can therefore replace a
+ * [ConcurrentMapLattice] whose users update their state in place, such as the
+ * [de.fraunhofer.aisec.cpg.passes.PointsToState] (see
+ * [de.fraunhofer.aisec.cpg.TranslationConfiguration.usePersistentPointsToState]).
+ *
+ * [Element.duplicate] is O(1): the duplicate shares the [PersistentMap] of the original and an
+ * update only replaces the map of the updated element. The values (which are usually mutable, e.g.,
+ * [PowersetLattice.Element]s) are shared as well. Therefore, an element duplicates a shared value
+ * before it hands it out in a way that allows modifying it, i.e., through [Element.get],
+ * [Element.values], [Element.entries] and [Element.computeIfAbsent]. This way, only the entries
+ * which are actually modified on a path through the EOG are copied. [compare] and [lub] only read
+ * the values of their second operand and never copy them.
+ */
+open class PersistentConcurrentMapLattice<K, V : Lattice.Element>(innerLattice: Lattice<V>) :
+    ConcurrentMapLattice<K, V>(innerLattice) {
+
+    /**
+     * A value of an [Element]. Only the element whose [Element.token] is the [owner] may modify the
+     * [value] in place, all other elements have to duplicate it first. A `null` owner marks values
+     * which none of the elements owns.
+     */
+    internal class Slot<V : Lattice.Element>(val value: V, val owner: Any?) {
+        override fun equals(other: Any?): Boolean = other is Slot<*> && value == other.value
+
+        override fun hashCode(): Int = value.hashCode()
+    }
+
+    /** An entry of [Element.entries], whose key is compared by identity. */
+    private class Entry<K, V>(override val key: K, override val value: V) : Map.Entry<K, V> {
+        override fun equals(other: Any?): Boolean =
+            other is Map.Entry<*, *> && other.key === key && other.value == value
+
+        override fun hashCode(): Int = System.identityHashCode(key) xor (value?.hashCode() ?: 0)
+
+        override fun toString(): String = "$key=$value"
+    }
+
+    open class Element<K, V : Lattice.Element>
+    internal constructor(map: PersistentMap<PointsToPass.IdKey<K>, Slot<V>>) :
+        ConcurrentMapLattice.Element<K, V>(0) {
+
+        constructor() : this(persistentHashMapOf())
+
+        private val ref = AtomicReference(map)
+
+        /** Identifies the values which this element may modify in place, see [Slot]. */
+        @Volatile
+        internal var token = Any()
+            private set
+
+        internal val map: PersistentMap<PointsToPass.IdKey<K>, Slot<V>>
+            get() = ref.get()
+
+        override val size: Int
+            get() = map.size
+
+        override fun isEmpty(): Boolean = map.isEmpty()
+
+        override fun containsKey(key: K): Boolean = PointsToPass.IdKey(key) in map
+
+        override fun containsValue(value: V): Boolean = map.values.any { it.value == value }
+
+        override fun peek(key: K): V? = map[PointsToPass.IdKey(key)]?.value
+
+        override operator fun get(key: K): V? = own(PointsToPass.IdKey(key))
+
+        override val keys: Set<K>
+            get() {
+                val snapshot = map
+                return object : AbstractSet<K>() {
+                    override val size: Int
+                        get() = snapshot.size
+
+                    override fun contains(element: K): Boolean =
+                        PointsToPass.IdKey(element) in snapshot
+
+                    override fun iterator(): Iterator<K> =
+                        snapshot.keys.asSequence().map { it.ref }.iterator()
+                }
+            }
+
+        override val values: Collection<V>
+            get() = map.keys.mapNotNull { own(it) }
+
+        override val entries: Set<Map.Entry<K, V>>
+            get() {
+                val owned = map.keys.mapNotNull { key -> own(key)?.let { Entry(key.ref, it) } }
+                return object : AbstractSet<Map.Entry<K, V>>() {
+                    override val size: Int
+                        get() = owned.size
+
+                    override fun iterator(): Iterator<Map.Entry<K, V>> = owned.iterator()
+                }
+            }
+
+        override fun put(key: K, value: V): V? =
+            store(PointsToPass.IdKey(key), value, owned = true)
+
+        override fun remove(key: K): V? {
+            val idKey = PointsToPass.IdKey(key)
+            while (true) {
+                val current = ref.get()
+                val slot = current[idKey] ?: return null
+                if (ref.compareAndSet(current, current.remove(idKey))) return slot.value
+            }
+        }
+
+        override fun removeKeyIf(filter: Predicate<in K>): Boolean {
+            while (true) {
+                val current = ref.get()
+                var updated = current
+                for (key in current.keys) {
+                    if (filter.test(key.ref)) updated = updated.remove(key)
+                }
+                if (updated === current) return false
+                if (ref.compareAndSet(current, updated)) return true
+            }
+        }
+
+        override fun computeIfAbsent(key: K, mappingFunction: (K) -> V): V {
+            val idKey = PointsToPass.IdKey(key)
+            own(idKey)?.let {
+                return it
+            }
+
+            val value = mappingFunction(key)
+            while (true) {
+                val current = ref.get()
+                if (idKey in current) {
+                    own(idKey)?.let {
+                        return it
+                    }
+                } else if (ref.compareAndSet(current, current.put(idKey, Slot(value, token)))) {
+                    return value
+                }
+            }
+        }
+
+        override fun putAll(map: Map<out K, V>) {
+            putAll(map.entries.map { (key, value) -> key to value })
+        }
+
+        override fun putAll(pairs: Iterable<Pair<K, V>>) {
+            while (true) {
+                val current = ref.get()
+                val token = token
+                val updated =
+                    current.mutate { builder ->
+                        for ((key, value) in pairs) {
+                            builder[PointsToPass.IdKey(key)] = Slot(value, token)
+                        }
+                    }
+                if (ref.compareAndSet(current, updated)) return
+            }
+        }
+
+        override fun clear() {
+            ref.set(persistentHashMapOf())
+        }
+
+        /**
+         * Returns the value of [key]. If this element does not own the value (see [Slot]), it is
+         * replaced by a duplicate first, so that the caller may modify it.
+         */
+        internal fun own(key: PointsToPass.IdKey<K>): V? {
+            while (true) {
+                val current = ref.get()
+                val slot = current[key] ?: return null
+                val token = token
+                if (slot.owner === token) return slot.value
+
+                @Suppress("UNCHECKED_CAST")
+                val copy = Slot(slot.value.duplicate() as V, token)
+                if (ref.compareAndSet(current, current.put(key, copy))) return copy.value
+            }
+        }
+
+        /**
+         * Stores [value] for [key] and returns the previous value. Unless the value is [owned],
+         * this element duplicates it before modifying it.
+         */
+        internal fun store(key: PointsToPass.IdKey<K>, value: V, owned: Boolean): V? {
+            val slot = Slot(value, if (owned) token else null)
+            while (true) {
+                val current = ref.get()
+                if (ref.compareAndSet(current, current.put(key, slot))) return current[key]?.value
+            }
+        }
+
+        override fun compare(other: Lattice.Element): Order {
+            if (this === other) return Order.EQUAL
+
+            if (other !is ConcurrentMapLattice.Element<*, *>)
+                throw IllegalArgumentException(
+                    "$other should be of type ConcurrentMapLattice.Element<K, V> but is of type ${other.javaClass}"
+                )
+            // Elements which share their map are equal without looking at the entries
+            if (other is Element<*, *> && other.map === this.map) return Order.EQUAL
+            @Suppress("UNCHECKED_CAST") val otherMap = other as ConcurrentMapLattice.Element<K, V>
+
+            var someGreater = false
+            var someLesser = otherMap.keys.any { !this.containsKey(it) }
+            for ((k, slot) in this.map) {
+                val v = slot.value
+                val otherV = otherMap.peek(k.ref)
+                if (otherV === v) {
+                    continue
+                } else if (otherV != null) {
+                    when (v.compare(otherV)) {
+                        Order.EQUAL -> {
+                            /* Nothing to do*/
+                        }
+                        Order.GREATER -> {
+                            if (someLesser) return Order.UNEQUAL
+                            someGreater = true
+                        }
+                        Order.LESSER -> {
+                            if (someGreater) return Order.UNEQUAL
+                            someLesser = true
+                        }
+                        Order.UNEQUAL -> return Order.UNEQUAL
+                    }
+                } else {
+                    if (someLesser) return Order.UNEQUAL
+                    someGreater = true
+                }
+            }
+            return if (!someGreater && !someLesser) {
+                Order.EQUAL
+            } else if (someLesser && !someGreater) {
+                Order.LESSER
+            } else if (!someLesser && someGreater) {
+                Order.GREATER
+            } else {
+                Order.UNEQUAL
+            }
+        }
+
+        /** [compare] does not need to look at shared values, so it is not split into coroutines. */
+        override suspend fun parallelCompare(other: Lattice.Element): Order = compare(other)
+
+        override fun duplicate(): Element<K, V> {
+            // From now on, both elements share the values, so none of them may modify them in place
+            token = Any()
+            return Element(map)
+        }
+
+        override fun shallowCopy(): Element<K, V> = duplicate()
+
+        override fun hashCode(): Int = map.hashCode()
+    }
+
+    override val bottom: Element<K, V>
+        get() = Element()
+
+    /**
+     * Computes the [lub] like [ConcurrentMapLattice.lub]. Without [allowModify], the result starts
+     * as a [Element.duplicate] of [one], so only the entries which [two] changes are copied.
+     */
+    override suspend fun lub(
+        one: ConcurrentMapLattice.Element<K, V>,
+        two: ConcurrentMapLattice.Element<K, V>,
+        allowModify: Boolean,
+        widen: Boolean,
+        concurrencyCounter: Int,
+    ): ConcurrentMapLattice.Element<K, V> {
+        if (one !is Element) return super.lub(one, two, allowModify, widen, concurrencyCounter)
+        if (one === two) return if (allowModify) one else one.duplicate()
+
+        val result = if (allowModify) one else one.duplicate()
+        if (two is Element && two.map === one.map) return result
+
+        val entries =
+            if (two is Element) {
+                two.map.entries.map { (key, slot) -> key to slot.value }
+            } else {
+                two.entries.map { (key, value) -> PointsToPass.IdKey(key) to value }
+            }
+        entries.forEachMaybeParallel(parallelism = concurrencyCounter) { (key, value) ->
+            val existing = result.peek(key.ref)
+            if (existing == null) {
+                // The value is shared with two, so the result duplicates it before modifying it
+                result.store(key, value, owned = false)
+            } else if (existing !== value && existing.compare(value) != Order.EQUAL) {
+                // The inner lattice modifies the value in place, so the result needs its own copy
+                val owned = result.own(key) ?: return@forEachMaybeParallel
+                val newValue =
+                    innerLattice.lub(owned, value, allowModify = true, widen = widen, 1)
+                if (newValue !== owned) {
+                    result.store(key, newValue, owned = newValue !== value)
+                }
+            }
+        }
+        return result
+    }
+
+    override suspend fun glb(
+        one: ConcurrentMapLattice.Element<K, V>,
+        two: ConcurrentMapLattice.Element<K, V>,
+    ): ConcurrentMapLattice.Element<K, V> {
+        val result = Element<K, V>()
+        for (key in one.keys) {
+            val thisValue = one.peek(key) ?: continue
+            val otherValue = two.peek(key) ?: continue
+            result.store(
+                PointsToPass.IdKey(key),
+                innerLattice.glb(thisValue, otherValue),
+                owned = false,
+            )
+        }
+        return result
+    }
+}
+
+/**
+ * Like [PowersetLattice], a [Lattice] over sets of [T], but backed by a [PersistentSet] (a hash
+ * array mapped trie from `kotlinx.collections.immutable`) instead of a mutable hash set. As for
+ * [PersistentMapLattice], [Element.duplicate] is O(1), [lub] and [glb] never modify their operands
+ * (regardless of `allowModify`) and [lub] returns one of its operands if the other one does not add
+ * anything new.
+ *
+ * The entries are compared like in [PowersetLattice.Element]: [Pair]s by the identity of their
+ * first and the equality of their second component, [PointsToPass.NodeWithPropertiesKey]s by their
+ * equality and everything else by reference identity.
+ */
+open class PersistentPowersetLattice<T> : Lattice<PersistentPowersetLattice.Element<T>> {
+    override lateinit var elements: ConcurrentIdentitySet<Element<T>>
+
+    /** Wraps an entry of an [Element] to provide the equality described above. */
+    class Key<T>(val ref: T) {
+        override fun equals(other: Any?): Boolean {
+            if (other !is Key<*>) return false
+            val otherRef = other.ref
+            return when (ref) {
+                is Pair<*, *> ->
+                    otherRef is Pair<*, *> &&
+                        ref.first === otherRef.first &&
+                        ref.second == otherRef.second
+                is PointsToPass.NodeWithPropertiesKey -> ref == otherRef
+                else -> ref === otherRef
+            }
+        }
+
+        override fun hashCode(): Int {
+            return when (ref) {
+                is Pair<*, *> ->
+                    31 * System.identityHashCode(ref.first) + (ref.second?.hashCode() ?: 0)
+                is PointsToPass.NodeWithPropertiesKey -> ref.hashCode()
+                else -> System.identityHashCode(ref)
+            }
+        }
+    }
+
+    class Element<T>(internal val set: PersistentSet<Key<T>>) : AbstractSet<T>(), Lattice.Element {
+
+        constructor() : this(persistentHashSetOf())
+
+        constructor(
+            vararg entries: T
+        ) : this(
+            entries.fold(persistentHashSetOf<Key<T>>()) { acc, entry -> acc.add(Key(entry)) }
+        )
+
+        override val size: Int
+            get() = set.size
+
+        override fun contains(element: T): Boolean = Key(element) in set
+
+        override fun iterator(): Iterator<T> {
+            val iterator = set.iterator()
+            return object : Iterator<T> {
+                override fun hasNext(): Boolean = iterator.hasNext()
+
+                override fun next(): T = iterator.next().ref
+            }
+        }
+
+        /** Returns an [Element] which additionally contains [entry]; does not modify this one. */
+        operator fun plus(entry: T): Element<T> {
+            val result = set.add(Key(entry))
+            return if (result === set) this else Element(result)
+        }
+
+        /** Returns an [Element] without [entry]; does not modify this one. */
+        operator fun minus(entry: T): Element<T> {
+            val result = set.remove(Key(entry))
+            return if (result === set) this else Element(result)
+        }
+
+        override fun equals(other: Any?): Boolean {
+            if (this === other) return true
+            return other is Element<*> && (this.set === other.set || this.set == other.set)
+        }
+
+        override fun compare(other: Lattice.Element): Order {
+            if (this === other) return Order.EQUAL
+
+            if (other !is Element<*>)
+                throw IllegalArgumentException(
+                    "$other should be of type PersistentPowersetLattice.Element<T> but is of type ${other.javaClass}"
+                )
+            if (this.set === other.set) return Order.EQUAL
+
+            val thisContainsOther = this.size >= other.size && this.set.containsAll(other.set)
+            val otherContainsThis = other.size >= this.size && other.set.containsAll(this.set)
+            return when {
+                thisContainsOther && otherContainsThis -> Order.EQUAL
+                thisContainsOther -> Order.GREATER
+                otherContainsThis -> Order.LESSER
+                else -> Order.UNEQUAL
+            }
+        }
+
+        // O(1): the underlying PersistentSet is never mutated in place.
+        override fun duplicate(): Element<T> = Element(set)
+
+        override fun hashCode(): Int = set.hashCode()
+    }
+
+    override val bottom: Element<T>
+        get() = Element()
+
+    override suspend fun lub(
+        one: Element<T>,
+        two: Element<T>,
+        allowModify: Boolean,
+        widen: Boolean,
+        concurrencyCounter: Int,
+    ): Element<T> {
+        if (one === two || one.set === two.set || two.isEmpty()) return one
+        if (one.isEmpty()) return two
+
+        // Adding the smaller set to the larger one shares most of the trie with the larger one
+        val (larger, smaller) = if (one.size >= two.size) one to two else two to one
+        val result = larger.set.addAll(smaller.set)
+        return if (result.size == larger.size) larger else Element(result)
+    }
+
+    /**
+     * Computes the [lub] of all [elements] at once by adding them to the largest one in a single
+     * builder. Returns [bottom] if [elements] is empty.
+     */
+    fun lubAll(elements: Collection<Element<T>>): Element<T> {
+        val largest = elements.maxByOrNull { it.size } ?: return bottom
+
+        val builder = largest.set.builder()
+        for (element in elements) {
+            if (element.set !== largest.set) {
+                builder.addAll(element.set)
+            }
+        }
+        return if (builder.size == largest.size) largest else Element(builder.build())
+    }
+
+    override suspend fun glb(one: Element<T>, two: Element<T>): Element<T> {
+        if (one === two || one.set === two.set) return one
+
+        val result = one.set.retainAll(two.set)
+        return if (result.size == one.size) one else Element(result)
+    }
+
+    override fun compare(one: Element<T>, two: Element<T>): Order {
+        return one.compare(two)
+    }
+
+    override fun duplicate(one: Element<T>): Element<T> {
+        return one.duplicate()
+    }
+}
+
+/**
+ * A [TupleLattice] for persistent inner lattices (e.g., [PersistentMapLattice] or
+ * [PersistentPowersetLattice]). [TupleLattice.lub] relies on the inner lattices modifying their
+ * first operand if `allowModify` is set, which persistent lattices never do. This lattice therefore
+ * always uses the results of the inner lattices and returns [one] if neither of its components
+ * changed. Since the components are persistent, [TupleLattice.Element.duplicate] is O(1) as well.
+ */
+open class PersistentTupleLattice<S : Lattice.Element, T : Lattice.Element>(
+    innerLattice1: Lattice<S>,
+    innerLattice2: Lattice<T>,
+) : TupleLattice<S, T>(innerLattice1, innerLattice2) {
+    override suspend fun lub(
+        one: TupleLattice.Element<S, T>,
+        two: TupleLattice.Element<S, T>,
+        allowModify: Boolean,
+        widen: Boolean,
+        concurrencyCounter: Int,
+    ): TupleLattice.Element<S, T> {
+        if (one === two) return one
+
+        val first = innerLattice1.lub(one.first, two.first, allowModify = false, widen = widen)
+        val second = innerLattice2.lub(one.second, two.second, allowModify = false, widen = widen)
+        return if (first === one.first && second === one.second) {
+            one
+        } else {
+            TupleLattice.Element(first, second)
+        }
+    }
+}
+
+/**
+ * A [TripleLattice] for persistent inner lattices. See [PersistentTupleLattice] for why
+ * [TripleLattice.lub] cannot be used with them.
+ */
+open class PersistentTripleLattice<R : Lattice.Element, S : Lattice.Element, T : Lattice.Element>(
+    innerLattice1: Lattice<R>,
+    innerLattice2: Lattice<S>,
+    innerLattice3: Lattice<T>,
+) : TripleLattice<R, S, T>(innerLattice1, innerLattice2, innerLattice3) {
+    override suspend fun lub(
+        one: TripleLattice.Element<R, S, T>,
+        two: TripleLattice.Element<R, S, T>,
+        allowModify: Boolean,
+        widen: Boolean,
+        concurrencyCounter: Int,
+    ): TripleLattice.Element<R, S, T> {
+        if (one === two) return one
+
+        val first = innerLattice1.lub(one.first, two.first, allowModify = false, widen = widen)
+        val second = innerLattice2.lub(one.second, two.second, allowModify = false, widen = widen)
+        val third = innerLattice3.lub(one.third, two.third, allowModify = false, widen = widen)
+        return if (first === one.first && second === one.second && third === one.third) {
+            one
+        } else {
+            TripleLattice.Element(first, second, third)
+        }
+    }
+}
@@ -34,6 +34,7 @@ import de.fraunhofer.aisec.cpg.graph.edges.flows.EvaluationOrder
 import de.fraunhofer.aisec.cpg.graph.expressions.ShortCircuitOperator
 import de.fraunhofer.aisec.cpg.graph.overlays.BasicBlock
 import de.fraunhofer.aisec.cpg.passes.configuration.DependsOn
+import de.fraunhofer.aisec.cpg.passes.configuration.SupportsParallelExecution
 
 /**
  * This pass collects [BasicBlock]s by iterating through the EOG of [EOGStarterHolder]s. A basic
@@ -41,6 +42,7 @@ import de.fraunhofer.aisec.cpg.passes.configuration.DependsOn
  */
 @DependsOn(EvaluationOrderGraphPass::class)
 @Description("Collects basic blocks for all functions in the EOG.")
+@SupportsParallelExecution
 class BasicBlockCollectorPass(ctx: TranslationContext) : EOGStarterPass(ctx) {
 
     override fun cleanup() {
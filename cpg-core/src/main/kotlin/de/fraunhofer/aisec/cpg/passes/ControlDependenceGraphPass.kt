@@ -44,10 +44,11 @@ import de.fraunhofer.aisec.cpg.graph.overlays.BasicBlock
 import de.fraunhofer.aisec.cpg.helpers.flatMapNotNull
 import de.fraunhofer.aisec.cpg.helpers.functional.Lattice
 import de.fraunhofer.aisec.cpg.helpers.functional.PersistentMapLattice
-import de.fraunhofer.aisec.cpg.helpers.functional.PowersetLattice
+import de.fraunhofer.aisec.cpg.helpers.functional.PersistentPowersetLattice
 import de.fraunhofer.aisec.cpg.helpers.identitySetOf
 import de.fraunhofer.aisec.cpg.helpers.mapFilteredTo
 import de.fraunhofer.aisec.cpg.passes.configuration.DependsOn
+import de.fraunhofer.aisec.cpg.passes.configuration.SupportsParallelExecution
 import java.text.NumberFormat
 import java.util.Locale
 import kotlin.collections.component1
@@ -60,6 +61,7 @@ import kotlinx.coroutines.runBlocking
 @Description(
     "Adds CDG edges to the graph. These represent control dependence graph and thus show if executing code depends on a condition of a control-flow controlling statement."
 )
+@SupportsParallelExecution
 open class ControlDependenceGraphPass(ctx: TranslationContext) : EOGStarterPass(ctx) {
 
     class Configuration(
@@ -127,7 +129,7 @@ open class ControlDependenceGraphPass(ctx: TranslationContext) : EOGStarterPass(
         log.trace("Retrieved network of BBs for {}", startNode.name)
 
         val prevEOGState =
-            PrevEOGState(innerLattice = PrevEOGLattice(innerLattice = PowersetLattice()))
+            PrevEOGState(innerLattice = PrevEOGLattice(innerLattice = PersistentPowersetLattice()))
 
         // Maps nodes to their "cdg parent" (i.e. the dominator) and also has the information
         // through which path it is reached. If all outgoing paths of the basicBlock's dominator
@@ -138,7 +140,9 @@ open class ControlDependenceGraphPass(ctx: TranslationContext) : EOGStarterPass(
             prevEOGState.push(
                 startState,
                 firstBasicBlock,
-                PrevEOGLatticeElement(startNode to PowersetLattice.Element(firstBasicBlock)),
+                PrevEOGLatticeElement(
+                    startNode to PersistentPowersetLattice.Element(firstBasicBlock)
+                ),
                 true,
             )
         }
@@ -363,7 +367,8 @@ suspend fun transfer(
                 ?.filter { (k, _) -> k != branchingNode }
                 ?.let { PrevEOGLatticeElement(it) } ?: PrevEOGLatticeElement()
 
-        val map = PrevEOGLatticeElement(branchingNode to PowersetLattice.Element(currentEnd))
+        val map =
+            PrevEOGLatticeElement(branchingNode to PersistentPowersetLattice.Element(currentEnd))
         val newPath = lattice.innerLattice.lub(map, prevPathLattice, true)
         newState = lattice.push(newState, currentEnd, newPath, true)
     } else {
@@ -374,7 +379,9 @@ suspend fun transfer(
         // have "end" as the first node in the "branch".
         val state =
             newState[currentStart]?.let { PrevEOGLatticeElement(it) }
-                ?: PrevEOGLatticeElement(currentStart to PowersetLattice.Element(currentEnd))
+                ?: PrevEOGLatticeElement(
+                    currentStart to PersistentPowersetLattice.Element(currentEnd)
+                )
         newState = lattice.push(newState, currentEnd, state, true)
     }
     return newState
@@ -445,9 +452,10 @@ private fun IfElse.allBranchesFromMyThenBranchGoThrough(node: Node?): Boolean {
 }
 
 typealias PrevEOGLatticeElement =
-    PersistentMapLattice.Element<Node, PowersetLattice.Element<BasicBlock>>
+    PersistentMapLattice.Element<Node, PersistentPowersetLattice.Element<BasicBlock>>
 
-typealias PrevEOGLattice = PersistentMapLattice<Node, PowersetLattice.Element<BasicBlock>>
+typealias PrevEOGLattice =
+    PersistentMapLattice<Node, PersistentPowersetLattice.Element<BasicBlock>>
 
 typealias PrevEOGStateElement = PersistentMapLattice.Element<BasicBlock, PrevEOGLatticeElement>
 
@@ -36,6 +36,7 @@ import de.fraunhofer.aisec.cpg.helpers.*
 import de.fraunhofer.aisec.cpg.helpers.LatticeElement
 import de.fraunhofer.aisec.cpg.helpers.PowersetLattice
 import de.fraunhofer.aisec.cpg.passes.configuration.DependsOn
+import de.fraunhofer.aisec.cpg.passes.configuration.SupportsParallelExecution
 import kotlin.contracts.ExperimentalContracts
 import kotlin.contracts.contract
 
@@ -50,6 +51,7 @@ import kotlin.contracts.contract
 @Description(
     "Enhances the Data Flow Graph (DFG) by considering control flow information, leading to more accurate (i.e., flow-sensitive) data flow representation."
 )
+@SupportsParallelExecution
 open class ControlFlowSensitiveDFGPass(ctx: TranslationContext) : EOGStarterPass(ctx) {
 
     class Configuration(
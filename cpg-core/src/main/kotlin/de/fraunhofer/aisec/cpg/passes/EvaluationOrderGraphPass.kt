@@ -41,8 +41,7 @@ import de.fraunhofer.aisec.cpg.graph.firstParentOrNull
 import de.fraunhofer.aisec.cpg.graph.types.Type
 import de.fraunhofer.aisec.cpg.helpers.IdentitySet
 import de.fraunhofer.aisec.cpg.helpers.SubgraphWalker
-import de.fraunhofer.aisec.cpg.helpers.identitySetOf
-import de.fraunhofer.aisec.cpg.helpers.mapFilteredTo
+import de.fraunhofer.aisec.cpg.passes.configuration.SupportsParallelExecution
 import de.fraunhofer.aisec.cpg.tryCast
 import java.util.*
 import org.slf4j.LoggerFactory
@@ -92,6 +91,7 @@ import org.slf4j.LoggerFactory
 @Description(
     "Adds EOG edges to the graph. These represent the execution order of statements or expressions and is similar to a fine-grained version of a control flow graph."
 )
+@SupportsParallelExecution
 open class EvaluationOrderGraphPass(ctx: TranslationContext) : TranslationUnitPass(ctx) {
 
     var currentPredecessors = mutableListOf<Node>()
@@ -124,6 +124,19 @@ open class EvaluationOrderGraphPass(ctx: TranslationContext) : TranslationUnitPa
      */
     protected val intermediateNodes = mutableListOf<Node>()
 
+    /**
+     * Stores the start nodes of all EOG edges that were created by [addEOGEdge]. This allows
+     * [removeUnreachableEOGEdges] to only look at these nodes instead of flattening the whole AST
+     * again.
+     */
+    protected val eogSources = mutableListOf<Node>()
+
+    /**
+     * Stores all nodes connected by an EOG edge created by [addEOGEdge] that are valid entry points
+     * of the EOG, i.e., [EOGStarterHolder]s and [Variable]s.
+     */
+    protected val eogEntries = IdentitySet<Node>()
+
     protected fun doNothing() {
         // Nothing to do for this node type
     }
@@ -131,6 +144,8 @@ open class EvaluationOrderGraphPass(ctx: TranslationContext) : TranslationUnitPa
     override fun cleanup() {
         intermediateNodes.clear()
         currentPredecessors.clear()
+        eogSources.clear()
+        eogEntries.clear()
     }
 
     override fun accept(tu: TranslationUnit) {
@@ -139,35 +154,43 @@ open class EvaluationOrderGraphPass(ctx: TranslationContext) : TranslationUnitPa
     }
 
     /**
-     * Removes EOG edges by first building the negative set of nodes that cannot be visited and then
-     * remove their outgoing edges. This also removes cycles.
+     * Removes the outgoing EOG edges of all nodes in [tu] that cannot be reached from an entry
+     * point of the EOG (see [eogEntries]). This also removes cycles. Since we only need to consider
+     * the nodes which received an EOG edge by this pass (see [eogSources]), we do not need to
+     * traverse the AST again. Instead, we follow the already built EOG edges starting at each entry
+     * point, e.g., each function, individually.
      */
     protected fun removeUnreachableEOGEdges(tu: TranslationUnit) {
-        // All nodes which have an eog edge
-        val eogNodes = IdentitySet<Node>()
-        eogNodes.addAll(
-            SubgraphWalker.flattenAST(tu).filter {
-                it.prevEOGEdges.isNotEmpty() || it.nextEOGEdges.isNotEmpty()
+        val reachable = IdentitySet<Node>(eogSources.size)
+        val worklist = ArrayDeque<Node>()
+        for (entry in eogEntries) {
+            if (reachable.add(entry)) {
+                worklist.add(entry)
+            }
+
+            while (worklist.isNotEmpty()) {
+                val node = worklist.removeLast()
+                for (edge in node.nextEOGEdges) {
+                    if (reachable.add(edge.end)) {
+                        worklist.add(edge.end)
+                    }
+                }
             }
-        )
-        // only eog entry points
-        var validStarts =
-            eogNodes.filterTo(identitySetOf()) { it is EOGStarterHolder || it is Variable }
-        // Remove all nodes from eogNodes which are reachable from validStarts and transitively.
-        val alreadySeen = IdentitySet<Node>()
-        while (validStarts.isNotEmpty()) {
-            eogNodes.removeAll(validStarts)
-            validStarts =
-                validStarts
-                    .flatMap { it.nextEOGEdges }
-                    .mapFilteredTo(identitySetOf(), { it.end !in alreadySeen }) { it.end }
-            alreadySeen.addAll(validStarts)
         }
+
         // The remaining nodes are unreachable from the entry points. We delete their outgoing EOG
         // edges.
-        for (unvisitedNode in eogNodes) {
-            unvisitedNode.nextEOGEdges.clear()
+        for (node in eogSources) {
+            if (node !in reachable) {
+                node.nextEOGEdges.clear()
+            }
         }
+
+        LOGGER.trace(
+            "Checked {} EOG nodes of {} for reachability",
+            eogSources.size,
+            tu.name.localName,
+        )
     }
 
     /**
@@ -1039,6 +1062,16 @@ open class EvaluationOrderGraphPass(ctx: TranslationContext) : TranslationUnitPa
         propertyEdge.branch = nextEdgeBranch
 
         prev.nextEOGEdges += propertyEdge
+
+        // Remember the nodes for removeUnreachableEOGEdges
+        eogSources += prev
+        if (prev is EOGStarterHolder || prev is Variable) {
+            eogEntries += prev
+        }
+        if (next is EOGStarterHolder || next is Variable) {
+            eogEntries += next
+        }
+
         return propertyEdge
     }
 
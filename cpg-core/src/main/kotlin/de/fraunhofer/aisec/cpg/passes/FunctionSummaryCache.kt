@@ -0,0 +1,449 @@
+/*
+ * Copyright (c) 2026, Fraunhofer AISEC. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *                    $$$$$$\  $$$$$$$\   $$$$$$\
+ *                   $$  __$$\ $$  __$$\ $$  __$$\
+ *                   $$ /  \__|$$ |  $$ |$$ /  \__|
+ *                   $$ |      $$$$$$$  |$$ |$$$$\
+ *                   $$ |      $$  ____/ $$ |\_$$ |
+ *                   $$ |  $$\ $$ |      $$ |  $$ |
+ *                   \$$$$$   |$$ |      \$$$$$   |
+ *                    \______/ \__|       \______/
+ *
+ */
+package de.fraunhofer.aisec.cpg.passes
+
+import de.fraunhofer.aisec.cpg.graph.Node
+import de.fraunhofer.aisec.cpg.graph.PointerAccess
+import de.fraunhofer.aisec.cpg.graph.callees
+import de.fraunhofer.aisec.cpg.graph.declarations.Function
+import de.fraunhofer.aisec.cpg.graph.declarations.Function.FSEntry
+import de.fraunhofer.aisec.cpg.graph.declarations.Method
+import de.fraunhofer.aisec.cpg.graph.edges.flows.FullDataflowGranularity
+import de.fraunhofer.aisec.cpg.graph.edges.flows.IndexedDataflowGranularity
+import de.fraunhofer.aisec.cpg.graph.edges.flows.PartialDataflowGranularity
+import de.fraunhofer.aisec.cpg.graph.edges.flows.PointerDataflowGranularity
+import de.fraunhofer.aisec.cpg.graph.edges.flows.StringIndexedDataflowGranularity
+import de.fraunhofer.aisec.cpg.graph.expressions.Literal
+import de.fraunhofer.aisec.cpg.graph.expressions.Reference
+import de.fraunhofer.aisec.cpg.graph.types.HasType
+import de.fraunhofer.aisec.cpg.helpers.SubgraphWalker
+import de.fraunhofer.aisec.cpg.helpers.functional.EqualLinkedHashSet
+import de.fraunhofer.aisec.cpg.passes.PointsToPass.NodeWithPropertiesKey
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.io.IOException
+import java.io.OutputStream
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardCopyOption
+import java.security.DigestOutputStream
+import java.security.MessageDigest
+import java.util.HexFormat
+import java.util.IdentityHashMap
+import java.util.concurrent.ConcurrentHashMap
+import org.slf4j.LoggerFactory
+
+/**
+ * A content-addressed cache for the function summaries computed by the [PointsToPass] (see
+ * [Function.functionSummary]), which is stored in [directory]. The key of a summary (see [keyOf])
+ * is a hash of the AST of the function, the keys (or summaries) of its callees and the
+ * configuration of the pass, so later analyses of the same code, e.g. an unchanged library, can
+ * load the summary instead of running the analysis of the function again.
+ *
+ * Only summaries which exclusively refer to AST nodes of the function itself (e.g., its parameters,
+ * return statements or the last writes in its body), the record of a method or the "dummy" entry
+ * are cached. Summaries which refer to nodes created during the analysis (e.g., a
+ * [de.fraunhofer.aisec.cpg.graph.expressions.ParameterMemoryValue]) or to nodes of other functions
+ * cannot be restored in a new graph and are therefore never stored.
+ */
+class FunctionSummaryCache(val directory: Path) {
+
+    /**
+     * Computes the key of the summary of [function] under the given [configuration]. The callees of
+     * the function need to be analyzed first, so that their keys are known. Callees without a key
+     * (e.g., functions without a body) contribute their AST and their current summary instead.
+     */
+    fun keyOf(function: Function, configuration: PointsToPass.Configuration?): String {
+        return digest {
+            writeInt(FORMAT_VERSION)
+            writeString(configuration?.maxComplexity?.toString() ?: "")
+            writeInt(configuration?.addressLength ?: 64)
+            writeBoolean(configuration?.detailedShortFS ?: true)
+            writeBoolean(configuration?.drawCurrentDerefDFG ?: true)
+            writeAST(function)
+
+            val callees =
+                function.callees
+                    .map { callee ->
+                        callee.functionSummaryKey
+                            ?: digest {
+                                writeAST(callee)
+                                writeSummary(callee)
+                            }
+                    }
+                    .sorted()
+            writeInt(callees.size)
+            callees.forEach { writeString(it) }
+        }
+    }
+
+    /**
+     * Loads the summary stored under [key] into the [Function.functionSummary] of [function]. The
+     * "dummy" entry is re-created with [newDummy]. Returns `false` if there is no (valid) summary
+     * for this key.
+     */
+    fun load(function: Function, key: String, newDummy: () -> Node): Boolean {
+        val file = fileOf(key)
+        if (!Files.exists(file)) {
+            return false
+        }
+
+        val nodes = SubgraphWalker.flattenAST(function)
+        val record = (function as? Method)?.recordDeclaration
+        val summary = mutableListOf<Pair<Node, MutableSet<FSEntry>>>()
+
+        try {
+            DataInputStream(Files.newInputStream(file).buffered()).use { input ->
+                if (input.readInt() != FORMAT_VERSION || input.readInt() != nodes.size) {
+                    return false
+                }
+
+                var dummy: Node? = null
+                fun readNode(): Node? {
+                    return when (val tag = input.readByte().toInt()) {
+                        NULL -> null
+                        AST_NODE -> nodes[input.readInt()]
+                        RECORD -> record ?: throw IOException("Function has no record")
+                        DUMMY -> dummy ?: newDummy().also { dummy = it }
+                        else -> throw IOException("Unknown node tag $tag")
+                    }
+                }
+
+                repeat(input.readInt()) {
+                    val node = readNode() ?: throw IOException("Missing summary key")
+                    val entries = ConcurrentHashMap.newKeySet<FSEntry>()
+                    repeat(input.readInt()) {
+                        val destValueDepth = input.readInt()
+                        val srcNode = readNode()
+                        val srcValueDepth = input.readInt()
+                        val subAccessName = input.readString()
+                        val isDummy = input.readBoolean()
+                        val lastWrites = ConcurrentHashMap.newKeySet<NodeWithPropertiesKey>()
+                        repeat(input.readInt()) {
+                            val lastWrite = readNode() ?: throw IOException("Missing last write")
+                            lastWrites += NodeWithPropertiesKey(lastWrite, input.readProperties())
+                        }
+                        entries +=
+                            FSEntry(
+                                destValueDepth,
+                                srcNode,
+                                srcValueDepth,
+                                subAccessName,
+                                lastWrites,
+                                input.readProperties(),
+                                isDummy,
+                            )
+                    }
+                    summary += Pair(node, entries)
+                }
+            }
+        } catch (e: IOException) {
+            log.warn("Could not load function summary {} of {}", key, function.name, e)
+            return false
+        } catch (e: IndexOutOfBoundsException) {
+            log.warn("Function summary {} does not match {}", key, function.name, e)
+            return false
+        }
+
+        summary.forEach { (node, entries) -> function.functionSummary.put(node, entries) }
+        function.functionSummaryKey = key
+        return true
+    }
+
+    /**
+     * Stores the current [Function.functionSummary] of [function] under [key]. Returns `false` if
+     * the summary refers to nodes that cannot be restored later (see [FunctionSummaryCache]).
+     */
+    fun store(function: Function, key: String): Boolean {
+        val index = IdentityHashMap<Node, Int>()
+        SubgraphWalker.flattenAST(function).forEachIndexed { i, node -> index[node] = i }
+        val record = (function as? Method)?.recordDeclaration
+
+        val temp =
+            try {
+                Files.createDirectories(directory)
+                Files.createTempFile(directory, key, ".tmp")
+            } catch (e: IOException) {
+                log.warn("Could not create the function summary cache in {}", directory, e)
+                return false
+            }
+
+        try {
+            val complete =
+                DataOutputStream(Files.newOutputStream(temp).buffered()).use { output ->
+                    writeSummary(output, function, index, record)
+                }
+            if (!complete) {
+                return discard(temp)
+            }
+
+            // Other threads or processes might store the same summary at the same time, but since
+            // the file is content-addressed, it does not matter which one wins
+            Files.move(temp, fileOf(key), StandardCopyOption.REPLACE_EXISTING)
+        } catch (e: IOException) {
+            log.warn("Could not store function summary {} of {}", key, function.name, e)
+            return discard(temp)
+        }
+
+        function.functionSummaryKey = key
+        return true
+    }
+
+    /**
+     * Writes the summary of [function] to [output], referring to its AST nodes by their [index].
+     * Returns `false` if the summary refers to a node or property that cannot be restored later.
+     */
+    private fun writeSummary(
+        output: DataOutputStream,
+        function: Function,
+        index: IdentityHashMap<Node, Int>,
+        record: Node?,
+    ): Boolean {
+        fun writeNode(node: Any?): Boolean {
+            val astIndex = (node as? Node)?.let { index[it] }
+            when {
+                node == null -> output.writeByte(NULL)
+                astIndex != null -> {
+                    output.writeByte(AST_NODE)
+                    output.writeInt(astIndex)
+                }
+                node === record -> output.writeByte(RECORD)
+                (node as? Literal<*>)?.value == "dummy" -> output.writeByte(DUMMY)
+                else -> return false
+            }
+            return true
+        }
+
+        output.writeInt(FORMAT_VERSION)
+        output.writeInt(index.size)
+        output.writeInt(function.functionSummary.size)
+        for ((node, entries) in function.functionSummary) {
+            if (!writeNode(node)) {
+                return false
+            }
+
+            val snapshot = entries.toList()
+            output.writeInt(snapshot.size)
+            for (entry in snapshot) {
+                output.writeInt(entry.destValueDepth)
+                if (!writeNode(entry.srcNode)) {
+                    return false
+                }
+                output.writeInt(entry.srcValueDepth)
+                output.writeString(entry.subAccessName)
+                output.writeBoolean(entry.isDummy)
+
+                val lastWrites = entry.lastWrites.toList()
+                output.writeInt(lastWrites.size)
+                for (lastWrite in lastWrites) {
+                    if (!writeNode(lastWrite.node)) {
+                        return false
+                    }
+                    if (!output.writeProperties(lastWrite.properties)) {
+                        return false
+                    }
+                }
+                if (!output.writeProperties(entry.properties)) {
+                    return false
+                }
+            }
+        }
+        return true
+    }
+
+    private fun fileOf(key: String): Path = directory.resolve("$key.fs")
+
+    private fun discard(temp: Path): Boolean {
+        Files.deleteIfExists(temp)
+        return false
+    }
+
+    companion object {
+        private val log = LoggerFactory.getLogger(FunctionSummaryCache::class.java)
+
+        /** Needs to be increased whenever the format or the meaning of the summaries changes. */
+        const val FORMAT_VERSION = 3
+
+        private const val NULL = 0
+        private const val AST_NODE = 1
+        private const val RECORD = 2
+        private const val DUMMY = 3
+
+        private const val STRING = 0
+        private const val BOOLEAN = 1
+        private const val FULL = 2
+        private const val POINTER = 3
+        private const val PARTIAL = 4
+        private const val INDEXED = 5
+        private const val STRING_INDEXED = 6
+        private const val INT_INDEXED = 7
+
+        private fun digest(block: DataOutputStream.() -> Unit): String {
+            val digest = MessageDigest.getInstance("SHA-256")
+            DataOutputStream(DigestOutputStream(OutputStream.nullOutputStream(), digest)).use {
+                it.block()
+            }
+            return HexFormat.of().formatHex(digest.digest())
+        }
+
+        /**
+         * Writes the structure of the AST below [function] in pre-order, so that the indices of
+         * [SubgraphWalker.flattenAST] refer to the same nodes for the same key. The code is only
+         * included for leaf nodes, since it is contained in the code of their parents otherwise.
+         *
+         * The types of the nodes and the declarations that references refer to are included as
+         * well. Otherwise, overloads with the same body (e.g., `foo(int)` and `foo(long)`) or the
+         * same code referring to different declarations would share a key.
+         */
+        private fun DataOutputStream.writeAST(function: Function) {
+            val nodes = SubgraphWalker.flattenAST(function)
+            val indices = IdentityHashMap<Node, Int>()
+            nodes.forEachIndexed { idx, node -> indices[node] = idx }
+
+            writeInt(nodes.size)
+            for (node in nodes) {
+                var children = 0
+                SubgraphWalker.forEachAstChild(node) { children++ }
+
+                writeString(node.javaClass.name)
+                writeString(node.name.toString())
+                writeString((node as? HasType)?.type?.name?.toString() ?: "")
+                writeString((node as? Literal<*>)?.value?.toString() ?: "")
+                writeString(if (children == 0) node.code ?: "" else "")
+                writeInt(children)
+
+                val refersTo = (node as? Reference)?.refersTo
+                when {
+                    refersTo == null -> writeInt(-1)
+                    refersTo in indices -> writeInt(indices.getValue(refersTo))
+                    else -> {
+                        // A declaration outside the function, e.g., a global variable or a field
+                        writeInt(nodes.size)
+                        writeString(refersTo.javaClass.name)
+                        writeString(refersTo.name.toString())
+                        writeString((refersTo as? HasType)?.type?.name?.toString() ?: "")
+                    }
+                }
+            }
+        }
+
+        /** Writes a textual representation of the current summary of [function]. */
+        private fun DataOutputStream.writeSummary(function: Function) {
+            val entries =
+                function.functionSummary
+                    .flatMap { (node, entries) ->
+                        entries.map { entry ->
+                            listOf(
+                                    node.name,
+                                    entry.destValueDepth,
+                                    (entry.srcNode as? Node)?.name ?: entry.srcNode,
+                                    entry.srcValueDepth,
+                                    entry.subAccessName,
+                                    entry.isDummy,
+                                )
+                                .joinToString("|")
+                        }
+                    }
+                    .sorted()
+            writeInt(entries.size)
+            entries.forEach { writeString(it) }
+        }
+
+        /** Writes the properties of an [FSEntry], if all of them are supported. */
+        private fun DataOutputStream.writeProperties(properties: Set<Any>): Boolean {
+            val snapshot = properties.toList()
+            writeInt(snapshot.size)
+            for (property in snapshot) {
+                when {
+                    property is String -> {
+                        writeByte(STRING)
+                        writeString(property)
+                    }
+                    property is Boolean -> {
+                        writeByte(BOOLEAN)
+                        writeBoolean(property)
+                    }
+                    property is FullDataflowGranularity -> writeByte(FULL)
+                    property is PointerDataflowGranularity -> {
+                        writeByte(POINTER)
+                        writeInt(property.pointerTarget.ordinal)
+                    }
+                    property is IndexedDataflowGranularity && property.partialTarget is Int -> {
+                        writeByte(INT_INDEXED)
+                        writeInt(property.partialTarget)
+                    }
+                    property is IndexedDataflowGranularity && property.partialTarget is Long -> {
+                        writeByte(INDEXED)
+                        writeLong(property.partialTarget)
+                    }
+                    property is StringIndexedDataflowGranularity -> {
+                        writeByte(STRING_INDEXED)
+                        writeString(property.partialTarget)
+                    }
+                    property.javaClass == PartialDataflowGranularity::class.java &&
+                        (property as PartialDataflowGranularity<*>).partialTarget is String -> {
+                        writeByte(PARTIAL)
+                        writeString(property.partialTarget as String)
+                    }
+                    else -> return false
+                }
+            }
+            return true
+        }
+
+        private fun DataInputStream.readProperties(): EqualLinkedHashSet<Any> {
+            val properties = EqualLinkedHashSet<Any>()
+            repeat(readInt()) {
+                properties +=
+                    when (val tag = readByte().toInt()) {
+                        STRING -> readString()
+                        BOOLEAN -> readBoolean()
+                        FULL -> FullDataflowGranularity
+                        POINTER -> PointerDataflowGranularity(PointerAccess.entries[readInt()])
+                        INDEXED -> IndexedDataflowGranularity(readLong())
+                        INT_INDEXED -> IndexedDataflowGranularity(readInt())
+                        STRING_INDEXED -> StringIndexedDataflowGranularity(readString())
+                        PARTIAL -> PartialDataflowGranularity(readString())
+                        else -> throw IOException("Unknown property tag $tag")
+                    }
+            }
+            return properties
+        }
+
+        /** Writes [value] with its length, since [DataOutputStream.writeUTF] is limited to 64k. */
+        private fun DataOutputStream.writeString(value: String) {
+            val bytes = value.toByteArray(Charsets.UTF_8)
+            writeInt(bytes.size)
+            write(bytes)
+        }
+
+        private fun DataInputStream.readString(): String {
+            val bytes = ByteArray(readInt())
+            readFully(bytes)
+            return String(bytes, Charsets.UTF_8)
+        }
+    }
+}
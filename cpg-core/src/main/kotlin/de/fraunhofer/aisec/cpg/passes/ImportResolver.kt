@@ -412,6 +412,7 @@ fun ScopeManager.updateImportedSymbols(import: Import) {
             val symbolScope = lookupScope(symbol)
             if (symbolScope is NameScope) {
                 import.importedSymbols = symbolScope.symbols
+                symbolScope.symbolsShared = true
             }
         }
     } else {
@@ -423,6 +424,6 @@ fun ScopeManager.updateImportedSymbols(import: Import) {
     }
 
     // Import.importedSymbols is read by Scope.lookupSymbol (via replaceImports), so any cached
-    // ScopeManager.lookupSymbolByName results may no longer be valid.
-    invalidateSymbolLookupCache()
+    // ScopeManager.lookupSymbolByName results of the importing scope may no longer be valid.
+    invalidateSymbolLookupCache(import.scope)
 }
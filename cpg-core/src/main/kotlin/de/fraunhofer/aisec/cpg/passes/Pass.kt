@@ -32,11 +32,14 @@ import de.fraunhofer.aisec.cpg.assumptions.AssumptionType
 import de.fraunhofer.aisec.cpg.assumptions.assume
 import de.fraunhofer.aisec.cpg.frontends.*
 import de.fraunhofer.aisec.cpg.graph.*
+import de.fraunhofer.aisec.cpg.graph.declarations.Function
 import de.fraunhofer.aisec.cpg.graph.declarations.TranslationUnit
 import de.fraunhofer.aisec.cpg.graph.expressions.CatchClause
 import de.fraunhofer.aisec.cpg.graph.scopes.Scope
 import de.fraunhofer.aisec.cpg.helpers.Benchmark
+import de.fraunhofer.aisec.cpg.helpers.CallGraphComponent
 import de.fraunhofer.aisec.cpg.helpers.SubgraphWalker.ScopedWalker
+import de.fraunhofer.aisec.cpg.helpers.callGraphComponents
 import de.fraunhofer.aisec.cpg.helpers.mapFilteredTo
 import de.fraunhofer.aisec.cpg.helpers.orderEOGStartersBasedOnDependencies
 import de.fraunhofer.aisec.cpg.passes.Pass.Companion.log
@@ -45,11 +48,21 @@ import de.fraunhofer.aisec.cpg.passes.configuration.ExecuteBefore
 import de.fraunhofer.aisec.cpg.passes.configuration.ExecuteFirst
 import de.fraunhofer.aisec.cpg.passes.configuration.ExecuteLast
 import de.fraunhofer.aisec.cpg.passes.configuration.ExecuteLate
+import de.fraunhofer.aisec.cpg.passes.configuration.FusedBy
+import de.fraunhofer.aisec.cpg.passes.configuration.PassOrderingHelper
 import de.fraunhofer.aisec.cpg.passes.configuration.RequiresLanguage
 import de.fraunhofer.aisec.cpg.passes.configuration.RequiresLanguageTrait
+import de.fraunhofer.aisec.cpg.passes.configuration.SupportsParallelExecution
 import de.fraunhofer.aisec.cpg.processing.strategy.Strategy
+import java.util.IdentityHashMap
+import java.util.concurrent.Callable
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ForkJoinPool
 import java.util.function.Consumer
 import kotlin.reflect.KClass
+import kotlin.reflect.full.allSuperclasses
+import kotlin.reflect.full.findAnnotation
 import kotlin.reflect.full.findAnnotations
 import kotlin.reflect.full.hasAnnotation
 import kotlin.reflect.full.isSubclassOf
@@ -96,6 +109,39 @@ abstract class EOGStarterPass(
     val orderDependencies: Boolean = false,
 ) : Pass<Node>(ctx, sort)
 
+/**
+ * A [FusedPass] executes several [passes], which are annotated with the same [FusedBy.fuser], on a
+ * [TranslationUnit] at once (see [executeFusedPasses]). Implementations need to have a primary
+ * constructor with a [TranslationContext] and the list of fused [passes]. For each
+ * [TranslationUnit], a new [FusedPass] object as well as new objects of all [passes] are created,
+ * similar to [consumeTarget].
+ */
+abstract class FusedPass(ctx: TranslationContext, val passes: List<KClass<out Pass<out Node>>>) :
+    TranslationUnitPass(ctx) {
+
+    override fun accept(tu: TranslationUnit) {
+        @Suppress("UNCHECKED_CAST")
+        val instances =
+            passes.mapNotNull { createPassForTarget(it as KClass<out Pass<Node>>, ctx, tu) }
+        if (instances.isEmpty()) {
+            return
+        }
+
+        acceptAll(tu, instances)
+        instances.forEach { it.cleanup() }
+    }
+
+    /**
+     * Consumes [tu] with all pass objects in [instances] in a single walk. [instances] only
+     * contains objects of the [passes] which should run on the language of [tu].
+     */
+    abstract fun acceptAll(tu: TranslationUnit, instances: List<Pass<*>>)
+
+    override fun cleanup() {
+        // Nothing to do
+    }
+}
+
 open class PassConfiguration
 
 /** Implementations of this abstract class sort nodes before they are passed to the [Pass]es. */
@@ -130,14 +176,27 @@ object LeastImportTranslationUnitSorter : Sorter<TranslationUnit>() {
         }
 }
 
+/**
+ * A [Sorter] for EOG starters, which first sorts the [TranslationUnit]s with the
+ * [LeastImportTranslationUnitSorter] and then gathers the EOG starters of each translation unit
+ * using [startersOf]. Since the starters only depend on a single translation unit, they can also be
+ * retrieved for a translation unit that has just been parsed (see [executePipelinedPasses]).
+ */
+abstract class EOGStarterSorter : Sorter<Node>() {
+    override fun invoke(result: TranslationResult): List<Node> =
+        LeastImportTranslationUnitSorter.invoke(result).flatMap { startersOf(it) }
+
+    /** Returns the EOG starters of [tu] in the order in which they should be consumed. */
+    abstract fun startersOf(tu: TranslationUnit): List<Node>
+}
+
 /**
  * First, sorts the [TranslationUnit]s with the [LeastImportTranslationUnitSorter] and then gathers
  * all resolution EOG starters; and make sure they really do not have a predecessor, otherwise we
  * might analyze a node multiple times. Note that the [EOGStarterHolder]s are not sorted.
  */
-object EOGStarterLeastTUImportSorter : Sorter<Node>() {
-    override fun invoke(result: TranslationResult): List<Node> =
-        LeastImportTranslationUnitSorter.invoke(result).flatMap { it.allUniqueEOGStartersOrSingles }
+object EOGStarterLeastTUImportSorter : EOGStarterSorter() {
+    override fun startersOf(tu: TranslationUnit): List<Node> = tu.allUniqueEOGStartersOrSingles
 }
 
 /**
@@ -147,15 +206,14 @@ object EOGStarterLeastTUImportSorter : Sorter<Node>() {
  * [CatchClause]s come last in the order because they actually are executed after a part of the
  * `try` block and, more importantly, the code before it, which is not guaranteed by the EOG.
  */
-object EOGStarterLeastTUImportCatchLastSorter : Sorter<Node>() {
-    override fun invoke(result: TranslationResult): List<Node> =
-        LeastImportTranslationUnitSorter.invoke(result).flatMap {
-            val allUniqueStarters = it.allUniqueEOGStartersOrSingles
-            val result = mutableListOf<Node>()
-            result.addAll(allUniqueStarters.filter { it !is CatchClause })
-            result.addAll(allUniqueStarters.filterIsInstance<CatchClause>())
-            result
-        }
+object EOGStarterLeastTUImportCatchLastSorter : EOGStarterSorter() {
+    override fun startersOf(tu: TranslationUnit): List<Node> {
+        val allUniqueStarters = tu.allUniqueEOGStartersOrSingles
+        val result = mutableListOf<Node>()
+        result.addAll(allUniqueStarters.filter { it !is CatchClause })
+        result.addAll(allUniqueStarters.filterIsInstance<CatchClause>())
+        return result
+    }
 }
 
 /**
@@ -166,9 +224,10 @@ object EOGStarterLeastTUImportCatchLastSorter : Sorter<Node>() {
  * - a [TranslationUnit], and
  * - a [EOGStarterHolder].
  *
- * A level should be chosen as granular as possible, to allow for the (future) parallel execution of
- * passes. Instead of directly subclassing this type, one of the types [TranslationResultPass],
- * [ComponentPass] or [TranslationUnitPass] must be used.
+ * A level should be chosen as granular as possible, to allow for the parallel execution of passes
+ * (see [executePassesInParallel] and [SupportsParallelExecution]). Instead of directly subclassing
+ * this type, one of the types [TranslationResultPass], [ComponentPass] or [TranslationUnitPass]
+ * must be used.
  *
  * [sort] can be used to specify the order in which the Pass will visit/process the nodes.
  */
@@ -306,19 +365,30 @@ sealed class Pass<T : Node>(final override val ctx: TranslationContext, val sort
 /**
  * Executes all passes in [TranslationConfiguration.registeredPasses] of [ctx] sequentially. This
  * also takes care of re-running passes using the [markDirty] / [markClean] system.
+ *
+ * If [onlyDirty] is set, the first execution of each pass only consumes the targets that are
+ * marked as dirty for this pass (see [executePass]). This is used by
+ * [TranslationManager.analyzeIncrementally].
+ *
+ * The [executedPasses] have already been executed on all translation units while parsing them (see
+ * [executePipelinedPasses]). They are skipped, but they are still re-run if they are scheduled by
+ * the [markDirty] system.
  */
 fun executePassesSequentially(
     ctx: TranslationContext,
     result: TranslationResult,
     executedFrontends: Set<LanguageFrontend<*, *>>,
     callbacks: Collection<TranslationProgressCallback>? = null,
+    onlyDirty: Boolean = false,
+    executedPasses: Set<KClass<out Pass<out Node>>> = setOf(),
 ) {
     // Execute all passes in sequence. First convert the list of passes to a queue
     val queue = ArrayDeque<KClass<out Pass<out Node>>>()
-    queue.addAll(ctx.config.registeredPasses.flatten())
+    queue.addAll(ctx.config.registeredPasses.flatten().filter { it !in executedPasses })
 
     // Keep a map of pass executions, in order to prevent loops
-    val executions = mutableMapOf<KClass<out Pass<out Node>>, Int>()
+    val executions =
+        executedPasses.associateWithTo(mutableMapOf<KClass<out Pass<out Node>>, Int>()) { 1 }
 
     while (queue.isNotEmpty()) {
         // Get the next pass from the queue
@@ -335,11 +405,35 @@ fun executePassesSequentially(
             continue
         }
 
-        // Execute it
-        executePass(pass, ctx, result, executedFrontends, callbacks)
+        // Check, if we can execute it together with other passes of its layer. This is only the
+        // case for their first execution on all targets.
+        val fused =
+            if (ctx.config.useFusedPasses && !onlyDirty && numExec == 0) {
+                val layer = ctx.config.registeredPasses.firstOrNull { pass in it } ?: listOf()
+                val candidates = layer.filter { it == pass || it in queue && it !in executions }
+                fusedPassGroups(candidates, ctx.config).entries.firstOrNull { pass in it.value }
+            } else {
+                null
+            }
 
-        // Increment executions
-        executions[pass] = numExec + 1
+        if (fused != null) {
+            queue.removeAll(fused.value)
+            executeFusedPasses(fused.key, fused.value, ctx, result, callbacks)
+            fused.value.forEach { executions[it] = 1 }
+        } else {
+            // Execute it
+            executePass(
+                pass,
+                ctx,
+                result,
+                executedFrontends,
+                callbacks,
+                onlyDirty = onlyDirty && numExec == 0,
+            )
+
+            // Increment executions
+            executions[pass] = numExec + 1
+        }
 
         // After each pass execution, identify "dirty" nodes and identify which passes
         // should be run afterward
@@ -361,6 +455,162 @@ fun executePassesSequentially(
     }
 }
 
+/**
+ * Executes all passes in [TranslationConfiguration.registeredPasses] of [ctx] in parallel, if
+ * possible. The registered passes are already grouped into dependency layers by the
+ * [PassOrderingHelper], so passes within one layer do not depend on each other. All passes of a
+ * layer that are annotated with [SupportsParallelExecution] are executed concurrently, the
+ * remaining passes of the layer are executed sequentially afterward. Furthermore, parallel passes
+ * consume their targets concurrently (see [executePass]).
+ *
+ * All tasks are executed on a work-stealing [ForkJoinPool], which is shut down once all passes have
+ * been executed.
+ *
+ * Similar to [executePassesSequentially], this also takes care of re-running passes using the
+ * [markDirty] / [markClean] system. Passes that need to be re-run are scheduled in front of the
+ * remaining layers, one pass at a time. [onlyDirty] and [executedPasses] have the same meaning as
+ * in [executePassesSequentially].
+ */
+fun executePassesInParallel(
+    ctx: TranslationContext,
+    result: TranslationResult,
+    executedFrontends: Set<LanguageFrontend<*, *>>,
+    callbacks: Collection<TranslationProgressCallback>? = null,
+    onlyDirty: Boolean = false,
+    executedPasses: Set<KClass<out Pass<out Node>>> = setOf(),
+) {
+    val pool = ForkJoinPool(Runtime.getRuntime().availableProcessors())
+
+    try {
+        // Work through the dependency layers one after another
+        val queue = ArrayDeque<List<KClass<out Pass<out Node>>>>()
+        queue.addAll(
+            ctx.config.registeredPasses.map { layer -> layer.filter { it !in executedPasses } }
+        )
+
+        // Keep a map of pass executions, in order to prevent loops
+        val executions =
+            executedPasses.associateWithTo(mutableMapOf<KClass<out Pass<out Node>>, Int>()) { 1 }
+
+        while (queue.isNotEmpty()) {
+            // Get the next layer from the queue and skip all passes that reached the max
+            // executions
+            val layer =
+                queue.removeFirst().filter { pass ->
+                    val numExec = executions[pass] ?: 0
+                    if (numExec >= ctx.config.maxPassExecutions) {
+                        TranslationManager.log.warn(
+                            "Pass {} reached max executions, skipping",
+                            pass.simpleName,
+                        )
+                        result.assume(
+                            AssumptionType.CompletenessAssumption,
+                            "We assume that after $numExec repeated executions of the ${pass.simpleName} no new information is obtained and skip further executions.",
+                        )
+                        false
+                    } else {
+                        true
+                    }
+                }
+
+            if (layer.isEmpty()) {
+                continue
+            }
+
+            val firstExecutions = layer.filter { onlyDirty && (executions[it] ?: 0) == 0 }.toSet()
+
+            // Passes which share a fuser are executed together, except if only their dirty targets
+            // should be consumed
+            val fusedGroups =
+                if (ctx.config.useFusedPasses) {
+                    fusedPassGroups(layer.filter { it !in firstExecutions }, ctx.config)
+                } else {
+                    mapOf()
+                }
+            fusedGroups.forEach { (fuser, passes) ->
+                executeFusedPasses(fuser, passes, ctx, result, callbacks, pool)
+            }
+
+            val fused = fusedGroups.values.flatten().toSet()
+            val (parallel, sequential) =
+                layer
+                    .filter { it !in fused }
+                    .partition { supportsParallelExecution(it, ctx.config) }
+
+            // Execute all parallel passes of this layer at the same time. We need to wait for all
+            // of them, before we can continue with the next layer. Calling get() on the futures
+            // makes sure that exceptions are propagated to the caller.
+            if (parallel.size > 1) {
+                pool
+                    .invokeAll(
+                        parallel.map { pass ->
+                            Callable {
+                                executePass(
+                                    pass,
+                                    ctx,
+                                    result,
+                                    executedFrontends,
+                                    callbacks,
+                                    pool,
+                                    pass in firstExecutions,
+                                )
+                            }
+                        }
+                    )
+                    .forEach { it.get() }
+            } else {
+                parallel.forEach {
+                    executePass(
+                        it,
+                        ctx,
+                        result,
+                        executedFrontends,
+                        callbacks,
+                        pool,
+                        it in firstExecutions,
+                    )
+                }
+            }
+
+            // Afterward, execute the remaining passes of this layer in sequence
+            sequential.forEach {
+                executePass(
+                    it,
+                    ctx,
+                    result,
+                    executedFrontends,
+                    callbacks,
+                    onlyDirty = it in firstExecutions,
+                )
+            }
+
+            // Increment executions
+            layer.forEach { executions[it] = (executions[it] ?: 0) + 1 }
+
+            // After each layer, identify "dirty" nodes and identify which passes should be run
+            // afterward. Since the scheduled passes could depend on each other, we schedule each
+            // of them as a layer of its own, similar to executePassesSequentially.
+            val scheduledPasses = result.dirtyNodes.values.flatten()
+            for (scheduledPass in scheduledPasses) {
+                // If the pass is already in the queue, ignore it
+                if (queue.any { scheduledPass in it }) {
+                    continue
+                }
+
+                // Otherwise, add it to the queue
+                queue.addFirst(listOf(scheduledPass))
+            }
+
+            if (result.isCancelled) {
+                TranslationManager.log.warn("Analysis interrupted, stopping Pass evaluation")
+                break
+            }
+        }
+    } finally {
+        pool.shutdown()
+    }
+}
+
 /**
  * Creates a new [Pass] (based on [cls]) and executes it sequentially on all target nodes of
  * [result].
@@ -368,6 +618,16 @@ fun executePassesSequentially(
  * Depending on the type of pass, this will either execute the pass directly on the overall result
  * (in case of a [TranslationUnitPass]) or loop through each component or through each translation
  * unit. The individual loop elements become the "target" of the execution of [consumeTarget].
+ *
+ * If a [pool] is specified and the pass supports parallel execution (see
+ * [SupportsParallelExecution]), the targets of a [TranslationUnitPass] or [EOGStarterPass] are
+ * consumed in parallel using [consumeTargetsInParallel] instead. If an [EOGStarterPass] requests
+ * [EOGStarterPass.orderDependencies], its targets are consumed bottom-up along the call graph using
+ * [consumeEOGStartersBottomUp].
+ *
+ * If [onlyDirty] is set, only the [Component], [TranslationUnit] and EOG starter targets that are
+ * marked as dirty for [cls] are consumed and marked as clean again. A [TranslationResultPass] is
+ * always executed on the whole result.
  */
 @Suppress("USELESS_CAST")
 fun executePass(
@@ -376,9 +636,19 @@ fun executePass(
     result: TranslationResult,
     executedFrontends: Collection<LanguageFrontend<*, *>>,
     callbacks: Collection<TranslationProgressCallback>? = null,
+    pool: ForkJoinPool? = null,
+    onlyDirty: Boolean = false,
 ) {
     val bench = Benchmark(cls.java, "Executing Pass", false, result)
 
+    fun <T : Node> select(targets: List<T>): List<T> {
+        if (!onlyDirty) {
+            return targets
+        }
+
+        return targets.filter { result.isDirty(it, cls) }.onEach { result.markClean(it, cls) }
+    }
+
     // This is a bit tricky but actually better than other reflection magic. We are creating a
     // "prototype" instance of our pass class, so we can deduce certain type information more
     // easily.
@@ -401,31 +671,66 @@ fun executePass(
             consumeTargets(
                 (prototype as ComponentPass)::class,
                 ctx,
-                prototype.sort(result),
+                select(prototype.sort(result)),
                 result,
                 callbacks,
             )
         is TranslationUnitPass ->
-            consumeTargets(
-                (prototype as TranslationUnitPass)::class,
-                ctx,
-                // Execute them in the "sorted" order (if available)
-                prototype.sort(result),
-                result,
-                callbacks,
-            )
+            if (pool != null && supportsParallelExecution(cls, ctx.config)) {
+                consumeTargetsInParallel(
+                    (prototype as TranslationUnitPass)::class,
+                    ctx,
+                    select(prototype.sort(result)),
+                    result,
+                    pool,
+                    callbacks,
+                )
+            } else {
+                consumeTargets(
+                    (prototype as TranslationUnitPass)::class,
+                    ctx,
+                    // Execute them in the "sorted" order (if available)
+                    select(prototype.sort(result)),
+                    result,
+                    callbacks,
+                )
+            }
         is EOGStarterPass -> {
-            consumeTargets(
-                (prototype as EOGStarterPass)::class,
-                ctx,
+            if (pool != null && supportsParallelExecution(cls, ctx.config)) {
                 if (prototype.orderDependencies) {
-                    orderEOGStartersBasedOnDependencies(prototype.sort(result))
+                    // If the order of the EOG starters matters, callers need to wait for their
+                    // callees
+                    consumeEOGStartersBottomUp(
+                        (prototype as EOGStarterPass)::class,
+                        ctx,
+                        select(prototype.sort(result)),
+                        result,
+                        pool,
+                        callbacks,
+                    )
                 } else {
-                    prototype.sort(result)
-                },
-                result,
-                callbacks,
-            )
+                    consumeTargetsInParallel(
+                        (prototype as EOGStarterPass)::class,
+                        ctx,
+                        select(prototype.sort(result)),
+                        result,
+                        pool,
+                        callbacks,
+                    )
+                }
+            } else {
+                consumeTargets(
+                    (prototype as EOGStarterPass)::class,
+                    ctx,
+                    if (prototype.orderDependencies) {
+                        orderEOGStartersBasedOnDependencies(select(prototype.sort(result)))
+                    } else {
+                        select(prototype.sort(result))
+                    },
+                    result,
+                    callbacks,
+                )
+            }
         }
     }
 
@@ -433,6 +738,223 @@ fun executePass(
     bench.stop()
 }
 
+/**
+ * Executes the passes in [classes], which are annotated with the same [FusedBy.fuser] [fuser],
+ * together: For each [TranslationUnit] of [result], one [FusedPass] object is created, which
+ * consumes the translation unit with all of them in a single walk. If a [pool] is specified and all
+ * [classes] support parallel execution (see [SupportsParallelExecution]), the translation units are
+ * consumed in parallel.
+ *
+ * Afterward, the [callbacks] are notified and [Pass.finalCleanup] is called for each of the
+ * [classes], as if they had been executed by [executePass].
+ */
+fun executeFusedPasses(
+    fuser: KClass<out FusedPass>,
+    classes: List<KClass<out Pass<out Node>>>,
+    ctx: TranslationContext,
+    result: TranslationResult,
+    callbacks: Collection<TranslationProgressCallback>? = null,
+    pool: ForkJoinPool? = null,
+) {
+    val bench =
+        Benchmark(
+            fuser.java,
+            "Executing fused passes ${classes.map { it.simpleName }}",
+            false,
+            result,
+        )
+
+    val targets = LeastImportTranslationUnitSorter(result)
+    val consume = { tu: TranslationUnit ->
+        val pass =
+            fuser.primaryConstructor?.call(ctx, classes)
+                ?: throw TranslationException("Could not create fused pass")
+        try {
+            pass.accept(tu)
+            pass.cleanup()
+        } finally {
+            // The current thread might be re-used for another translation unit
+            ctx.scopeManager.resetThreadScope()
+        }
+    }
+
+    if (pool != null && classes.all { supportsParallelExecution(it, ctx.config) }) {
+        // Calling get() on the futures makes sure that exceptions are propagated to the caller
+        pool.invokeAll(targets.map { Callable { consume(it) } }).forEach { it.get() }
+    } else {
+        targets.forEach(consume)
+    }
+
+    for (cls in classes) {
+        @Suppress("UNCHECKED_CAST")
+        notifyAfterPass(cls as KClass<out Pass<Node>>, ctx, targets, result, callbacks)
+        cls.primaryConstructor?.call(ctx)?.finalCleanup()
+    }
+
+    bench.stop()
+}
+
+/**
+ * Groups the passes in [classes] by their [FusedBy.fuser]. Only groups with at least two passes are
+ * returned, since there is nothing to gain from fusing a single pass. Passes that have a
+ * replacement configured in [config] are never fused, since the replacement might not be handled by
+ * the fuser.
+ */
+fun fusedPassGroups(
+    classes: Collection<KClass<out Pass<out Node>>>,
+    config: TranslationConfiguration,
+): Map<KClass<out FusedPass>, List<KClass<out Pass<out Node>>>> {
+    return classes
+        .filter { cls -> cls.fuser != null && config.replacedPasses.keys.none { it.first == cls } }
+        .groupBy { it.fuser!! }
+        .filterValues { it.size > 1 }
+}
+
+/**
+ * Determines the passes of [TranslationConfiguration.registeredPasses] that can already be executed
+ * on a single [TranslationUnit] directly after it has been parsed, i.e., before the remaining files
+ * have been parsed (see [TranslationConfiguration.usePipelinedPasses]). This is the case for a pass
+ * if
+ * - it is a [TranslationUnitPass] or an [EOGStarterPass] whose targets can be determined per
+ *   translation unit (see [EOGStarterSorter]) and which does not request
+ *   [EOGStarterPass.orderDependencies],
+ * - it (and all of its replacements) supports parallel execution, since its targets are consumed
+ *   independently of each other,
+ * - it is neither a late nor a last pass and
+ * - all passes that need to be executed before it are such passes as well. Passes that cannot run
+ *   with any of the [TranslationConfiguration.languages] (see [runsWithAnyLanguage]) are never
+ *   executed on any target, so they do not need to be waited for.
+ *
+ * The passes are returned in the order of [TranslationConfiguration.registeredPasses].
+ */
+fun pipelinedPasses(ctx: TranslationContext): List<KClass<out Pass<out Node>>> {
+    val registered = ctx.config.registeredPasses.flatten()
+    val firstPasses = registered.filter { it.isFirstPass }
+    val skipped = registered.filterNot { runsWithAnyLanguage(it, ctx.config) }.toSet()
+
+    val pipelined =
+        registered
+            .filter { cls ->
+                if (
+                    cls.isLatePass ||
+                        cls.isLastPass ||
+                        !supportsParallelExecution(cls, ctx.config)
+                ) {
+                    return@filter false
+                }
+
+                when {
+                    cls.isSubclassOf(TranslationUnitPass::class) -> true
+                    cls.isSubclassOf(EOGStarterPass::class) -> {
+                        // The sorter and the ordering are only known once the pass is created
+                        val prototype = cls.primaryConstructor?.call(ctx) as? EOGStarterPass
+                        prototype != null &&
+                            prototype.sort is EOGStarterSorter &&
+                            !prototype.orderDependencies
+                    }
+                    else -> false
+                }
+            }
+            .toMutableSet()
+
+    // Remove all passes that need to wait for a pass which is not pipelined, until nothing changes
+    // anymore
+    do {
+        val removed =
+            pipelined.removeIf { cls ->
+                val predecessors =
+                    cls.hardDependencies +
+                        cls.softDependencies.filter { it in registered } +
+                        registered.filter { cls in it.hardExecuteBefore + it.softExecuteBefore } +
+                        if (cls.isFirstPass) listOf() else firstPasses
+                predecessors.any { it !in pipelined && it !in skipped }
+            }
+    } while (removed)
+
+    return registered.filter { it in pipelined }
+}
+
+/**
+ * Checks, whether the pass [cls] can run with at least one of the
+ * [TranslationConfiguration.languages] of [config], i.e., whether one of them fulfills its
+ * [RequiresLanguage] and [RequiresLanguageTrait] annotations (see [Pass.runsWithTargetLanguage] and
+ * [Pass.runsWithLanguageTrait]). If no languages are registered or the pass has a replacement, we
+ * cannot tell and assume that it runs.
+ */
+fun runsWithAnyLanguage(
+    cls: KClass<out Pass<out Node>>,
+    config: TranslationConfiguration,
+): Boolean {
+    if (config.languages.isEmpty() || config.replacedPasses.keys.any { it.first == cls }) {
+        return true
+    }
+
+    val requiresLanguages = cls.findAnnotations<RequiresLanguage>()
+    val requiresLanguageTraits = cls.findAnnotations<RequiresLanguageTrait>()
+    return config.languages.any { language ->
+        val hasLanguage =
+            requiresLanguages.isEmpty() || requiresLanguages.any { language.isSubclassOf(it.value) }
+        hasLanguage && requiresLanguageTraits.all { language.isSubclassOf(it.value) }
+    }
+}
+
+/**
+ * The [EOGStarterSorter]s of the pipelined [EOGStarterPass]es of a translation (see
+ * [TranslationContext.caches]), so that we do not need to create a pass object for every
+ * translation unit only to retrieve its [Pass.sort].
+ */
+private class PipelinedSorters : ConcurrentHashMap<KClass<out Pass<out Node>>, EOGStarterSorter>()
+
+/**
+ * Executes the [classes], which have been determined by [pipelinedPasses], on the freshly parsed
+ * [tu] in their order. In contrast to [executePass], the callbacks are not notified, since the
+ * passes are not executed on all targets yet. This is done once all frontends have finished (see
+ * [TranslationManager.analyze]).
+ */
+@Suppress("UNCHECKED_CAST")
+fun executePipelinedPasses(
+    classes: List<KClass<out Pass<out Node>>>,
+    ctx: TranslationContext,
+    tu: TranslationUnit,
+    result: TranslationResult,
+) {
+    if (classes.isEmpty()) {
+        return
+    }
+
+    val bench =
+        Benchmark(
+            TranslationManager::class.java,
+            "Executing pipelined passes ${classes.map { it.simpleName }} on ${tu.name}",
+            false,
+            result,
+        )
+
+    val sorters =
+        ctx.caches.computeIfAbsent(PipelinedSorters::class) { PipelinedSorters() }
+            as PipelinedSorters
+
+    for (cls in classes) {
+        when {
+            cls.isSubclassOf(TranslationUnitPass::class) ->
+                consumeTarget(cls as KClass<out TranslationUnitPass>, ctx, tu)
+            cls.isSubclassOf(EOGStarterPass::class) -> {
+                val sorter =
+                    sorters.computeIfAbsent(cls) {
+                        (cls.primaryConstructor?.call(ctx) as EOGStarterPass).sort
+                            as EOGStarterSorter
+                    }
+                sorter.startersOf(tu).forEach {
+                    consumeTarget(cls as KClass<out EOGStarterPass>, ctx, it)
+                }
+            }
+            else -> throw TranslationException("Pass ${cls.simpleName} cannot be pipelined")
+        }
+    }
+
+    bench.stop()
+}
+
 /**
  * This function is a wrapper around [consumeTarget] to apply it to all [targets]. This is primarily
  * needed because of the very delicate type inference work of the Kotlin compiler.
@@ -447,16 +969,100 @@ inline fun <reified T : Node> consumeTargets(
     callbacks: Collection<TranslationProgressCallback>? = null,
 ) {
     targets.forEach { consumeTarget(cls, ctx, it) }
-    callbacks?.forEach { callback ->
-        runCatching { callback.afterPass(cls, ctx, result, targets) }
-            .onFailure {
-                log.warn(
-                    "Progress callback {} failed after pass {}",
-                    callback::class.simpleName ?: callback.javaClass.simpleName,
-                    cls.simpleName,
-                    it,
-                )
-            }
+    notifyAfterPass(cls, ctx, targets, result, callbacks)
+}
+
+/**
+ * This function is the parallel counterpart to [consumeTargets]. Each target is consumed by its own
+ * [Pass] object (see [consumeTarget]) as an individual task in the work-stealing [pool]. Since every
+ * task has its own pass object, all state stored in the pass itself is confined to the thread that
+ * is consuming the target. This function returns once all targets have been consumed.
+ *
+ * This must only be used for passes that are annotated with [SupportsParallelExecution], since the
+ * targets are not consumed in any particular order.
+ */
+inline fun <reified T : Node> consumeTargetsInParallel(
+    cls: KClass<out Pass<T>>,
+    ctx: TranslationContext,
+    targets: Collection<T>,
+    result: TranslationResult,
+    pool: ForkJoinPool,
+    callbacks: Collection<TranslationProgressCallback>? = null,
+) {
+    // Calling get() on the futures makes sure that exceptions are propagated to the caller
+    pool.invokeAll(targets.map { Callable { consumeTarget(cls, ctx, it) } }).forEach { it.get() }
+    notifyAfterPass(cls, ctx, targets, result, callbacks)
+}
+
+/**
+ * This function is the parallel counterpart to consuming the [targets] of an [EOGStarterPass] in
+ * the order of [orderEOGStartersBasedOnDependencies]. The call graph of the functions in [targets]
+ * is split into its strongly connected components (see [callGraphComponents]). Each component is
+ * consumed as an individual task in the [pool] as soon as all components it calls have been
+ * consumed, so independent parts of the call graph are analyzed at the same time while callers
+ * still wait for their callees. The functions within a component are consumed sequentially. All
+ * remaining targets, which are not functions, are consumed in parallel once all functions are done.
+ */
+fun consumeEOGStartersBottomUp(
+    cls: KClass<out EOGStarterPass>,
+    ctx: TranslationContext,
+    targets: List<Node>,
+    result: TranslationResult,
+    pool: ForkJoinPool,
+    callbacks: Collection<TranslationProgressCallback>? = null,
+) {
+    val components = callGraphComponents(targets.filterIsInstance<Function>())
+
+    // The components are sorted bottom-up, so the tasks of all callees already exist when we
+    // create the task of a component
+    val tasks = IdentityHashMap<CallGraphComponent, CompletableFuture<Void>>()
+    for (component in components) {
+        val callees = component.callees.map { tasks.getValue(it) }
+        tasks[component] =
+            CompletableFuture.allOf(*callees.toTypedArray()).thenRunAsync(
+                { component.functions.forEach { consumeTarget(cls, ctx, it) } },
+                pool,
+            )
+    }
+
+    // Calling get() makes sure that exceptions are propagated to the caller
+    CompletableFuture.allOf(*tasks.values.toTypedArray()).get()
+
+    val remaining = targets.filter { it !is Function }
+    pool.invokeAll(remaining.map { Callable { consumeTarget(cls, ctx, it) } }).forEach { it.get() }
+
+    notifyAfterPass(cls, ctx, targets, result, callbacks)
+}
+
+/**
+ * Notifies all [callbacks] that the pass [cls] has been executed on [targets]. Since passes of the
+ * same layer can be executed in parallel (see [executePassesInParallel]), the notification is
+ * synchronized on [callbacks], so that the callbacks themselves do not need to be thread-safe.
+ */
+@PublishedApi
+internal fun <T : Node> notifyAfterPass(
+    cls: KClass<out Pass<T>>,
+    ctx: TranslationContext,
+    targets: Collection<T>,
+    result: TranslationResult,
+    callbacks: Collection<TranslationProgressCallback>?,
+) {
+    if (callbacks == null) {
+        return
+    }
+
+    synchronized(callbacks) {
+        callbacks.forEach { callback ->
+            runCatching { callback.afterPass(cls, ctx, result, targets) }
+                .onFailure {
+                    log.warn(
+                        "Progress callback {} failed after pass {}",
+                        callback::class.simpleName ?: callback.javaClass.simpleName,
+                        cls.simpleName,
+                        it,
+                    )
+                }
+        }
     }
 }
 
@@ -470,6 +1076,28 @@ inline fun <reified T : Node> consumeTarget(
     cls: KClass<out Pass<T>>,
     ctx: TranslationContext,
     target: T,
+): Pass<T>? {
+    val pass = createPassForTarget(cls, ctx, target) ?: return null
+
+    try {
+        pass.accept(target)
+        pass.cleanup()
+    } finally {
+        // The current thread might be re-used for another target
+        ctx.scopeManager.resetThreadScope()
+    }
+    return pass
+}
+
+/**
+ * Creates a new [Pass] object, based on the class specified in [cls] (or its replacement, see
+ * [checkForReplacement]), which should consume [target]. Returns null, if the pass does not run
+ * with the language of [target].
+ */
+fun <T : Node> createPassForTarget(
+    cls: KClass<out Pass<T>>,
+    ctx: TranslationContext,
+    target: T,
 ): Pass<T>? {
     val language = target.language
 
@@ -481,8 +1109,6 @@ inline fun <reified T : Node> consumeTarget(
             pass.runsWithLanguageTrait(language) &&
             pass.runsWithTargetLanguage(language)
     ) {
-        pass.accept(target)
-        pass.cleanup()
         return pass
     }
 
@@ -507,6 +1133,20 @@ fun <T : Node> checkForReplacement(
     return config.replacedPasses[Pair(cls, language::class)] as? KClass<out Pass<T>> ?: cls
 }
 
+/**
+ * Checks, whether the pass [cls] as well as all of its replacements configured in [config] (see
+ * [checkForReplacement]) are annotated with [SupportsParallelExecution].
+ */
+fun supportsParallelExecution(
+    cls: KClass<out Pass<*>>,
+    config: TranslationConfiguration,
+): Boolean {
+    return cls.supportsParallelExecution &&
+        config.replacedPasses.all { (key, replacement) ->
+            key.first != cls || replacement.supportsParallelExecution
+        }
+}
+
 val KClass<out Pass<*>>.isFirstPass: Boolean
     get() {
         return this.hasAnnotation<ExecuteFirst>()
@@ -522,6 +1162,22 @@ val KClass<out Pass<*>>.isLatePass: Boolean
         return this.hasAnnotation<ExecuteLate>()
     }
 
+val KClass<out Pass<*>>.supportsParallelExecution: Boolean
+    get() {
+        return this.hasAnnotation<SupportsParallelExecution>()
+    }
+
+/**
+ * The [FusedBy.fuser] of this pass class. In contrast to the other annotations, [FusedBy] is also
+ * considered if it is present on a superclass.
+ */
+val KClass<out Pass<*>>.fuser: KClass<out FusedPass>?
+    get() {
+        return (listOf(this) + this.allSuperclasses).firstNotNullOfOrNull {
+            it.findAnnotation<FusedBy>()?.fuser
+        }
+    }
+
 val KClass<out Pass<*>>.softDependencies: Set<KClass<out Pass<*>>>
     get() {
         return this.findAnnotations<DependsOn>().mapFilteredTo(
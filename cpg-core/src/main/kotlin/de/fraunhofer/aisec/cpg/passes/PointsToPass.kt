@@ -54,9 +54,13 @@ import de.fraunhofer.aisec.cpg.helpers.mapFilteredTo
 import de.fraunhofer.aisec.cpg.helpers.toIdentitySet
 import de.fraunhofer.aisec.cpg.passes.PointsToPass.NodeWithPropertiesKey
 import de.fraunhofer.aisec.cpg.passes.configuration.DependsOn
+import de.fraunhofer.aisec.cpg.passes.configuration.SupportsParallelExecution
 import java.text.NumberFormat
+import java.util.IdentityHashMap
 import java.util.Locale
+import java.util.concurrent.CompletableFuture
 import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
 import kotlin.Pair
 import kotlin.collections.MutableSet
 import kotlin.collections.contains
@@ -68,10 +72,11 @@ import kotlin.text.ifEmpty
 import kotlin.time.DurationUnit
 import kotlin.time.TimeSource
 import kotlinx.coroutines.*
+import kotlinx.coroutines.future.await
 
 val nodesCreatingUnknownValues = ConcurrentHashMap<Pair<Node, Name>, MemoryAddress>()
-var totalFunctionCount = 0
-var analyzedFunctionCount = 0
+@Volatile var totalFunctionCount = 0
+val analyzedFunctionCount = AtomicInteger()
 private const val MAX_FIELD_ACCESS_PATH_DEPTH = 6
 private const val FIELD_ACCESS_SUMMARY_SEGMENT = "<summary>"
 
@@ -411,6 +416,7 @@ var globalDerefs = ConcurrentIdentityHashMap<Node, PowersetLattice.Element<Pair<
 @DependsOn(SymbolResolver::class)
 @DependsOn(EvaluationOrderGraphPass::class)
 @DependsOn(DFGPass::class)
+@SupportsParallelExecution
 open class PointsToPass(ctx: TranslationContext) : EOGStarterPass(ctx, orderDependencies = true) {
     class Configuration(
         /**
@@ -435,6 +441,9 @@ open class PointsToPass(ctx: TranslationContext) : EOGStarterPass(ctx, orderDepe
          * them
          */
         var drawCurrentDerefDFG: Boolean = true,
+
+        /** The algorithm used to compute the fixpoint of a function, see [Lattice.Solver]. */
+        var solver: Lattice.Solver = Lattice.Solver.EDGES,
     ) : PassConfiguration()
 
     // For recursive creation of FunctionSummaries, we have to make sure that we don't run in
@@ -445,6 +454,29 @@ open class PointsToPass(ctx: TranslationContext) : EOGStarterPass(ctx, orderDepe
         // Nothing to do
     }
 
+    /** The analysis of a function by the instance [owner], which completes [done] afterward. */
+    private class FunctionAnalysis(val owner: PointsToPass) {
+        val done = CompletableFuture<Unit>()
+    }
+
+    companion object {
+        /**
+         * The functions that are currently analyzed by any instance of this pass. When this pass
+         * runs in parallel, callers are only analyzed after their (statically known) callees, but
+         * callees which are only discovered during the analysis, e.g., through function pointers,
+         * can still be reached by several instances at once. All but the first instance wait for
+         * the analysis of the first one (see [acceptInternal]).
+         */
+        private val functionsInAnalysis = ConcurrentHashMap<IdKey<Function>, FunctionAnalysis>()
+
+        /**
+         * The instance whose analysis each waiting instance waits for. This is used to detect
+         * cycles, i.e., instances waiting for each other, which are treated like recursive calls.
+         * All accesses are synchronized on the map itself.
+         */
+        private val waitingFor = IdentityHashMap<PointsToPass, PointsToPass>()
+    }
+
     override fun accept(node: Node) {
         functionSummaryAnalysisChain.clear()
         if (node !is EOGStarterHolder || node.eogStarters.isEmpty()) {
@@ -470,7 +502,70 @@ open class PointsToPass(ctx: TranslationContext) : EOGStarterPass(ctx, orderDepe
     }
 
     suspend fun acceptInternal(node: Node) {
+        if (node !is Function) {
+            analyze(node)
+            return
+        }
+
+        // Make sure that no other instance of this pass analyzes the function at the same time.
+        // If another instance is already at it, we wait until its function summary is complete,
+        // so that the result does not depend on the scheduling of the instances.
+        val key = IdKey(node)
+        val analysis = FunctionAnalysis(this)
+        val existing = functionsInAnalysis.putIfAbsent(key, analysis)
+        if (existing == null) {
+            try {
+                analyze(node)
+            } finally {
+                functionsInAnalysis.remove(key)
+                analysis.done.complete(Unit)
+            }
+            return
+        }
+
+        if (existing.owner === this) {
+            analyze(node)
+            return
+        }
+
+        if (!startWaitingFor(existing.owner)) {
+            // The other instance (indirectly) waits for us, so we continue with the (partial)
+            // function summary it has stored so far, the same way we do for recursive calls
+            log.debug(
+                "Not waiting for the analysis of function {} because of a cyclic dependency",
+                node.name,
+            )
+            return
+        }
+
+        try {
+            existing.done.await()
+        } finally {
+            synchronized(waitingFor) { waitingFor.remove(this) }
+        }
+    }
+
+    /**
+     * Registers that this instance waits for [owner], unless [owner] (indirectly) waits for this
+     * instance. Returns false in the latter case, since waiting would never end.
+     */
+    private fun startWaitingFor(owner: PointsToPass): Boolean {
+        synchronized(waitingFor) {
+            var current: PointsToPass? = owner
+            while (current != null) {
+                if (current === this) {
+                    return false
+                }
+                current = waitingFor[current]
+            }
+            waitingFor[this] = owner
+            return true
+        }
+    }
+
+    private suspend fun analyze(node: Node) {
         var analysisTimeout = false
+        val summaryCache = config.summaryCacheDirectory?.let { FunctionSummaryCache(it) }
 
         if (node is Function) {
             // If we haven't done so yet, set the total number of functions
@@ -478,7 +573,7 @@ open class PointsToPass(ctx: TranslationContext) : EOGStarterPass(ctx, orderDepe
                 totalFunctionCount =
                     node.firstParentOrNull<TranslationResult>()?.functions?.size ?: 0
 
-            analyzedFunctionCount++
+            val functionNumber = analyzedFunctionCount.incrementAndGet()
 
             // If the node has a body and a function summary, we have visited it before and can
             // return here.
@@ -494,12 +589,26 @@ open class PointsToPass(ctx: TranslationContext) : EOGStarterPass(ctx, orderDepe
             ) {
                 if (log.isTraceEnabled) {
                     log.trace(
-                        "Skipping function ${node.name} because we already have a function Summary. (Function $analyzedFunctionCount / $totalFunctionCount)"
+                        "Skipping function ${node.name} because we already have a function Summary. (Function $functionNumber / $totalFunctionCount)"
                     )
                 }
                 return
             }
 
+            // If we have a summary cache, we try to load the summary instead of analyzing the
+            // function again. Since we analyze the functions bottom-up, the keys of the callees
+            // are already known at this point.
+            if (summaryCache != null && node.body != null) {
+                val key = summaryCache.keyOf(node, passConfig<Configuration>())
+                node.functionSummaryKey = key
+                if (summaryCache.load(node, key) { newLiteral("dummy") }) {
+                    log.info(
+                        "Loaded function summary of ${node.name} from the cache. (Function $functionNumber / $totalFunctionCount)"
+                    )
+                    return
+                }
+            }
+
             functionSummaryAnalysisChain.add(node)
             // Calculate the complexity of the function and see, if it exceeds our threshold
             val max = passConfig<Configuration>()?.maxComplexity
@@ -520,7 +629,7 @@ open class PointsToPass(ctx: TranslationContext) : EOGStarterPass(ctx, orderDepe
             log.info(
                 "Analyzing function ${node.name}. Complexity: ${
                             NumberFormat.getNumberInstance(Locale.US).format(c)
-                        }. (Function $analyzedFunctionCount / $totalFunctionCount)"
+                        }. (Function $functionNumber / $totalFunctionCount)"
             )
         } else {
             if (log.isTraceEnabled) {
@@ -528,15 +637,26 @@ open class PointsToPass(ctx: TranslationContext) : EOGStarterPass(ctx, orderDepe
             }
         }
 
+        val generalStateEntry =
+            GeneralStateEntry(PowersetLattice(), PowersetLattice(), PowersetLattice())
+        val declarationStateEntry =
+            DeclarationStateEntry(PowersetLattice(), PowersetLattice(), PowersetLattice())
         val lattice =
-            PointsToState(
-                SingleGeneralState(
-                    GeneralStateEntry(PowersetLattice(), PowersetLattice(), PowersetLattice())
-                ),
-                SingleDeclarationState(
-                    DeclarationStateEntry(PowersetLattice(), PowersetLattice(), PowersetLattice())
-                ),
-            )
+            if (config.usePersistentPointsToState) {
+                PointsToState(
+                    PersistentConcurrentMapLattice<Node, GeneralStateEntryElement>(
+                        generalStateEntry
+                    ),
+                    PersistentConcurrentMapLattice<Node, DeclarationStateEntryElement>(
+                        declarationStateEntry
+                    ),
+                )
+            } else {
+                PointsToState(
+                    SingleGeneralState(generalStateEntry),
+                    SingleDeclarationState(declarationStateEntry),
+                )
+            }
 
         var startState = lattice.bottom
         val addresses = startState.getAddresses(node, node)
@@ -563,6 +683,7 @@ open class PointsToPass(ctx: TranslationContext) : EOGStarterPass(ctx, orderDepe
                         startState,
                         ::transfer,
                         timeout = passConfig<Configuration>()?.timeout,
+                        solver = passConfig<Configuration>()?.solver ?: Lattice.Solver.EDGES,
                     )
                 // If we had a timeout, treat it as an empty Function but still
                 // include the results we got
@@ -644,7 +765,10 @@ open class PointsToPass(ctx: TranslationContext) : EOGStarterPass(ctx, orderDepe
 
         if (node is Function) {
             /* Store function summary for this Function. */
-            if (node.body != null && !analysisTimeout) storeFunctionSummary(node, finalState)
+            if (node.body != null && !analysisTimeout) {
+                storeFunctionSummary(node, finalState)
+                node.functionSummaryKey?.let { summaryCache?.store(node, it) }
+            }
             if (functionSummaryAnalysisChain.last() == node)
                 functionSummaryAnalysisChain.remove(node)
             else
@@ -2671,7 +2795,7 @@ open class PointsToPass(ctx: TranslationContext) : EOGStarterPass(ctx, orderDepe
             doubleState =
                 PointsToState.Element(
                     doubleState.generalState,
-                    ConcurrentMapLattice.Element(newDeclState),
+                    newDeclState.shallowCopy(),
                 )
         }
 
@@ -29,6 +29,7 @@ import de.fraunhofer.aisec.cpg.TranslationContext
 import de.fraunhofer.aisec.cpg.graph.Node
 import de.fraunhofer.aisec.cpg.graph.overlays.BasicBlock
 import de.fraunhofer.aisec.cpg.passes.configuration.DependsOn
+import de.fraunhofer.aisec.cpg.passes.configuration.SupportsParallelExecution
 import kotlin.math.min
 
 /**
@@ -42,6 +43,7 @@ import kotlin.math.min
 @DependsOn(EvaluationOrderGraphPass::class)
 @DependsOn(BasicBlockCollectorPass::class, softDependency = true)
 @Description("Pass that finds strongly connected components in the EOG using Tarjan's algorithm.")
+@SupportsParallelExecution
 class SccPass(ctx: TranslationContext) : EOGStarterPass(ctx) {
     data class TarjanInfo(val blackList: List<Node>) {
         var blockCounter = 0
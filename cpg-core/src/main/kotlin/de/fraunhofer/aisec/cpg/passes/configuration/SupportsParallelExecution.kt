@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2026, Fraunhofer AISEC. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *                    $$$$$$\  $$$$$$$\   $$$$$$\
+ *                   $$  __$$\ $$  __$$\ $$  __$$\
+ *                   $$ /  \__|$$ |  $$ |$$ /  \__|
+ *                   $$ |      $$$$$$$  |$$ |$$$$\
+ *                   $$ |      $$  ____/ $$ |\_$$ |
+ *                   $$ |  $$\ $$ |      $$ |  $$ |
+ *                   \$$$$$   |$$ |      \$$$$$   |
+ *                    \______/ \__|       \______/
+ *
+ */
+package de.fraunhofer.aisec.cpg.passes.configuration
+
+import de.fraunhofer.aisec.cpg.TranslationConfiguration
+import de.fraunhofer.aisec.cpg.passes.EOGStarterPass
+import de.fraunhofer.aisec.cpg.passes.TranslationUnitPass
+
+/**
+ * Indicates that a pass can safely be executed in parallel, if
+ * [TranslationConfiguration.useParallelPasses] is enabled. This means that
+ * - the pass can run at the same time as other passes of the same dependency layer which are also
+ *   annotated with [SupportsParallelExecution] and
+ * - individual instances of the pass can consume disjoint targets at the same time, e.g., different
+ *   [TranslationUnitPass] targets or different [EOGStarterPass] targets.
+ *
+ * Passes should only be annotated with this, if they do not rely on global mutable state (such as
+ * fields in a companion object) and only modify nodes that are "owned" by their current target.
+ */
+@Retention(AnnotationRetention.RUNTIME)
+@Target(AnnotationTarget.CLASS)
+annotation class SupportsParallelExecution
@@ -33,6 +33,7 @@ import com.fasterxml.jackson.module.kotlin.registerKotlinModule
 import de.fraunhofer.aisec.cpg.IncompatibleSignature
 import de.fraunhofer.aisec.cpg.SignatureMatches
 import de.fraunhofer.aisec.cpg.TranslationConfiguration
+import de.fraunhofer.aisec.cpg.fingerprint
 import de.fraunhofer.aisec.cpg.frontends.CastNotPossible
 import de.fraunhofer.aisec.cpg.frontends.Language
 import de.fraunhofer.aisec.cpg.graph.ContextProvider
@@ -59,7 +60,15 @@ import de.fraunhofer.aisec.cpg.matchesSignature
 import de.fraunhofer.aisec.cpg.passes.DFGPass
 import de.fraunhofer.aisec.cpg.passes.PointsToPass
 import de.fraunhofer.aisec.cpg.tryCast
+import java.io.DataInputStream
+import java.io.DataOutputStream
 import java.io.File
+import java.io.IOException
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardCopyOption
+import java.security.MessageDigest
+import java.util.HexFormat
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
 
@@ -95,6 +104,66 @@ class DFGFunctionSummaries {
         return functionToDFGEntryMap
     }
 
+    /** Reads the entries of [functionToDFGEntryMap] from the given cache [file], if it exists. */
+    private fun readCache(file: Path): Boolean {
+        if (!Files.exists(file)) {
+            return false
+        }
+
+        try {
+            DataInputStream(Files.newInputStream(file).buffered()).use { input ->
+                repeat(input.readInt()) {
+                    val declaration =
+                        FunctionDeclarationEntry(
+                            input.readString(),
+                            input.readString(),
+                            if (input.readBoolean()) List(input.readInt()) { input.readString() }
+                            else null,
+                        )
+                    functionToDFGEntryMap[declaration] =
+                        List(input.readInt()) {
+                            DFGEntry(input.readString(), input.readString(), input.readString())
+                        }
+                }
+            }
+        } catch (e: IOException) {
+            log.warn("Could not read cached function summaries from {}", file, e)
+            functionToDFGEntryMap.clear()
+            return false
+        }
+
+        return true
+    }
+
+    /** Writes the entries of [functionToDFGEntryMap] to the given cache [file]. */
+    private fun writeCache(file: Path) {
+        try {
+            Files.createDirectories(file.parent)
+            val temp = Files.createTempFile(file.parent, file.fileName.toString(), ".tmp")
+            DataOutputStream(Files.newOutputStream(temp).buffered()).use { output ->
+                output.writeInt(functionToDFGEntryMap.size)
+                for ((declaration, entries) in functionToDFGEntryMap) {
+                    output.writeString(declaration.language)
+                    output.writeString(declaration.methodName)
+                    output.writeBoolean(declaration.signature != null)
+                    declaration.signature?.let { signature ->
+                        output.writeInt(signature.size)
+                        signature.forEach { output.writeString(it) }
+                    }
+                    output.writeInt(entries.size)
+                    for (entry in entries) {
+                        output.writeString(entry.from)
+                        output.writeString(entry.to)
+                        output.writeString(entry.dfgType)
+                    }
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING)
+        } catch (e: IOException) {
+            log.warn("Could not cache function summaries in {}", file, e)
+        }
+    }
+
     /**
      * Adds the DFG edges to the [function] depending on the function summaries which are kept in
      * this object. If no suitable entry was found, this method returns `false`.
@@ -421,13 +490,57 @@ class DFGFunctionSummaries {
     )
 
     companion object {
-        /** Generates a [DFGFunctionSummaries] object from the given [files]. */
-        fun fromFiles(files: List<File>): DFGFunctionSummaries {
+        /**
+         * Generates a [DFGFunctionSummaries] object from the given [files]. If a [cacheDirectory]
+         * is given, the parsed entries are stored there in a binary format, keyed by a hash of the
+         * contents of all [files], so that they only need to be parsed again if one of the files
+         * changes.
+         */
+        fun fromFiles(files: List<File>, cacheDirectory: Path? = null): DFGFunctionSummaries {
             val dfgFunctionSummaries = DFGFunctionSummaries()
+            if (files.isEmpty()) {
+                return dfgFunctionSummaries
+            }
+
+            val cacheFile =
+                cacheDirectory?.resolve(
+                    files.joinToString("/", prefix = "v$CACHE_FORMAT_VERSION/") {
+                            "${it.extension.lowercase()}:${it.fingerprint}"
+                        }
+                        .sha256() + ".dfg"
+                )
+            if (cacheFile != null && dfgFunctionSummaries.readCache(cacheFile)) {
+                return dfgFunctionSummaries
+            }
+
             files.forEach { dfgFunctionSummaries.addEntriesFromFile(it) }
+            cacheFile?.let { dfgFunctionSummaries.writeCache(it) }
             return dfgFunctionSummaries
         }
 
+        /** Needs to be increased whenever the format of the cache files changes. */
+        private const val CACHE_FORMAT_VERSION = 2
+
+        /**
+         * Writes [value] with its length as an int. Unlike [DataOutputStream.writeUTF], this is not
+         * limited to 64 KiB, which a long signature or DFG entry could exceed.
+         */
+        private fun DataOutputStream.writeString(value: String) {
+            val bytes = value.toByteArray(Charsets.UTF_8)
+            writeInt(bytes.size)
+            write(bytes)
+        }
+
+        private fun DataInputStream.readString(): String {
+            val bytes = ByteArray(readInt())
+            readFully(bytes)
+            return String(bytes, Charsets.UTF_8)
+        }
+
+        private fun String.sha256(): String =
+            HexFormat.of()
+                .formatHex(MessageDigest.getInstance("SHA-256").digest(toByteArray(Charsets.UTF_8)))
+
         val log: Logger = LoggerFactory.getLogger(DFGFunctionSummaries::class.java)
     }
 }
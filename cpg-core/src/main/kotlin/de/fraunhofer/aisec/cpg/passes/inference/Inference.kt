@@ -494,7 +494,9 @@ class Inference internal constructor(val start: Node, override val ctx: Translat
 
             // In any case, we will observe the type of our reference and update our new variable
             // declaration accordingly.
-            hint.typeObservers += TypeInferenceObserver(inferred)
+            synchronized(hint.typeObservers) {
+                hint.typeObservers += TypeInferenceObserver(inferred)
+            }
 
             // Add it to the scope
             scopeManager.addDeclaration(inferred)
@@ -33,6 +33,7 @@ import de.fraunhofer.aisec.cpg.graph.edges.collections.EdgeList
 import de.fraunhofer.aisec.cpg.helpers.IdentitySet
 import de.fraunhofer.aisec.cpg.helpers.identitySetOf
 import de.fraunhofer.aisec.cpg.persistence.converters.NameConverter
+import java.util.concurrent.ConcurrentHashMap
 import kotlin.collections.plusAssign
 import kotlin.reflect.KClass
 import kotlin.reflect.KProperty1
@@ -110,9 +111,10 @@ annotation class Convert(val value: KClass<out AttributeConverter<*, *>>)
  *
  * This mutable map uses a Kotlin class type as the key and a set of strings representing associated
  * labels as the value. The [labelCache] provides efficient lookup and prevents redundant
- * re-computation of labels for the same class type.
+ * re-computation of labels for the same class type. It is safe to access from multiple threads,
+ * e.g., when persisting nodes in parallel.
  */
-val labelCache: MutableMap<KClass<*>, Set<String>> = mutableMapOf()
+val labelCache: MutableMap<KClass<*>, Set<String>> = ConcurrentHashMap()
 
 /**
  * A cache mapping classes of type [Persistable] to their respective properties.
@@ -129,12 +131,12 @@ val labelCache: MutableMap<KClass<*>, Set<String>> = mutableMapOf()
  */
 val schemaPropertiesCache:
     MutableMap<KClass<out Persistable>, Map<String, KProperty1<out Persistable, *>>> =
-    mutableMapOf()
+    ConcurrentHashMap()
 
 /** A cache mapping classes of type [Persistable] to their respective properties. */
 val schemaRelationshipCache:
     MutableMap<KClass<out Persistable>, Map<String, KProperty1<out Persistable, *>>> =
-    mutableMapOf()
+    ConcurrentHashMap()
 
 /**
  * Returns the [Persistable]'s properties. This DOES NOT include relationships, but only properties
@@ -448,45 +450,51 @@ val Persistable.connectedNodes: IdentitySet<Node>
     }
 
 fun List<Node>.collectRelationships(): List<RelationshipMap> {
+    return this.flatMap { it.relationships() }
+}
+
+/**
+ * Returns the outgoing relationships of this node, as defined in [schemaRelationships]. In contrast
+ * to [collectRelationships], this can be used to process the relationships of a graph node by node,
+ * without keeping all of them in memory.
+ *
+ * The start and end node of a relationship are identified by their [Node.id], which is not
+ * necessarily unique. If [keyOf] is set, the unique keys it returns for the start and end node are
+ * added as `startKey` and `endKey`, and relationships to nodes without a key are skipped.
+ */
+fun Node.relationships(keyOf: ((Node) -> Any?)? = null): List<RelationshipMap> {
     val relationships = mutableListOf<RelationshipMap>()
 
-    for (node in this) {
-        for (entry in node::class.schemaRelationships) {
-            when (val value = entry.value.call(node)) {
-                is EdgeCollection<*, *> -> {
-                    relationships +=
-                        value.map { edge ->
-                            mapOf(
-                                "startId" to edge.start.id.toString(),
-                                "startLegacyId" to edge.start.legacyId,
-                                "endId" to edge.end.id.toString(),
-                                "endLegacyId" to edge.end.legacyId,
-                                "type" to entry.key,
-                            ) + edge.properties()
-                        }
-                }
-                is List<*> -> {
-                    relationships +=
-                        value.filterIsInstance<Node>().map { end ->
-                            mapOf(
-                                "startId" to node.id.toString(),
-                                "startLegacyId" to node.legacyId,
-                                "endId" to end.id.toString(),
-                                "endLegacyId" to end.legacyId,
-                                "type" to entry.key,
-                            )
-                        }
-                }
-                is Node -> {
-                    relationships +=
-                        mapOf(
-                            "startId" to node.id.toString(),
-                            "startLegacyId" to node.legacyId,
-                            "endId" to value.id.toString(),
-                            "endLegacyId" to value.legacyId,
-                            "type" to entry.key,
-                        )
-                }
+    fun add(type: String, start: Node, end: Node, properties: Map<String, Any?> = emptyMap()) {
+        val keys =
+            if (keyOf != null) {
+                val startKey = keyOf(start) ?: return
+                val endKey = keyOf(end) ?: return
+                mapOf("startKey" to startKey, "endKey" to endKey)
+            } else {
+                emptyMap()
+            }
+
+        relationships +=
+            mapOf(
+                "startId" to start.id.toString(),
+                "startLegacyId" to start.legacyId,
+                "endId" to end.id.toString(),
+                "endLegacyId" to end.legacyId,
+                "type" to type,
+            ) + keys + properties
+    }
+
+    for (entry in this::class.schemaRelationships) {
+        when (val value = entry.value.call(this)) {
+            is EdgeCollection<*, *> -> {
+                value.forEach { edge -> add(entry.key, edge.start, edge.end, edge.properties()) }
+            }
+            is List<*> -> {
+                value.filterIsInstance<Node>().forEach { end -> add(entry.key, this, end) }
+            }
+            is Node -> {
+                add(entry.key, this, value)
             }
         }
     }
@@ -0,0 +1,782 @@
+/*
+ * Copyright (c) 2026, Fraunhofer AISEC. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *                    $$$$$$\  $$$$$$$\   $$$$$$\
+ *                   $$  __$$\ $$  __$$\ $$  __$$\
+ *                   $$ /  \__|$$ |  $$ |$$ /  \__|
+ *                   $$ |      $$$$$$$  |$$ |$$$$\
+ *                   $$ |      $$  ____/ $$ |\_$$ |
+ *                   $$ |  $$\ $$ |      $$ |  $$ |
+ *                   \$$$$$   |$$ |      \$$$$$   |
+ *                    \______/ \__|       \______/
+ *
+ */
+package de.fraunhofer.aisec.cpg.persistence
+
+import de.fraunhofer.aisec.cpg.TranslationResult
+import de.fraunhofer.aisec.cpg.graph.Name
+import de.fraunhofer.aisec.cpg.graph.Node
+import de.fraunhofer.aisec.cpg.graph.Persistable
+import de.fraunhofer.aisec.cpg.graph.edges.collections.EdgeCollection
+import de.fraunhofer.aisec.cpg.graph.nodes
+import de.fraunhofer.aisec.cpg.graph.scopes.Scope
+import de.fraunhofer.aisec.cpg.helpers.Benchmark
+import de.fraunhofer.aisec.cpg.helpers.identitySetOf
+import java.io.DataOutputStream
+import java.io.File
+import java.io.IOException
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+import java.nio.MappedByteBuffer
+import java.nio.channels.FileChannel
+import java.nio.file.StandardOpenOption
+import java.util.IdentityHashMap
+import kotlin.reflect.KClass
+
+/**
+ * Persists the current [TranslationResult] into a compact binary snapshot file, which can be
+ * loaded again with [loadTranslationResult] (or inspected with [loadSnapshot]) without re-running
+ * the frontends and passes.
+ *
+ * The snapshot contains the same nodes, properties and relationships as [persistJson], i.e. all
+ * AST nodes and all nodes that are (transitively) connected to them, such as types, scopes and
+ * languages. The node records are streamed to the file while the graph is traversed, followed by
+ * - a string table containing all strings (labels, class names, property keys and values,
+ *   relationship types), which are referred to by their index,
+ * - a name table containing all [Name]s, including their parent and delimiter,
+ * - a table of the distinct label sets of all nodes,
+ * - one section per [de.fraunhofer.aisec.cpg.graph.Component] (plus one for the result itself and
+ *   one for all shared non-AST nodes), which denotes the range of nodes that belong to it,
+ * - a type table containing the resolved types of the type manager,
+ * - an offset table that allows random access to the node records, and
+ * - an index of the incoming edges of each node, which is built while the records are written.
+ *
+ * An optional [fingerprint] of the inputs of the translation (e.g., the hashes of the source files
+ * and the configuration) is stored in the header of the snapshot (see [GraphSnapshot.fingerprint]),
+ * so that outdated snapshots can be detected before they are loaded.
+ *
+ * See [GraphSnapshot] for the exact layout.
+ */
+fun TranslationResult.persistSnapshot(path: File, fingerprint: String? = null) {
+    val b = Benchmark(Persistable::class.java, "Persisting translation result to snapshot")
+
+    val writer = SnapshotWriter(fingerprint)
+
+    // The first section contains the result, followed by one section per component. The resolved
+    // types and all other connected nodes are collected into a final section
+    writer.addSection("result", listOf(this))
+    components.forEach { writer.addSection(it.name.toString(), it.nodes) }
+    writer.types = finalCtx.typeManager.resolvedTypes.toList()
+    writer.addSection(SHARED_SECTION, writer.collectConnectedNodes(writer.types))
+
+    try {
+        DataOutputStream(path.outputStream().buffered()).use { writer.write(it) }
+    } catch (e: IOException) {
+        // Do not leave a truncated snapshot behind
+        path.delete()
+        throw e
+    }
+    log.info(
+        "Exported {} nodes and {} edges to snapshot file {}",
+        writer.nodeCount,
+        writer.edgeCount,
+        path.absoluteFile,
+    )
+
+    b.stop()
+}
+
+/**
+ * Loads a snapshot that was created with [persistSnapshot]. The file is memory-mapped and the
+ * individual node records are only decoded once they are accessed, so loading is fast even for
+ * large graphs. The returned [GraphSnapshot] must be closed after usage.
+ *
+ * Use [loadTranslationResult] to restore a [TranslationResult] that can be used by the query API.
+ */
+fun loadSnapshot(path: File): GraphSnapshot {
+    return GraphSnapshot(path)
+}
+
+/** The name of the snapshot section that contains all nodes that are not part of the AST. */
+const val SHARED_SECTION = "shared"
+
+/**
+ * The relationship type of the edge from a [Scope] to its [Scope.astNode]. This is an incoming
+ * relationship and therefore not part of the schema, but it is needed to create the scope again.
+ */
+internal const val SCOPE_AST_NODE = "AST_NODE"
+
+private const val SNAPSHOT_MAGIC = 0x43504753 // "CPGS"
+private const val SNAPSHOT_VERSION = 3
+
+private const val TAG_NULL = 0
+private const val TAG_STRING = 1
+private const val TAG_LONG = 2
+private const val TAG_TRUE = 3
+private const val TAG_FALSE = 4
+private const val TAG_DOUBLE = 5
+private const val TAG_LIST = 6
+private const val TAG_MAP = 7
+private const val TAG_INT = 8
+private const val TAG_NAME = 9
+
+/**
+ * Collects all nodes and writes them in the snapshot format. Only the tables (strings, names, label
+ * sets, offsets and the incoming edge index) are kept in memory, the node records are written
+ * directly to the output.
+ */
+private class SnapshotWriter(private val fingerprint: String?) {
+    private val strings = mutableMapOf<String, Int>()
+    private val names = LinkedHashMap<Name, Int>()
+    private val labelSets = mutableMapOf<Set<String>, Int>()
+    private val sections = mutableListOf<Triple<String, Int, Int>>()
+    private val indices = IdentityHashMap<Node, Int>()
+    private val nodes = mutableListOf<Node>()
+
+    /** The (target, start, edge ordinal) triple of each outgoing edge written so far. */
+    private val incoming = IntTriples()
+
+    /** The resolved types, which are written into the type table. */
+    var types = listOf<Node>()
+
+    val nodeCount: Int
+        get() = nodes.size
+
+    var edgeCount = 0
+        private set
+
+    fun addSection(name: String, sectionNodes: Collection<Node>) {
+        val first = nodes.size
+        for (node in sectionNodes) {
+            if (indices.putIfAbsent(node, nodes.size) == null) {
+                nodes += node
+            }
+        }
+        sections += Triple(name, first, nodes.size - first)
+        intern(name)
+    }
+
+    /**
+     * Returns the [roots] and all nodes that are transitively connected to them or to the nodes
+     * added so far.
+     */
+    fun collectConnectedNodes(roots: Collection<Node>): List<Node> {
+        val connected = mutableListOf<Node>()
+        val seen = identitySetOf<Node>()
+        val worklist = ArrayDeque<Node>(nodes)
+        for (root in roots) {
+            if (root !in indices && seen.add(root)) {
+                connected += root
+                worklist += root
+            }
+        }
+
+        while (worklist.isNotEmpty()) {
+            for (node in worklist.removeFirst().connectedNodes) {
+                if (node !in indices && seen.add(node)) {
+                    connected += node
+                    worklist += node
+                }
+            }
+        }
+
+        return connected
+    }
+
+    fun write(out: DataOutputStream) {
+        out.writeInt(SNAPSHOT_MAGIC)
+        out.writeVarInt(SNAPSHOT_VERSION)
+        val fingerprintBytes = (fingerprint ?: "").toByteArray(Charsets.UTF_8)
+        out.writeVarInt(fingerprintBytes.size)
+        out.write(fingerprintBytes)
+
+        // The records are streamed directly, all strings and names they refer to are interned
+        // along the way and written afterward. The size of the stream saturates at
+        // Int.MAX_VALUE, so we need to check it after every record, before any offset is wrong
+        val offsets = LongArray(nodes.size)
+        nodes.forEachIndexed { idx, node ->
+            offsets[idx] = out.size().toLong()
+            writeNode(out, idx, node)
+            checkSize(out)
+        }
+
+        val tablesStart = out.size().toLong()
+        out.writeVarInt(nodes.size)
+
+        out.writeVarInt(strings.size)
+        for (string in strings.keys) {
+            val bytes = string.toByteArray(Charsets.UTF_8)
+            out.writeVarInt(bytes.size)
+            out.write(bytes)
+        }
+
+        // Names are interned after their parents, so a parent always has a lower index
+        out.writeVarInt(names.size)
+        for (name in names.keys) {
+            out.writeVarInt(strings.getValue(name.localName))
+            out.writeVarInt(name.parent?.let { names.getValue(it) + 1 } ?: 0)
+            out.writeVarInt(strings.getValue(name.delimiter))
+        }
+
+        out.writeVarInt(labelSets.size)
+        for (labels in labelSets.keys) {
+            out.writeVarInt(labels.size)
+            labels.forEach { out.writeVarInt(strings.getValue(it)) }
+        }
+
+        out.writeVarInt(sections.size)
+        for ((name, first, count) in sections) {
+            out.writeVarInt(strings.getValue(name))
+            out.writeVarInt(first)
+            out.writeVarInt(count)
+        }
+
+        out.writeVarInt(types.size)
+        types.forEach { out.writeVarInt(indices.getValue(it)) }
+
+        offsets.forEach { out.writeLong(it) }
+        writeIncomingIndex(out)
+
+        out.writeLong(tablesStart)
+        checkSize(out)
+        out.flush()
+    }
+
+    /** Throws an [IOException] if [out] has reached the maximum size of a snapshot. */
+    private fun checkSize(out: DataOutputStream) {
+        if (out.size() == Int.MAX_VALUE) {
+            throw IOException("Snapshots larger than 2 GiB are not supported")
+        }
+    }
+
+    /**
+     * Writes the incoming edges of all nodes in a compressed sparse row layout: the first entry of
+     * each node (plus one final entry), followed by the start node and the ordinal of each edge
+     * within the record of its start node.
+     */
+    private fun writeIncomingIndex(out: DataOutputStream) {
+        val first = IntArray(nodes.size + 1)
+        for (i in 0 until incoming.size) {
+            first[incoming.first(i) + 1]++
+        }
+        for (i in 1..nodes.size) {
+            first[i] += first[i - 1]
+        }
+
+        val next = first.copyOf()
+        val entries = IntArray(incoming.size * 2)
+        for (i in 0 until incoming.size) {
+            val pos = next[incoming.first(i)]++
+            entries[pos * 2] = incoming.second(i)
+            entries[pos * 2 + 1] = incoming.third(i)
+        }
+
+        first.forEach { out.writeInt(it) }
+        entries.forEach { out.writeInt(it) }
+    }
+
+    private fun writeNode(out: DataOutputStream, idx: Int, node: Node) {
+        out.writeVarInt(intern(node.javaClass.name))
+        out.writeVarInt(
+            labelSets.computeIfAbsent(node::class.labels) { labels ->
+                labels.forEach { intern(it) }
+                labelSets.size
+            }
+        )
+
+        writeProperties(out, node.snapshotProperties().filterKeys { it != "id" })
+
+        // Each edge is stored with the node that holds the relationship. For incoming
+        // relationships (such as prevDFGEdges), the other node is the start of the edge
+        val edges = mutableListOf<SnapshotWriterEdge>()
+        for (entry in node::class.schemaRelationships) {
+            when (val value = entry.value.call(node)) {
+                is EdgeCollection<*, *> -> {
+                    value.forEach { edge ->
+                        val other = if (value.outgoing) edge.end else edge.start
+                        indices[other]?.let {
+                            edges +=
+                                SnapshotWriterEdge(
+                                    entry.key,
+                                    !value.outgoing,
+                                    it,
+                                    edge.snapshotProperties(),
+                                )
+                        }
+                    }
+                }
+                is List<*> -> {
+                    value.filterIsInstance<Node>().forEach { end ->
+                        indices[end]?.let {
+                            edges += SnapshotWriterEdge(entry.key, false, it, emptyMap())
+                        }
+                    }
+                }
+                is Node -> {
+                    indices[value]?.let {
+                        edges += SnapshotWriterEdge(entry.key, false, it, emptyMap())
+                    }
+                }
+            }
+        }
+        if (node is Scope) {
+            node.astNode
+                ?.let { indices[it] }
+                ?.let { edges += SnapshotWriterEdge(SCOPE_AST_NODE, false, it, emptyMap()) }
+        }
+
+        out.writeVarInt(edges.size)
+        edges.forEachIndexed { ordinal, edge ->
+            out.writeVarInt((intern(edge.type) shl 1) or (if (edge.incoming) 1 else 0))
+            out.writeVarInt(edge.other)
+            writeProperties(out, edge.properties)
+
+            if (!edge.incoming) {
+                incoming.add(edge.other, idx, ordinal)
+            }
+        }
+        edgeCount += edges.size
+    }
+
+    /**
+     * Returns the properties of this [Persistable] like [Persistable.properties], but keeps [Name]s
+     * as they are, since they are stored in the name table.
+     */
+    private fun Persistable.snapshotProperties(): Map<String, Any?> {
+        val properties = mutableMapOf<String, Any?>()
+        for (entry in this::class.schemaProperties) {
+            val value = entry.value.call(this) ?: continue
+            if (value is Name) {
+                properties[entry.key] = value
+            } else {
+                value.convert(entry, properties)
+            }
+        }
+
+        return properties
+    }
+
+    private fun writeProperties(out: DataOutputStream, properties: Map<String, Any?>) {
+        val nonNull = properties.filterValues { it != null }
+        out.writeVarInt(nonNull.size)
+        for ((key, value) in nonNull) {
+            out.writeVarInt(intern(key))
+            writeValue(out, value)
+        }
+    }
+
+    private fun writeValue(out: DataOutputStream, value: Any?) {
+        when (value) {
+            null -> out.writeVarInt(TAG_NULL)
+            is Boolean -> out.writeVarInt(if (value) TAG_TRUE else TAG_FALSE)
+            is Name -> {
+                out.writeVarInt(TAG_NAME)
+                out.writeVarInt(internName(value))
+            }
+            is Byte,
+            is Short,
+            is Int -> {
+                out.writeVarInt(TAG_INT)
+                out.writeVarLong((value as Number).toLong().zigZag())
+            }
+            is Long -> {
+                out.writeVarInt(TAG_LONG)
+                out.writeVarLong(value.zigZag())
+            }
+            is Float,
+            is Double -> {
+                out.writeVarInt(TAG_DOUBLE)
+                out.writeDouble((value as Number).toDouble())
+            }
+            is Collection<*> -> {
+                out.writeVarInt(TAG_LIST)
+                out.writeVarInt(value.size)
+                value.forEach { writeValue(out, it) }
+            }
+            is Array<*> -> writeValue(out, value.toList())
+            is Map<*, *> -> {
+                out.writeVarInt(TAG_MAP)
+                out.writeVarInt(value.size)
+                value.forEach { (k, v) ->
+                    out.writeVarInt(intern(k.toString()))
+                    writeValue(out, v)
+                }
+            }
+            else -> {
+                out.writeVarInt(TAG_STRING)
+                out.writeVarInt(intern(value.toString()))
+            }
+        }
+    }
+
+    private fun intern(string: String): Int {
+        return strings.computeIfAbsent(string) { strings.size }
+    }
+
+    private fun internName(name: Name): Int {
+        names[name]?.let {
+            return it
+        }
+
+        name.parent?.let { internName(it) }
+        intern(name.localName)
+        intern(name.delimiter)
+
+        val idx = names.size
+        names[name] = idx
+        return idx
+    }
+}
+
+/** An edge that is about to be written into the record of its node. */
+private class SnapshotWriterEdge(
+    val type: String,
+    val incoming: Boolean,
+    val other: Int,
+    val properties: Map<String, Any?>,
+)
+
+/** A growable list of int triples, which avoids boxing for large numbers of edges. */
+private class IntTriples {
+    private var values = IntArray(3 * 1024)
+
+    var size = 0
+        private set
+
+    fun add(first: Int, second: Int, third: Int) {
+        if ((size + 1) * 3 > values.size) {
+            values = values.copyOf(values.size * 2)
+        }
+        values[size * 3] = first
+        values[size * 3 + 1] = second
+        values[size * 3 + 2] = third
+        size++
+    }
+
+    fun first(i: Int) = values[i * 3]
+
+    fun second(i: Int) = values[i * 3 + 1]
+
+    fun third(i: Int) = values[i * 3 + 2]
+}
+
+/**
+ * A read-only view on a snapshot file created by [persistSnapshot]. The file is memory-mapped and
+ * node records are decoded lazily when they are accessed. All integers are encoded as unsigned
+ * LEB128 varints (signed values are zig-zag encoded) unless stated otherwise.
+ *
+ * ```
+ * snapshot    := magic:int32 version fingerprint record* tables tablesStart:int64
+ * fingerprint := length utf8-bytes
+ * tables      := nodeCount strings names labelSets sections types offsets incoming
+ * strings     := count (length utf8-bytes)*
+ * names       := count (localName:string-index parent:(name-index + 1) delimiter:string-index)*
+ * labelSets   := count (size string-index*)*
+ * sections    := count (name:string-index firstNode nodeCount)*
+ * types       := count node-index*
+ * offsets     := (recordStart:int64){nodeCount}
+ * incoming    := (firstEntry:int32){nodeCount + 1} (startNode:int32 edgeOrdinal:int32)*
+ * record      := class:string-index labelSet properties edgeCount edge*
+ * edge        := (type:string-index << 1 | isIncoming) otherNode properties
+ * properties  := count (key:string-index value)*
+ * ```
+ *
+ * This is only a low-level view on the snapshot, use [toTranslationResult] to restore the nodes.
+ * Snapshots are currently limited to 2 GiB.
+ */
+class GraphSnapshot internal constructor(path: File) : AutoCloseable {
+    private val channel = FileChannel.open(path.toPath(), StandardOpenOption.READ)
+    private val buffer: MappedByteBuffer
+
+    /** The string table of this snapshot. */
+    private val strings: Array<String>
+
+    /** The name table of this snapshot. */
+    private val names: Array<Name>
+
+    /** The distinct label sets of this snapshot. */
+    private val labelSets: List<Set<String>>
+
+    /** The position of the offset table in [buffer]. */
+    private val offsetsStart: Int
+
+    /** The position of the incoming edge index in [buffer]. */
+    private val incomingStart: Int
+
+    /** All sections of this snapshot, in the order they were written. */
+    val sections: List<SnapshotSection>
+
+    /** All nodes of this snapshot. */
+    val nodes: List<SnapshotNode>
+
+    /** The nodes of all types that were resolved by the type manager. */
+    val types: List<SnapshotNode>
+
+    /**
+     * The fingerprint of the inputs of the translation that was passed to [persistSnapshot], or
+     * null if there is none.
+     */
+    val fingerprint: String?
+
+    init {
+        val size = channel.size()
+        if (size > Int.MAX_VALUE) {
+            channel.close()
+            throw IOException("Snapshots larger than 2 GiB are not supported")
+        }
+
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size)
+        buffer.order(ByteOrder.BIG_ENDIAN)
+
+        if (buffer.getInt() != SNAPSHOT_MAGIC) {
+            channel.close()
+            throw IOException("$path is not a CPG snapshot")
+        }
+        val version = buffer.readVarInt()
+        if (version != SNAPSHOT_VERSION) {
+            channel.close()
+            throw IOException("Unsupported snapshot version $version")
+        }
+        fingerprint =
+            ByteArray(buffer.readVarInt())
+                .also { buffer.get(it) }
+                .let { String(it, Charsets.UTF_8) }
+                .ifEmpty { null }
+
+        buffer.position(buffer.getLong(size.toInt() - Long.SIZE_BYTES).toInt())
+        val nodeCount = buffer.readVarInt()
+
+        strings =
+            Array(buffer.readVarInt()) {
+                val bytes = ByteArray(buffer.readVarInt())
+                buffer.get(bytes)
+                String(bytes, Charsets.UTF_8)
+            }
+
+        val nameCount = buffer.readVarInt()
+        val names = ArrayList<Name>(nameCount)
+        repeat(nameCount) {
+            val localName = strings[buffer.readVarInt()]
+            val parent = buffer.readVarInt().let { if (it == 0) null else names[it - 1] }
+            names += Name(localName, parent, strings[buffer.readVarInt()])
+        }
+        this.names = names.toTypedArray()
+
+        labelSets =
+            List(buffer.readVarInt()) {
+                List(buffer.readVarInt()) { strings[buffer.readVarInt()] }.toSet()
+            }
+        sections =
+            List(buffer.readVarInt()) {
+                SnapshotSection(
+                    strings[buffer.readVarInt()],
+                    buffer.readVarInt(),
+                    buffer.readVarInt(),
+                )
+            }
+        val typeIndices = List(buffer.readVarInt()) { buffer.readVarInt() }
+
+        offsetsStart = buffer.position()
+        incomingStart = offsetsStart + nodeCount * Long.SIZE_BYTES
+        nodes = List(nodeCount) { SnapshotNode(this, it) }
+        types = typeIndices.map { nodes[it] }
+    }
+
+    /** Returns the section with the given [name], e.g., the name of a component. */
+    fun section(name: String): SnapshotSection? {
+        return sections.firstOrNull { it.name == name }
+    }
+
+    /** Returns all nodes of the given [section]. */
+    fun nodesOf(section: SnapshotSection): List<SnapshotNode> {
+        return nodes.subList(section.firstNode, section.firstNode + section.nodeCount)
+    }
+
+    /** Decodes the record of the node with the given [index]. */
+    internal fun decode(index: Int): SnapshotRecord {
+        // We duplicate the buffer, so that the position is not shared between threads
+        val record = buffer.duplicate()
+        record.position(buffer.getLong(offsetsStart + index * Long.SIZE_BYTES).toInt())
+
+        val className = strings[record.readVarInt()]
+        val labels = labelSets[record.readVarInt()]
+        val properties = record.readProperties()
+        val edges =
+            List(record.readVarInt()) {
+                val type = record.readVarInt()
+                val other = nodes[record.readVarInt()]
+                val properties = record.readProperties()
+                if (type and 1 == 0) {
+                    SnapshotEdge(strings[type ushr 1], nodes[index], other, properties)
+                } else {
+                    SnapshotEdge(strings[type ushr 1], other, nodes[index], properties)
+                }
+            }
+
+        return SnapshotRecord(className, labels, properties, edges)
+    }
+
+    /**
+     * Returns all edges that end in the node with the given [index] and are stored with their
+     * start node. This only reads the index that was written together with the snapshot and the
+     * records of the start nodes.
+     */
+    internal fun incomingEdges(index: Int): List<SnapshotEdge> {
+        val first = buffer.getInt(incomingStart + index * Int.SIZE_BYTES)
+        val last = buffer.getInt(incomingStart + (index + 1) * Int.SIZE_BYTES)
+        val entries = incomingStart + (nodes.size + 1) * Int.SIZE_BYTES
+
+        return List(last - first) {
+            val entry = entries + (first + it) * 2 * Int.SIZE_BYTES
+            nodes[buffer.getInt(entry)].edges[buffer.getInt(entry + Int.SIZE_BYTES)]
+        }
+    }
+
+    private fun ByteBuffer.readProperties(): Map<String, Any?> {
+        val count = readVarInt()
+        val properties = LinkedHashMap<String, Any?>(count)
+        repeat(count) { properties[strings[readVarInt()]] = readValue() }
+        return properties
+    }
+
+    private fun ByteBuffer.readValue(): Any? {
+        return when (val tag = readVarInt()) {
+            TAG_NULL -> null
+            TAG_STRING -> strings[readVarInt()]
+            TAG_INT -> readVarLong().unZigZag().toInt()
+            TAG_LONG -> readVarLong().unZigZag()
+            TAG_TRUE -> true
+            TAG_FALSE -> false
+            TAG_DOUBLE -> getDouble()
+            TAG_LIST -> List(readVarInt()) { readValue() }
+            TAG_MAP -> {
+                val count = readVarInt()
+                val map = LinkedHashMap<String, Any?>(count)
+                repeat(count) { map[strings[readVarInt()]] = readValue() }
+                map
+            }
+            TAG_NAME -> names[readVarInt()]
+            else -> throw IOException("Unknown value tag $tag in snapshot")
+        }
+    }
+
+    override fun close() {
+        channel.close()
+    }
+}
+
+/** A section of a [GraphSnapshot], i.e., a consecutive range of nodes. */
+data class SnapshotSection(val name: String, val firstNode: Int, val nodeCount: Int)
+
+/** The decoded record of a [SnapshotNode]. */
+internal data class SnapshotRecord(
+    val className: String,
+    val labels: Set<String>,
+    val properties: Map<String, Any?>,
+    val edges: List<SnapshotEdge>,
+)
+
+/**
+ * A node of a [GraphSnapshot]. Its [labels] correspond to the class hierarchy of the original
+ * [Node] (see [KClass.labels]) and its [properties] to [Persistable.properties], except that names
+ * are restored as [Name]. The record of the node is decoded on first access.
+ */
+class SnapshotNode internal constructor(private val snapshot: GraphSnapshot, val index: Int) {
+    private val record by lazy { snapshot.decode(index) }
+
+    /** The fully qualified name of the class of the original [Node]. */
+    val className: String
+        get() = record.className
+
+    val labels: Set<String>
+        get() = record.labels
+
+    val properties: Map<String, Any?>
+        get() = record.properties
+
+    val name: Name?
+        get() = properties["name"] as? Name
+
+    /**
+     * All edges that are stored with this node, i.e., the relationships of the original [Node].
+     * This includes the edges of incoming relationships, such as `PREV_DFG`.
+     */
+    val edges: List<SnapshotEdge>
+        get() = record.edges
+
+    /** All outgoing edges of this node, e.g., `AST`, `EOG`, `DFG` or `CDG` edges. */
+    val outgoing: List<SnapshotEdge>
+        get() = edges.filter { it.start == this }
+
+    /** All incoming edges of this node. */
+    val incoming: List<SnapshotEdge>
+        get() = snapshot.incomingEdges(index) + edges.filter { it.start != this }
+
+    /** Returns the nodes that are reachable with an outgoing edge of the given [type]. */
+    fun next(type: String): List<SnapshotNode> {
+        return outgoing.filter { it.type == type }.map { it.end }
+    }
+
+    /** Returns the nodes that are reachable with an incoming edge of the given [type]. */
+    fun prev(type: String): List<SnapshotNode> {
+        return incoming.filter { it.type == type }.map { it.start }
+    }
+
+    override fun toString(): String {
+        return "SnapshotNode(index=$index, labels=$labels, name=$name)"
+    }
+}
+
+/** An edge of a [GraphSnapshot] with the relationship [type] and the edge [properties]. */
+data class SnapshotEdge(
+    val type: String,
+    val start: SnapshotNode,
+    val end: SnapshotNode,
+    val properties: Map<String, Any?>,
+)
+
+private fun DataOutputStream.writeVarInt(value: Int) {
+    writeVarLong(value.toLong())
+}
+
+private fun DataOutputStream.writeVarLong(value: Long) {
+    var v = value
+    while (v and 0x7FL.inv() != 0L) {
+        writeByte(((v and 0x7F) or 0x80).toInt())
+        v = v ushr 7
+    }
+    writeByte(v.toInt())
+}
+
+private fun ByteBuffer.readVarInt(): Int {
+    return readVarLong().toInt()
+}
+
+private fun ByteBuffer.readVarLong(): Long {
+    var result = 0L
+    var shift = 0
+    while (true) {
+        val b = get().toLong()
+        result = result or ((b and 0x7F) shl shift)
+        if (b and 0x80 == 0L) {
+            return result
+        }
+        shift += 7
+    }
+}
+
+private fun Long.zigZag(): Long = (this shl 1) xor (this shr 63)
+
+private fun Long.unZigZag(): Long = (this ushr 1) xor -(this and 1)
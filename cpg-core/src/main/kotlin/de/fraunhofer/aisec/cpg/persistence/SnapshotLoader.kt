@@ -0,0 +1,397 @@
+/*
+ * Copyright (c) 2026, Fraunhofer AISEC. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *                    $$$$$$\  $$$$$$$\   $$$$$$\
+ *                   $$  __$$\ $$  __$$\ $$  __$$\
+ *                   $$ /  \__|$$ |  $$ |$$ /  \__|
+ *                   $$ |      $$$$$$$  |$$ |$$$$\
+ *                   $$ |      $$  ____/ $$ |\_$$ |
+ *                   $$ |  $$\ $$ |      $$ |  $$ |
+ *                   \$$$$$   |$$ |      \$$$$$   |
+ *                    \______/ \__|       \______/
+ *
+ */
+package de.fraunhofer.aisec.cpg.persistence
+
+import de.fraunhofer.aisec.cpg.TranslationConfiguration
+import de.fraunhofer.aisec.cpg.TranslationContext
+import de.fraunhofer.aisec.cpg.TranslationManager
+import de.fraunhofer.aisec.cpg.TranslationResult
+import de.fraunhofer.aisec.cpg.graph.Name
+import de.fraunhofer.aisec.cpg.graph.Node
+import de.fraunhofer.aisec.cpg.graph.Persistable
+import de.fraunhofer.aisec.cpg.graph.edges.Edge
+import de.fraunhofer.aisec.cpg.graph.edges.collections.EdgeCollection
+import de.fraunhofer.aisec.cpg.graph.scopes.Scope
+import de.fraunhofer.aisec.cpg.graph.types.Type
+import de.fraunhofer.aisec.cpg.helpers.Benchmark
+import java.io.File
+import java.io.IOException
+import java.lang.reflect.Modifier
+import kotlin.reflect.KClass
+import kotlin.reflect.KFunction
+import kotlin.reflect.KMutableProperty1
+import kotlin.reflect.KParameter
+import kotlin.reflect.KProperty1
+import kotlin.reflect.KType
+import kotlin.reflect.full.createInstance
+import kotlin.reflect.full.findAnnotation
+import kotlin.reflect.full.isSubclassOf
+import kotlin.reflect.jvm.isAccessible
+import kotlin.reflect.jvm.javaField
+import kotlin.reflect.jvm.jvmErasure
+import kotlin.uuid.Uuid
+
+/**
+ * Loads a snapshot that was created with [persistSnapshot] and restores it into a
+ * [TranslationResult] with the given [config]. The result can be used by the query API (and
+ * Codyze) in the same way as the result of a translation. See [toTranslationResult] for details.
+ */
+fun loadTranslationResult(path: File, config: TranslationConfiguration): TranslationResult {
+    val b = Benchmark(Persistable::class.java, "Loading translation result from snapshot")
+    val result = loadSnapshot(path).use { it.toTranslationResult(config) }
+    b.stop()
+
+    return result
+}
+
+/**
+ * Restores the nodes of this snapshot, including their properties and relationships (e.g., the
+ * AST, EOG, DFG and CDG edges), into a new [TranslationResult] with the given [config]. The
+ * resolved types of the snapshot are registered in the type manager of the result.
+ *
+ * Each node is created with the constructor of its original class. Constructor parameters are
+ * bound to the properties and relationships of the same name, which allows to create nodes that
+ * depend on other nodes, such as scopes. Afterward, properties and relationships are assigned to
+ * their backing fields where possible, so that no type propagation is triggered. The restored
+ * scopes are registered with the scope manager of the result. Information that is not part of the
+ * snapshot, such as the symbols of the scopes, type observers, the targets of partial dataflows or
+ * context-sensitive dataflows, is not restored.
+ *
+ * @throws IOException if a node or a relationship of the snapshot cannot be restored, since the
+ *   result would silently miss parts of the graph.
+ */
+fun GraphSnapshot.toTranslationResult(config: TranslationConfiguration): TranslationResult {
+    return SnapshotLoader(this, config).load()
+}
+
+/** Marks a snapshot value that cannot be converted into the type of a property. */
+private object Unconvertible
+
+/** Restores the [Node]s of a [GraphSnapshot]. */
+private class SnapshotLoader(
+    private val snapshot: GraphSnapshot,
+    private val config: TranslationConfiguration,
+) {
+    private val ctx = TranslationContext(config)
+    private val nodes = arrayOfNulls<Node>(snapshot.nodes.size)
+    private val converters = mutableMapOf<KClass<*>, AttributeConverter<*, *>>()
+
+    /** The relationships that could not be restored, see [restoreRelationships]. */
+    private val droppedRelationships = LinkedHashSet<String>()
+
+    fun load(): TranslationResult {
+        instantiateNodes()
+        for (node in snapshot.nodes) {
+            nodes[node.index]?.let { restoreProperties(it, node.properties) }
+        }
+
+        // Adding edges to an edge collection can propagate types to other nodes. We therefore
+        // first restore all edge collections and then assign all other relationships, such as the
+        // type of a node, which overrides any propagated value
+        for (node in snapshot.nodes) {
+            nodes[node.index]?.let { restoreRelationships(it, node, edgeCollections = true) }
+        }
+        for (node in snapshot.nodes) {
+            nodes[node.index]?.let { restoreRelationships(it, node, edgeCollections = false) }
+        }
+
+        if (droppedRelationships.isNotEmpty()) {
+            throw IOException(
+                "Could not restore ${droppedRelationships.size} relationships from the snapshot, " +
+                    "e.g., ${droppedRelationships.first()}"
+            )
+        }
+
+        // Types are registered last, since they are indexed by the name of their root type
+        for (type in snapshot.types) {
+            (nodes[type.index] as? Type)?.let { ctx.typeManager.resolvedTypes += it }
+        }
+        ctx.scopeManager.registerScopes(nodes.filterIsInstance<Scope>())
+
+        return nodes.firstOrNull() as? TranslationResult
+            ?: throw IOException("The snapshot does not contain a translation result")
+    }
+
+    /**
+     * Creates all nodes. Since some nodes need other nodes for their construction (e.g., a scope
+     * needs its AST node), we repeat this until no more nodes can be created. If some nodes remain,
+     * an [IOException] is thrown.
+     */
+    private fun instantiateNodes() {
+        var pending = snapshot.nodes
+        while (pending.isNotEmpty()) {
+            val remaining =
+                pending.filter {
+                    nodes[it.index] = instantiate(it)
+                    nodes[it.index] == null
+                }
+            if (remaining.size == pending.size) {
+                throw IOException(
+                    "Could not restore ${remaining.size} nodes from the snapshot, " +
+                        "e.g., ${remaining.first()}"
+                )
+            }
+
+            pending = remaining
+        }
+    }
+
+    private fun instantiate(node: SnapshotNode): Node? {
+        val kClass =
+            try {
+                Class.forName(node.className).kotlin
+            } catch (e: ClassNotFoundException) {
+                log.debug("Could not find class {} of snapshot node", node.className, e)
+                return null
+            }
+
+        if (kClass == TranslationResult::class) {
+            return TranslationResult(TranslationManager.builder().config(config).build(), ctx)
+        }
+
+        for (constructor in kClass.constructors.sortedBy { it.parameters.size }) {
+            val args = bind(constructor, node) ?: continue
+            try {
+                constructor.isAccessible = true
+                return constructor.callBy(args) as? Node
+            } catch (e: Exception) {
+                log.debug("Could not create {} with constructor {}", node, constructor, e)
+            }
+        }
+
+        return null
+    }
+
+    /**
+     * Binds the parameters of the [constructor] to the relationships and properties of the [node]
+     * with the same name. Only if neither exists, a parameter that expects a node is bound to the
+     * AST node of a scope (see [SCOPE_AST_NODE]), since the constructors of some scopes name it
+     * differently. Returns null, if a required parameter cannot be bound (yet).
+     */
+    private fun bind(constructor: KFunction<*>, node: SnapshotNode): Map<KParameter, Any?>? {
+        val args = mutableMapOf<KParameter, Any?>()
+        for (param in constructor.parameters) {
+            val name = param.name ?: return null
+            val edge =
+                node.edges.firstOrNull { it.type == name.toUpperSnakeCase() }
+                    ?: node.edges
+                        .firstOrNull { it.type == SCOPE_AST_NODE }
+                        ?.takeIf {
+                            name !in node.properties &&
+                                param.type.jvmErasure.isSubclassOf(Node::class)
+                        }
+            val value =
+                when {
+                    edge != null -> {
+                        val other = nodes[edge.other(node).index] ?: return null
+                        if (param.type.jvmErasure.isInstance(other)) other else Unconvertible
+                    }
+                    name in node.properties -> coerce(node.properties[name], param.type)
+                    else -> Unconvertible
+                }
+
+            when {
+                value !== Unconvertible -> args[param] = value
+                param.isOptional -> {}
+                param.type.isMarkedNullable -> args[param] = null
+                else -> return null
+            }
+        }
+
+        return args
+    }
+
+    /** Restores the simple properties of a node or an edge. */
+    private fun restoreProperties(target: Persistable, properties: Map<String, Any?>) {
+        for ((key, property) in target::class.schemaProperties) {
+            if (property !is KMutableProperty1<*, *>) {
+                continue
+            }
+
+            val converter =
+                property.findAnnotation<Convert>()?.value?.let {
+                    converters.getOrPut(it) { it.createInstance() }
+                }
+            val value =
+                try {
+                    @Suppress("UNCHECKED_CAST")
+                    when {
+                        // Names are stored in the name table and do not need to be converted
+                        properties[key] is Name -> properties[key]
+                        converter is CompositeAttributeConverter<*> ->
+                            converter.toEntityAttribute(properties)
+                        key !in properties -> continue
+                        converter != null ->
+                            (converter as AttributeConverter<Any?, Any?>).toEntityAttribute(
+                                properties[key]
+                            )
+                        else -> coerce(properties[key], property.returnType)
+                    }
+                } catch (e: Exception) {
+                    // Some converters, e.g., the one for dataflow granularities, cannot be reversed
+                    log.debug("Could not restore property {} of {}", key, target, e)
+                    continue
+                }
+
+            if (value !== Unconvertible) {
+                assign(target, property, value)
+            }
+        }
+    }
+
+    /**
+     * Restores the relationships of the [target] node. Depending on [edgeCollections], either the
+     * edges of its edge collections or all other relationships are restored. Relationships that
+     * cannot be restored are collected in [droppedRelationships].
+     */
+    private fun restoreRelationships(target: Node, node: SnapshotNode, edgeCollections: Boolean) {
+        val relationships = target::class.schemaRelationships
+        for ((type, edges) in node.edges.groupBy { it.type }) {
+            // The AST node of a scope is restored when the scope is created
+            if (type == SCOPE_AST_NODE) {
+                continue
+            }
+
+            val property = relationships[type]
+            if (property == null) {
+                droppedRelationships += "$type of $target"
+                continue
+            }
+            val others = edges.mapNotNull { nodes[it.other(node).index] }
+
+            try {
+                property.isAccessible = true
+                @Suppress("UNCHECKED_CAST")
+                when (val value = property.call(target)) {
+                    is EdgeCollection<*, *> -> {
+                        if (edgeCollections) {
+                            edges.forEach { edge ->
+                                val other = nodes[edge.other(node).index] ?: return@forEach
+                                restoreEdge(value as EdgeCollection<Node, Edge<Node>>, other, edge)
+                            }
+                        }
+                    }
+                    is MutableCollection<*> -> {
+                        if (!edgeCollections) {
+                            value.clear()
+                            (value as MutableCollection<Node>) += others
+                        }
+                    }
+                    else -> {
+                        if (
+                            !edgeCollections &&
+                                property is KMutableProperty1<*, *> &&
+                                !assign(target, property, others.first())
+                        ) {
+                            droppedRelationships += "$type of $target"
+                        }
+                    }
+                }
+            } catch (e: Exception) {
+                log.debug("Could not restore relationship {} of {}", type, target, e)
+                droppedRelationships += "$type of $target"
+            }
+        }
+    }
+
+    private fun restoreEdge(
+        collection: EdgeCollection<Node, Edge<Node>>,
+        other: Node,
+        snapshotEdge: SnapshotEdge,
+    ) {
+        val edge =
+            if (collection.outgoing) {
+                collection.init(collection.thisRef, other)
+            } else {
+                collection.init(other, collection.thisRef)
+            }
+        restoreProperties(edge, snapshotEdge.properties)
+
+        // The edge might already have been added through the mirror of another collection
+        if (edge !in collection) {
+            collection.add(edge)
+        }
+    }
+
+    /** Converts a [value] of the snapshot into the given [type]. */
+    private fun coerce(value: Any?, type: KType): Any? {
+        val kClass = type.jvmErasure
+        return when {
+            value == null -> null
+            value is Number && kClass == Int::class -> value.toInt()
+            value is Number && kClass == Long::class -> value.toLong()
+            value is Number && kClass == Short::class -> value.toShort()
+            value is Number && kClass == Byte::class -> value.toByte()
+            value is Number && kClass == Float::class -> value.toFloat()
+            value is Number && kClass == Double::class -> value.toDouble()
+            value is String && kClass.java.isEnum ->
+                kClass.java.enumConstants.firstOrNull { (it as Enum<*>).name == value }
+            value is String && kClass == Uuid::class -> Uuid.parse(value)
+            kClass.isInstance(value) -> value
+            else -> Unconvertible
+        } ?: Unconvertible
+    }
+
+    /**
+     * Assigns the [value] to the [property] of the [target]. If possible, the backing field is set
+     * directly, so that the setter does not trigger any side effects. Returns whether the value
+     * could be assigned.
+     */
+    private fun assign(target: Any, property: KProperty1<*, *>, value: Any?): Boolean {
+        if (value == null && !property.returnType.isMarkedNullable) {
+            return false
+        }
+
+        try {
+            val field = property.javaField
+            val accepts =
+                if (value == null) {
+                    field?.type?.isPrimitive == false
+                } else {
+                    field?.type?.kotlin?.javaObjectType?.isInstance(value) == true
+                }
+            if (field != null && accepts && !Modifier.isStatic(field.modifiers)) {
+                field.isAccessible = true
+                field.set(target, value)
+            } else if (property is KMutableProperty1<*, *>) {
+                property.isAccessible = true
+                property.setter.call(target, value)
+            } else {
+                return false
+            }
+        } catch (e: Exception) {
+            log.debug("Could not assign property {} of {}", property.name, target, e)
+            return false
+        }
+
+        return true
+    }
+
+    /** Returns the node on the other side of this edge, as seen from [node]. */
+    private fun SnapshotEdge.other(node: SnapshotNode): SnapshotNode {
+        return if (start == node) end else start
+    }
+}
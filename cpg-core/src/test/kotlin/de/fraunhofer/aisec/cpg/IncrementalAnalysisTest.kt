@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026, Fraunhofer AISEC. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *                    $$$$$$\  $$$$$$$\   $$$$$$\
+ *                   $$  __$$\ $$  __$$\ $$  __$$\
+ *                   $$ /  \__|$$ |  $$ |$$ /  \__|
+ *                   $$ |      $$$$$$$  |$$ |$$$$\
+ *                   $$ |      $$  ____/ $$ |\_$$ |
+ *                   $$ |  $$\ $$ |      $$ |  $$ |
+ *                   \$$$$$   |$$ |      \$$$$$   |
+ *                    \______/ \__|       \______/
+ *
+ */
+package de.fraunhofer.aisec.cpg
+
+import java.io.File
+import java.nio.file.Files
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertNotNull
+import kotlin.test.assertNotSame
+import kotlin.test.assertSame
+
+class IncrementalAnalysisTest {
+    @Test
+    fun testIncrementalAnalysis() {
+        val topLevel =
+            Files.createTempDirectory("cpg-incremental-test").toFile().apply { deleteOnExit() }
+        val unchanged = File(topLevel, "unchanged.file").apply { writeText("unchanged") }
+        val changed = File(topLevel, "changed.file").apply { writeText("changed") }
+        val deleted = File(topLevel, "deleted.file").apply { writeText("deleted") }
+
+        val manager =
+            TranslationManager.builder()
+                .config(
+                    TranslationConfiguration.builder()
+                        .topLevel(topLevel)
+                        .sourceLocations(topLevel)
+                        .defaultPasses()
+                        .registerLanguage<TestFileLanguage>()
+                        .useIncrementalAnalysis(true)
+                        .build()
+                )
+                .build()
+
+        val result = manager.analyze().get()
+        assertEquals(3, result.translationUnits.size)
+        assertEquals(3, result.sourceFingerprints.size)
+
+        val unchangedTU = result.sourceFingerprints[unchanged.absoluteFile]?.translationUnit
+        assertNotNull(unchangedTU)
+        val changedTU = result.sourceFingerprints[changed.absoluteFile]?.translationUnit
+        assertNotNull(changedTU)
+
+        // Nothing has changed, so the result should stay the same
+        var incremental = manager.analyzeIncrementally(result).get()
+        assertSame(result, incremental)
+        assertEquals(3, incremental.translationUnits.size)
+        assertSame(changedTU, result.sourceFingerprints[changed.absoluteFile]?.translationUnit)
+
+        // Change, delete and add a file
+        changed.writeText("changed again")
+        deleted.delete()
+        val added = File(topLevel, "added.file").apply { writeText("added") }
+
+        incremental = manager.analyzeIncrementally(result).get()
+        assertEquals(3, incremental.translationUnits.size)
+        assertEquals(
+            setOf(unchanged, changed, added).map { it.absoluteFile }.toSet(),
+            incremental.sourceFingerprints.keys,
+        )
+        assertEquals(
+            setOf("unchanged.file", "changed.file", "added.file"),
+            incremental.translationUnits.map { it.name.toString() }.toSet(),
+        )
+
+        // The translation unit of the unchanged file is re-used, the changed one is parsed again
+        assertSame(
+            unchangedTU,
+            incremental.sourceFingerprints[unchanged.absoluteFile]?.translationUnit,
+        )
+        assertNotSame(
+            changedTU,
+            incremental.sourceFingerprints[changed.absoluteFile]?.translationUnit,
+        )
+
+        topLevel.deleteRecursively()
+    }
+}
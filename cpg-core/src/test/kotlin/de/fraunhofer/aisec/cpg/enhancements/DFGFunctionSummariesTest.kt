@@ -45,6 +45,7 @@ import de.fraunhofer.aisec.cpg.passes.*
 import de.fraunhofer.aisec.cpg.passes.inference.DFGFunctionSummaries
 import de.fraunhofer.aisec.cpg.passes.inference.startInference
 import java.io.File
+import java.nio.file.Files
 import kotlin.test.Ignore
 import kotlin.test.Test
 import kotlin.test.assertEquals
@@ -67,6 +68,21 @@ class DFGFunctionSummariesTest {
         assertEquals(jsonSummaries.functionToDFGEntryMap, yamlSummaries.functionToDFGEntryMap)
     }
 
+    @Test
+    fun testCachedParsing() {
+        val cacheDirectory =
+            Files.createTempDirectory("cpg-summary-cache-test").apply { toFile().deleteOnExit() }
+        val files = listOf(File("src/test/resources/function-dfg.yml"))
+
+        val parsed = DFGFunctionSummaries.fromFiles(files, cacheDirectory)
+        assertTrue(parsed.functionToDFGEntryMap.isNotEmpty())
+        assertEquals(1, cacheDirectory.toFile().listFiles()?.size)
+
+        // The second time, the entries are read from the cache
+        val cached = DFGFunctionSummaries.fromFiles(files, cacheDirectory)
+        assertEquals(parsed.functionToDFGEntryMap, cached.functionToDFGEntryMap)
+    }
+
     @Test
     fun testMatching() {
         val code =
@@ -30,6 +30,7 @@ import de.fraunhofer.aisec.cpg.TranslationContext
 import de.fraunhofer.aisec.cpg.TranslationManager
 import de.fraunhofer.aisec.cpg.TranslationResult
 import de.fraunhofer.aisec.cpg.TypeManager
+import de.fraunhofer.aisec.cpg.ancestors
 import de.fraunhofer.aisec.cpg.graph.Component
 import de.fraunhofer.aisec.cpg.graph.newRecord
 import de.fraunhofer.aisec.cpg.graph.newTranslationUnit
@@ -71,6 +72,26 @@ class LanguageTest {
         }
     }
 
+    @Test
+    fun testTryCastAfterHierarchyChange() {
+        with(TestLanguageFrontend()) {
+            val baseType = objectType("baseType")
+            val derivedType = objectType("derivedType")
+
+            assertEquals(CastNotPossible, derivedType.tryCast(baseType))
+            assertEquals(listOf(derivedType), derivedType.ancestors.map { it.type })
+
+            // Adding a super type must invalidate the memoised cast result and ancestors
+            derivedType.superTypes.add(baseType)
+
+            assertEquals(ImplicitCast(1), derivedType.tryCast(baseType))
+            assertEquals(
+                mapOf(baseType to 1, derivedType to 0),
+                derivedType.ancestors.associate { it.type to it.depth },
+            )
+        }
+    }
+
     @Test
     fun testMultiLanguage() {
         class OtherLanguage(ctx: TranslationContext) : TestLanguage()
@@ -76,4 +76,60 @@ class ExtensionTest {
             assertEquals(listOf(record, func, tu), tu.allUniqueEOGStartersOrSingles)
         }
     }
+
+    @Test
+    fun testFollowDFGEdgesThroughDiamonds() {
+        with(TestLanguageFrontend()) {
+            // A chain of diamonds in the DFG, which has 2^n different paths from start to end
+            val n = 40
+            val start = newReference("start")
+            var last: Node = start
+            for (i in 0 until n) {
+                val left = newReference("left$i")
+                val right = newReference("right$i")
+                val merge = newReference(if (i == n - 1) "end" else "merge$i")
+                last.nextDFG += left
+                last.nextDFG += right
+                left.nextDFG += merge
+                right.nextDFG += merge
+                last = merge
+            }
+            val end = last
+
+            // Visiting every state only once must not explore all paths
+            val paths =
+                start.followDFGEdgesUntilHit(
+                    findAllPossiblePaths = false,
+                    scope = Intraprocedural(),
+                ) {
+                    it === end
+                }
+            assertEquals(2, paths.fulfilled.size)
+            paths.fulfilled.forEach {
+                assertEquals(start, it.nodes.first())
+                assertEquals(end, it.nodes.last())
+                assertEquals(2 * n + 1, it.nodes.size)
+                assertEquals(2 * n, it.edges.size)
+            }
+        }
+    }
+
+    @Test
+    fun testFollowDFGEdgesWithLoop() {
+        with(TestLanguageFrontend()) {
+            val a = newReference("a")
+            val b = newReference("b")
+            val c = newReference("c")
+            a.nextDFG += b
+            b.nextDFG += a
+            b.nextDFG += c
+
+            val paths = a.followDFGEdgesUntilHit(scope = Intraprocedural()) { it === c }
+            assertEquals(listOf(listOf(a, b, c)), paths.fulfilled.map { it.nodes })
+            assertEquals(
+                listOf(FailureReason.PATH_ENDED to listOf(a, b, a)),
+                paths.failed.map { it.first to it.second.nodes },
+            )
+        }
+    }
 }
@@ -28,6 +28,7 @@ package de.fraunhofer.aisec.cpg.graph
 import de.fraunhofer.aisec.cpg.frontends.TestLanguageWithColon
 import de.fraunhofer.aisec.cpg.frontends.testFrontend
 import de.fraunhofer.aisec.cpg.test.*
+import java.util.Objects
 import org.junit.jupiter.api.Assertions.*
 import org.junit.jupiter.api.Test
 
@@ -56,6 +57,35 @@ internal class NameTest {
         assertNotEquals(b, c)
     }
 
+    @Test
+    fun testHashCode() {
+        val std = Name("std", null, "::")
+        val name = Name("string", std, "::")
+        assertEquals(Objects.hash("string", std, "::"), name.hashCode())
+        assertEquals(Name("string", Name("std", null, "::"), "::").hashCode(), name.hashCode())
+    }
+
+    @Test
+    fun testNameTable() {
+        val table = NameTable()
+
+        val a = table.intern(Name("string", Name("std"), "::"))
+        val b = table.intern(Name(StringBuilder("string").toString(), Name("std"), "::"))
+        assertSame(a, b)
+        assertSame(a.parent, table.intern(Name("std")))
+        assertEquals(2, table.size)
+
+        val c = table.intern(Name("vector", Name("std"), "::"))
+        assertNotSame(a, c)
+        assertSame(a.parent, c.parent)
+        assertEquals(3, table.size)
+
+        // Long code snippets are not interned
+        val code = "x".repeat(NameTable.MAX_INTERNED_CODE_LENGTH + 1)
+        assertNotSame(table.internCode(code), table.internCode(String(code.toCharArray())))
+        assertSame(table.internCode("x"), table.internCode(String(charArrayOf('x'))))
+    }
+
     @Test
     fun testParseName() {
         val fqn = "std::string"
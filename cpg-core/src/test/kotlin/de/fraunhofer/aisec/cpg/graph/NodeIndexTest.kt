@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026, Fraunhofer AISEC. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *                    $$$$$$\  $$$$$$$\   $$$$$$\
+ *                   $$  __$$\ $$  __$$\ $$  __$$\
+ *                   $$ /  \__|$$ |  $$ |$$ /  \__|
+ *                   $$ |      $$$$$$$  |$$ |$$$$\
+ *                   $$ |      $$  ____/ $$ |\_$$ |
+ *                   $$ |  $$\ $$ |      $$ |  $$ |
+ *                   \$$$$$   |$$ |      \$$$$$   |
+ *                    \______/ \__|       \______/
+ *
+ */
+package de.fraunhofer.aisec.cpg.graph
+
+import de.fraunhofer.aisec.cpg.TranslationConfiguration
+import de.fraunhofer.aisec.cpg.frontends.TestLanguage
+import de.fraunhofer.aisec.cpg.frontends.TestLanguageFrontend
+import de.fraunhofer.aisec.cpg.graph.declarations.Function
+import de.fraunhofer.aisec.cpg.graph.expressions.Block
+import de.fraunhofer.aisec.cpg.graph.expressions.Call
+import de.fraunhofer.aisec.cpg.graph.expressions.Reference
+import de.fraunhofer.aisec.cpg.test.GraphExamples
+import kotlin.test.*
+
+class NodeIndexTest {
+    @Test
+    fun testIndexedAccessors() {
+        val result =
+            GraphExamples.getVisitorTest(
+                TranslationConfiguration.builder()
+                    .defaultPasses()
+                    .registerLanguage<TestLanguage>()
+                    .useNodeIndex(true)
+                    .build()
+            )
+        val index = result.nodeIndex
+        assertNotNull(index)
+
+        // The index must return the same nodes in the same order as flattening the AST
+        assertEquals(result.allChildren<Call>(), result.calls)
+        assertEquals(result.allChildren<Reference>(), result.refs)
+        assertEquals(result.allChildren<Function>(), result.functions)
+        assertEquals(
+            result.allChildren<Call> { it.name.localName == "println" },
+            index.nodesByName("println").filterIsInstance<Call>(),
+        )
+
+        val method = result.methods["method"]
+        assertNotNull(method)
+        val line = method.location?.region?.startLine
+        if (line != null) {
+            assertContains(index.nodesAt(method.location!!.artifactLocation.uri, line), method)
+        }
+
+        // Modifying the AST must be reflected by the index
+        val calls = result.calls.size
+        val body = method.body as? Block
+        assertNotNull(body)
+        val call = with(TestLanguageFrontend()) { newCall(newReference("foo"), "foo") }
+        body.statements += call
+        assertEquals(calls + 1, result.calls.size)
+        assertContains(result.calls, call)
+
+        body.statements -= call
+        assertEquals(calls, result.calls.size)
+    }
+
+    @Test
+    fun testReplacedEdgesAndNames() {
+        val result =
+            GraphExamples.getVisitorTest(
+                TranslationConfiguration.builder()
+                    .defaultPasses()
+                    .registerLanguage<TestLanguage>()
+                    .useNodeIndex(true)
+                    .build()
+            )
+        val index = result.nodeIndex
+        assertNotNull(index)
+
+        val method = result.methods["method"]
+        assertNotNull(method)
+        val body = method.body as? Block
+        assertNotNull(body)
+
+        with(TestLanguageFrontend()) {
+            val old = newLiteral(1)
+            val list = newInitializerList()
+            list.initializers += old
+            body.statements += list
+            assertContains(result.literals, old)
+
+            // Replacing the end of an AST edge in place must be reflected by the index
+            val new = newLiteral(2)
+            assertTrue(list.replaceArgument(old, new))
+            assertSame(list, new.astParent)
+            assertContains(result.literals, new)
+            assertFalse(old in result.literals)
+
+            val call = result.calls.first { it.arguments.isNotEmpty() }
+            val argument = newLiteral(3)
+            call.setArgument(0, argument)
+            assertContains(result.literals, argument)
+        }
+
+        // Renaming a node must be reflected by the index
+        method.name = Name("renamed")
+        assertContains(index.nodesByName("renamed"), method)
+        assertFalse(method in index.nodesByName("method"))
+    }
+
+    @Test
+    fun testDisabledByDefault() {
+        val result = GraphExamples.getVisitorTest()
+        assertNull(result.nodeIndex)
+        assertEquals(result.allChildren<Call>(), result.calls)
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2026, Fraunhofer AISEC. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *                    $$$$$$\  $$$$$$$\   $$$$$$\
+ *                   $$  __$$\ $$  __$$\ $$  __$$\
+ *                   $$ /  \__|$$ |  $$ |$$ /  \__|
+ *                   $$ |      $$$$$$$  |$$ |$$$$\
+ *                   $$ |      $$  ____/ $$ |\_$$ |
+ *                   $$ |  $$\ $$ |      $$ |  $$ |
+ *                   \$$$$$   |$$ |      \$$$$$   |
+ *                    \______/ \__|       \______/
+ *
+ */
+package de.fraunhofer.aisec.cpg.graph.edges.flows
+
+import de.fraunhofer.aisec.cpg.graph.*
+import de.fraunhofer.aisec.cpg.graph.edges.Edge
+import de.fraunhofer.aisec.cpg.graph.edges.allEdges
+import de.fraunhofer.aisec.cpg.graph.edges.dataflows
+import de.fraunhofer.aisec.cpg.test.GraphExamples
+import java.util.concurrent.CyclicBarrier
+import kotlin.concurrent.thread
+import kotlin.test.*
+
+class CompactFlowsTest {
+    @Test
+    fun testCompactFlows() {
+        val result = GraphExamples.getVisitorTest()
+        val nodes = result.allChildrenWithOverlays<Node>()
+        val nextEOG = nodes.map { it.nextEOGEdges.toList() }
+        val prevEOG = nodes.map { it.prevEOGEdges.toList() }
+        val nextDFG = nodes.map { it.nextDFGEdges.toSet() }
+        val prevDFG = nodes.map { it.prevDFGEdges.toSet() }
+        assertTrue(nextEOG.any { it.isNotEmpty() })
+        assertTrue(nextDFG.any { it.isNotEmpty() })
+
+        val flows = CompactFlows.compact(result)
+        assertTrue(flows.size >= nodes.size)
+
+        // The containers are dropped and only restored on access
+        val field = Node::class.java.getDeclaredField("_nextEOGEdges")
+        field.isAccessible = true
+        assertTrue(nodes.all { field.get(it) == null })
+
+        // Restoring the incoming edges first makes the outgoing edges take them over
+        assertEquals(prevEOG, nodes.map { it.prevEOGEdges.toList() })
+        assertEquals(nextEOG, nodes.map { it.nextEOGEdges.toList() })
+        assertEquals(nextDFG, nodes.map { it.nextDFGEdges.toSet() })
+        assertEquals(prevDFG, nodes.map { it.prevDFGEdges.toSet() })
+
+        // Both ends share the same edge objects
+        for (node in nodes) {
+            for (edge in node.nextEOGEdges) {
+                assertTrue(edge.end.prevEOGEdges.any { it === edge })
+            }
+            for (edge in node.nextDFGEdges) {
+                assertTrue(edge.end.prevDFGEdges.any { it === edge })
+            }
+        }
+    }
+
+    @Test
+    fun testAllEdgesAfterCompaction() {
+        val result = GraphExamples.getVisitorTest()
+        fun Collection<Edge<out Node>>.describe() =
+            map { Triple(it.start, it.end, it.javaClass) }.toSet()
+
+        val edges = result.allEdges<Edge<out Node>>().describe()
+        val dataflows = result.functions.flatMap { it.dataflows }.describe()
+        assertTrue(edges.any { it.third == EvaluationOrder::class.java })
+        assertTrue(dataflows.isNotEmpty())
+
+        CompactFlows.compact(result)
+
+        // The compacted EOG and DFG edges are restored when walking the edges
+        assertEquals(edges, result.allEdges<Edge<out Node>>().describe())
+        assertEquals(dataflows, result.functions.flatMap { it.dataflows }.describe())
+    }
+
+    @Test
+    fun testRestoreInParallel() {
+        repeat(10) {
+            val result = GraphExamples.getVisitorTest()
+            val nodes = result.allChildrenWithOverlays<Node>()
+            CompactFlows.compact(result)
+
+            // Restore the outgoing and incoming ends of the same edges at the same time
+            val barrier = CyclicBarrier(2)
+            val threads =
+                listOf(
+                    thread {
+                        barrier.await()
+                        nodes.forEach { it.nextEOGEdges }
+                    },
+                    thread {
+                        barrier.await()
+                        nodes.reversed().forEach { it.prevEOGEdges }
+                    },
+                )
+            threads.forEach { it.join() }
+
+            for (node in nodes) {
+                for (edge in node.nextEOGEdges) {
+                    assertTrue(edge.end.prevEOGEdges.any { it === edge })
+                }
+            }
+        }
+    }
+
+    @Test
+    fun testModifyCompactFlows() {
+        val result = GraphExamples.getVisitorTest()
+        val start = result.allChildren<Node>().first { it.nextEOG.isNotEmpty() }
+        val end = start.nextEOG.first()
+        val other = result.allChildren<Node>().first { it !== start && it !== end }
+
+        CompactFlows.compact(result)
+
+        // Removing a restored edge also removes it from the (not yet restored) other end
+        start.nextEOGEdges.removeAt(0)
+        assertFalse(start in end.prevEOG)
+
+        // Adding an edge also restores the other end before adding it there
+        start.nextEOGEdges += other
+        assertContains(other.prevEOG, start)
+
+        // Disconnecting a node must remove the edges that are only kept in the compact storage
+        val dataflow = result.allChildren<Node>().first { it.prevDFG.isNotEmpty() }
+        val sources = dataflow.prevDFG.toList()
+        CompactFlows.compact(result)
+        dataflow.disconnectFromGraph()
+        assertTrue(sources.none { dataflow in it.nextDFG })
+    }
+}
@@ -32,6 +32,7 @@ import de.fraunhofer.aisec.cpg.graph.expressions.Call
 import de.fraunhofer.aisec.cpg.graph.expressions.Throw
 import de.fraunhofer.aisec.cpg.test.GraphExamples.Companion.prepareThrowDFGTest
 import kotlin.collections.firstOrNull
+import kotlin.concurrent.thread
 import kotlin.test.Test
 import kotlin.test.assertContains
 import kotlin.test.assertEquals
@@ -56,6 +57,25 @@ class DataflowTest {
         }
     }
 
+    @Test
+    fun testConcurrentIteration() {
+        with(TestLanguageFrontend()) {
+            val global = newLiteral(value = 0)
+            val sources = (1..10000).map { newLiteral(value = it) }
+
+            // Iterating the edges of a node while another thread adds edges to it must neither
+            // fail nor return an edge twice
+            val writer = thread { sources.forEach { global.prevDFGEdges += it } }
+            while (writer.isAlive) {
+                val edges = global.prevDFGEdges.toList()
+                assertEquals(edges.size, edges.toSet().size)
+            }
+            writer.join()
+
+            assertEquals(sources.size, global.prevDFGEdges.size)
+        }
+    }
+
     @Test
     fun testReferenceTypeListener() {
         with(TestLanguageFrontend()) {
@@ -50,6 +50,31 @@ class EvaluationOrderTest {
         }
     }
 
+    @Test
+    fun testLazyAllocation() {
+        with(TestLanguageFrontend()) {
+            val node1 = newLiteral(value = 1)
+            val node2 = newLiteral(value = 2)
+
+            val next = Node::class.java.getDeclaredField("_nextEOGEdges")
+            val prev = Node::class.java.getDeclaredField("_prevEOGEdges")
+            next.isAccessible = true
+            prev.isAccessible = true
+
+            // Disconnecting a node without any EOG edges must not allocate its containers
+            node1.disconnectFromGraph()
+            assertNull(next.get(node1))
+            assertNull(prev.get(node1))
+
+            // Adding an edge allocates the container of both ends
+            node1.nextEOGEdges.add(node2)
+            assertNotNull(next.get(node1))
+            assertNotNull(prev.get(node2))
+            assertNull(prev.get(node1))
+            assertEquals(listOf<Node>(node1), node2.prevEOG)
+        }
+    }
+
     @Test
     fun testClear() {
         with(TestLanguageFrontend()) {
@@ -59,6 +59,26 @@ class TypeTest {
         }
     }
 
+    @Test
+    fun testResolvedTypes() {
+        with(TestLanguageFrontend()) {
+            val typeManager = ctx.typeManager
+            val type = objectType("SomeObject")
+            type.typeOrigin = Type.Origin.RESOLVED
+
+            assertFalse(typeManager.typeExists("SomeObject"))
+
+            typeManager.resolvedTypes += type
+            assertTrue(typeManager.typeExists("SomeObject"))
+            assertSame(type, typeManager.lookupResolvedType("SomeObject"))
+            assertNull(typeManager.lookupResolvedType("SomeObject", listOf(objectType("T"))))
+
+            typeManager.resolvedTypes.removeIf { it === type }
+            assertFalse(typeManager.typeExists("SomeObject"))
+            assertNull(typeManager.lookupResolvedType("SomeObject"))
+        }
+    }
+
     @Test
     fun testTypeOperations() {
         with(TestLanguageFrontend()) {
@@ -25,17 +25,26 @@
  */
 package de.fraunhofer.aisec.cpg.helpers
 
+import de.fraunhofer.aisec.cpg.graph.Node
+import de.fraunhofer.aisec.cpg.graph.allChildren
+import de.fraunhofer.aisec.cpg.graph.edges.flows.EvaluationOrder
+import de.fraunhofer.aisec.cpg.graph.expressions.Return
+import de.fraunhofer.aisec.cpg.graph.get
+import de.fraunhofer.aisec.cpg.graph.methods
 import de.fraunhofer.aisec.cpg.helpers.functional.ConcurrentIdentityHashMap
 import de.fraunhofer.aisec.cpg.helpers.functional.ConcurrentMapLattice
 import de.fraunhofer.aisec.cpg.helpers.functional.HashMapLattice
+import de.fraunhofer.aisec.cpg.helpers.functional.Lattice
 import de.fraunhofer.aisec.cpg.helpers.functional.Order
 import de.fraunhofer.aisec.cpg.helpers.functional.PowersetLattice
 import de.fraunhofer.aisec.cpg.helpers.functional.TripleLattice
 import de.fraunhofer.aisec.cpg.helpers.functional.TupleLattice
+import de.fraunhofer.aisec.cpg.test.GraphExamples
 import kotlin.test.Test
 import kotlin.test.assertEquals
 import kotlin.test.assertFalse
 import kotlin.test.assertNotEquals
+import kotlin.test.assertNotNull
 import kotlin.test.assertNotSame
 import kotlin.test.assertSame
 import kotlin.test.assertTrue
@@ -43,6 +52,48 @@ import kotlinx.coroutines.runBlocking
 import org.junit.jupiter.api.assertThrows
 
 class BasicLatticesRedesignTest {
+    @Test
+    fun testBasicBlockSolver() {
+        val result = GraphExamples.getLabeledBreakContinueLoopDFG()
+        val method = result.methods["labeledBreakContinue"]
+        assertNotNull(method)
+
+        // Collects all nodes which are visited on the way to the end of the method
+        val transfer:
+            suspend (
+                Lattice<PowersetLattice.Element<Node>>,
+                EvaluationOrder,
+                PowersetLattice.Element<Node>,
+            ) -> PowersetLattice.Element<Node> =
+            { _, edge, state ->
+                state.add(edge.end)
+                state
+            }
+
+        val lattice = PowersetLattice<Node>()
+        val (edgeState, edgeTimeout) =
+            lattice.iterateEOG(
+                method.nextEOGEdges,
+                PowersetLattice.Element(),
+                transfer,
+                solver = Lattice.Solver.EDGES,
+            )
+        val (blockState, blockTimeout) =
+            lattice.iterateEOG(
+                method.nextEOGEdges,
+                PowersetLattice.Element(),
+                transfer,
+                solver = Lattice.Solver.BASIC_BLOCKS,
+            )
+        assertFalse(edgeTimeout)
+        assertFalse(blockTimeout)
+        assertEquals(edgeState, blockState)
+
+        val returnStatement = method.allChildren<Return>().singleOrNull()
+        assertNotNull(returnStatement)
+        assertTrue(returnStatement in blockState)
+    }
+
     @Test
     fun testConcurrentIdentityHashMapKeysView() {
         data class ValueKey(val id: Int)
@@ -84,4 +84,21 @@ internal class SubgraphWalkerTest : BaseTest() {
         // should contain 3 AST nodes, 1 field, 1 method, 1 constructor
         assertEquals(3, ast.size)
     }
+
+    @Test
+    fun testConcurrentASTChildren() {
+        val result = GraphExamples.getVisitorTest()
+        val nodes = SubgraphWalker.flattenAST(result)
+        val expected = nodes.map { SubgraphWalker.getAstChildren(it) }
+
+        // The accessors are shared between threads without any locking, so walking the same nodes
+        // concurrently must yield the same children
+        val actual =
+            nodes.parallelStream().map { node ->
+                mutableListOf<AstNode>().also { children ->
+                    SubgraphWalker.forEachAstChild(node) { children += it }
+                }
+            }
+        assertEquals(expected, actual.toList())
+    }
 }
@@ -28,7 +28,10 @@ package de.fraunhofer.aisec.cpg.helpers.functional
 import kotlin.test.*
 import kotlinx.coroutines.runBlocking
 
-/** Tests [PersistentMapLattice] using a [PowersetLattice] of strings as the inner lattice. */
+/**
+ * Tests [PersistentMapLattice] using a [PowersetLattice] of strings as the inner lattice, as well as
+ * the other persistent lattices.
+ */
 class PersistentLatticesTest {
 
     private val lattice =
@@ -152,4 +155,156 @@ class PersistentLatticesTest {
         assertEquals(Order.EQUAL, lattice.compare(one, dup))
         assertEquals(one, dup)
     }
+
+    @Test
+    fun testLubAll() = runBlocking {
+        val one = element("k1" to PowersetLattice.Element("a"))
+        val two = element("k1" to PowersetLattice.Element("b"))
+        val three = element("k2" to PowersetLattice.Element("c"))
+
+        val merged = lattice.lubAll(listOf(one, two, three))
+        assertEquals(setOf("k1", "k2"), merged.keys)
+        assertEquals(2, merged["k1"]?.size)
+        assertEquals(merged, lattice.lub(lattice.lub(one, two), three))
+        assertEquals(lattice.bottom, lattice.lubAll(listOf()))
+
+        // The operands were not mutated.
+        assertEquals(1, one.size)
+        assertEquals(1, one["k1"]?.size)
+    }
+
+    @Test
+    fun testPersistentPowersetLattice() = runBlocking {
+        val powersetLattice = PersistentPowersetLattice<String>()
+
+        val a = PersistentPowersetLattice.Element("a")
+        val ab = a + "b"
+        assertEquals(1, a.size)
+        assertEquals(setOf("a", "b"), ab)
+        assertSame(ab, ab + "a")
+        assertEquals(setOf("b"), ab - "a")
+
+        val aCopy = PersistentPowersetLattice.Element("a")
+        assertEquals(Order.EQUAL, powersetLattice.compare(a, aCopy))
+        assertEquals(Order.GREATER, powersetLattice.compare(ab, a))
+        assertEquals(Order.LESSER, powersetLattice.compare(a, ab))
+        val c = PersistentPowersetLattice.Element("c")
+        assertEquals(Order.UNEQUAL, powersetLattice.compare(a, c))
+
+        // If one operand already contains the other one, lub returns it unchanged
+        assertSame(ab, powersetLattice.lub(ab, a))
+        assertSame(ab, powersetLattice.lub(a, ab))
+        val abc = powersetLattice.lub(ab, c, allowModify = true)
+        assertEquals(setOf("a", "b", "c"), abc)
+        assertEquals(setOf("a", "b"), ab)
+
+        assertEquals(abc, powersetLattice.lubAll(listOf(a, ab, c)))
+        assertEquals(setOf("a"), powersetLattice.glb(a, abc))
+        assertSame(a, powersetLattice.glb(a, abc))
+
+        // Pairs are compared by the identity of the first and the equality of the second component
+        val node = Any()
+        val pairs = PersistentPowersetLattice.Element(node to true)
+        assertTrue((node to true) in pairs)
+        assertFalse((Any() to true) in pairs)
+        assertSame(pairs, pairs + (node to true))
+    }
+
+    @Test
+    fun testPersistentTupleLattice() = runBlocking {
+        val tupleLattice =
+            PersistentTupleLattice(
+                PersistentPowersetLattice<String>(),
+                PersistentPowersetLattice<String>(),
+            )
+        val one =
+            TupleLattice.Element(
+                PersistentPowersetLattice.Element("a"),
+                PersistentPowersetLattice.Element("b"),
+            )
+        val two =
+            TupleLattice.Element(
+                PersistentPowersetLattice.Element("c"),
+                PersistentPowersetLattice.Element<String>(),
+            )
+
+        // In contrast to the TupleLattice, allowModify must not lose the result
+        val merged = tupleLattice.lub(one, two, allowModify = true)
+        assertEquals(setOf("a", "c"), merged.first)
+        assertEquals(setOf("b"), merged.second)
+        assertEquals(setOf("a"), one.first)
+
+        assertSame(merged, tupleLattice.lub(merged, one))
+
+        val tripleLattice =
+            PersistentTripleLattice(
+                PersistentPowersetLattice<String>(),
+                PersistentPowersetLattice<String>(),
+                PersistentPowersetLattice<String>(),
+            )
+        val triple =
+            TripleLattice.Element(
+                PersistentPowersetLattice.Element("a"),
+                PersistentPowersetLattice.Element<String>(),
+                PersistentPowersetLattice.Element("c"),
+            )
+        val mergedTriple =
+            tripleLattice.lub(
+                triple,
+                TripleLattice.Element(
+                    PersistentPowersetLattice.Element<String>(),
+                    PersistentPowersetLattice.Element("b"),
+                    PersistentPowersetLattice.Element("c"),
+                ),
+                allowModify = true,
+            )
+        assertEquals(setOf("b"), mergedTriple.second)
+        assertEquals(Order.GREATER, tripleLattice.compare(mergedTriple, triple))
+    }
+
+    @Test
+    fun testPersistentConcurrentMapLattice() = runBlocking {
+        val mapLattice =
+            PersistentConcurrentMapLattice<String, PowersetLattice.Element<String>>(
+                PowersetLattice()
+            )
+        val original = mapLattice.bottom
+        original.put("k1", PowersetLattice.Element("a"))
+
+        // The duplicate shares the values until one of the elements accesses them for writing
+        val copy = original.duplicate()
+        assertSame(original.peek("k1"), copy.peek("k1"))
+        copy["k1"]?.add("b")
+        assertEquals(setOf("a"), original["k1"])
+        assertEquals(setOf("a", "b"), copy["k1"])
+        assertEquals(Order.LESSER, original.compare(copy))
+
+        // Without allowModify, lub does not modify its operands
+        val two =
+            ConcurrentMapLattice.Element(
+                "k1" to PowersetLattice.Element("c"),
+                "k2" to PowersetLattice.Element("d"),
+            )
+        val merged = mapLattice.lub(original, two)
+        assertEquals(setOf("a", "c"), merged["k1"])
+        assertEquals(setOf("d"), merged["k2"])
+        assertEquals(setOf("a"), original["k1"])
+        assertEquals(setOf("c"), two["k1"])
+
+        // The result is the same as the one of a ConcurrentMapLattice
+        val plainLattice =
+            ConcurrentMapLattice<String, PowersetLattice.Element<String>>(PowersetLattice())
+        val plainOne = ConcurrentMapLattice.Element("k1" to PowersetLattice.Element("a"))
+        val plain = plainLattice.lub(plainOne, two)
+        assertEquals(Order.EQUAL, merged.compare(plain))
+        assertEquals(Order.EQUAL, plain.compare(merged))
+
+        // With allowModify, the first operand is updated, but the values of the second one are not
+        assertSame(original, mapLattice.lub(original, two, allowModify = true))
+        assertEquals(setOf("a", "c"), original["k1"])
+        original["k2"]?.add("e")
+        assertEquals(setOf("d", "e"), original["k2"])
+        assertEquals(setOf("d"), two["k2"])
+        assertEquals(setOf("d"), merged["k2"])
+    }
 }
@@ -25,7 +25,10 @@
  */
 package de.fraunhofer.aisec.cpg.passes
 
+import de.fraunhofer.aisec.cpg.frontends.TestLanguage
+import de.fraunhofer.aisec.cpg.frontends.testFrontend
 import de.fraunhofer.aisec.cpg.graph.*
+import de.fraunhofer.aisec.cpg.graph.builder.*
 import de.fraunhofer.aisec.cpg.graph.expressions.CollectionComprehension
 import de.fraunhofer.aisec.cpg.helpers.Util
 import de.fraunhofer.aisec.cpg.test.GraphExamples
@@ -35,6 +38,44 @@ import kotlin.test.assertTrue
 
 class EvaluationOrderGraphPassTest {
 
+    @Test
+    fun testUnreachableCode() {
+        val result =
+            testFrontend {
+                    it.registerLanguage<TestLanguage>()
+                    it.defaultPasses()
+                }
+                .build {
+                    translationResult {
+                        translationUnit("unreachable.file") {
+                            function("foo", t("int")) {
+                                body {
+                                    call("reachable")
+                                    returnStmt { literal(0, t("int")) }
+                                    call("dead1")
+                                    call("dead2")
+                                }
+                            }
+                        }
+                    }
+                }
+
+        val reachable = result.calls["reachable"]
+        assertNotNull(reachable)
+        assertTrue(reachable.nextEOG.isNotEmpty())
+
+        // The code after the return statement is not connected to the function, so the edges
+        // between the dead calls are removed
+        val dead1 = result.calls["dead1"]
+        assertNotNull(dead1)
+        assertTrue(dead1.prevEOG.isEmpty())
+        assertTrue(dead1.nextEOG.isEmpty())
+
+        val dead2 = result.calls["dead2"]
+        assertNotNull(dead2)
+        assertTrue(dead2.prevEOG.isEmpty())
+    }
+
     @Test
     fun testWhile() {
         val whileTest = GraphExamples.getWhileWithElseAndBreak()
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2026, Fraunhofer AISEC. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *                    $$$$$$\  $$$$$$$\   $$$$$$\
+ *                   $$  __$$\ $$  __$$\ $$  __$$\
+ *                   $$ /  \__|$$ |  $$ |$$ /  \__|
+ *                   $$ |      $$$$$$$  |$$ |$$$$\
+ *                   $$ |      $$  ____/ $$ |\_$$ |
+ *                   $$ |  $$\ $$ |      $$ |  $$ |
+ *                   \$$$$$   |$$ |      \$$$$$   |
+ *                    \______/ \__|       \______/
+ *
+ */
+package de.fraunhofer.aisec.cpg.passes
+
+import de.fraunhofer.aisec.cpg.frontends.TestLanguageFrontend
+import de.fraunhofer.aisec.cpg.graph.Name
+import de.fraunhofer.aisec.cpg.graph.declarations.Function
+import de.fraunhofer.aisec.cpg.graph.declarations.Function.FSEntry
+import de.fraunhofer.aisec.cpg.graph.declarations.Variable
+import de.fraunhofer.aisec.cpg.graph.edges.flows.IndexedDataflowGranularity
+import de.fraunhofer.aisec.cpg.graph.edges.flows.PartialDataflowGranularity
+import de.fraunhofer.aisec.cpg.graph.expressions.ParameterMemoryValue
+import de.fraunhofer.aisec.cpg.graph.newBlock
+import de.fraunhofer.aisec.cpg.graph.newFunction
+import de.fraunhofer.aisec.cpg.graph.newParameter
+import de.fraunhofer.aisec.cpg.graph.newReference
+import de.fraunhofer.aisec.cpg.graph.newReturn
+import de.fraunhofer.aisec.cpg.graph.newVariable
+import de.fraunhofer.aisec.cpg.graph.objectType
+import de.fraunhofer.aisec.cpg.graph.returns
+import de.fraunhofer.aisec.cpg.helpers.functional.EqualLinkedHashSet
+import de.fraunhofer.aisec.cpg.helpers.functional.equalLinkedHashSetOf
+import de.fraunhofer.aisec.cpg.passes.PointsToPass.NodeWithPropertiesKey
+import java.nio.file.Files
+import java.util.concurrent.ConcurrentHashMap
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertNotEquals
+import kotlin.test.assertNull
+import kotlin.test.assertSame
+import kotlin.test.assertTrue
+
+class FunctionSummaryCacheTest {
+    private fun TestLanguageFrontend.newSummarizedFunction(
+        properties: EqualLinkedHashSet<Any> =
+            equalLinkedHashSetOf(PartialDataflowGranularity("f"), true),
+    ): Function {
+        val function = newFunction("foo")
+        val param = newParameter("a")
+        val ret = newReturn()
+        function.parameters += param
+        function.body = newBlock().apply { statements += ret }
+
+        // The return statement writes the parameter's value into the field "f" of the parameter
+        val lastWrites = ConcurrentHashMap.newKeySet<NodeWithPropertiesKey>()
+        lastWrites += NodeWithPropertiesKey(ret, equalLinkedHashSetOf(false))
+        function.functionSummary.put(
+            param,
+            ConcurrentHashMap.newKeySet<FSEntry>().apply {
+                add(
+                    FSEntry(
+                        2,
+                        param,
+                        1,
+                        "f",
+                        lastWrites,
+                        properties,
+                    )
+                )
+            },
+        )
+        return function
+    }
+
+    @Test
+    fun testStoreAndLoad() {
+        val cache =
+            FunctionSummaryCache(
+                Files.createTempDirectory("cpg-fs-cache-test").apply { toFile().deleteOnExit() }
+            )
+
+        with(TestLanguageFrontend()) {
+            val original = newSummarizedFunction()
+            val key = cache.keyOf(original, null)
+            assertTrue(cache.store(original, key))
+            assertEquals(key, original.functionSummaryKey)
+
+            // A function with the same structure has the same key and gets the same summary,
+            // referring to its own nodes
+            val copy = newSummarizedFunction()
+            copy.functionSummary.clear()
+            assertEquals(key, cache.keyOf(copy, null))
+            assertTrue(cache.load(copy, key) { newReturn() })
+
+            val param = copy.parameters.single()
+            val entry = copy.functionSummary[param]?.single()
+            assertSame(param, entry?.srcNode)
+            assertEquals(2, entry?.destValueDepth)
+            assertEquals("f", entry?.subAccessName)
+            assertSame(copy.returns.single(), entry?.lastWrites?.single()?.node)
+            assertEquals(
+                equalLinkedHashSetOf<Any>(PartialDataflowGranularity("f"), true),
+                entry?.properties,
+            )
+
+            // A different configuration results in a different key
+            assertNotEquals(key, cache.keyOf(copy, PointsToPass.Configuration(addressLength = 32)))
+
+            // Summaries referring to nodes created by the analysis cannot be stored
+            val other = newSummarizedFunction()
+            other.functionSummary.put(
+                ParameterMemoryValue(Name("value")),
+                ConcurrentHashMap.newKeySet(),
+            )
+            assertFalse(cache.store(other, "other"))
+            assertNull(other.functionSummaryKey)
+        }
+    }
+
+    @Test
+    fun testIndexedGranularities() {
+        val cache =
+            FunctionSummaryCache(
+                Files.createTempDirectory("cpg-fs-cache-test").apply { toFile().deleteOnExit() }
+            )
+
+        with(TestLanguageFrontend()) {
+            // The type of the index must survive the round trip, since Int and Long indices are
+            // not equal
+            val properties =
+                equalLinkedHashSetOf<Any>(
+                    IndexedDataflowGranularity(1),
+                    IndexedDataflowGranularity(2L),
+                )
+            val original = newSummarizedFunction(properties)
+            val key = cache.keyOf(original, null)
+            assertTrue(cache.store(original, key))
+
+            val copy = newSummarizedFunction(properties)
+            copy.functionSummary.clear()
+            assertTrue(cache.load(copy, key) { newReturn() })
+
+            val loaded = copy.functionSummary[copy.parameters.single()]?.single()?.properties
+            assertEquals(properties, loaded)
+            assertEquals(
+                listOf<Number>(1, 2L),
+                loaded?.map { (it as IndexedDataflowGranularity).partialTarget },
+            )
+        }
+    }
+
+    @Test
+    fun testKeyIncludesTypesAndDeclarations() {
+        val cache =
+            FunctionSummaryCache(
+                Files.createTempDirectory("cpg-fs-cache-test").apply { toFile().deleteOnExit() }
+            )
+
+        with(TestLanguageFrontend()) {
+            fun newReturningFunction(type: String, global: Variable): Function {
+                val function = newFunction("foo")
+                function.parameters += newParameter("a", objectType(type))
+                val ref = newReference("g")
+                ref.refersTo = global
+                function.body =
+                    newBlock().apply { statements += newReturn().apply { returnValue = ref } }
+                return function
+            }
+
+            val g1 = newVariable("g", objectType("A"))
+            val g2 = newVariable("g", objectType("B"))
+            val key = cache.keyOf(newReturningFunction("A", g1), null)
+            assertEquals(key, cache.keyOf(newReturningFunction("A", g1), null))
+
+            // Overloads with the same body must not share a key
+            assertNotEquals(key, cache.keyOf(newReturningFunction("B", g1), null))
+
+            // Neither must the same code referring to a different declaration
+            assertNotEquals(key, cache.keyOf(newReturningFunction("A", g2), null))
+        }
+    }
+}
@@ -0,0 +1,439 @@
+/*
+ * Copyright (c) 2026, Fraunhofer AISEC. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *                    $$$$$$\  $$$$$$$\   $$$$$$\
+ *                   $$  __$$\ $$  __$$\ $$  __$$\
+ *                   $$ /  \__|$$ |  $$ |$$ /  \__|
+ *                   $$ |      $$$$$$$  |$$ |$$$$\
+ *                   $$ |      $$  ____/ $$ |\_$$ |
+ *                   $$ |  $$\ $$ |      $$ |  $$ |
+ *                   \$$$$$   |$$ |      \$$$$$   |
+ *                    \______/ \__|       \______/
+ *
+ */
+package de.fraunhofer.aisec.cpg.passes
+
+import de.fraunhofer.aisec.cpg.TranslationConfiguration
+import de.fraunhofer.aisec.cpg.TranslationContext
+import de.fraunhofer.aisec.cpg.TranslationResult
+import de.fraunhofer.aisec.cpg.frontends.TestLanguage
+import de.fraunhofer.aisec.cpg.frontends.TestLanguageFrontend
+import de.fraunhofer.aisec.cpg.frontends.testFrontend
+import de.fraunhofer.aisec.cpg.graph.Node
+import de.fraunhofer.aisec.cpg.graph.builder.body
+import de.fraunhofer.aisec.cpg.graph.builder.call
+import de.fraunhofer.aisec.cpg.graph.builder.declare
+import de.fraunhofer.aisec.cpg.graph.builder.function
+import de.fraunhofer.aisec.cpg.graph.builder.literal
+import de.fraunhofer.aisec.cpg.graph.builder.param
+import de.fraunhofer.aisec.cpg.graph.builder.ref
+import de.fraunhofer.aisec.cpg.graph.builder.returnStmt
+import de.fraunhofer.aisec.cpg.graph.builder.t
+import de.fraunhofer.aisec.cpg.graph.builder.translationResult
+import de.fraunhofer.aisec.cpg.graph.builder.translationUnit
+import de.fraunhofer.aisec.cpg.graph.builder.variable
+import de.fraunhofer.aisec.cpg.graph.declarations.Function
+import de.fraunhofer.aisec.cpg.graph.declarations.TranslationUnit
+import de.fraunhofer.aisec.cpg.graph.expressions.Literal
+import de.fraunhofer.aisec.cpg.graph.functions
+import de.fraunhofer.aisec.cpg.helpers.SubgraphWalker
+import de.fraunhofer.aisec.cpg.helpers.callGraphComponents
+import de.fraunhofer.aisec.cpg.helpers.orderEOGStartersBasedOnDependencies
+import de.fraunhofer.aisec.cpg.passes.configuration.DependsOn
+import de.fraunhofer.aisec.cpg.passes.configuration.FusedBy
+import de.fraunhofer.aisec.cpg.passes.configuration.SupportsParallelExecution
+import de.fraunhofer.aisec.cpg.test.GraphExamples
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.CyclicBarrier
+import java.util.concurrent.ForkJoinPool
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.concurrent.thread
+import kotlin.reflect.KClass
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertNotNull
+import kotlin.test.assertTrue
+import org.junit.jupiter.api.BeforeEach
+
+@SupportsParallelExecution
+class ParallelCountingPass(ctx: TranslationContext) : TranslationUnitPass(ctx) {
+    override fun cleanup() {}
+
+    override fun accept(t: TranslationUnit) {
+        visited[t] = Thread.currentThread().name
+    }
+
+    companion object {
+        val visited = ConcurrentHashMap<TranslationUnit, String>()
+    }
+}
+
+@DependsOn(ParallelCountingPass::class)
+class SequentialCountingPass(ctx: TranslationContext) : TranslationUnitPass(ctx) {
+    override fun cleanup() {}
+
+    override fun accept(t: TranslationUnit) {
+        // All targets of the parallel pass must be finished before we start
+        assertEquals(NUM_TRANSLATION_UNITS, ParallelCountingPass.visited.size)
+        counter.incrementAndGet()
+    }
+
+    companion object {
+        val counter = AtomicInteger()
+    }
+}
+
+@SupportsParallelExecution
+@DependsOn(SequentialCountingPass::class)
+class DependentParallelPass(ctx: TranslationContext) : TranslationUnitPass(ctx) {
+    override fun cleanup() {}
+
+    override fun accept(t: TranslationUnit) {}
+}
+
+@SupportsParallelExecution
+class ParallelLoopingPass(ctx: TranslationContext) : TranslationResultPass(ctx) {
+    override fun cleanup() {}
+
+    override fun accept(t: TranslationResult) {
+        t.markDirty<ParallelLoopingPass>()
+        counter.incrementAndGet()
+    }
+
+    companion object {
+        val counter = AtomicInteger()
+    }
+}
+
+@FusedBy(CountingFuser::class)
+abstract class FusableCountingPass(ctx: TranslationContext) : TranslationUnitPass(ctx) {
+    override fun cleanup() {}
+
+    override fun accept(t: TranslationUnit) {
+        counter.incrementAndGet()
+    }
+
+    companion object {
+        val counter = AtomicInteger()
+    }
+}
+
+@SupportsParallelExecution
+class FusableCountingPassA(ctx: TranslationContext) : FusableCountingPass(ctx)
+
+@SupportsParallelExecution
+class FusableCountingPassB(ctx: TranslationContext) : FusableCountingPass(ctx)
+
+class CountingFuser(ctx: TranslationContext, passes: List<KClass<out Pass<out Node>>>) :
+    FusedPass(ctx, passes) {
+    override fun acceptAll(tu: TranslationUnit, instances: List<Pass<*>>) {
+        walks.incrementAndGet()
+        instances.filterIsInstance<FusableCountingPass>().forEach { it.accept(tu) }
+    }
+
+    companion object {
+        val walks = AtomicInteger()
+    }
+}
+
+@SupportsParallelExecution
+class CallOrderRecordingPass(ctx: TranslationContext) :
+    EOGStarterPass(ctx, orderDependencies = true) {
+    override fun cleanup() {}
+
+    override fun accept(t: Node) {
+        if (t is Function) {
+            consumed += t.name.localName
+        }
+    }
+
+    companion object {
+        val consumed = ConcurrentLinkedQueue<String>()
+    }
+}
+
+private const val NUM_TRANSLATION_UNITS = 20
+
+class ParallelPassExecutionTest {
+    @BeforeEach
+    fun resetCounters() {
+        ParallelCountingPass.visited.clear()
+        SequentialCountingPass.counter.set(0)
+        ParallelLoopingPass.counter.set(0)
+        FusableCountingPass.counter.set(0)
+        CountingFuser.walks.set(0)
+    }
+
+    @Test
+    fun testParallelTargets() {
+        val result =
+            with(
+                TestLanguageFrontend(
+                    ctx =
+                        TranslationContext(
+                            config =
+                                TranslationConfiguration.builder()
+                                    .registerPass<ParallelCountingPass>()
+                                    .registerPass<SequentialCountingPass>()
+                                    .useParallelPasses(true)
+                                    .build()
+                        )
+                )
+            ) {
+                translationResult {
+                    for (i in 0 until NUM_TRANSLATION_UNITS) {
+                        translationUnit("file$i.file") {}
+                    }
+                }
+            }
+
+        assertNotNull(result)
+        assertEquals(NUM_TRANSLATION_UNITS, ParallelCountingPass.visited.size)
+        assertEquals(NUM_TRANSLATION_UNITS, SequentialCountingPass.counter.get())
+        assertTrue(ParallelCountingPass.visited.values.all { it.startsWith("ForkJoinPool") })
+    }
+
+    @Test
+    fun testFusedPasses() {
+        for (parallel in listOf(false, true)) {
+            FusableCountingPass.counter.set(0)
+            CountingFuser.walks.set(0)
+
+            val result =
+                with(
+                    TestLanguageFrontend(
+                        ctx =
+                            TranslationContext(
+                                config =
+                                    TranslationConfiguration.builder()
+                                        .registerPass<FusableCountingPassA>()
+                                        .registerPass<FusableCountingPassB>()
+                                        .useParallelPasses(parallel)
+                                        .useFusedPasses(true)
+                                        .build()
+                            )
+                    )
+                ) {
+                    translationResult {
+                        for (i in 0 until NUM_TRANSLATION_UNITS) {
+                            translationUnit("file$i.file") {}
+                        }
+                    }
+                }
+
+            assertNotNull(result)
+            // Both passes consume every translation unit, but each one is only walked once
+            assertEquals(2 * NUM_TRANSLATION_UNITS, FusableCountingPass.counter.get())
+            assertEquals(NUM_TRANSLATION_UNITS, CountingFuser.walks.get())
+        }
+    }
+
+    @Test
+    fun testPipelinedPasses() {
+        val ctx =
+            TranslationContext(
+                TranslationConfiguration.builder()
+                    .registerPass<ParallelCountingPass>()
+                    .registerPass<SequentialCountingPass>()
+                    .registerPass<DependentParallelPass>()
+                    .registerPass<ParallelLoopingPass>()
+                    .usePipelinedPasses(true)
+                    .build()
+            )
+
+        // The dependent pass needs to wait for the sequential pass and the looping pass needs the
+        // whole result, so only the parallel counting pass can be executed right after parsing
+        assertEquals(listOf(ParallelCountingPass::class), pipelinedPasses(ctx))
+
+        // In the default configuration, the EOG pass needs to wait for the ambiguity passes, which
+        // (indirectly) depend on passes that need all translation units. If we do not know the
+        // languages, we have to assume that they are executed
+        val defaultCtx =
+            TranslationContext(TranslationConfiguration.builder().defaultPasses().build())
+        assertTrue(EvaluationOrderGraphPass::class !in pipelinedPasses(defaultCtx))
+
+        // But the test language has no ambiguities, so the EOG pass and the passes that only depend
+        // on it can be executed right after parsing
+        val testLanguageCtx =
+            TranslationContext(
+                TranslationConfiguration.builder()
+                    .defaultPasses()
+                    .registerLanguage<TestLanguage>()
+                    .build()
+            )
+        assertEquals(
+            listOf(EvaluationOrderGraphPass::class, BasicBlockCollectorPass::class, SccPass::class),
+            pipelinedPasses(testLanguageCtx),
+        )
+        assertTrue(runsWithAnyLanguage(EvaluationOrderGraphPass::class, testLanguageCtx.config))
+        assertFalse(runsWithAnyLanguage(ResolveCallAmbiguityPass::class, testLanguageCtx.config))
+    }
+
+    @Test
+    fun testMaxExecutions() {
+        val result =
+            with(
+                TestLanguageFrontend(
+                    ctx =
+                        TranslationContext(
+                            config =
+                                TranslationConfiguration.builder()
+                                    .registerPass<ParallelLoopingPass>()
+                                    .maxPassExecutions(3)
+                                    .useParallelPasses(true)
+                                    .build()
+                        )
+                )
+            ) {
+                translationResult {}
+            }
+
+        assertNotNull(result)
+        assertEquals(3, ParallelLoopingPass.counter.get())
+    }
+
+    @Test
+    fun testEOGStarterOrder() {
+        val result = GraphExamples.getInitializerListExprDFG()
+        val foo = result.functions["foo"]
+        assertNotNull(foo)
+        val main = result.functions["main"]
+        assertNotNull(main)
+
+        // main calls foo, so foo needs to be analyzed first
+        assertEquals(
+            listOf<Node>(foo, main),
+            orderEOGStartersBasedOnDependencies(listOf(main, foo)),
+        )
+    }
+
+    @Test
+    fun testCallGraphComponents() {
+        val result = GraphExamples.getInitializerListExprDFG()
+        val foo = result.functions["foo"]
+        assertNotNull(foo)
+        val main = result.functions["main"]
+        assertNotNull(main)
+
+        // Neither function is recursive, so each one forms its own component and the component of
+        // the callee comes first
+        val components = callGraphComponents(listOf(main, foo))
+        assertEquals(listOf(listOf(foo), listOf(main)), components.map { it.functions })
+        assertEquals(setOf(components[0]), components[1].callees.toSet())
+        assertTrue(components[0].callees.isEmpty())
+    }
+
+    /**
+     * Builds a graph in which the functions `a` and `b`, which form two independent components of
+     * the call graph, call the same function `callee`. The [PointsToPass] is not executed.
+     */
+    private fun sharedCalleeGraph(): TranslationResult {
+        val config =
+            TranslationConfiguration.builder()
+                .disablePointsToAnalysis()
+                .defaultPasses()
+                .registerLanguage<TestLanguage>()
+                .build()
+
+        return testFrontend(config).build {
+            translationResult {
+                translationUnit("callee.file") {
+                    function("callee", t("int")) {
+                        param("p", t("int"))
+                        body { returnStmt { ref("p") } }
+                    }
+                    for ((caller, value) in listOf("a" to 1, "b" to 2)) {
+                        function(caller, t("int")) {
+                            body {
+                                declare {
+                                    variable("x", t("int")) {
+                                        call("callee") { literal(value, t("int")) }
+                                    }
+                                }
+                                returnStmt { ref("x") }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /** Executes the [PointsToPass] on the callers of [sharedCalleeGraph] and describes the DFG. */
+    private fun analyzeSharedCallee(parallel: Boolean): List<String> {
+        val result = sharedCalleeGraph()
+        val callers = listOf("a", "b").map { assertNotNull(result.functions[it]) }
+
+        if (parallel) {
+            // Both instances discover the callee at (roughly) the same time
+            val barrier = CyclicBarrier(callers.size)
+            val errors = ConcurrentLinkedQueue<Throwable>()
+            callers
+                .map { caller ->
+                    thread {
+                        try {
+                            barrier.await()
+                            PointsToPass(result.finalCtx).accept(caller)
+                        } catch (e: Throwable) {
+                            errors += e
+                        }
+                    }
+                }
+                .forEach { it.join() }
+            assertTrue(errors.isEmpty(), "$errors")
+        } else {
+            callers.forEach { PointsToPass(result.finalCtx).accept(it) }
+        }
+
+        fun Node.key() = "${javaClass.simpleName} $name ${(this as? Literal<*>)?.value}"
+
+        return result.translationUnits
+            .flatMap { SubgraphWalker.flattenAST(it) }
+            .map { node -> "${node.key()} <- ${node.prevDFG.map { it.key() }.sorted()}" }
+            .sorted()
+    }
+
+    @Test
+    fun testEOGStartersBottomUpInParallel() {
+        val result = sharedCalleeGraph()
+        CallOrderRecordingPass.consumed.clear()
+
+        val pool = ForkJoinPool(4)
+        try {
+            executePass(
+                CallOrderRecordingPass::class,
+                result.finalCtx,
+                result,
+                listOf(),
+                pool = pool,
+            )
+        } finally {
+            pool.shutdown()
+        }
+
+        // Even in parallel, the callers are only consumed once their callee has been consumed
+        val consumed = CallOrderRecordingPass.consumed.toList()
+        assertEquals(setOf("callee", "a", "b"), consumed.toSet())
+        assertEquals("callee", consumed.first())
+    }
+
+    @Test
+    fun testSharedCalleeInParallel() {
+        val expected = analyzeSharedCallee(parallel = false)
+        repeat(10) { assertEquals(expected, analyzeSharedCallee(parallel = true)) }
+    }
+}
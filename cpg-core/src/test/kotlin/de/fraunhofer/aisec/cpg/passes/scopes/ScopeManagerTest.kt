@@ -29,6 +29,8 @@ import de.fraunhofer.aisec.cpg.*
 import de.fraunhofer.aisec.cpg.frontends.TestLanguageFrontend
 import de.fraunhofer.aisec.cpg.frontends.TestLanguageWithColon
 import de.fraunhofer.aisec.cpg.graph.*
+import de.fraunhofer.aisec.cpg.graph.declarations.Declaration
+import de.fraunhofer.aisec.cpg.graph.declarations.Function
 import de.fraunhofer.aisec.cpg.graph.scopes.NameScope
 import de.fraunhofer.aisec.cpg.test.*
 import kotlin.test.*
@@ -171,6 +173,60 @@ internal class ScopeManagerTest : BaseTest() {
         }
     }
 
+    @Test
+    fun testSymbolLookupCache() {
+        val ctx = TranslationContext(config)
+        val s = ctx.scopeManager
+        val frontend = TestLanguageFrontend(ctx, TestLanguageWithColon())
+        with(frontend) {
+            val tu = frontend.newTranslationUnit("file.cpp", null)
+            s.resetToGlobal(tu)
+
+            val namespaceA = frontend.newNamespace("A", null)
+            s.enterScope(namespaceA)
+            val funcA = frontend.newFunction("funcA")
+            s.addDeclaration(funcA)
+            s.leaveScope(namespaceA)
+
+            val namespaceB = frontend.newNamespace("B", null)
+            s.enterScope(namespaceB)
+            s.leaveScope(namespaceB)
+
+            val scopeA = s.lookupScope(parseName("A"))
+            assertNotNull(scopeA)
+            val scopeB = s.lookupScope(parseName("B"))
+            assertNotNull(scopeB)
+
+            fun lookup(predicate: ((Declaration) -> Boolean)? = null) =
+                s.lookupSymbolByName(
+                    parseName("funcA"),
+                    frontend.language,
+                    startScope = scopeA,
+                    predicate = predicate,
+                )
+
+            assertEquals(listOf<Declaration>(funcA), lookup())
+            assertEquals(listOf<Declaration>(funcA), lookup())
+            assertEquals(1, s.symbolLookupCacheMisses)
+            assertEquals(1, s.symbolLookupCacheHits)
+
+            // Lookups with a predicate can also be answered from the cache
+            assertEquals(listOf<Declaration>(funcA), lookup { it is Function })
+            assertEquals(2, s.symbolLookupCacheHits)
+
+            // Modifying an unrelated scope must keep the cached lookup
+            scopeB.addSymbol("funcA", frontend.newFunction("funcA"))
+            assertEquals(listOf<Declaration>(funcA), lookup())
+            assertEquals(3, s.symbolLookupCacheHits)
+
+            // Modifying a scope in the scope chain of the lookup must invalidate it
+            val overload = frontend.newFunction("funcA")
+            scopeA.addSymbol("funcA", overload)
+            assertEquals(listOf<Declaration>(funcA, overload), lookup())
+            assertEquals(2, s.symbolLookupCacheMisses)
+        }
+    }
+
     @Test
     fun testMatchesSignature() {
         val frontend = TestLanguageFrontend(TranslationContext(config))
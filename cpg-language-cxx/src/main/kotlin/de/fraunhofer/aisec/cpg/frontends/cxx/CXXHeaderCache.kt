@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2026, Fraunhofer AISEC. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *                    $$$$$$\  $$$$$$$\   $$$$$$\
+ *                   $$  __$$\ $$  __$$\ $$  __$$\
+ *                   $$ /  \__|$$ |  $$ |$$ /  \__|
+ *                   $$ |      $$$$$$$  |$$ |$$$$\
+ *                   $$ |      $$  ____/ $$ |\_$$ |
+ *                   $$ |  $$\ $$ |      $$ |  $$ |
+ *                   \$$$$$   |$$ |      \$$$$$   |
+ *                    \______/ \__|       \______/
+ *
+ */
+package de.fraunhofer.aisec.cpg.frontends.cxx
+
+import de.fraunhofer.aisec.cpg.TranslationConfiguration
+import de.fraunhofer.aisec.cpg.TranslationContext
+import java.io.File
+import java.util.concurrent.atomic.AtomicLong
+import org.eclipse.cdt.core.parser.FileContent
+import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContent
+import org.slf4j.LoggerFactory
+
+/**
+ * A cache for the contents of header files, shared by all instances of [CXXLanguageFrontend] of a
+ * translation (and therefore all parallel CDT parse contexts), see [headerCache]. Without it, every
+ * translation unit re-reads and re-decodes the same (system) headers.
+ *
+ * Entries are keyed by the path of the header and are invalidated if the modification time or
+ * size of the file changes. The cache only holds the decoded characters, every lookup returns a
+ * fresh [InternalFileContent] wrapping them, since CDT keeps per-parse state in the content
+ * object. The cache is bounded by the total number of characters it holds and evicts the least
+ * recently used headers first.
+ */
+class CXXHeaderCache(
+    /** The maximum number of characters (across all headers) to keep in the cache. */
+    val maxSize: Long
+) {
+    private class Entry(val lastModified: Long, val length: Long, val chars: CharArray)
+
+    /** The cached entries in access order, guarded by `this`. */
+    private val entries = LinkedHashMap<String, Entry>(16, 0.75f, true)
+
+    /** The number of characters currently held by [entries], guarded by `this`. */
+    private var size = 0L
+
+    /** The number of lookups that could be served from the cache. */
+    val hits = AtomicLong()
+
+    /** The number of lookups that needed to load the file. */
+    val misses = AtomicLong()
+
+    /**
+     * Returns the content of the header at [path], loading it if it is not cached or has changed
+     * on disk since it was cached. Returns null if the file cannot be read.
+     */
+    fun get(path: String): InternalFileContent? {
+        // If caching is disabled, we can directly hand out the content that CDT loaded
+        if (maxSize == 0L) {
+            return FileContent.createForExternalFileLocation(path) as? InternalFileContent
+        }
+
+        val file = File(path)
+        val lastModified = file.lastModified()
+        val length = file.length()
+
+        val cached =
+            synchronized(this) {
+                entries[path]?.takeIf { it.lastModified == lastModified && it.length == length }
+            }
+        if (cached != null) {
+            hits.incrementAndGet()
+            return FileContent.create(path, cached.chars) as? InternalFileContent
+        }
+
+        // Load the file outside the lock, so that parse contexts do not have to wait for each
+        // other. If two threads miss on the same header at the same time, it is loaded twice,
+        // which is harmless.
+        misses.incrementAndGet()
+        LOGGER.debug("Loading include file {}", path)
+        val content = FileContent.createForExternalFileLocation(path) as? InternalFileContent
+        val source = content?.source ?: return content
+
+        val chars = CharArray(source.length)
+        source.arraycopy(0, chars, 0, chars.size)
+        put(path, Entry(lastModified, length, chars))
+
+        return FileContent.create(path, chars) as? InternalFileContent
+    }
+
+    @Synchronized
+    private fun put(path: String, entry: Entry) {
+        // Headers that would fill more than the whole cache are not worth keeping
+        if (entry.chars.size > maxSize) {
+            return
+        }
+
+        entries.put(path, entry)?.let { size -= it.chars.size }
+        size += entry.chars.size
+
+        val iterator = entries.values.iterator()
+        while (size > maxSize && iterator.hasNext()) {
+            size -= iterator.next().chars.size
+            iterator.remove()
+        }
+    }
+
+    /** Removes all entries from the cache. */
+    @Synchronized
+    fun clear() {
+        entries.clear()
+        size = 0
+    }
+
+    companion object {
+        private val LOGGER = LoggerFactory.getLogger(CXXHeaderCache::class.java)
+    }
+}
+
+/**
+ * The [CXXHeaderCache] of this translation. Its size is configured by
+ * [TranslationConfiguration.headerCacheSize].
+ */
+val TranslationContext.headerCache: CXXHeaderCache
+    get() =
+        caches.computeIfAbsent(CXXHeaderCache::class) { CXXHeaderCache(config.headerCacheSize) }
+            as CXXHeaderCache
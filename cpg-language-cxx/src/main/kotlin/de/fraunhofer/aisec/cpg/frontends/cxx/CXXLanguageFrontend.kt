@@ -100,14 +100,14 @@ open class CXXLanguageFrontend(ctx: TranslationContext, language: Language<CXXLa
      */
     private val includeFileContentProvider: IncludeFileContentProvider =
         object : InternalFileContentProvider() {
-            var cache = mutableMapOf<String, FileContent>()
-
             /**
-             * Returns the content of this path, without any cache.
+             * Returns the content of this path. The content itself is shared across all frontends
+             * of the translation through [headerCache], the inclusion checks are specific to this
+             * frontend.
              *
              * @return the content of the path of null if it is to be excluded
              */
-            private fun getContentUncached(path: String): InternalFileContent? {
+            private fun getContent(path: String): InternalFileContent? {
                 if (!getInclusionExists(path)) {
                     return null
                 }
@@ -127,11 +127,7 @@ open class CXXLanguageFrontend(ctx: TranslationContext, language: Language<CXXLa
                     return null
                 }
 
-                return cache.computeIfAbsent(path) {
-                    LOGGER.debug("Loading include file {}", path)
-                    val content = FileContent.createForExternalFileLocation(path)
-                    content
-                } as? InternalFileContent
+                return ctx.headerCache.get(path)
             }
 
             private fun hasIncludeWhitelist(): Boolean {
@@ -185,14 +181,14 @@ open class CXXLanguageFrontend(ctx: TranslationContext, language: Language<CXXLa
                 path: String,
                 macroDictionary: IMacroDictionary,
             ): InternalFileContent? {
-                return getContentUncached(path)
+                return getContent(path)
             }
 
             override fun getContentForInclusion(
                 ifl: IIndexFileLocation,
                 astPath: String,
             ): InternalFileContent? {
-                return getContentUncached(astPath)
+                return getContent(astPath)
             }
         }
 
@@ -27,6 +27,7 @@ package de.fraunhofer.aisec.cpg.passes.concepts.flows.cxx
 
 import de.fraunhofer.aisec.cpg.TranslationContext
 import de.fraunhofer.aisec.cpg.graph.Node
+import de.fraunhofer.aisec.cpg.graph.component
 import de.fraunhofer.aisec.cpg.graph.concepts.arch.POSIX
 import de.fraunhofer.aisec.cpg.graph.concepts.arch.Win32
 import de.fraunhofer.aisec.cpg.graph.concepts.flows.EntryPoint
@@ -36,12 +37,16 @@ import de.fraunhofer.aisec.cpg.graph.declarations.Function
 import de.fraunhofer.aisec.cpg.graph.declarations.TranslationUnit
 import de.fraunhofer.aisec.cpg.passes.Description
 import de.fraunhofer.aisec.cpg.passes.concepts.ConceptPass
+import de.fraunhofer.aisec.cpg.passes.configuration.SupportsParallelExecution
+import kotlin.reflect.KClass
 
 /** A pass that fills the [EntryPoint] concept into the CPG. */
 @Description(
     "A pass that identifies C/C++ entry points like main and DllMain and adds the respective concepts to the CPG."
 )
+@SupportsParallelExecution
 class CXXEntryPointsPass(ctx: TranslationContext) : ConceptPass(ctx) {
+    override val handledNodeTypes: Set<KClass<out Node>> = setOf(Function::class)
 
     override fun handleNode(node: Node, tu: TranslationUnit) {
         when (node) {
@@ -74,6 +79,9 @@ class CXXEntryPointsPass(ctx: TranslationContext) : ConceptPass(ctx) {
                 else -> return
             }
 
-        ctx.currentComponent?.incomingInteractions += entry
+        // The component is shared between the translation units, which might be handled in
+        // parallel, so we cannot rely on ctx.currentComponent here
+        val component = tu.component ?: return
+        synchronized(component.incomingInteractions) { component.incomingInteractions += entry }
     }
 }
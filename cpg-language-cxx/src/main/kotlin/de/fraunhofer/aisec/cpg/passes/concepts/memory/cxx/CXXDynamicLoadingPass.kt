@@ -56,6 +56,7 @@ import de.fraunhofer.aisec.cpg.passes.configuration.DependsOn
 import de.fraunhofer.aisec.cpg.passes.configuration.ExecuteBefore
 import kotlin.io.path.Path
 import kotlin.io.path.nameWithoutExtension
+import kotlin.reflect.KClass
 
 /** A pass that fills the [DynamicLoading] concept into the CPG. */
 @DependsOn(ControlFlowSensitiveDFGPass::class, true)
@@ -66,6 +67,7 @@ import kotlin.io.path.nameWithoutExtension
     "Identifies dynamic loading operations (e.g., dlopen, dlsym, LoadLibrary) in C/C++ code and represents them as DynamicLoading concepts in the CPG."
 )
 class CXXDynamicLoadingPass(ctx: TranslationContext) : ConceptPass(ctx) {
+    override val handledNodeTypes: Set<KClass<out Node>> = setOf(Call::class)
 
     override fun handleNode(node: Node, tu: TranslationUnit) {
         when (node) {
@@ -46,6 +46,7 @@ import de.fraunhofer.aisec.cpg.passes.EvaluationOrderGraphPass
 import de.fraunhofer.aisec.cpg.passes.SymbolResolver
 import de.fraunhofer.aisec.cpg.passes.concepts.ConceptPass
 import de.fraunhofer.aisec.cpg.passes.configuration.DependsOn
+import kotlin.reflect.KClass
 
 /**
  * Recognises C/C++ standard-library allocator calls (`malloc`, `calloc`, `realloc`) and attaches an
@@ -66,6 +67,7 @@ import de.fraunhofer.aisec.cpg.passes.configuration.DependsOn
     "Recognises C/C++ allocator calls (malloc, calloc, realloc) and attaches Allocate concepts."
 )
 class CXXMemoryAllocationPass(ctx: TranslationContext) : ConceptPass(ctx) {
+    override val handledNodeTypes: Set<KClass<out Node>> = setOf(Call::class)
 
     companion object {
         val RECOGNIZED_ALLOCATORS = setOf("malloc", "calloc", "realloc")
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026, Fraunhofer AISEC. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *                    $$$$$$\  $$$$$$$\   $$$$$$\
+ *                   $$  __$$\ $$  __$$\ $$  __$$\
+ *                   $$ /  \__|$$ |  $$ |$$ /  \__|
+ *                   $$ |      $$$$$$$  |$$ |$$$$\
+ *                   $$ |      $$  ____/ $$ |\_$$ |
+ *                   $$ |  $$\ $$ |      $$ |  $$ |
+ *                   \$$$$$   |$$ |      \$$$$$   |
+ *                    \______/ \__|       \______/
+ *
+ */
+package de.fraunhofer.aisec.cpg.frontends.cxx
+
+import java.nio.file.Files
+import kotlin.io.path.writeText
+import kotlin.test.*
+
+internal class CXXHeaderCacheTest {
+    @Test
+    fun testReuseAndInvalidation() {
+        val header = Files.createTempFile("header", ".h")
+        header.writeText("int a;")
+
+        val cache = CXXHeaderCache(1024)
+        val path = header.toString()
+
+        val first = cache.get(path)
+        assertNotNull(first)
+        val second = cache.get(path)
+        assertNotNull(second)
+
+        // Every lookup returns its own content object, backed by the same characters
+        assertNotSame(first, second)
+        assertEquals(1, cache.misses.get())
+        assertEquals(1, cache.hits.get())
+
+        // Changing the file on disk invalidates the entry
+        header.writeText("int a; int b;")
+        header.toFile().setLastModified(header.toFile().lastModified() + 2000)
+
+        val third = cache.get(path)
+        assertNotNull(third)
+        assertEquals("int a; int b;".length, third.source.length)
+        assertEquals(2, cache.misses.get())
+
+        Files.delete(header)
+    }
+
+    @Test
+    fun testEviction() {
+        val headers = (0 until 3).map { Files.createTempFile("header$it", ".h") }
+        headers.forEach { it.writeText("x".repeat(10)) }
+
+        // Only two of the headers fit into the cache
+        val cache = CXXHeaderCache(25)
+        headers.forEach { cache.get(it.toString()) }
+        assertEquals(3, cache.misses.get())
+
+        // The first one was evicted, the last one is still cached
+        cache.get(headers[2].toString())
+        assertEquals(1, cache.hits.get())
+        cache.get(headers[0].toString())
+        assertEquals(4, cache.misses.get())
+
+        headers.forEach { Files.delete(it) }
+    }
+
+    @Test
+    fun testDisabled() {
+        val header = Files.createTempFile("header", ".h")
+        header.writeText("int a;")
+
+        // A cache of size 0 neither copies nor keeps the content
+        val cache = CXXHeaderCache(0)
+        assertNotNull(cache.get(header.toString()))
+        assertNotNull(cache.get(header.toString()))
+        assertEquals(0, cache.hits.get())
+        assertEquals(0, cache.misses.get())
+
+        Files.delete(header)
+    }
+}
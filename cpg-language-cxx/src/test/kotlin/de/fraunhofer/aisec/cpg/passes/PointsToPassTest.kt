@@ -41,6 +41,7 @@ import de.fraunhofer.aisec.cpg.test.analyzeAndGetFirstTU
 import de.fraunhofer.aisec.cpg.test.assertInvokes
 import de.fraunhofer.aisec.cpg.test.assertLocalName
 import java.io.File
+import java.util.IdentityHashMap
 import kotlin.collections.singleOrNull
 import kotlin.test.Test
 import kotlin.test.assertContains
@@ -5138,4 +5139,30 @@ class PointsToPassTest {
         // For this one, we rely on the DynamicInvokesResolver
         assertInvokes(funcPtrCall2, incpFunc)
     }
+
+    @Test
+    fun testPersistentState() {
+        val file = File("src/test/resources/pointsToPass/pointsto.cpp")
+
+        // Returns the DFG predecessors of each AST node by their index in the AST
+        fun analyzeWith(persistent: Boolean): List<Set<Any>> {
+            val tu =
+                analyzeAndGetFirstTU(listOf(file), file.parentFile.toPath(), true) {
+                    it.registerLanguage<CPPLanguage>()
+                    it.registerPass<PointsToPass>()
+                    it.registerFunctionSummaries(File("src/test/resources/hardcodedDFGedges.yml"))
+                    it.usePersistentPointsToState(persistent)
+                }
+            assertNotNull(tu)
+
+            val nodes = tu.allChildren<Node>()
+            val indices = IdentityHashMap<Node, Int>()
+            nodes.forEachIndexed { idx, node -> indices[node] = idx }
+            return nodes.map { node ->
+                node.prevDFG.mapTo(mutableSetOf()) { indices[it] ?: it.name.toString() }
+            }
+        }
+
+        assertEquals(analyzeWith(false), analyzeWith(true))
+    }
 }
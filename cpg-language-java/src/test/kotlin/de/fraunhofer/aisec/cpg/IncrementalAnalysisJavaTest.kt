@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2026, Fraunhofer AISEC. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *                    $$$$$$\  $$$$$$$\   $$$$$$\
+ *                   $$  __$$\ $$  __$$\ $$  __$$\
+ *                   $$ /  \__|$$ |  $$ |$$ /  \__|
+ *                   $$ |      $$$$$$$  |$$ |$$$$\
+ *                   $$ |      $$  ____/ $$ |\_$$ |
+ *                   $$ |  $$\ $$ |      $$ |  $$ |
+ *                   \$$$$$   |$$ |      \$$$$$   |
+ *                    \______/ \__|       \______/
+ *
+ */
+package de.fraunhofer.aisec.cpg
+
+import de.fraunhofer.aisec.cpg.frontends.java.JavaLanguage
+import de.fraunhofer.aisec.cpg.graph.*
+import de.fraunhofer.aisec.cpg.graph.expressions.Call
+import de.fraunhofer.aisec.cpg.graph.expressions.Reference
+import de.fraunhofer.aisec.cpg.helpers.SubgraphWalker
+import java.io.File
+import java.nio.file.Files
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertNotNull
+import kotlin.test.assertTrue
+
+class IncrementalAnalysisJavaTest {
+    @Test
+    fun testCrossFileEdgesAreRemoved() {
+        val topLevel =
+            Files.createTempDirectory("cpg-incremental-java-test").toFile().apply { deleteOnExit() }
+        val a =
+            File(topLevel, "A.java").apply {
+                writeText("public class A {\n  public static int source() { return 1; }\n}\n")
+            }
+        File(topLevel, "B.java").apply {
+            writeText(
+                "public class B {\n  public int sink() {\n    int x = A.source();\n    return x;\n  }\n}\n"
+            )
+        }
+
+        val manager =
+            TranslationManager.builder()
+                .config(
+                    TranslationConfiguration.builder()
+                        .topLevel(topLevel)
+                        .sourceLocations(topLevel)
+                        .defaultPasses()
+                        .registerLanguage<JavaLanguage>()
+                        .useIncrementalAnalysis(true)
+                        .build()
+                )
+                .build()
+
+        val result = manager.analyze().get()
+        val oldTU = result.sourceFingerprints[a.absoluteFile]?.translationUnit
+        assertNotNull(oldTU)
+        val oldSource = oldTU.functions["source"]
+        assertNotNull(oldSource)
+
+        val call = result.calls["source"]
+        assertNotNull(call)
+        assertEquals(listOf(oldSource), call.invokes)
+        assertTrue(oldSource in call.prevDFG)
+
+        // Only change the callee, the translation unit of the caller is kept
+        a.writeText("public class A {\n  public static int source() { return 2; }\n}\n")
+        val incremental = manager.analyzeIncrementally(result).get()
+
+        val newTU = incremental.sourceFingerprints[a.absoluteFile]?.translationUnit
+        assertNotNull(newTU)
+        val newSource = newTU.functions["source"]
+        assertNotNull(newSource)
+        assertEquals(listOf(newSource), call.invokes)
+        assertTrue(newSource in call.prevDFG)
+
+        // No edge of the remaining graph may point into the removed translation unit anymore
+        val removed = SubgraphWalker.flattenAST(oldTU).toSet() + oldTU
+        for (node in incremental.translationUnits.flatMap { SubgraphWalker.flattenAST(it) }) {
+            val neighbors =
+                node.prevDFG +
+                    node.nextDFG +
+                    node.prevEOG +
+                    node.nextEOG +
+                    ((node as? Call)?.invokes ?: listOf()) +
+                    listOfNotNull((node as? Reference)?.refersTo)
+            assertTrue(neighbors.none { it in removed }, "$node still points into the removed TU")
+        }
+
+        // And the removed nodes do not point into the remaining graph either
+        for (node in removed) {
+            assertTrue(node.prevDFG.isEmpty() && node.nextDFG.isEmpty())
+            assertTrue(node.prevEOG.isEmpty() && node.nextEOG.isEmpty())
+        }
+
+        topLevel.deleteRecursively()
+    }
+}
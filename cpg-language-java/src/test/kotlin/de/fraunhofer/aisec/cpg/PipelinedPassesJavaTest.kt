@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026, Fraunhofer AISEC. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *                    $$$$$$\  $$$$$$$\   $$$$$$\
+ *                   $$  __$$\ $$  __$$\ $$  __$$\
+ *                   $$ /  \__|$$ |  $$ |$$ /  \__|
+ *                   $$ |      $$$$$$$  |$$ |$$$$\
+ *                   $$ |      $$  ____/ $$ |\_$$ |
+ *                   $$ |  $$\ $$ |      $$ |  $$ |
+ *                   \$$$$$   |$$ |      \$$$$$   |
+ *                    \______/ \__|       \______/
+ *
+ */
+package de.fraunhofer.aisec.cpg
+
+import de.fraunhofer.aisec.cpg.frontends.java.JavaLanguage
+import de.fraunhofer.aisec.cpg.graph.*
+import de.fraunhofer.aisec.cpg.graph.declarations.TranslationUnit
+import de.fraunhofer.aisec.cpg.graph.expressions.Call
+import de.fraunhofer.aisec.cpg.graph.expressions.Reference
+import de.fraunhofer.aisec.cpg.helpers.SubgraphWalker
+import de.fraunhofer.aisec.cpg.passes.EvaluationOrderGraphPass
+import de.fraunhofer.aisec.cpg.passes.TranslationUnitPass
+import de.fraunhofer.aisec.cpg.passes.configuration.DependsOn
+import de.fraunhofer.aisec.cpg.passes.configuration.SupportsParallelExecution
+import de.fraunhofer.aisec.cpg.passes.pipelinedPasses
+import java.io.File
+import java.util.concurrent.ConcurrentHashMap
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertTrue
+
+/** Records, whether the symbols of a translation unit were already resolved when visiting it. */
+@SupportsParallelExecution
+@DependsOn(EvaluationOrderGraphPass::class)
+class UnresolvedCallsRecordingPass(ctx: TranslationContext) : TranslationUnitPass(ctx) {
+    override fun cleanup() {}
+
+    override fun accept(t: TranslationUnit) {
+        // The EOG pass needs to be executed before us, but the symbol resolver not yet
+        val hasEOG = t.functions.filter { it.body != null }.all { it.nextEOG.isNotEmpty() }
+        unresolved[t.name.toString()] = hasEOG && t.calls.all { it.invokes.isEmpty() }
+    }
+
+    companion object {
+        val unresolved = ConcurrentHashMap<String, Boolean>()
+    }
+}
+
+class PipelinedPassesJavaTest {
+    private fun analyze(pipelined: Boolean, parallel: Boolean): TranslationResult {
+        val topLevel = File("src/test/resources/calls")
+        val config =
+            TranslationConfiguration.builder()
+                .topLevel(topLevel)
+                .sourceLocations(topLevel)
+                .defaultPasses()
+                .registerPass<UnresolvedCallsRecordingPass>()
+                .registerLanguage<JavaLanguage>()
+                .useParallelFrontends(parallel)
+                .usePipelinedPasses(pipelined)
+                .build()
+
+        if (pipelined) {
+            // The Java language has no ambiguities, so the EOG pass does not need to wait for
+            // passes that need all translation units
+            val passes = pipelinedPasses(TranslationContext(config))
+            assertTrue(EvaluationOrderGraphPass::class in passes)
+            assertTrue(UnresolvedCallsRecordingPass::class in passes)
+        }
+
+        UnresolvedCallsRecordingPass.unresolved.clear()
+        return TranslationManager.builder().config(config).build().analyze().get()
+    }
+
+    /** A textual representation of the nodes of [result] and their EOG, DFG and symbol edges. */
+    private fun graphOf(result: TranslationResult): List<String> {
+        fun Node.key() = "${javaClass.simpleName} $name $location"
+
+        return result.translationUnits
+            .flatMap { SubgraphWalker.flattenAST(it) }
+            .map { node ->
+                val invokes = (node as? Call)?.invokes ?: listOf()
+                val refersTo = listOfNotNull((node as? Reference)?.refersTo)
+                "${node.key()} eog=${node.nextEOG.map { it.key() }.sorted()} " +
+                    "dfg=${node.prevDFG.map { it.key() }.sorted()} " +
+                    "invokes=${invokes.map { it.key() }} refersTo=${refersTo.map { it.key() }}"
+            }
+            .sorted()
+    }
+
+    @Test
+    fun testPipelinedPasses() {
+        val expected = graphOf(analyze(pipelined = false, parallel = false))
+
+        for (parallel in listOf(false, true)) {
+            val result = analyze(pipelined = true, parallel = parallel)
+
+            // Each file was visited on its own, before the symbols were resolved
+            assertEquals(
+                result.translationUnits.map { it.name.toString() }.toSet(),
+                UnresolvedCallsRecordingPass.unresolved.keys,
+            )
+            assertTrue(UnresolvedCallsRecordingPass.unresolved.values.all { it })
+            assertTrue(result.calls.any { it.invokes.isNotEmpty() })
+
+            assertEquals(expected, graphOf(result))
+        }
+    }
+}
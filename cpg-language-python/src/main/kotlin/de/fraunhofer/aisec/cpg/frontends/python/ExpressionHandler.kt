@@ -477,12 +477,12 @@ class ExpressionHandler(frontend: PythonLanguageFrontend) :
         // TODO: this is ugly
 
         return if (
-            (node.pyObject.getAttr("value") as? PyObject)?.getAttr("__class__").toString() ==
+            (node.attr("value") as? PyObject)?.getAttr("__class__").toString() ==
                 "<class 'complex'>"
         ) {
             val tpe = primitiveType("complex")
-            return newLiteral(node.pyObject.getAttr("value").toString(), type = tpe, rawNode = node)
-        } else if (node.pyObject.getAttr("value") == null) {
+            return newLiteral(node.attr("value").toString(), type = tpe, rawNode = node)
+        } else if (node.attr("value") == null) {
             val tpe = objectType("None")
 
             return newLiteral(null, type = tpe, rawNode = node)
@@ -25,9 +25,16 @@
  */
 package de.fraunhofer.aisec.cpg.frontends.python
 
+import de.fraunhofer.aisec.cpg.TranslationConfiguration
 import java.io.File
 import java.nio.file.Path
 import java.nio.file.Paths
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.LinkedBlockingQueue
+import jep.Interpreter
 import jep.JepConfig
 import jep.MainInterpreter
 import jep.SharedInterpreter
@@ -35,12 +42,45 @@ import kotlin.io.path.exists
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
 
+/**
+ * Python code that converts an `ast` tree into nested dictionaries and lists in a single call, so
+ * that Jep can transfer the whole tree to Java at once instead of accessing every attribute of
+ * every node individually. Each dictionary contains the fields and attributes of the node, its
+ * class name (`__class__`) and the node itself (`__node__`). Values that Jep cannot convert, such
+ * as complex numbers, stay Python objects.
+ */
+private val CONVERT_AST_FUNCTION =
+    """
+    def cpg_convert_ast(node):
+        if isinstance(node, ast.AST):
+            fields = {name: cpg_convert_ast(value) for name, value in ast.iter_fields(node)}
+            for name in node._attributes:
+                fields[name] = getattr(node, name, None)
+            fields["__class__"] = "ast." + type(node).__name__
+            fields["__node__"] = node
+            return fields
+        if isinstance(node, list):
+            return [cpg_convert_ast(item) for item in node]
+        return node
+    """
+        .trimIndent()
+
 /**
  * Takes care of configuring Jep according to some well known paths on popular operating systems.
+ *
+ * It also manages a pool of interpreters (see [withInterpreter]). Since a Jep interpreter (and all
+ * Python objects retrieved from it) can only be used by the thread that created it, each
+ * interpreter is owned by a dedicated thread and is re-used for all files parsed on that thread.
  */
 object JepSingleton {
     val log: Logger = LoggerFactory.getLogger(JepSingleton::class.java)
 
+    /** All workers that were created so far, guarded by `this`. */
+    private val workers = mutableListOf<InterpreterWorker>()
+
+    /** The workers that are currently not in use. The interpreters are created on first use. */
+    private val idleWorkers = LinkedBlockingQueue<InterpreterWorker>()
+
     init {
         // TODO logging
         val config = JepConfig()
@@ -128,6 +168,43 @@ object JepSingleton {
         SharedInterpreter.setConfig(config)
     }
 
+    /**
+     * Executes [block] with a pooled interpreter, in which the modules `ast`, `sys` and `tokenize`
+     * are already imported and the function `cpg_convert_ast` (see [CONVERT_AST_FUNCTION]) is
+     * defined. If all interpreters are in use and there are already [maxInterpreters] of them (see
+     * [TranslationConfiguration.pythonInterpreters]), this waits until one becomes available.
+     *
+     * The [block] is executed on the thread that owns the interpreter, so all accesses to Python
+     * objects must happen within [block]. Variables set in the interpreter persist until they are
+     * overwritten by the next user of the interpreter.
+     */
+    fun <T> withInterpreter(maxInterpreters: Int, block: (Interpreter) -> T): T {
+        val worker = acquire(maxInterpreters)
+        try {
+            return worker.run(block)
+        } finally {
+            idleWorkers.put(worker)
+        }
+    }
+
+    /**
+     * Returns an idle worker, or a new one if there are fewer than [maxInterpreters] workers.
+     * Otherwise, this waits for a worker to become idle.
+     */
+    private fun acquire(maxInterpreters: Int): InterpreterWorker {
+        synchronized(this) {
+            idleWorkers.poll()?.let {
+                return it
+            }
+
+            if (workers.size < maxInterpreters) {
+                return InterpreterWorker(workers.size).also { workers += it }
+            }
+        }
+
+        return idleWorkers.take()
+    }
+
     /** Setup and configure (load the Python code and trigger the debug script) an interpreter. */
     fun getInterp(): SharedInterpreter {
         try {
@@ -140,3 +217,37 @@ object JepSingleton {
         }
     }
 }
+
+/**
+ * A thread that owns a single (lazily created) interpreter of the pool managed by [JepSingleton].
+ */
+private class InterpreterWorker(index: Int) {
+    private val executor: ExecutorService =
+        Executors.newSingleThreadExecutor { runnable ->
+            Thread(runnable, "cpg-python-interpreter-$index").apply { isDaemon = true }
+        }
+
+    /** The interpreter. It must only be accessed from the thread of [executor]. */
+    private var interpreter: SharedInterpreter? = null
+
+    fun <T> run(block: (Interpreter) -> T): T {
+        val future =
+            executor.submit(
+                Callable { block(interpreter ?: createInterpreter().also { interpreter = it }) }
+            )
+        try {
+            return future.get()
+        } catch (e: ExecutionException) {
+            throw e.cause ?: e
+        }
+    }
+
+    private fun createInterpreter(): SharedInterpreter {
+        val interp = JepSingleton.getInterp()
+        interp.exec("import ast")
+        interp.exec("import sys")
+        interp.exec("import tokenize")
+        interp.exec(CONVERT_AST_FUNCTION)
+        return interp
+    }
+}
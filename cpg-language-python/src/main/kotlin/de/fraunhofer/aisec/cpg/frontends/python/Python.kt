@@ -41,7 +41,23 @@ interface Python {
      * This is an abstract class that is common to all our python objects. Represents python's
      * `object`.
      */
-    abstract class BaseObject(var pyObject: PyObject)
+    abstract class BaseObject(var pyObject: PyObject) {
+        /**
+         * The fields of this object, if the AST was converted in bulk (see [JepSingleton]). In
+         * this case, no further calls into the Python interpreter are needed to access them.
+         */
+        var fields: Map<String, Any?>? = null
+
+        /** Returns the attribute [name] of this object, preferably from [fields]. */
+        fun attr(name: String): Any? {
+            val fields = fields
+            return if (fields != null && fields.containsKey(name)) {
+                fields[name]
+            } else {
+                pyObject.getAttr(name)
+            }
+        }
+    }
 
     /** The `ellipsis` class. */
     class Ellipsis(pyObject: PyObject) : BaseObject(pyObject)
@@ -68,6 +84,9 @@ interface Python {
          */
         interface AST {
             var pyObject: PyObject
+
+            /** Returns the attribute [name] of the Python object. */
+            fun attr(name: String): Any?
         }
 
         /**
@@ -78,25 +97,25 @@ interface Python {
             /** Maps to the `lineno` filed from Python's ast. */
             val lineno: Int?
                 get() {
-                    return (pyObject.getAttr("lineno") as? Long)?.toInt()
+                    return (attr("lineno") as? Long)?.toInt()
                 }
 
             /** Maps to the `col_offset` filed from Python's ast. */
             val col_offset: Int?
                 get() {
-                    return (pyObject.getAttr("col_offset") as? Long)?.toInt()
+                    return (attr("col_offset") as? Long)?.toInt()
                 }
 
             /** Maps to the `end_lineno` filed from Python's ast. */
             val end_lineno: Int?
                 get() {
-                    return (pyObject.getAttr("end_lineno") as? Long)?.toInt()
+                    return (attr("end_lineno") as? Long)?.toInt()
                 }
 
             /** Maps to the `end_col_offset` filed from Python's ast. */
             val end_col_offset: Int?
                 get() {
-                    return (pyObject.getAttr("end_col_offset") as? Long)?.toInt()
+                    return (attr("end_col_offset") as? Long)?.toInt()
                 }
         }
 
@@ -131,10 +150,10 @@ interface Python {
          * ```
          */
         class Module(pyObject: PyObject) : AST, BaseObject(pyObject) {
-            val body: kotlin.collections.List<BaseStmt> by lazy { "body" of pyObject }
+            val body: kotlin.collections.List<BaseStmt> by lazy { "body" of this }
 
             val type_ignores: kotlin.collections.List<type_ignore> by lazy {
-                "type_ignores" of pyObject
+                "type_ignores" of this
             }
         }
 
@@ -202,19 +221,19 @@ interface Python {
          * ```
          */
         class FunctionDef(pyObject: PyObject) : BaseStmt(pyObject), NormalOrAsyncFunctionDef {
-            override val name: String by lazy { "name" of pyObject }
+            override val name: String by lazy { "name" of this }
 
-            override val args: arguments by lazy { "args" of pyObject }
+            override val args: arguments by lazy { "args" of this }
 
-            override val body: kotlin.collections.List<BaseStmt> by lazy { "body" of pyObject }
+            override val body: kotlin.collections.List<BaseStmt> by lazy { "body" of this }
 
             override val decorator_list: kotlin.collections.List<BaseExpr> by lazy {
-                "decorator_list" of pyObject
+                "decorator_list" of this
             }
 
-            override val returns: BaseExpr? by lazy { "returns" of pyObject }
+            override val returns: BaseExpr? by lazy { "returns" of this }
 
-            override val type_comment: String? by lazy { "type_comment" of pyObject }
+            override val type_comment: String? by lazy { "type_comment" of this }
         }
 
         /**
@@ -225,19 +244,19 @@ interface Python {
          */
         class AsyncFunctionDef(pyObject: PyObject) :
             BaseStmt(pyObject), NormalOrAsyncFunctionDef, IsAsync {
-            override val name: String by lazy { "name" of pyObject }
+            override val name: String by lazy { "name" of this }
 
-            override val args: arguments by lazy { "args" of pyObject }
+            override val args: arguments by lazy { "args" of this }
 
-            override val body: kotlin.collections.List<BaseStmt> by lazy { "body" of pyObject }
+            override val body: kotlin.collections.List<BaseStmt> by lazy { "body" of this }
 
             override val decorator_list: kotlin.collections.List<BaseExpr> by lazy {
-                "decorator_list" of pyObject
+                "decorator_list" of this
             }
 
-            override val returns: BaseExpr? by lazy { "returns" of pyObject }
+            override val returns: BaseExpr? by lazy { "returns" of this }
 
-            override val type_comment: String? by lazy { "type_comment" of pyObject }
+            override val type_comment: String? by lazy { "type_comment" of this }
         }
 
         /**
@@ -247,16 +266,16 @@ interface Python {
          * ```
          */
         class ClassDef(pyObject: PyObject) : BaseStmt(pyObject), Def {
-            val name: String by lazy { "name" of pyObject }
+            val name: String by lazy { "name" of this }
 
-            val bases: kotlin.collections.List<BaseExpr> by lazy { "bases" of pyObject }
+            val bases: kotlin.collections.List<BaseExpr> by lazy { "bases" of this }
 
-            val keywords: kotlin.collections.List<keyword> by lazy { "keywords" of pyObject }
+            val keywords: kotlin.collections.List<keyword> by lazy { "keywords" of this }
 
-            val body: kotlin.collections.List<BaseStmt> by lazy { "body" of pyObject }
+            val body: kotlin.collections.List<BaseStmt> by lazy { "body" of this }
 
             val decorator_list: kotlin.collections.List<BaseExpr> by lazy {
-                "decorator_list" of pyObject
+                "decorator_list" of this
             }
         }
 
@@ -267,7 +286,7 @@ interface Python {
          * ```
          */
         class Return(pyObject: PyObject) : BaseStmt(pyObject) {
-            val value: BaseExpr? by lazy { "value" of pyObject }
+            val value: BaseExpr? by lazy { "value" of this }
         }
 
         /**
@@ -277,7 +296,7 @@ interface Python {
          * ```
          */
         class Delete(pyObject: PyObject) : BaseStmt(pyObject) {
-            val targets: kotlin.collections.List<BaseExpr> by lazy { "targets" of pyObject }
+            val targets: kotlin.collections.List<BaseExpr> by lazy { "targets" of this }
         }
 
         /**
@@ -287,11 +306,11 @@ interface Python {
          * ```
          */
         class Assign(pyObject: PyObject) : BaseStmt(pyObject) {
-            val targets: kotlin.collections.List<BaseExpr> by lazy { "targets" of pyObject }
+            val targets: kotlin.collections.List<BaseExpr> by lazy { "targets" of this }
 
-            val value: BaseExpr by lazy { "value" of pyObject }
+            val value: BaseExpr by lazy { "value" of this }
 
-            val type_comment: String? by lazy { "type_comment" of pyObject }
+            val type_comment: String? by lazy { "type_comment" of this }
         }
 
         /**
@@ -301,9 +320,9 @@ interface Python {
          * ```
          */
         class AugAssign(pyObject: PyObject) : BaseStmt(pyObject) {
-            val target: BaseExpr by lazy { "target" of pyObject }
-            val op: BaseOperator by lazy { "op" of pyObject }
-            val value: BaseExpr by lazy { "value" of pyObject }
+            val target: BaseExpr by lazy { "target" of this }
+            val op: BaseOperator by lazy { "op" of this }
+            val value: BaseExpr by lazy { "value" of this }
         }
 
         /**
@@ -313,10 +332,10 @@ interface Python {
          * ```
          */
         class AnnAssign(pyObject: PyObject) : BaseStmt(pyObject) {
-            val target: BaseExpr by lazy { "target" of pyObject }
-            val annotation: BaseExpr by lazy { "annotation" of pyObject }
-            val value: BaseExpr? by lazy { "value" of pyObject }
-            val simple: Long by lazy { "simple" of pyObject }
+            val target: BaseExpr by lazy { "target" of this }
+            val annotation: BaseExpr by lazy { "annotation" of this }
+            val value: BaseExpr? by lazy { "value" of this }
+            val simple: Long by lazy { "simple" of this }
         }
 
         /**
@@ -338,11 +357,11 @@ interface Python {
          * ```
          */
         class For(pyObject: PyObject) : BaseStmt(pyObject), NormalOrAsyncFor {
-            override val target: BaseExpr by lazy { "target" of pyObject }
-            override val iter: BaseExpr by lazy { "iter" of pyObject }
-            override val body: kotlin.collections.List<BaseStmt> by lazy { "body" of pyObject }
-            override val orelse: kotlin.collections.List<BaseStmt> by lazy { "orelse" of pyObject }
-            override val type_comment: String? by lazy { "type_comment" of pyObject }
+            override val target: BaseExpr by lazy { "target" of this }
+            override val iter: BaseExpr by lazy { "iter" of this }
+            override val body: kotlin.collections.List<BaseStmt> by lazy { "body" of this }
+            override val orelse: kotlin.collections.List<BaseStmt> by lazy { "orelse" of this }
+            override val type_comment: String? by lazy { "type_comment" of this }
         }
 
         /**
@@ -352,11 +371,11 @@ interface Python {
          * ```
          */
         class AsyncFor(pyObject: PyObject) : BaseStmt(pyObject), NormalOrAsyncFor, IsAsync {
-            override val target: BaseExpr by lazy { "target" of pyObject }
-            override val iter: BaseExpr by lazy { "iter" of pyObject }
-            override val body: kotlin.collections.List<BaseStmt> by lazy { "body" of pyObject }
-            override val orelse: kotlin.collections.List<BaseStmt> by lazy { "orelse" of pyObject }
-            override val type_comment: String? by lazy { "type_comment" of pyObject }
+            override val target: BaseExpr by lazy { "target" of this }
+            override val iter: BaseExpr by lazy { "iter" of this }
+            override val body: kotlin.collections.List<BaseStmt> by lazy { "body" of this }
+            override val orelse: kotlin.collections.List<BaseStmt> by lazy { "orelse" of this }
+            override val type_comment: String? by lazy { "type_comment" of this }
         }
 
         /**
@@ -366,9 +385,9 @@ interface Python {
          * ```
          */
         class While(pyObject: PyObject) : BaseStmt(pyObject) {
-            val test: BaseExpr by lazy { "test" of pyObject }
-            val body: kotlin.collections.List<BaseStmt> by lazy { "body" of pyObject }
-            val orelse: kotlin.collections.List<BaseStmt> by lazy { "orelse" of pyObject }
+            val test: BaseExpr by lazy { "test" of this }
+            val body: kotlin.collections.List<BaseStmt> by lazy { "body" of this }
+            val orelse: kotlin.collections.List<BaseStmt> by lazy { "orelse" of this }
         }
 
         /**
@@ -378,9 +397,9 @@ interface Python {
          * ```
          */
         class If(pyObject: PyObject) : BaseStmt(pyObject) {
-            val test: BaseExpr by lazy { "test" of pyObject }
-            val body: kotlin.collections.List<BaseStmt> by lazy { "body" of pyObject }
-            val orelse: kotlin.collections.List<BaseStmt> by lazy { "orelse" of pyObject }
+            val test: BaseExpr by lazy { "test" of this }
+            val body: kotlin.collections.List<BaseStmt> by lazy { "body" of this }
+            val orelse: kotlin.collections.List<BaseStmt> by lazy { "orelse" of this }
         }
 
         /**
@@ -400,9 +419,9 @@ interface Python {
          * ```
          */
         class With(pyObject: PyObject) : BaseStmt(pyObject), NormalOrAsyncWith {
-            override val items: kotlin.collections.List<withitem> by lazy { "items" of pyObject }
-            override val body: kotlin.collections.List<BaseStmt> by lazy { "body" of pyObject }
-            override val type_comment: String? by lazy { "type_comment" of pyObject }
+            override val items: kotlin.collections.List<withitem> by lazy { "items" of this }
+            override val body: kotlin.collections.List<BaseStmt> by lazy { "body" of this }
+            override val type_comment: String? by lazy { "type_comment" of this }
         }
 
         /**
@@ -412,9 +431,9 @@ interface Python {
          * ```
          */
         class AsyncWith(pyObject: PyObject) : BaseStmt(pyObject), NormalOrAsyncWith, IsAsync {
-            override val items: kotlin.collections.List<withitem> by lazy { "items" of pyObject }
-            override val body: kotlin.collections.List<BaseStmt> by lazy { "body" of pyObject }
-            override val type_comment: String? by lazy { "type_comment" of pyObject }
+            override val items: kotlin.collections.List<withitem> by lazy { "items" of this }
+            override val body: kotlin.collections.List<BaseStmt> by lazy { "body" of this }
+            override val type_comment: String? by lazy { "type_comment" of this }
         }
 
         /**
@@ -424,8 +443,8 @@ interface Python {
          * ```
          */
         class Match(pyObject: PyObject) : BaseStmt(pyObject) {
-            val subject: BaseExpr by lazy { "subject" of pyObject }
-            val cases: kotlin.collections.List<match_case> by lazy { "cases" of pyObject }
+            val subject: BaseExpr by lazy { "subject" of this }
+            val cases: kotlin.collections.List<match_case> by lazy { "cases" of this }
         }
 
         /**
@@ -435,8 +454,8 @@ interface Python {
          * ```
          */
         class Raise(pyObject: PyObject) : BaseStmt(pyObject) {
-            val exc: BaseExpr? by lazy { "exc" of pyObject }
-            val cause: BaseExpr? by lazy { "cause" of pyObject }
+            val exc: BaseExpr? by lazy { "exc" of this }
+            val cause: BaseExpr? by lazy { "cause" of this }
         }
 
         /**
@@ -446,12 +465,12 @@ interface Python {
          * ```
          */
         class Try(pyObject: PyObject) : BaseStmt(pyObject) {
-            val body: kotlin.collections.List<BaseStmt> by lazy { "body" of pyObject }
+            val body: kotlin.collections.List<BaseStmt> by lazy { "body" of this }
             val handlers: kotlin.collections.List<BaseExcepthandler> by lazy {
-                "handlers" of pyObject
+                "handlers" of this
             }
-            val orelse: kotlin.collections.List<BaseStmt> by lazy { "orelse" of pyObject }
-            val finalbody: kotlin.collections.List<BaseStmt> by lazy { "finalbody" of pyObject }
+            val orelse: kotlin.collections.List<BaseStmt> by lazy { "orelse" of this }
+            val finalbody: kotlin.collections.List<BaseStmt> by lazy { "finalbody" of this }
         }
 
         /**
@@ -461,12 +480,12 @@ interface Python {
          * ```
          */
         class TryStar(pyObject: PyObject) : BaseStmt(pyObject) {
-            val body: kotlin.collections.List<BaseStmt> by lazy { "body" of pyObject }
+            val body: kotlin.collections.List<BaseStmt> by lazy { "body" of this }
             val handlers: kotlin.collections.List<BaseExcepthandler> by lazy {
-                "handlers" of pyObject
+                "handlers" of this
             }
-            val orelse: kotlin.collections.List<BaseStmt> by lazy { "orelse" of pyObject }
-            val finalbody: kotlin.collections.List<BaseStmt> by lazy { "finalbody" of pyObject }
+            val orelse: kotlin.collections.List<BaseStmt> by lazy { "orelse" of this }
+            val finalbody: kotlin.collections.List<BaseStmt> by lazy { "finalbody" of this }
         }
 
         /**
@@ -476,8 +495,8 @@ interface Python {
          * ```
          */
         class Assert(pyObject: PyObject) : BaseStmt(pyObject) {
-            val test: BaseExpr by lazy { "test" of pyObject }
-            val msg: BaseExpr? by lazy { "msg" of pyObject }
+            val test: BaseExpr by lazy { "test" of this }
+            val msg: BaseExpr? by lazy { "msg" of this }
         }
 
         /**
@@ -487,7 +506,7 @@ interface Python {
          * ```
          */
         class Import(pyObject: PyObject) : BaseStmt(pyObject) {
-            val names: kotlin.collections.List<alias> by lazy { "names" of pyObject }
+            val names: kotlin.collections.List<alias> by lazy { "names" of this }
         }
 
         /**
@@ -497,9 +516,9 @@ interface Python {
          * ```
          */
         class ImportFrom(pyObject: PyObject) : BaseStmt(pyObject) {
-            val module: String? by lazy { "module" of pyObject }
-            val names: kotlin.collections.List<alias> by lazy { "names" of pyObject }
-            val level: Long? by lazy { "level" of pyObject }
+            val module: String? by lazy { "module" of this }
+            val names: kotlin.collections.List<alias> by lazy { "names" of this }
+            val level: Long? by lazy { "level" of this }
         }
 
         /**
@@ -509,7 +528,7 @@ interface Python {
          * ```
          */
         class Global(pyObject: PyObject) : BaseStmt(pyObject) {
-            val names: kotlin.collections.List<String> by lazy { "names" of pyObject }
+            val names: kotlin.collections.List<String> by lazy { "names" of this }
         }
 
         /**
@@ -519,7 +538,7 @@ interface Python {
          * ```
          */
         class Nonlocal(pyObject: PyObject) : BaseStmt(pyObject) {
-            val names: kotlin.collections.List<String> by lazy { "names" of pyObject }
+            val names: kotlin.collections.List<String> by lazy { "names" of this }
         }
 
         /**
@@ -533,7 +552,7 @@ interface Python {
          * ```
          */
         class Expr(pyObject: PyObject) : BaseStmt(pyObject) {
-            val value: BaseExpr by lazy { "value" of pyObject }
+            val value: BaseExpr by lazy { "value" of this }
         }
 
         /**
@@ -576,8 +595,8 @@ interface Python {
          * ```
          */
         class BoolOp(pyObject: PyObject) : BaseExpr(pyObject) {
-            val op: BaseBoolOp by lazy { "op" of pyObject }
-            val values: kotlin.collections.List<BaseExpr> by lazy { "values" of pyObject }
+            val op: BaseBoolOp by lazy { "op" of this }
+            val values: kotlin.collections.List<BaseExpr> by lazy { "values" of this }
         }
 
         /**
@@ -587,8 +606,8 @@ interface Python {
          * ```
          */
         class NamedExpr(pyObject: PyObject) : BaseExpr(pyObject) {
-            val target: BaseExpr by lazy { "target" of pyObject }
-            val value: BaseExpr by lazy { "value" of pyObject }
+            val target: BaseExpr by lazy { "target" of this }
+            val value: BaseExpr by lazy { "value" of this }
         }
 
         /**
@@ -598,9 +617,9 @@ interface Python {
          * ```
          */
         class BinOp(pyObject: PyObject) : BaseExpr(pyObject) {
-            val left: BaseExpr by lazy { "left" of pyObject }
-            val op: BaseOperator by lazy { "op" of pyObject }
-            val right: BaseExpr by lazy { "right" of pyObject }
+            val left: BaseExpr by lazy { "left" of this }
+            val op: BaseOperator by lazy { "op" of this }
+            val right: BaseExpr by lazy { "right" of this }
         }
 
         /**
@@ -610,8 +629,8 @@ interface Python {
          * ```
          */
         class UnaryOp(pyObject: PyObject) : BaseExpr(pyObject) {
-            val op: BaseUnaryOp by lazy { "op" of pyObject }
-            val operand: BaseExpr by lazy { "operand" of pyObject }
+            val op: BaseUnaryOp by lazy { "op" of this }
+            val operand: BaseExpr by lazy { "operand" of this }
         }
 
         /**
@@ -621,8 +640,8 @@ interface Python {
          * ```
          */
         class Lambda(pyObject: PyObject) : BaseExpr(pyObject) {
-            val args: arguments by lazy { "args" of pyObject }
-            val body: BaseExpr by lazy { "body" of pyObject }
+            val args: arguments by lazy { "args" of this }
+            val body: BaseExpr by lazy { "body" of this }
         }
 
         /**
@@ -632,9 +651,9 @@ interface Python {
          * ```
          */
         class IfExp(pyObject: PyObject) : BaseExpr(pyObject) {
-            val test: BaseExpr by lazy { "test" of pyObject }
-            val body: BaseExpr by lazy { "body" of pyObject }
-            val orelse: BaseExpr by lazy { "orelse" of pyObject }
+            val test: BaseExpr by lazy { "test" of this }
+            val body: BaseExpr by lazy { "body" of this }
+            val orelse: BaseExpr by lazy { "orelse" of this }
         }
 
         /**
@@ -644,8 +663,8 @@ interface Python {
          * ```
          */
         class Dict(pyObject: PyObject) : BaseExpr(pyObject) {
-            val keys: kotlin.collections.List<BaseExpr?> by lazy { "keys" of pyObject }
-            val values: kotlin.collections.List<BaseExpr> by lazy { "values" of pyObject }
+            val keys: kotlin.collections.List<BaseExpr?> by lazy { "keys" of this }
+            val values: kotlin.collections.List<BaseExpr> by lazy { "values" of this }
         }
 
         /**
@@ -655,7 +674,7 @@ interface Python {
          * ```
          */
         class Set(pyObject: PyObject) : BaseExpr(pyObject) {
-            val elts: kotlin.collections.List<BaseExpr> by lazy { "elts" of pyObject }
+            val elts: kotlin.collections.List<BaseExpr> by lazy { "elts" of this }
         }
 
         /**
@@ -665,9 +684,9 @@ interface Python {
          * ```
          */
         class ListComp(pyObject: PyObject) : BaseExpr(pyObject) {
-            val elt: BaseExpr by lazy { "elt" of pyObject }
+            val elt: BaseExpr by lazy { "elt" of this }
             val generators: kotlin.collections.List<comprehension> by lazy {
-                "generators" of pyObject
+                "generators" of this
             }
         }
 
@@ -678,9 +697,9 @@ interface Python {
          * ```
          */
         class SetComp(pyObject: PyObject) : BaseExpr(pyObject) {
-            val elt: BaseExpr by lazy { "elt" of pyObject }
+            val elt: BaseExpr by lazy { "elt" of this }
             val generators: kotlin.collections.List<comprehension> by lazy {
-                "generators" of pyObject
+                "generators" of this
             }
         }
 
@@ -691,10 +710,10 @@ interface Python {
          * ```
          */
         class DictComp(pyObject: PyObject) : BaseExpr(pyObject) {
-            val key: BaseExpr by lazy { "key" of pyObject }
-            val value: BaseExpr by lazy { "value" of pyObject }
+            val key: BaseExpr by lazy { "key" of this }
+            val value: BaseExpr by lazy { "value" of this }
             val generators: kotlin.collections.List<comprehension> by lazy {
-                "generators" of pyObject
+                "generators" of this
             }
         }
 
@@ -705,9 +724,9 @@ interface Python {
          * ```
          */
         class GeneratorExp(pyObject: PyObject) : BaseExpr(pyObject) {
-            val elt: BaseExpr by lazy { "elt" of pyObject }
+            val elt: BaseExpr by lazy { "elt" of this }
             val generators: kotlin.collections.List<comprehension> by lazy {
-                "generators" of pyObject
+                "generators" of this
             }
         }
 
@@ -718,7 +737,7 @@ interface Python {
          * ```
          */
         class Await(pyObject: PyObject) : BaseExpr(pyObject) {
-            val value: BaseExpr by lazy { "value" of pyObject }
+            val value: BaseExpr by lazy { "value" of this }
         }
 
         /**
@@ -728,7 +747,7 @@ interface Python {
          * ```
          */
         class Yield(pyObject: PyObject) : BaseExpr(pyObject) {
-            val value: BaseExpr? by lazy { "value" of pyObject }
+            val value: BaseExpr? by lazy { "value" of this }
         }
 
         /**
@@ -738,7 +757,7 @@ interface Python {
          * ```
          */
         class YieldFrom(pyObject: PyObject) : BaseExpr(pyObject) {
-            val value: BaseExpr by lazy { "value" of pyObject }
+            val value: BaseExpr by lazy { "value" of this }
         }
 
         /**
@@ -748,9 +767,9 @@ interface Python {
          * ```
          */
         class Compare(pyObject: PyObject) : BaseExpr(pyObject) {
-            val left: BaseExpr by lazy { "left" of pyObject }
-            val ops: kotlin.collections.List<BaseCmpOp> by lazy { "ops" of pyObject }
-            val comparators: kotlin.collections.List<BaseExpr> by lazy { "comparators" of pyObject }
+            val left: BaseExpr by lazy { "left" of this }
+            val ops: kotlin.collections.List<BaseCmpOp> by lazy { "ops" of this }
+            val comparators: kotlin.collections.List<BaseExpr> by lazy { "comparators" of this }
         }
 
         /**
@@ -760,11 +779,11 @@ interface Python {
          * ```
          */
         class Call(pyObject: PyObject) : BaseExpr(pyObject) {
-            val func: BaseExpr by lazy { "func" of pyObject }
+            val func: BaseExpr by lazy { "func" of this }
 
-            val args: kotlin.collections.List<BaseExpr> by lazy { "args" of pyObject }
+            val args: kotlin.collections.List<BaseExpr> by lazy { "args" of this }
 
-            val keywords: kotlin.collections.List<keyword> by lazy { "keywords" of pyObject }
+            val keywords: kotlin.collections.List<keyword> by lazy { "keywords" of this }
         }
 
         /**
@@ -774,9 +793,9 @@ interface Python {
          * ```
          */
         class FormattedValue(pyObject: PyObject) : BaseExpr(pyObject) {
-            val value: BaseExpr by lazy { "value" of pyObject }
-            val conversion: Long? by lazy { "conversion" of pyObject }
-            val format_spec: BaseExpr? by lazy { "format_spec" of pyObject }
+            val value: BaseExpr by lazy { "value" of this }
+            val conversion: Long? by lazy { "conversion" of this }
+            val format_spec: BaseExpr? by lazy { "format_spec" of this }
         }
 
         /**
@@ -786,7 +805,7 @@ interface Python {
          * ```
          */
         class JoinedStr(pyObject: PyObject) : BaseExpr(pyObject) {
-            val values: kotlin.collections.List<BaseExpr> by lazy { "values" of pyObject }
+            val values: kotlin.collections.List<BaseExpr> by lazy { "values" of this }
         }
 
         /**
@@ -796,8 +815,8 @@ interface Python {
          * ```
          */
         class Constant(pyObject: PyObject) : BaseExpr(pyObject) {
-            val value: Any by lazy { "value" of pyObject }
-            val kind: String? by lazy { "kind" of pyObject }
+            val value: Any by lazy { "value" of this }
+            val kind: String? by lazy { "kind" of this }
         }
 
         /**
@@ -807,9 +826,9 @@ interface Python {
          * ```
          */
         class Attribute(pyObject: PyObject) : BaseExpr(pyObject) {
-            val value: BaseExpr by lazy { "value" of pyObject }
-            val attr: String by lazy { "attr" of pyObject }
-            val ctx: BaseExprContext by lazy { "ctx" of pyObject }
+            val value: BaseExpr by lazy { "value" of this }
+            val attr: String by lazy { "attr" of this }
+            val ctx: BaseExprContext by lazy { "ctx" of this }
         }
 
         /**
@@ -819,9 +838,9 @@ interface Python {
          * ```
          */
         class Subscript(pyObject: PyObject) : BaseExpr(pyObject) {
-            val value: BaseExpr by lazy { "value" of pyObject }
-            val slice: BaseExpr by lazy { "slice" of pyObject }
-            val ctx: BaseExprContext by lazy { "ctx" of pyObject }
+            val value: BaseExpr by lazy { "value" of this }
+            val slice: BaseExpr by lazy { "slice" of this }
+            val ctx: BaseExprContext by lazy { "ctx" of this }
         }
 
         /**
@@ -831,8 +850,8 @@ interface Python {
          * ```
          */
         class Starred(pyObject: PyObject) : BaseExpr(pyObject) {
-            val value: BaseExpr by lazy { "value" of pyObject }
-            val ctx: BaseExprContext by lazy { "ctx" of pyObject }
+            val value: BaseExpr by lazy { "value" of this }
+            val ctx: BaseExprContext by lazy { "ctx" of this }
         }
 
         /**
@@ -842,8 +861,8 @@ interface Python {
          * ```
          */
         class Name(pyObject: PyObject) : BaseExpr(pyObject) {
-            val id: String by lazy { "id" of pyObject }
-            val ctx: BaseExprContext by lazy { "ctx" of pyObject }
+            val id: String by lazy { "id" of this }
+            val ctx: BaseExprContext by lazy { "ctx" of this }
         }
 
         /**
@@ -853,8 +872,8 @@ interface Python {
          * ```
          */
         class List(pyObject: PyObject) : BaseExpr(pyObject) {
-            val elts: kotlin.collections.List<BaseExpr> by lazy { "elts" of pyObject }
-            val ctx: BaseExprContext by lazy { "ctx" of pyObject }
+            val elts: kotlin.collections.List<BaseExpr> by lazy { "elts" of this }
+            val ctx: BaseExprContext by lazy { "ctx" of this }
         }
 
         /**
@@ -864,8 +883,8 @@ interface Python {
          * ```
          */
         class Tuple(pyObject: PyObject) : BaseExpr(pyObject) {
-            val elts: kotlin.collections.List<BaseExpr> by lazy { "elts" of pyObject }
-            val ctx: BaseExprContext by lazy { "ctx" of pyObject }
+            val elts: kotlin.collections.List<BaseExpr> by lazy { "elts" of this }
+            val ctx: BaseExprContext by lazy { "ctx" of this }
         }
 
         /**
@@ -875,9 +894,9 @@ interface Python {
          * ```
          */
         class Slice(pyObject: PyObject) : BaseExpr(pyObject) {
-            val lower: BaseExpr? by lazy { "lower" of pyObject }
-            val upper: BaseExpr? by lazy { "upper" of pyObject }
-            val step: BaseExpr? by lazy { "step" of pyObject }
+            val lower: BaseExpr? by lazy { "lower" of this }
+            val upper: BaseExpr? by lazy { "upper" of this }
+            val step: BaseExpr? by lazy { "step" of this }
         }
 
         /**
@@ -1157,7 +1176,7 @@ interface Python {
          * ```
          */
         class MatchValue(pyObject: PyObject) : BasePattern(pyObject) {
-            val value: BaseExpr by lazy { "value" of pyObject }
+            val value: BaseExpr by lazy { "value" of this }
         }
 
         /**
@@ -1172,7 +1191,7 @@ interface Python {
              * set to `null` if the case matches on `None`. This is known behavior of jep (similar
              * to literals/constants).
              */
-            val value: Any? by lazy { "value" of pyObject }
+            val value: Any? by lazy { "value" of this }
         }
 
         /**
@@ -1182,7 +1201,7 @@ interface Python {
          * ```
          */
         class MatchSequence(pyObject: PyObject) : BasePattern(pyObject) {
-            val patterns: kotlin.collections.List<BasePattern> by lazy { "patterns" of pyObject }
+            val patterns: kotlin.collections.List<BasePattern> by lazy { "patterns" of this }
         }
 
         /**
@@ -1192,9 +1211,9 @@ interface Python {
          * ```
          */
         class MatchMapping(pyObject: PyObject) : BasePattern(pyObject) {
-            val key: kotlin.collections.List<BaseExpr> by lazy { "keys" of pyObject }
-            val patterns: kotlin.collections.List<BasePattern> by lazy { "patterns" of pyObject }
-            val rest: String? by lazy { "rest" of pyObject }
+            val key: kotlin.collections.List<BaseExpr> by lazy { "keys" of this }
+            val patterns: kotlin.collections.List<BasePattern> by lazy { "patterns" of this }
+            val rest: String? by lazy { "rest" of this }
         }
 
         /**
@@ -1204,11 +1223,11 @@ interface Python {
          * ```
          */
         class MatchClass(pyObject: PyObject) : BasePattern(pyObject) {
-            val cls: BaseExpr by lazy { "cls" of pyObject }
-            val patterns: kotlin.collections.List<BasePattern> by lazy { "patterns" of pyObject }
-            val kwd_attrs: kotlin.collections.List<String> by lazy { "kwd_attrs" of pyObject }
+            val cls: BaseExpr by lazy { "cls" of this }
+            val patterns: kotlin.collections.List<BasePattern> by lazy { "patterns" of this }
+            val kwd_attrs: kotlin.collections.List<String> by lazy { "kwd_attrs" of this }
             val kwd_patterns: kotlin.collections.List<BasePattern> by lazy {
-                "kwd_patterns" of pyObject
+                "kwd_patterns" of this
             }
         }
 
@@ -1219,7 +1238,7 @@ interface Python {
          * ```
          */
         class MatchStar(pyObject: PyObject) : BasePattern(pyObject) {
-            val name: String? by lazy { "name" of pyObject }
+            val name: String? by lazy { "name" of this }
         }
 
         /**
@@ -1229,8 +1248,8 @@ interface Python {
          * ```
          */
         class MatchAs(pyObject: PyObject) : BasePattern(pyObject) {
-            val pattern: BasePattern? by lazy { "pattern" of pyObject }
-            val name: String? by lazy { "name" of pyObject }
+            val pattern: BasePattern? by lazy { "pattern" of this }
+            val name: String? by lazy { "name" of this }
         }
 
         /**
@@ -1240,7 +1259,7 @@ interface Python {
          * ```
          */
         class MatchOr(pyObject: PyObject) : BasePattern(pyObject) {
-            val patterns: kotlin.collections.List<BasePattern> by lazy { "patterns" of pyObject }
+            val patterns: kotlin.collections.List<BasePattern> by lazy { "patterns" of this }
         }
 
         /**
@@ -1290,8 +1309,8 @@ interface Python {
          * ```
          */
         class alias(pyObject: PyObject) : AST, BaseObject(pyObject), WithLocation {
-            val name: String by lazy { "name" of pyObject }
-            val asname: String? by lazy { "asname" of pyObject }
+            val name: String by lazy { "name" of this }
+            val asname: String? by lazy { "asname" of this }
         }
 
         /**
@@ -1301,9 +1320,9 @@ interface Python {
          * ```
          */
         class arg(pyObject: PyObject) : AST, BaseObject(pyObject), WithLocation {
-            val arg: String by lazy { "arg" of pyObject }
-            val annotation: BaseExpr? by lazy { "annotation" of pyObject }
-            val type_comment: String? by lazy { "type_comment" of pyObject }
+            val arg: String by lazy { "arg" of this }
+            val annotation: BaseExpr? by lazy { "annotation" of this }
+            val type_comment: String? by lazy { "type_comment" of this }
         }
 
         /**
@@ -1313,13 +1332,13 @@ interface Python {
          * ```
          */
         class arguments(pyObject: PyObject) : AST, BaseObject(pyObject) {
-            val posonlyargs: kotlin.collections.List<arg> by lazy { "posonlyargs" of pyObject }
-            val args: kotlin.collections.List<arg> by lazy { "args" of pyObject }
-            val vararg: arg? by lazy { "vararg" of pyObject }
-            val kwonlyargs: kotlin.collections.List<arg> by lazy { "kwonlyargs" of pyObject }
-            val kw_defaults: kotlin.collections.List<BaseExpr> by lazy { "kw_defaults" of pyObject }
-            val kwarg: arg? by lazy { "kwarg" of pyObject }
-            val defaults: kotlin.collections.List<BaseExpr> by lazy { "defaults" of pyObject }
+            val posonlyargs: kotlin.collections.List<arg> by lazy { "posonlyargs" of this }
+            val args: kotlin.collections.List<arg> by lazy { "args" of this }
+            val vararg: arg? by lazy { "vararg" of this }
+            val kwonlyargs: kotlin.collections.List<arg> by lazy { "kwonlyargs" of this }
+            val kw_defaults: kotlin.collections.List<BaseExpr> by lazy { "kw_defaults" of this }
+            val kwarg: arg? by lazy { "kwarg" of this }
+            val defaults: kotlin.collections.List<BaseExpr> by lazy { "defaults" of this }
         }
 
         /**
@@ -1329,10 +1348,10 @@ interface Python {
          * ```
          */
         class comprehension(pyObject: PyObject) : AST, BaseObject(pyObject) {
-            val target: BaseExpr by lazy { "target" of pyObject }
-            val iter: BaseExpr by lazy { "iter" of pyObject }
-            val ifs: kotlin.collections.List<BaseExpr> by lazy { "ifs" of pyObject }
-            val is_async: Long by lazy { "is_async" of pyObject }
+            val target: BaseExpr by lazy { "target" of this }
+            val iter: BaseExpr by lazy { "iter" of this }
+            val ifs: kotlin.collections.List<BaseExpr> by lazy { "ifs" of this }
+            val is_async: Long by lazy { "is_async" of this }
         }
 
         /**
@@ -1349,9 +1368,9 @@ interface Python {
          * identifier? name, stmt* body)
          */
         class ExceptHandler(pyObject: PyObject) : BaseExcepthandler(pyObject) {
-            val type: BaseExpr? by lazy { "type" of pyObject }
-            val name: String? by lazy { "name" of pyObject }
-            val body: kotlin.collections.List<BaseStmt> by lazy { "body" of pyObject }
+            val type: BaseExpr? by lazy { "type" of this }
+            val name: String? by lazy { "name" of this }
+            val body: kotlin.collections.List<BaseStmt> by lazy { "body" of this }
         }
 
         /**
@@ -1361,8 +1380,8 @@ interface Python {
          * ```
          */
         class keyword(pyObject: PyObject) : AST, BaseObject(pyObject), WithLocation {
-            val arg: String? by lazy { "arg" of pyObject }
-            val value: BaseExpr by lazy { "value" of pyObject }
+            val arg: String? by lazy { "arg" of this }
+            val value: BaseExpr by lazy { "value" of this }
         }
 
         /**
@@ -1372,9 +1391,9 @@ interface Python {
          * ```
          */
         class match_case(pyObject: PyObject) : AST, BaseObject(pyObject) {
-            val pattern: BasePattern by lazy { "pattern" of pyObject }
-            val guard: BaseExpr? by lazy { "guard" of pyObject }
-            val body: kotlin.collections.List<BaseStmt> by lazy { "body" of pyObject }
+            val pattern: BasePattern by lazy { "pattern" of this }
+            val guard: BaseExpr? by lazy { "guard" of this }
+            val body: kotlin.collections.List<BaseStmt> by lazy { "body" of this }
         }
 
         /**
@@ -1394,19 +1413,19 @@ interface Python {
          * ```
          */
         class withitem(pyObject: PyObject) : AST, BaseObject(pyObject) {
-            val context_expr: BaseExpr by lazy { "context_expr" of pyObject }
-            val optional_vars: BaseExpr? by lazy { "optional_vars" of pyObject }
+            val context_expr: BaseExpr by lazy { "context_expr" of this }
+            val optional_vars: BaseExpr? by lazy { "optional_vars" of this }
         }
     }
 }
 
-private inline infix fun <reified T> String.of(pyObject: PyObject): T {
+private inline infix fun <reified T> String.of(node: Python.AST.AST): T {
     val ret =
-        pyObject.getAttr(this).let { value ->
+        node.attr(this).let { value ->
             if (value is List<*>) {
-                value.map { if (it is PyObject) fromPython(it) else it }
+                value.map { if (it is PyObject || it is Map<*, *>) fromPython(it) else it }
             } else {
-                if (value is PyObject) fromPython(value) else value
+                if (value is PyObject || value is Map<*, *>) fromPython(value) else value
             }
         }
     if (ret !is T) {
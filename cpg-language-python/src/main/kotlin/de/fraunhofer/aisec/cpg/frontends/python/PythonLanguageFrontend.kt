@@ -29,7 +29,6 @@ import de.fraunhofer.aisec.cpg.TranslationConfiguration
 import de.fraunhofer.aisec.cpg.TranslationContext
 import de.fraunhofer.aisec.cpg.frontends.Language
 import de.fraunhofer.aisec.cpg.frontends.LanguageFrontend
-import de.fraunhofer.aisec.cpg.frontends.SupportsParallelParsing
 import de.fraunhofer.aisec.cpg.frontends.TranslationException
 import de.fraunhofer.aisec.cpg.graph.*
 import de.fraunhofer.aisec.cpg.graph.declarations.Namespace
@@ -63,7 +62,6 @@ import kotlin.math.min
  * a value (on the first assignment).
  */
 @RegisterExtraPass(PythonAddDeclarationsPass::class)
-@SupportsParallelParsing(false) // https://github.com/Fraunhofer-AISEC/cpg/issues/2026
 class PythonLanguageFrontend(ctx: TranslationContext, language: Language<PythonLanguageFrontend>) :
     LanguageFrontend<Python.AST.AST, Python.AST.AST?>(ctx, language) {
     val lineSeparator = "\n" // TODO
@@ -93,35 +91,55 @@ class PythonLanguageFrontend(ctx: TranslationContext, language: Language<PythonL
         lastLineNumber = fileAsLines.size
         lastColumnLength = fileAsLines.lastOrNull()?.length ?: -1
 
-        jep.getInterp().use {
-            it.set("content", fileContent)
-            it.set("filename", file.absolutePath)
-            it.exec("import ast")
-            it.exec("import sys")
-            it.exec("parsed = ast.parse(content, filename=filename, type_comments=True)")
-
-            val pyAST = it.getValue("parsed") as PyObject
-
-            val tud = pythonASTtoCPG(pyAST, file.toPath())
-            populateSystemInformation(config, tud)
-
-            if (config.matchCommentsToNodes) {
-                it.exec("import tokenize")
-                it.exec("reader = tokenize.open(filename).readline")
-                it.exec("tokens = tokenize.generate_tokens(reader)")
-                it.exec("tokenList = list(tokens)")
-                // This constant has to be retrieved from the system as it was changed in different
-                // Python versions
-                it.exec("commentCode = tokenize.COMMENT")
-
-                val pyCommentCode =
-                    (it.getValue("commentCode") as? Long) ?: TODO("Cannot get comment of $it")
-                val pyTokens =
-                    (it.getValue("tokenList") as? ArrayList<*>) ?: TODO("Cannot get tokens of $it")
-                addCommentsToCPG(tud, pyTokens, pyCommentCode)
-            }
+        return jep.withInterpreter(config.pythonInterpreters) {
+            try {
+                it.set("content", fileContent)
+                it.set("filename", file.absolutePath)
+                it.exec("parsed = ast.parse(content, filename=filename, type_comments=True)")
+
+                // Try to convert the whole AST at once. For very deeply nested code, this can
+                // exceed Python's recursion limit, in which case we fall back to accessing the
+                // Python objects individually
+                it.exec(
+                    """
+                    try:
+                        converted = cpg_convert_ast(parsed)
+                    except RecursionError:
+                        converted = None
+                    """
+                        .trimIndent()
+                )
+                val pyAST = it.getValue("converted") ?: it.getValue("parsed") as PyObject
+
+                val tud = pythonASTtoCPG(pyAST, file.toPath())
+                populateSystemInformation(config, tud)
+
+                if (config.matchCommentsToNodes) {
+                    it.exec("reader = tokenize.open(filename).readline")
+                    it.exec("tokens = tokenize.generate_tokens(reader)")
+                    it.exec("tokenList = list(tokens)")
+                    // This constant has to be retrieved from the system as it was changed in
+                    // different Python versions
+                    it.exec("commentCode = tokenize.COMMENT")
+
+                    val pyCommentCode =
+                        (it.getValue("commentCode") as? Long) ?: TODO("Cannot get comment of $it")
+                    val pyTokens =
+                        (it.getValue("tokenList") as? ArrayList<*>)
+                            ?: TODO("Cannot get tokens of $it")
+                    addCommentsToCPG(tud, pyTokens, pyCommentCode)
+                }
+
+                tud
+            } finally {
+                // The interpreter is re-used for the next file, so we do not want to keep the
+                // contents of this file alive
+                it.exec("content = parsed = converted = tokens = tokenList = None")
 
-            return tud
+                // The interpreter thread is re-used as well, so the next file must not start in a
+                // scope of this one
+                ctx.scopeManager.resetThreadScope()
+            }
         }
     }
 
@@ -312,7 +330,7 @@ class PythonLanguageFrontend(ctx: TranslationContext, language: Language<PythonL
         // will be invoked by native function
     }
 
-    private fun pythonASTtoCPG(pyAST: PyObject, path: Path): TranslationUnit {
+    private fun pythonASTtoCPG(pyAST: Any, path: Path): TranslationUnit {
         val topLevel = ctx.currentComponent?.topLevel() ?: path.parent.toFile()
 
         val pythonASTModule =
@@ -474,144 +492,164 @@ val TranslationUnit.sysInfo: SystemInformation?
  * @return our Kotlin view of the Python `ast` object
  */
 fun fromPython(pyObject: Any?): Python.BaseObject {
-    if (pyObject !is PyObject) {
-        TODO("Expected a PyObject")
-    } else {
-        var objectname =
-            pyObject.getAttr("__class__").toString().substringAfter("'").substringBeforeLast("'")
-        objectname = if (objectname.startsWith("_")) objectname.substringAfter("_") else objectname
-        return when (objectname) {
-            "ast.Module" -> Python.AST.Module(pyObject)
-
-            // `ast.stmt`
-            "ast.FunctionDef" -> Python.AST.FunctionDef(pyObject)
-            "ast.AsyncFunctionDef" -> Python.AST.AsyncFunctionDef(pyObject)
-            "ast.ClassDef" -> Python.AST.ClassDef(pyObject)
-            "ast.Return" -> Python.AST.Return(pyObject)
-            "ast.Delete" -> Python.AST.Delete(pyObject)
-            "ast.Assign" -> Python.AST.Assign(pyObject)
-            "ast.AugAssign" -> Python.AST.AugAssign(pyObject)
-            "ast.AnnAssign" -> Python.AST.AnnAssign(pyObject)
-            "ast.For" -> Python.AST.For(pyObject)
-            "ast.AsyncFor" -> Python.AST.AsyncFor(pyObject)
-            "ast.While" -> Python.AST.While(pyObject)
-            "ast.If" -> Python.AST.If(pyObject)
-            "ast.With" -> Python.AST.With(pyObject)
-            "ast.AsyncWith" -> Python.AST.AsyncWith(pyObject)
-            "ast.Match" -> Python.AST.Match(pyObject)
-            "ast.Raise" -> Python.AST.Raise(pyObject)
-            "ast.Try" -> Python.AST.Try(pyObject)
-            "ast.TryStar" -> Python.AST.TryStar(pyObject)
-            "ast.Assert" -> Python.AST.Assert(pyObject)
-            "ast.Import" -> Python.AST.Import(pyObject)
-            "ast.ImportFrom" -> Python.AST.ImportFrom(pyObject)
-            "ast.Global" -> Python.AST.Global(pyObject)
-            "ast.Nonlocal" -> Python.AST.Nonlocal(pyObject)
-            "ast.Expr" -> Python.AST.Expr(pyObject)
-            "ast.Pass" -> Python.AST.Pass(pyObject)
-            "ast.Break" -> Python.AST.Break(pyObject)
-            "ast.Continue" -> Python.AST.Continue(pyObject)
-
-            // `ast.expr`
-            "ast.BoolOp" -> Python.AST.BoolOp(pyObject)
-            "ast.NamedExpr" -> Python.AST.NamedExpr(pyObject)
-            "ast.BinOp" -> Python.AST.BinOp(pyObject)
-            "ast.UnaryOp" -> Python.AST.UnaryOp(pyObject)
-            "ast.Lambda" -> Python.AST.Lambda(pyObject)
-            "ast.IfExp" -> Python.AST.IfExp(pyObject)
-            "ast.Dict" -> Python.AST.Dict(pyObject)
-            "ast.Set" -> Python.AST.Set(pyObject)
-            "ast.ListComp" -> Python.AST.ListComp(pyObject)
-            "ast.SetComp" -> Python.AST.SetComp(pyObject)
-            "ast.DictComp" -> Python.AST.DictComp(pyObject)
-            "ast.GeneratorExp" -> Python.AST.GeneratorExp(pyObject)
-            "ast.Await" -> Python.AST.Await(pyObject)
-            "ast.Yield" -> Python.AST.Yield(pyObject)
-            "ast.YieldFrom" -> Python.AST.YieldFrom(pyObject)
-            "ast.Compare" -> Python.AST.Compare(pyObject)
-            "ast.Call" -> Python.AST.Call(pyObject)
-            "ast.FormattedValue" -> Python.AST.FormattedValue(pyObject)
-            "ast.JoinedStr" -> Python.AST.JoinedStr(pyObject)
-            "ast.Constant" -> Python.AST.Constant(pyObject)
-            "ast.Attribute" -> Python.AST.Attribute(pyObject)
-            "ast.Subscript" -> Python.AST.Subscript(pyObject)
-            "ast.Starred" -> Python.AST.Starred(pyObject)
-            "ast.Name" -> Python.AST.Name(pyObject)
-            "ast.List" -> Python.AST.List(pyObject)
-            "ast.Tuple" -> Python.AST.Tuple(pyObject)
-            "ast.Slice" -> Python.AST.Slice(pyObject)
-
-            // `ast.boolop`
-            "ast.And" -> Python.AST.And(pyObject)
-            "ast.Or" -> Python.AST.Or(pyObject)
-
-            // `ast.cmpop`
-            "ast.Eq" -> Python.AST.Eq(pyObject)
-            "ast.NotEq" -> Python.AST.NotEq(pyObject)
-            "ast.Lt" -> Python.AST.Lt(pyObject)
-            "ast.LtE" -> Python.AST.LtE(pyObject)
-            "ast.Gt" -> Python.AST.Gt(pyObject)
-            "ast.GtE" -> Python.AST.GtE(pyObject)
-            "ast.Is" -> Python.AST.Is(pyObject)
-            "ast.IsNot" -> Python.AST.IsNot(pyObject)
-            "ast.In" -> Python.AST.In(pyObject)
-            "ast.NotIn" -> Python.AST.NotIn(pyObject)
-
-            // `ast.expr_context`
-            "ast.Load" -> Python.AST.Load(pyObject)
-            "ast.Store" -> Python.AST.Store(pyObject)
-            "ast.Del" -> Python.AST.Del(pyObject)
-
-            // `ast.operator`
-            "ast.Add" -> Python.AST.Add(pyObject)
-            "ast.Sub" -> Python.AST.Sub(pyObject)
-            "ast.Mult" -> Python.AST.Mult(pyObject)
-            "ast.MatMult" -> Python.AST.MatMult(pyObject)
-            "ast.Div" -> Python.AST.Div(pyObject)
-            "ast.Mod" -> Python.AST.Mod(pyObject)
-            "ast.Pow" -> Python.AST.Pow(pyObject)
-            "ast.LShift" -> Python.AST.LShift(pyObject)
-            "ast.RShift" -> Python.AST.RShift(pyObject)
-            "ast.BitOr" -> Python.AST.BitOr(pyObject)
-            "ast.BitXor" -> Python.AST.BitXor(pyObject)
-            "ast.BitAnd" -> Python.AST.BitAnd(pyObject)
-            "ast.FloorDiv" -> Python.AST.FloorDiv(pyObject)
-
-            // `ast.pattern`
-            "ast.MatchValue" -> Python.AST.MatchValue(pyObject)
-            "ast.MatchSingleton" -> Python.AST.MatchSingleton(pyObject)
-            "ast.MatchSequence" -> Python.AST.MatchSequence(pyObject)
-            "ast.MatchMapping" -> Python.AST.MatchMapping(pyObject)
-            "ast.MatchClass" -> Python.AST.MatchClass(pyObject)
-            "ast.MatchStar" -> Python.AST.MatchStar(pyObject)
-            "ast.MatchAs" -> Python.AST.MatchAs(pyObject)
-            "ast.MatchOr" -> Python.AST.MatchOr(pyObject)
-
-            // `ast.unaryop`
-            "ast.Invert" -> Python.AST.Invert(pyObject)
-            "ast.Not" -> Python.AST.Not(pyObject)
-            "ast.UAdd" -> Python.AST.UAdd(pyObject)
-            "ast.USub" -> Python.AST.USub(pyObject)
-
-            // `ast.excepthandler`
-            "ast.ExceptHandler" -> Python.AST.ExceptHandler(pyObject)
-
-            // misc
-            "ast.alias" -> Python.AST.alias(pyObject)
-            "ast.arg" -> Python.AST.arg(pyObject)
-            "ast.arguments" -> Python.AST.arguments(pyObject)
-            "ast.comprehension" -> Python.AST.comprehension(pyObject)
-            "ast.keyword" -> Python.AST.keyword(pyObject)
-            "ast.match_case" -> Python.AST.match_case(pyObject)
-            "ast.type_ignore" -> Python.AST.type_ignore(pyObject)
-            "ast.withitem" -> Python.AST.withitem(pyObject)
-
-            // complex numbers
-            "complex" -> Python.Complex(pyObject)
-            "ellipsis" -> Python.Ellipsis(pyObject)
-            else -> {
-                TODO("Implement for ${pyObject.getAttr("__class__")}")
+    return when (pyObject) {
+        // A node that was converted in bulk by `cpg_convert_ast`, see [JepSingleton]
+        is Map<*, *> -> {
+            val node = pyObject["__node__"] as? PyObject ?: TODO("Expected a converted ast node")
+            @Suppress("UNCHECKED_CAST")
+            fromPython(pyObject["__class__"].toString(), node).also {
+                it.fields = pyObject as Map<String, Any?>
             }
         }
+        is PyObject -> {
+            val objectname =
+                pyObject
+                    .getAttr("__class__")
+                    .toString()
+                    .substringAfter("'")
+                    .substringBeforeLast("'")
+            fromPython(
+                if (objectname.startsWith("_")) objectname.substringAfter("_") else objectname,
+                pyObject,
+            )
+        }
+        else -> TODO("Expected a PyObject")
+    }
+}
+
+/** Creates our Kotlin view of the Python `ast` object with the class [objectname]. */
+private fun fromPython(objectname: String, pyObject: PyObject): Python.BaseObject {
+    return when (objectname) {
+        "ast.Module" -> Python.AST.Module(pyObject)
+
+        // `ast.stmt`
+        "ast.FunctionDef" -> Python.AST.FunctionDef(pyObject)
+        "ast.AsyncFunctionDef" -> Python.AST.AsyncFunctionDef(pyObject)
+        "ast.ClassDef" -> Python.AST.ClassDef(pyObject)
+        "ast.Return" -> Python.AST.Return(pyObject)
+        "ast.Delete" -> Python.AST.Delete(pyObject)
+        "ast.Assign" -> Python.AST.Assign(pyObject)
+        "ast.AugAssign" -> Python.AST.AugAssign(pyObject)
+        "ast.AnnAssign" -> Python.AST.AnnAssign(pyObject)
+        "ast.For" -> Python.AST.For(pyObject)
+        "ast.AsyncFor" -> Python.AST.AsyncFor(pyObject)
+        "ast.While" -> Python.AST.While(pyObject)
+        "ast.If" -> Python.AST.If(pyObject)
+        "ast.With" -> Python.AST.With(pyObject)
+        "ast.AsyncWith" -> Python.AST.AsyncWith(pyObject)
+        "ast.Match" -> Python.AST.Match(pyObject)
+        "ast.Raise" -> Python.AST.Raise(pyObject)
+        "ast.Try" -> Python.AST.Try(pyObject)
+        "ast.TryStar" -> Python.AST.TryStar(pyObject)
+        "ast.Assert" -> Python.AST.Assert(pyObject)
+        "ast.Import" -> Python.AST.Import(pyObject)
+        "ast.ImportFrom" -> Python.AST.ImportFrom(pyObject)
+        "ast.Global" -> Python.AST.Global(pyObject)
+        "ast.Nonlocal" -> Python.AST.Nonlocal(pyObject)
+        "ast.Expr" -> Python.AST.Expr(pyObject)
+        "ast.Pass" -> Python.AST.Pass(pyObject)
+        "ast.Break" -> Python.AST.Break(pyObject)
+        "ast.Continue" -> Python.AST.Continue(pyObject)
+
+        // `ast.expr`
+        "ast.BoolOp" -> Python.AST.BoolOp(pyObject)
+        "ast.NamedExpr" -> Python.AST.NamedExpr(pyObject)
+        "ast.BinOp" -> Python.AST.BinOp(pyObject)
+        "ast.UnaryOp" -> Python.AST.UnaryOp(pyObject)
+        "ast.Lambda" -> Python.AST.Lambda(pyObject)
+        "ast.IfExp" -> Python.AST.IfExp(pyObject)
+        "ast.Dict" -> Python.AST.Dict(pyObject)
+        "ast.Set" -> Python.AST.Set(pyObject)
+        "ast.ListComp" -> Python.AST.ListComp(pyObject)
+        "ast.SetComp" -> Python.AST.SetComp(pyObject)
+        "ast.DictComp" -> Python.AST.DictComp(pyObject)
+        "ast.GeneratorExp" -> Python.AST.GeneratorExp(pyObject)
+        "ast.Await" -> Python.AST.Await(pyObject)
+        "ast.Yield" -> Python.AST.Yield(pyObject)
+        "ast.YieldFrom" -> Python.AST.YieldFrom(pyObject)
+        "ast.Compare" -> Python.AST.Compare(pyObject)
+        "ast.Call" -> Python.AST.Call(pyObject)
+        "ast.FormattedValue" -> Python.AST.FormattedValue(pyObject)
+        "ast.JoinedStr" -> Python.AST.JoinedStr(pyObject)
+        "ast.Constant" -> Python.AST.Constant(pyObject)
+        "ast.Attribute" -> Python.AST.Attribute(pyObject)
+        "ast.Subscript" -> Python.AST.Subscript(pyObject)
+        "ast.Starred" -> Python.AST.Starred(pyObject)
+        "ast.Name" -> Python.AST.Name(pyObject)
+        "ast.List" -> Python.AST.List(pyObject)
+        "ast.Tuple" -> Python.AST.Tuple(pyObject)
+        "ast.Slice" -> Python.AST.Slice(pyObject)
+
+        // `ast.boolop`
+        "ast.And" -> Python.AST.And(pyObject)
+        "ast.Or" -> Python.AST.Or(pyObject)
+
+        // `ast.cmpop`
+        "ast.Eq" -> Python.AST.Eq(pyObject)
+        "ast.NotEq" -> Python.AST.NotEq(pyObject)
+        "ast.Lt" -> Python.AST.Lt(pyObject)
+        "ast.LtE" -> Python.AST.LtE(pyObject)
+        "ast.Gt" -> Python.AST.Gt(pyObject)
+        "ast.GtE" -> Python.AST.GtE(pyObject)
+        "ast.Is" -> Python.AST.Is(pyObject)
+        "ast.IsNot" -> Python.AST.IsNot(pyObject)
+        "ast.In" -> Python.AST.In(pyObject)
+        "ast.NotIn" -> Python.AST.NotIn(pyObject)
+
+        // `ast.expr_context`
+        "ast.Load" -> Python.AST.Load(pyObject)
+        "ast.Store" -> Python.AST.Store(pyObject)
+        "ast.Del" -> Python.AST.Del(pyObject)
+
+        // `ast.operator`
+        "ast.Add" -> Python.AST.Add(pyObject)
+        "ast.Sub" -> Python.AST.Sub(pyObject)
+        "ast.Mult" -> Python.AST.Mult(pyObject)
+        "ast.MatMult" -> Python.AST.MatMult(pyObject)
+        "ast.Div" -> Python.AST.Div(pyObject)
+        "ast.Mod" -> Python.AST.Mod(pyObject)
+        "ast.Pow" -> Python.AST.Pow(pyObject)
+        "ast.LShift" -> Python.AST.LShift(pyObject)
+        "ast.RShift" -> Python.AST.RShift(pyObject)
+        "ast.BitOr" -> Python.AST.BitOr(pyObject)
+        "ast.BitXor" -> Python.AST.BitXor(pyObject)
+        "ast.BitAnd" -> Python.AST.BitAnd(pyObject)
+        "ast.FloorDiv" -> Python.AST.FloorDiv(pyObject)
+
+        // `ast.pattern`
+        "ast.MatchValue" -> Python.AST.MatchValue(pyObject)
+        "ast.MatchSingleton" -> Python.AST.MatchSingleton(pyObject)
+        "ast.MatchSequence" -> Python.AST.MatchSequence(pyObject)
+        "ast.MatchMapping" -> Python.AST.MatchMapping(pyObject)
+        "ast.MatchClass" -> Python.AST.MatchClass(pyObject)
+        "ast.MatchStar" -> Python.AST.MatchStar(pyObject)
+        "ast.MatchAs" -> Python.AST.MatchAs(pyObject)
+        "ast.MatchOr" -> Python.AST.MatchOr(pyObject)
+
+        // `ast.unaryop`
+        "ast.Invert" -> Python.AST.Invert(pyObject)
+        "ast.Not" -> Python.AST.Not(pyObject)
+        "ast.UAdd" -> Python.AST.UAdd(pyObject)
+        "ast.USub" -> Python.AST.USub(pyObject)
+
+        // `ast.excepthandler`
+        "ast.ExceptHandler" -> Python.AST.ExceptHandler(pyObject)
+
+        // misc
+        "ast.alias" -> Python.AST.alias(pyObject)
+        "ast.arg" -> Python.AST.arg(pyObject)
+        "ast.arguments" -> Python.AST.arguments(pyObject)
+        "ast.comprehension" -> Python.AST.comprehension(pyObject)
+        "ast.keyword" -> Python.AST.keyword(pyObject)
+        "ast.match_case" -> Python.AST.match_case(pyObject)
+        "ast.type_ignore" -> Python.AST.type_ignore(pyObject)
+        "ast.withitem" -> Python.AST.withitem(pyObject)
+
+        // complex numbers
+        "complex" -> Python.Complex(pyObject)
+        "ellipsis" -> Python.Ellipsis(pyObject)
+        else -> {
+            TODO("Implement for ${pyObject.getAttr("__class__")}")
+        }
     }
 }
@@ -1980,4 +1980,28 @@ class PythonFrontendTest : BaseTest() {
         assertNotNull(anotherFunctionCall.astParent)
         assertSame(functionCall, anotherFunctionCall.astParent)
     }
+
+    @Test
+    fun testParallelParsing() {
+        val topLevel = Path.of("src", "test", "resources", "python")
+        val files =
+            listOf("calc.py", "class_fields.py", "function.py", "if.py", "literal.py", "match.py")
+                .map { topLevel.resolve(it).toFile() }
+
+        val sequential =
+            analyze(files, topLevel, false) {
+                it.registerLanguage<PythonLanguage>()
+                it.useParallelFrontends(false)
+            }
+        // This uses more files than interpreters (if they are limited), so that interpreters are
+        // re-used
+        val parallel = analyze(files, topLevel, false) { it.registerLanguage<PythonLanguage>() }
+
+        assertEquals(files.size, parallel.translationUnits.size)
+        assertEquals(
+            sequential.translationUnits.associate { it.name.toString() to it.nodes.size },
+            parallel.translationUnits.associate { it.name.toString() to it.nodes.size },
+            "Expected the same translation units when parsing in parallel",
+        )
+    }
 }
@@ -25,7 +25,6 @@
  */
 package de.fraunhofer.aisec.cpg.frontends.typescript
 
-import com.fasterxml.jackson.module.kotlin.jacksonObjectMapper
 import de.fraunhofer.aisec.cpg.TranslationContext
 import de.fraunhofer.aisec.cpg.frontends.FrontendUtils
 import de.fraunhofer.aisec.cpg.frontends.Language
@@ -50,7 +49,8 @@ import java.nio.file.StandardCopyOption
  * complete, but can be used to parse simple typescript snippets through the official typescript
  * parser written in TypeScript. It includes a simple binary (built by deno) that invokes this
  * parser. It basically dumps the AST in a JSON structure on stdout and this input is parsed by this
- * frontend.
+ * frontend. The binary is kept running as a pool of daemons (see [TypeScriptParserPool]), so that
+ * we do not pay the process start-up for every file.
  *
  * Because TypeScript is a strict super-set of JavaScript, this frontend can also be used to parse
  * JavaScript. However, this is not properly tested. Furthermore, the official TypeScript parser
@@ -68,11 +68,12 @@ class TypeScriptLanguageFrontend(
 
     private var currentFileContent: String? = null
 
-    private val mapper = jacksonObjectMapper()
-
     companion object {
         private val parserFile: File = createTempFile("parser", "")
 
+        /** The long-lived parser processes, shared by all frontend instances. */
+        private val parserPool by lazy { TypeScriptParserPool(parserFile) }
+
         init {
             val arch = System.getProperty("os.arch").replace("amd64", "x86_64")
             val os: String =
@@ -111,9 +112,7 @@ class TypeScriptLanguageFrontend(
             throw TranslationException("parser not found @ ${parserFile.absolutePath}")
         }
 
-        val p = Runtime.getRuntime().exec(arrayOf(parserFile.absolutePath, file.absolutePath))
-
-        val node = mapper.readValue(p.inputStream, TypeScriptNode::class.java)
+        val node = parserPool.parse(file, config.typeScriptParsers)
 
         val translationUnit = this.declarationHandler.handle(node) as TranslationUnit
 
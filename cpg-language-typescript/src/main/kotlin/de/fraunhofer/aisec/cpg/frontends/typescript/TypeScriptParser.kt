@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2026, Fraunhofer AISEC. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *                    $$$$$$\  $$$$$$$\   $$$$$$\
+ *                   $$  __$$\ $$  __$$\ $$  __$$\
+ *                   $$ /  \__|$$ |  $$ |$$ /  \__|
+ *                   $$ |      $$$$$$$  |$$ |$$$$\
+ *                   $$ |      $$  ____/ $$ |\_$$ |
+ *                   $$ |  $$\ $$ |      $$ |  $$ |
+ *                   \$$$$$   |$$ |      \$$$$$   |
+ *                    \______/ \__|       \______/
+ *
+ */
+package de.fraunhofer.aisec.cpg.frontends.typescript
+
+import com.fasterxml.jackson.core.JsonFactory
+import com.fasterxml.jackson.core.JsonParser
+import com.fasterxml.jackson.core.JsonToken
+import de.fraunhofer.aisec.cpg.TranslationConfiguration
+import de.fraunhofer.aisec.cpg.frontends.TranslationException
+import java.io.BufferedInputStream
+import java.io.BufferedOutputStream
+import java.io.ByteArrayOutputStream
+import java.io.File
+import java.io.IOException
+import java.io.InputStream
+import java.util.concurrent.LinkedBlockingQueue
+
+/**
+ * A pool of long-lived parser processes. Instead of spawning the parser binary once per file, each
+ * process is started in daemon mode and serves parse requests over stdin/stdout. Requests and
+ * responses are framed as `<byte length>\n<payload>`, where the request payload is the path of the
+ * file and the response payload is the AST as JSON (or an object with an `error` field).
+ *
+ * The number of processes is limited by [TranslationConfiguration.typeScriptParsers]. Processes are
+ * started lazily and re-started if they die.
+ */
+internal class TypeScriptParserPool(private val parserFile: File) {
+
+    /** All workers that were created so far, guarded by `this`. */
+    private val workers = mutableListOf<ParserWorker>()
+
+    /** The workers that are currently not in use. */
+    private val idleWorkers = LinkedBlockingQueue<ParserWorker>()
+
+    private val factory = JsonFactory()
+
+    init {
+        Runtime.getRuntime()
+            .addShutdownHook(Thread { synchronized(this) { workers.forEach { it.close() } } })
+    }
+
+    /**
+     * Parses [file] with one of the pooled parser processes. If all processes are busy and there
+     * are already [maxParsers] of them, this waits for one to become free.
+     */
+    fun parse(file: File, maxParsers: Int): TypeScriptNode {
+        val worker = acquire(maxParsers)
+        try {
+            return worker.parse(file)
+        } finally {
+            idleWorkers.put(worker)
+        }
+    }
+
+    /**
+     * Returns an idle worker, or a new one if there are fewer than [maxParsers] workers. Otherwise,
+     * this waits for a worker to become idle.
+     */
+    private fun acquire(maxParsers: Int): ParserWorker {
+        synchronized(this) {
+            idleWorkers.poll()?.let {
+                return it
+            }
+
+            if (workers.size < maxParsers) {
+                return ParserWorker().also { workers += it }
+            }
+        }
+
+        return idleWorkers.take()
+    }
+
+    private inner class ParserWorker : AutoCloseable {
+        private var process: Process? = null
+        private lateinit var input: InputStream
+        private lateinit var output: BufferedOutputStream
+
+        fun parse(file: File): TypeScriptNode {
+            val process = this.process?.takeIf { it.isAlive } ?: start()
+
+            try {
+                val request = file.absolutePath.toByteArray()
+                output.write("${request.size}\n".toByteArray())
+                output.write(request)
+                output.flush()
+
+                val frame = FrameInputStream(input, readLength())
+                try {
+                    return factory.createParser(frame).use { it.readTypeScriptNode() }
+                } finally {
+                    // Make sure we are positioned at the start of the next frame, even if the
+                    // parser reported an error
+                    frame.skip(Long.MAX_VALUE)
+                }
+            } catch (e: IOException) {
+                // The stream is in an unknown state, so we start a fresh process next time
+                process.destroy()
+                this.process = null
+
+                throw TranslationException("could not parse ${file.absolutePath}: ${e.message}")
+            }
+        }
+
+        private fun start(): Process {
+            val process =
+                ProcessBuilder(parserFile.absolutePath, "--daemon")
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start()
+            input = BufferedInputStream(process.inputStream)
+            output = BufferedOutputStream(process.outputStream)
+            this.process = process
+
+            return process
+        }
+
+        /** Reads the `<byte length>\n` header of a response frame. */
+        private fun readLength(): Long {
+            val header = ByteArrayOutputStream()
+            while (true) {
+                val b = input.read()
+                when (b) {
+                    -1 -> throw IOException("parser process terminated unexpectedly")
+                    '\n'.code -> break
+                    else -> header.write(b)
+                }
+            }
+
+            return header.toString().trim().toLongOrNull()
+                ?: throw IOException("invalid frame header '$header'")
+        }
+
+        override fun close() {
+            process?.destroy()
+            process = null
+        }
+    }
+}
+
+/** An [InputStream] that reads exactly one frame of [length] bytes from [input]. */
+private class FrameInputStream(private val input: InputStream, private var length: Long) :
+    InputStream() {
+    override fun read(): Int {
+        if (length <= 0) {
+            return -1
+        }
+
+        val b = input.read()
+        if (b == -1) {
+            throw IOException("parser process terminated unexpectedly")
+        }
+        length--
+
+        return b
+    }
+
+    override fun read(b: ByteArray, off: Int, len: Int): Int {
+        if (length <= 0) {
+            return -1
+        }
+
+        val read = input.read(b, off, minOf(len.toLong(), length).toInt())
+        if (read == -1) {
+            throw IOException("parser process terminated unexpectedly")
+        }
+        length -= read
+
+        return read
+    }
+
+    override fun skip(n: Long): Long {
+        var skipped = 0L
+        while (skipped < n && read() != -1) {
+            skipped++
+        }
+
+        return skipped
+    }
+}
+
+/**
+ * Builds a [TypeScriptNode] directly from the token stream, without an intermediate JSON tree or
+ * reflective data binding.
+ */
+internal fun JsonParser.readTypeScriptNode(): TypeScriptNode {
+    if (currentToken() != JsonToken.START_OBJECT && nextToken() != JsonToken.START_OBJECT) {
+        throw IOException("expected an AST node, got ${currentToken()}")
+    }
+
+    var type = ""
+    var children: MutableList<TypeScriptNode>? = null
+    var location = Location("", 0, 0)
+    var code: String? = null
+
+    while (nextToken() == JsonToken.FIELD_NAME) {
+        val field = currentName()
+        nextToken()
+
+        when (field) {
+            "type" -> type = text
+            "code" -> code = valueAsString
+            "children" -> {
+                children = mutableListOf()
+                while (nextToken() == JsonToken.START_OBJECT) {
+                    children += readTypeScriptNode()
+                }
+            }
+            "location" -> location = readLocation()
+            "error" -> throw TranslationException("parser error: $text")
+            else -> skipChildren()
+        }
+    }
+
+    return TypeScriptNode(type, children, location, code)
+}
+
+private fun JsonParser.readLocation(): Location {
+    val location = Location("", 0, 0)
+
+    while (nextToken() == JsonToken.FIELD_NAME) {
+        val field = currentName()
+        nextToken()
+
+        when (field) {
+            "file" -> location.file = text
+            "pos" -> location.pos = intValue
+            "end" -> location.end = intValue
+            else -> skipChildren()
+        }
+    }
+
+    return location
+}
@@ -1,61 +1,107 @@
-import { SyntaxKind, SourceFile, Node, createProgram, forEachChild } from 'typescript';
+import { SyntaxKind, SourceFile, Node, ScriptTarget, createSourceFile, forEachChild } from 'typescript';
 import * as path from 'node:path';
 
-const file = path.normalize(process.argv[2]);
+/*
+ * The parser can be invoked in two ways:
+ *
+ * - `parser <file>` parses a single file and prints its AST as JSON on stdout.
+ * - `parser --daemon` keeps running and serves parse requests on stdin. Each request and each
+ *   response is framed as `<byte length>\n<payload>`. The request payload is the path of the file
+ *   to parse, the response payload is either the AST as JSON or `{"error": "<message>"}`. The
+ *   daemon exits once stdin is closed.
+ */
+if (process.argv[2] == "--daemon") {
+    await serve();
+} else {
+    console.log(parse(path.normalize(process.argv[2])));
+}
 
-const program = createProgram([file], {
-    allowJs: true,
-});
+function parse(file: string): string {
+    // We only ever dump the requested file, so we do not need to create a whole program (which
+    // also loads all library definitions) but can directly parse the source file
+    const sf = createSourceFile(file, Deno.readTextFileSync(file), ScriptTarget.Latest, true);
 
-var sources = program.getSourceFiles()
-let indent = 0;
+    const output: string[] = [];
+    printTree(sf, sf, JSON.stringify(file), output);
 
-sources.filter(sf => sf.fileName.endsWith(file)).forEach(sf => {
-    console.log(printTree(sf, sf, false));
-})
+    return output.join("");
+}
 
-function printTree(sf: SourceFile, node: Node, needsComma: boolean): string {
-    var output = " ".repeat(indent) + `{ "type": "${SyntaxKind[node.kind]}"`
+async function serve() {
+    const encoder = new TextEncoder();
+    const decoder = new TextDecoder();
+    const reader = Deno.stdin.readable.getReader();
 
-    //output += `, "code": "${node.getText(sf).replace(/"/g, "\\\"").replace(/\n/g, "\\n")}"`
-    output += `, "code": ${JSON.stringify(node.getText(sf))}`
+    let buffer = new Uint8Array(0);
 
-    indent++;
+    // Reads from stdin until the buffer holds at least the given number of bytes
+    async function fill(size: number): Promise<boolean> {
+        while (buffer.length < size) {
+            const { value, done } = await reader.read();
+            if (done) {
+                return false;
+            }
 
-    // need to use forEachChild, otherwise, we will get additional syntax nodes, that we do not want
-    var numChildren = 0;
-    forEachChild(node, x => {
-        numChildren++;
-    })
-
-    if (numChildren == 1) {
-        output += `, "children": [`;
-        forEachChild(node, x => {
-            output += printTree(sf, x, false);
-        });
-        output += "]";
-    } else if (numChildren > 0) {
-        output += `, "children": [\n`;
-
-        var i = 0;
-        forEachChild(node, x => {
-            //console.log(`${i} == ${numChildren}`)
-            output += printTree(sf, x, i < numChildren - 1)
-            i++;
-        });
-
-        output += " ".repeat(indent - 1) + "\n]";
-    }
+            const next = new Uint8Array(buffer.length + value.length);
+            next.set(buffer);
+            next.set(value, buffer.length);
+            buffer = next;
+        }
 
-    output += `, "location": {"file": "${file}", "pos": ${node.pos}, "end": ${node.end}}`;
+        return true;
+    }
 
-    output += " }";
+    while (true) {
+        let newline = buffer.indexOf(10);
+        while (newline == -1) {
+            if (!await fill(buffer.length + 1)) {
+                return;
+            }
+            newline = buffer.indexOf(10);
+        }
+
+        const length = parseInt(decoder.decode(buffer.subarray(0, newline)));
+        if (!await fill(newline + 1 + length)) {
+            return;
+        }
+
+        const file = path.normalize(decoder.decode(buffer.subarray(newline + 1, newline + 1 + length)));
+        buffer = buffer.slice(newline + 1 + length);
+
+        let response: Uint8Array;
+        try {
+            response = encoder.encode(parse(file));
+        } catch (e) {
+            response = encoder.encode(JSON.stringify({ error: `${e}` }));
+        }
+
+        await writeAll(encoder.encode(`${response.length}\n`));
+        await writeAll(response);
+    }
+}
 
-    if (needsComma) {
-        output += ",\n"
+async function writeAll(data: Uint8Array) {
+    let written = 0;
+    while (written < data.length) {
+        written += await Deno.stdout.write(data.subarray(written));
     }
+}
+
+function printTree(sf: SourceFile, node: Node, file: string, output: string[]) {
+    output.push(`{"type": "${SyntaxKind[node.kind]}"`);
+    output.push(`, "code": ${JSON.stringify(node.getText(sf))}`);
+
+    // need to use forEachChild, otherwise, we will get additional syntax nodes, that we do not want
+    let numChildren = 0;
+    forEachChild(node, x => {
+        output.push(numChildren == 0 ? `, "children": [` : ", ");
+        printTree(sf, x, file, output);
+        numChildren++;
+    });
 
-    indent--;
+    if (numChildren > 0) {
+        output.push("]");
+    }
 
-    return output
+    output.push(`, "location": {"file": ${file}, "pos": ${node.pos}, "end": ${node.end}}}`);
 }
@@ -25,6 +25,8 @@
  */
 package de.fraunhofer.aisec.cpg.frontends.typescript
 
+import com.fasterxml.jackson.core.JsonFactory
+import de.fraunhofer.aisec.cpg.frontends.TranslationException
 import de.fraunhofer.aisec.cpg.graph.*
 import de.fraunhofer.aisec.cpg.graph.declarations.Function
 import de.fraunhofer.aisec.cpg.graph.expressions.Call
@@ -413,4 +415,52 @@ class TypeScriptLanguageFrontendTest {
         assertNotNull(function)
         assertEquals("Comment on a Function", function.comment)
     }
+
+    @Test
+    fun testParallelParsing() {
+        val topLevel = Path.of("src", "test", "resources", "typescript")
+        val files =
+            listOf("component.tsx", "decorator.ts", "fetch.ts", "function.js", "function.ts")
+                .map { topLevel.resolve(it).toFile() }
+
+        val sequential =
+            analyze(files, topLevel, false) {
+                it.registerLanguage<TypeScriptLanguage>()
+                it.useParallelFrontends(false)
+            }
+        // The parser processes are re-used across both runs and all files
+        val parallel =
+            analyze(files, topLevel, false) {
+                it.registerLanguage<TypeScriptLanguage>()
+                it.useParallelFrontends(true)
+            }
+
+        assertEquals(files.size, parallel.translationUnits.size)
+        assertEquals(
+            sequential.translationUnits.associate { it.name.toString() to it.nodes.size },
+            parallel.translationUnits.associate { it.name.toString() to it.nodes.size },
+            "Expected the same translation units when parsing in parallel",
+        )
+    }
+
+    @Test
+    fun testReadTypeScriptNode() {
+        val json =
+            """{"type": "SourceFile", "code": "let a = 1", "children": [""" +
+                """{"type": "EndOfFileToken", "code": "", "location": """ +
+                """{"file": "a.ts", "pos": 9, "end": 9}}], "location": """ +
+                """{"file": "a.ts", "pos": 0, "end": 9}}"""
+
+        val node = JsonFactory().createParser(json).use { it.readTypeScriptNode() }
+        assertEquals("SourceFile", node.type)
+        assertEquals("let a = 1", node.code)
+        assertEquals(9, node.location.end)
+        assertEquals(listOf("EndOfFileToken"), node.children?.map { it.type })
+
+        assertFailsWith<TranslationException> {
+            JsonFactory().createParser("""{"error": "not found"}""").use {
+                it.readTypeScriptNode()
+            }
+        }
+    }
 }
@@ -30,15 +30,21 @@ import de.fraunhofer.aisec.cpg.TranslationResult
 import de.fraunhofer.aisec.cpg.graph.*
 import de.fraunhofer.aisec.cpg.graph.concepts.Concept
 import de.fraunhofer.aisec.cpg.graph.concepts.Operation
+import de.fraunhofer.aisec.cpg.graph.expressions.Block
 import de.fraunhofer.aisec.cpg.graph.expressions.Literal
+import de.fraunhofer.aisec.cpg.persistence.connectDriver
+import de.fraunhofer.aisec.cpg.persistence.exportNeo4jCsv
 import de.fraunhofer.aisec.cpg.persistence.pushToNeo4j
+import de.fraunhofer.aisec.cpg.persistence.pushToNeo4jStreaming
 import de.fraunhofer.aisec.cpg_vis_neo4j.Application
 import java.math.BigInteger
 import java.nio.file.Paths
+import kotlin.io.path.createTempDirectory
 import kotlin.test.Test
 import kotlin.test.assertEquals
 import kotlin.test.assertIs
 import kotlin.test.assertNotNull
+import kotlin.test.assertTrue
 import picocli.CommandLine
 
 fun createTranslationResult(file: String = "client.cpp"): Pair<Application, TranslationResult> {
@@ -121,4 +127,109 @@ class Neo4JTest {
 
         result.pushToNeo4j()
     }
+
+    @Test
+    fun testPushStreaming() {
+        val (_, result) = createTranslationResult()
+        val (literal, _) = result.addEqualLiterals()
+
+        result.pushToNeo4jStreaming(parallelism = 2)
+
+        // Resuming a completed export should not fail (and not write anything twice)
+        result.pushToNeo4jStreaming(resume = true, parallelism = 2)
+
+        connectDriver().use { driver ->
+            driver.session().use { session ->
+                val params = mapOf("id" to literal.id.toString())
+
+                // Both literals are persisted as distinct nodes, each with its own AST edge
+                val nodes =
+                    session
+                        .run("MATCH (n:Literal {id: \$id}) RETURN count(n) AS count", params)
+                        .single()["count"]
+                        .asInt()
+                assertEquals(2, nodes)
+
+                val edges =
+                    session
+                        .run(
+                            "MATCH (:Block)-[r:STATEMENTS]->(n:Literal {id: \$id}) " +
+                                "RETURN count(DISTINCT n) AS count",
+                            params,
+                        )
+                        .single()["count"]
+                        .asInt()
+                assertEquals(2, edges)
+            }
+        }
+    }
+
+    @Test
+    fun testExportCsv() {
+        val (_, result) = createTranslationResult()
+
+        val directory = createTempDirectory("cpg-csv").toFile()
+        val arguments = result.exportNeo4jCsv(directory)
+        assertTrue(arguments.exists())
+
+        val lines = arguments.readLines()
+        assertTrue(lines.any { it.startsWith("--nodes=") })
+        assertTrue(lines.any { it.startsWith("--relationships=") })
+
+        val functionHeader =
+            directory.resolve("nodes").listFiles()?.singleOrNull {
+                it.name.endsWith(".Function.header.csv")
+            }
+        assertNotNull(functionHeader)
+        assertTrue(functionHeader.readText().startsWith("exportId:ID,:LABEL"))
+
+        directory.deleteRecursively()
+    }
+
+    @Test
+    fun testExportCsvEqualNodes() {
+        val (_, result) = createTranslationResult()
+        val (literal, _) = result.addEqualLiterals()
+
+        val directory = createTempDirectory("cpg-csv").toFile()
+        val arguments = result.exportNeo4jCsv(directory)
+        assertTrue(arguments.readLines().none { it.startsWith("--skip-duplicate-nodes") })
+
+        // All node rows have a distinct export ID, even though the two literals share their ID
+        val ids =
+            directory
+                .resolve("nodes")
+                .listFiles { file -> !file.name.endsWith(".header.csv") }
+                ?.flatMap { file -> file.readLines().map { it.substringBefore(",") } }
+        assertNotNull(ids)
+        assertEquals(ids.size, ids.toSet().size)
+
+        val literals =
+            directory.resolve("nodes").listFiles()?.single {
+                it.name == "${Literal::class.java.name}.csv"
+            }
+        assertNotNull(literals)
+        assertEquals(2, literals.readLines().count { literal.id.toString() in it })
+
+        directory.deleteRecursively()
+    }
+
+    /**
+     * Adds two distinct literals to the same block, which look equal and therefore have the same
+     * [Node.id].
+     */
+    private fun TranslationResult.addEqualLiterals(): Pair<Literal<Int>, Literal<Int>> {
+        val block = functions.firstNotNullOf { it.body as? Block }
+        val (first, second) =
+            List(2) {
+                Literal<Int>().also { literal ->
+                    literal.value = 1
+                    literal.name = Name("1")
+                    block.statementEdges += literal
+                }
+            }
+        assertEquals(first.id, second.id)
+
+        return first to second
+    }
 }
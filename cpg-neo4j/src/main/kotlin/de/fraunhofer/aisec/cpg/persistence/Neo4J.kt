@@ -31,6 +31,7 @@ import de.fraunhofer.aisec.cpg.graph.Persistable
 import de.fraunhofer.aisec.cpg.graph.nodes
 import de.fraunhofer.aisec.cpg.helpers.Benchmark
 import java.net.ConnectException
+import org.neo4j.driver.Driver
 import org.neo4j.driver.GraphDatabase
 import org.neo4j.driver.Session
 import org.slf4j.LoggerFactory
@@ -203,17 +204,38 @@ private fun Collection<Relationship>.persistNeo4j() {
  *   keys such as `startId`, `endId`, and `type`. The `startId` and `endId` identify the nodes to
  *   connect, while `type` defines the type of the relationship. Additional properties for the
  *   relationship can also be included in the map.
+ * @param progressKey If set, the key is recorded as an export progress marker within the same
+ *   transaction (see [pushToNeo4jStreaming]).
+ * @param exportToken If set, the nodes are matched on their [EXPORT_ID] (contained in the keys
+ *   `startKey` and `endKey`) and the given [EXPORT_TOKEN] instead of their ID.
  */
-private fun Session.createRelationships(props: List<Relationship>) {
+internal fun Session.createRelationships(
+    props: List<Relationship>,
+    progressKey: String? = null,
+    exportToken: String? = null,
+) {
     val b = Benchmark(Persistable::class.java, "Persisting chunk of ${props.size} relationships")
-    val params = mapOf("props" to props)
+    val params = mapOf("props" to props, "token" to exportToken)
+    val match =
+        if (exportToken != null) {
+            $$"""
+            MATCH (s:Node {$$EXPORT_ID: map.startKey, $$EXPORT_TOKEN: $token})
+            MATCH (e:Node {$$EXPORT_ID: map.endKey, $$EXPORT_TOKEN: $token})
+            """
+        } else {
+            """
+            MATCH (s:Node {id: map.startId})
+            MATCH (e:Node {id: map.endId})
+            """
+        }
     executeWrite { tx ->
         tx.run(
                 $$"""
             UNWIND $props AS map
-            MATCH (s:Node {id: map.startId})
-            MATCH (e:Node {id: map.endId})
-            WITH s, e, map, apoc.map.removeKeys(map, ['startId', 'endId', 'type']) AS properties
+            $$match
+            WITH s, e, map,
+                apoc.map.removeKeys(map, ['startId', 'endId', 'startKey', 'endKey', 'type'])
+                AS properties
             CALL apoc.create.relationship(s, map.type, properties, e) YIELD rel
             RETURN rel
             """
@@ -221,6 +243,7 @@ private fun Session.createRelationships(props: List<Relationship>) {
                 params,
             )
             .consume()
+        progressKey?.let { tx.recordProgress(it) }
     }
     b.stop()
 }
@@ -241,11 +264,28 @@ fun connect(
     neo4jUsername: String = Neo4jConnectionDefaults.USERNAME,
     neo4jPassword: String = Neo4jConnectionDefaults.PASSWORD,
 ): Session {
+    return connectDriver(protocol, host, port, neo4jUsername, neo4jPassword).session()
+}
+
+/**
+ * Creates a [Driver] for the neo4j db. In contrast to [connect], this allows to open multiple
+ * sessions, e.g., to write from several threads in parallel.
+ *
+ * @throws ConnectException, if there is no connection to bolt://localhost:7687 possible
+ */
+@Throws(ConnectException::class)
+fun connectDriver(
+    protocol: String = Neo4jConnectionDefaults.PROTOCOL,
+    host: String = Neo4jConnectionDefaults.HOST,
+    port: Int = Neo4jConnectionDefaults.PORT,
+    neo4jUsername: String = Neo4jConnectionDefaults.USERNAME,
+    neo4jPassword: String = Neo4jConnectionDefaults.PASSWORD,
+): Driver {
     val driver =
         GraphDatabase.driver(
             "$protocol$host:$port",
             org.neo4j.driver.AuthTokens.basic(neo4jUsername, neo4jPassword),
         )
     driver.verifyConnectivity()
-    return driver.session()
+    return driver
 }
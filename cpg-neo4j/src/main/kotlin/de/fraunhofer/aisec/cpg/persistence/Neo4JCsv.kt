@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2026, Fraunhofer AISEC. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *                    $$$$$$\  $$$$$$$\   $$$$$$\
+ *                   $$  __$$\ $$  __$$\ $$  __$$\
+ *                   $$ /  \__|$$ |  $$ |$$ /  \__|
+ *                   $$ |      $$$$$$$  |$$ |$$$$\
+ *                   $$ |      $$  ____/ $$ |\_$$ |
+ *                   $$ |  $$\ $$ |      $$ |  $$ |
+ *                   \$$$$$   |$$ |      \$$$$$   |
+ *                    \______/ \__|       \______/
+ *
+ */
+package de.fraunhofer.aisec.cpg.persistence
+
+import de.fraunhofer.aisec.cpg.TranslationResult
+import de.fraunhofer.aisec.cpg.graph.Node
+import de.fraunhofer.aisec.cpg.graph.Persistable
+import de.fraunhofer.aisec.cpg.helpers.Benchmark
+import java.io.File
+import java.io.Writer
+import kotlin.reflect.KClass
+
+/** The delimiter used for array values (and multiple labels) in the CSV files. */
+private const val ARRAY_DELIMITER = ";"
+
+/** The value type of a column in a CSV file of `neo4j-admin import`. */
+private enum class CsvType(val neo4jType: String) {
+    STRING("string"),
+    LONG("long"),
+    DOUBLE("double"),
+    BOOLEAN("boolean"),
+}
+
+private data class CsvColumn(val type: CsvType, val array: Boolean) {
+    fun header(name: String) = "$name:${type.neo4jType}${if (array) "[]" else ""}"
+
+    fun merge(other: CsvColumn): CsvColumn {
+        return CsvColumn(if (type == other.type) type else CsvType.STRING, array || other.array)
+    }
+}
+
+/**
+ * The columns of a single CSV file. Since the properties of nodes of the same class (or
+ * relationships of the same type) can differ, e.g., because of `null` values, the columns are
+ * collected from all rows before anything is written.
+ */
+private class CsvSchema(val fixedColumns: List<String>) {
+    val columns = linkedMapOf<String, CsvColumn>()
+
+    fun add(properties: Map<String, Any?>) {
+        for ((name, value) in properties) {
+            val column = csvColumnOf(value) ?: continue
+            columns[name] = columns[name]?.merge(column) ?: column
+        }
+    }
+
+    fun header() = (fixedColumns + columns.map { (name, column) -> column.header(name) })
+
+    fun row(fixedValues: List<Any?>, properties: Map<String, Any?>): List<Any?> {
+        return fixedValues + columns.keys.map { properties[it] }
+    }
+}
+
+/**
+ * Exports the current [TranslationResult] as CSV files for the offline bulk import of
+ * `neo4j-admin`, which is considerably faster than [pushToNeo4j] for large graphs.
+ *
+ * The graph is traversed twice in [ExportUnit]s (see [ExportPlan]): first, to collect the columns
+ * of each file, then to write the rows. Nodes are written into one file per node class and
+ * relationships into one file per relationship type, each with a separate header file. Besides
+ * these, an argument file `import.args` is created in [directory], which can be passed to the
+ * import tool, e.g., `neo4j-admin database import full @import.args neo4j`.
+ *
+ * Since [Node.id] is not unique, the nodes are identified by a unique [EXPORT_ID] (see
+ * [ExportPlan.keyOf]) in the files, so that distinct nodes that look equal are not merged.
+ *
+ * @return the argument file for `neo4j-admin`
+ */
+fun TranslationResult.exportNeo4jCsv(directory: File): File {
+    val b = Benchmark(Persistable::class.java, "Exporting translation result as CSV")
+
+    val nodeSchemas = linkedMapOf<KClass<out Node>, CsvSchema>()
+    val relationshipSchemas = linkedMapOf<String, CsvSchema>()
+
+    val plan = ExportPlan(this)
+    fun visit(units: List<ExportUnit>, action: (Node) -> Unit) {
+        units.forEach { unit -> unit.nodes().forEach(action) }
+    }
+
+    // First pass: collect the columns (and the shared nodes)
+    val collect = { node: Node ->
+        nodeSchemas
+            .getOrPut(node::class) { CsvSchema(listOf("$EXPORT_ID:ID", ":LABEL")) }
+            .add(node.properties())
+        for (relationship in node.relationships()) {
+            relationshipSchemas
+                .getOrPut(relationship["type"] as String) {
+                    CsvSchema(listOf(":START_ID", ":END_ID", ":TYPE"))
+                }
+                .add(relationship - RELATIONSHIP_KEYS)
+        }
+    }
+    plan.astUnits.forEach { unit ->
+        val nodes = unit.nodes()
+        plan.assignKeys(unit, nodes)
+        nodes.forEach(collect)
+        plan.collectShared(nodes)
+    }
+    val sharedUnits = plan.sharedUnits()
+    sharedUnits.forEach { unit ->
+        val nodes = unit.nodes()
+        plan.assignKeys(unit, nodes)
+        nodes.forEach(collect)
+    }
+
+    // Second pass: write the rows
+    val nodesDirectory = directory.resolve("nodes").apply { mkdirs() }
+    val relationshipsDirectory = directory.resolve("relationships").apply { mkdirs() }
+    val nodeFiles = nodeSchemas.keys.associateWith { nodesDirectory.resolve("${it.java.name}.csv") }
+    val relationshipFiles =
+        relationshipSchemas.keys.associateWith { relationshipsDirectory.resolve("$it.csv") }
+    val writers =
+        (nodeFiles.values + relationshipFiles.values).associateWith { it.bufferedWriter() }
+
+    try {
+        visit(plan.astUnits + sharedUnits) { node ->
+            val schema = nodeSchemas.getValue(node::class)
+            writers
+                .getValue(nodeFiles.getValue(node::class))
+                .writeCsvRow(
+                    schema.row(listOf(plan.keyOf(node), node::class.labels), node.properties())
+                )
+
+            for (relationship in node.relationships(plan::keyOf)) {
+                val type = relationship["type"] as String
+                writers
+                    .getValue(relationshipFiles.getValue(type))
+                    .writeCsvRow(
+                        relationshipSchemas
+                            .getValue(type)
+                            .row(
+                                listOf(relationship["startKey"], relationship["endKey"], type),
+                                relationship,
+                            )
+                    )
+            }
+        }
+    } finally {
+        writers.values.forEach { it.close() }
+    }
+
+    val arguments = mutableListOf("--multiline-fields=true", "--id-type=integer")
+    for ((cls, file) in nodeFiles) {
+        val header = file.resolveSibling("${cls.java.name}.header.csv")
+        header.bufferedWriter().use { it.writeCsvRow(nodeSchemas.getValue(cls).header()) }
+        arguments += "--nodes=${header.absolutePath},${file.absolutePath}"
+    }
+    for ((type, file) in relationshipFiles) {
+        val header = file.resolveSibling("$type.header.csv")
+        header.bufferedWriter().use { it.writeCsvRow(relationshipSchemas.getValue(type).header()) }
+        arguments += "--relationships=${header.absolutePath},${file.absolutePath}"
+    }
+
+    val argumentFile = directory.resolve("import.args")
+    argumentFile.writeText(arguments.joinToString("\n", postfix = "\n"))
+
+    log.info(
+        "Exported {} node files and {} relationship files to {}",
+        nodeFiles.size,
+        relationshipFiles.size,
+        directory,
+    )
+    b.stop()
+
+    return argumentFile
+}
+
+/** The keys of a relationship map that are not stored as properties of the relationship. */
+private val RELATIONSHIP_KEYS = setOf("startId", "endId", "startKey", "endKey", "type")
+
+/** Determines the column type for the given [value] or `null`, if no type can be derived. */
+private fun csvColumnOf(value: Any?): CsvColumn? {
+    val elements =
+        when (value) {
+            null -> return null
+            is Collection<*> -> value
+            is Array<*> -> value.asList()
+            else -> return CsvColumn(csvTypeOf(value), false)
+        }
+
+    val types = elements.filterNotNull().map(::csvTypeOf).toSet()
+    return when {
+        types.isEmpty() -> null
+        types.size == 1 -> CsvColumn(types.single(), true)
+        else -> CsvColumn(CsvType.STRING, true)
+    }
+}
+
+private fun csvTypeOf(value: Any): CsvType {
+    return when (value) {
+        is Byte,
+        is Short,
+        is Int,
+        is Long -> CsvType.LONG
+        is Float,
+        is Double -> CsvType.DOUBLE
+        is Boolean -> CsvType.BOOLEAN
+        else -> CsvType.STRING
+    }
+}
+
+/** Writes a single row. `null` values are written as empty cells, which are treated as absent. */
+private fun Writer.writeCsvRow(values: List<Any?>) {
+    values.forEachIndexed { i, value ->
+        if (i > 0) write(",")
+        when (value) {
+            null -> {}
+            is Collection<*> -> writeCsvCell(value.joinToString(ARRAY_DELIMITER))
+            is Array<*> -> writeCsvCell(value.joinToString(ARRAY_DELIMITER))
+            is Number,
+            is Boolean -> write(value.toString())
+            else -> writeCsvCell(value.toString())
+        }
+    }
+    write("\n")
+}
+
+private fun Writer.writeCsvCell(value: String) {
+    write("\"")
+    write(value.replace("\"", "\"\""))
+    write("\"")
+}
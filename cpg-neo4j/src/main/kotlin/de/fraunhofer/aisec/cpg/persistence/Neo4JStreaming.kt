@@ -0,0 +1,397 @@
+/*
+ * Copyright (c) 2026, Fraunhofer AISEC. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *                    $$$$$$\  $$$$$$$\   $$$$$$\
+ *                   $$  __$$\ $$  __$$\ $$  __$$\
+ *                   $$ /  \__|$$ |  $$ |$$ /  \__|
+ *                   $$ |      $$$$$$$  |$$ |$$$$\
+ *                   $$ |      $$  ____/ $$ |\_$$ |
+ *                   $$ |  $$\ $$ |      $$ |  $$ |
+ *                   \$$$$$   |$$ |      \$$$$$   |
+ *                    \______/ \__|       \______/
+ *
+ */
+package de.fraunhofer.aisec.cpg.persistence
+
+import de.fraunhofer.aisec.cpg.TranslationResult
+import de.fraunhofer.aisec.cpg.graph.Node
+import de.fraunhofer.aisec.cpg.graph.Persistable
+import de.fraunhofer.aisec.cpg.graph.declarations.TranslationUnit
+import de.fraunhofer.aisec.cpg.helpers.Benchmark
+import de.fraunhofer.aisec.cpg.helpers.ConcurrentIdentitySet
+import de.fraunhofer.aisec.cpg.helpers.SubgraphWalker
+import de.fraunhofer.aisec.cpg.helpers.toIdentitySet
+import java.net.ConnectException
+import java.util.Collections
+import java.util.IdentityHashMap
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import kotlin.uuid.Uuid
+import org.neo4j.driver.Driver
+import org.neo4j.driver.Session
+import org.neo4j.driver.TransactionContext
+
+/** The label of the nodes that record which batches of a streaming export are already committed. */
+const val EXPORT_PROGRESS_LABEL = "ExportProgress"
+
+/** The key of the progress node that records the [EXPORT_TOKEN] of a streaming export. */
+private const val EXPORT_TOKEN_KEY = "token"
+
+/**
+ * The property that contains the unique key of a node within an export (see [ExportPlan.keyOf]).
+ * In contrast to [Node.id], which is derived from the hash code, two distinct nodes never share
+ * the same key.
+ */
+const val EXPORT_ID = "exportId"
+
+/** The property that identifies the streaming export a node was written by. */
+const val EXPORT_TOKEN = "exportToken"
+
+/**
+ * A unit of work of a streaming export, i.e., the AST of a single [TranslationUnit], the nodes
+ * above the translation units or a chunk of nodes that are shared between units (such as types or
+ * scopes). The nodes of a unit are only collected when [nodes] is called, so that only the units
+ * currently being exported are held in memory.
+ *
+ * The [ordinal] and the [key] must be stable across translations of the same code, since they are
+ * used for the keys of the nodes and to record the export progress.
+ */
+internal class ExportUnit(
+    val ordinal: Int,
+    val key: String,
+    private val collect: () -> List<Node>,
+) {
+    fun nodes(): List<Node> = collect()
+}
+
+/**
+ * Partitions the nodes of a [TranslationResult] into [ExportUnit]s. The AST nodes are partitioned
+ * by their translation unit (see [astUnits]). All other nodes that are reachable via relationships
+ * (see [connectedNodes]) are collected with [collectShared] while the AST units are processed and
+ * are afterward available as [sharedUnits].
+ */
+internal class ExportPlan(private val result: TranslationResult) {
+    private val translationUnits =
+        result.components.flatMap { it.translationUnits }.toIdentitySet()
+
+    private val shared = ConcurrentIdentitySet<Node>()
+
+    /** The keys of all nodes of the units that were visited so far (see [assignKeys]). */
+    private val keys = Collections.synchronizedMap(IdentityHashMap<Node, Long>())
+
+    val astUnits: List<ExportUnit> = buildList {
+        add(ExportUnit(0, "result") { SubgraphWalker.flattenAST(result) { it is TranslationUnit } })
+        for (tu in translationUnits) {
+            add(ExportUnit(size, tu.id.toString()) { SubgraphWalker.flattenAST(tu) })
+        }
+    }
+
+    /**
+     * Assigns a key to each of the [nodes] of the [unit], which is derived from the ordinal of the
+     * unit and the position of the node within the unit. In contrast to [Node.id], the key is
+     * unique within the export and, as long as the same code is exported, also stable.
+     */
+    fun assignKeys(unit: ExportUnit, nodes: List<Node>) {
+        nodes.forEachIndexed { i, node ->
+            keys.putIfAbsent(node, (unit.ordinal.toLong() shl 32) or i.toLong())
+        }
+    }
+
+    /** Returns the key of the [node], if the unit of the node was already visited. */
+    fun keyOf(node: Node): Long? {
+        return keys[node]
+    }
+
+    /** Remembers all nodes connected to [nodes] that are not part of any of the [astUnits]. */
+    fun collectShared(nodes: List<Node>) {
+        for (node in nodes) {
+            node.connectedNodes.filterTo(shared) { !isOwned(it) }
+        }
+    }
+
+    /**
+     * Computes the transitive closure of the shared nodes and returns them in chunks of
+     * [nodeChunkSize]. The chunks are ordered by node ID, so that their keys are stable. This must
+     * only be called after [collectShared] was called for all [astUnits].
+     */
+    fun sharedUnits(): List<ExportUnit> {
+        val worklist = ArrayDeque<Node>(shared)
+        while (worklist.isNotEmpty()) {
+            val node = worklist.removeFirst()
+            for (connected in node.connectedNodes) {
+                if (!isOwned(connected) && shared.add(connected)) {
+                    worklist += connected
+                }
+            }
+        }
+
+        return shared
+            .map { it.id.toString() to it }
+            .sortedBy { it.first }
+            .map { it.second }
+            .chunked(nodeChunkSize)
+            .mapIndexed { i, chunk -> ExportUnit(astUnits.size + i, "shared-$i") { chunk } }
+    }
+
+    /** Checks, whether [node] is part of the AST of [result] and therefore in one of [astUnits]. */
+    private fun isOwned(node: Node): Boolean {
+        var root: Node = node
+        while (true) {
+            root = root.astParent ?: break
+        }
+
+        return root === result ||
+            result.components.any { it === root } ||
+            (root is TranslationUnit && root in translationUnits)
+    }
+}
+
+/**
+ * Persists the current [TranslationResult] into a Neo4j database, without materializing all nodes
+ * and relationships at once (in contrast to [pushToNeo4j]).
+ *
+ * The graph is split into [ExportUnit]s (mainly one per [TranslationUnit]) that are processed by
+ * [parallelism] workers, each using its own [Session]. First, the nodes of all units are written,
+ * afterward the relationships. Since [Node.id] is not unique, each node is created with a unique
+ * [EXPORT_ID] (see [ExportPlan.keyOf]) and a random [EXPORT_TOKEN] of this export, which are used
+ * to match the nodes of the relationships. This way, distinct nodes that look equal are never
+ * merged, and relationships never end in nodes of a previous export that was not purged.
+ *
+ * Every committed batch is recorded as a node with the label [EXPORT_PROGRESS_LABEL] within the
+ * same transaction. If [resume] is set, the database is not purged, the token of the interrupted
+ * export is used again and all batches that are already recorded are skipped. This requires that
+ * the [TranslationResult] was produced from the same code and configuration, since the batches and
+ * export IDs are derived from the order of the nodes. After a complete export, the progress nodes
+ * of the batches are removed and the export is marked as complete, so that resuming it again does
+ * not write anything.
+ *
+ * @param noPurgeDb A boolean flag indicating whether to skip the database purge step.
+ * @param resume Resume a previously interrupted export instead of starting from scratch.
+ * @param parallelism The number of sessions used to write in parallel.
+ * @param protocol The protocol to use for connecting to the Neo4j database
+ * @param host The host address of the Neo4j database
+ * @param port The port number for the Neo4j database connection
+ * @param neo4jUsername The username for authenticating with the Neo4j database
+ * @param neo4jPassword The password for authenticating with the Neo4j database
+ */
+@Throws(InterruptedException::class, ConnectException::class)
+fun TranslationResult.pushToNeo4jStreaming(
+    noPurgeDb: Boolean = false,
+    resume: Boolean = false,
+    parallelism: Int = Runtime.getRuntime().availableProcessors(),
+    protocol: String = Neo4jConnectionDefaults.PROTOCOL,
+    host: String = Neo4jConnectionDefaults.HOST,
+    port: Int = Neo4jConnectionDefaults.PORT,
+    neo4jUsername: String = Neo4jConnectionDefaults.USERNAME,
+    neo4jPassword: String = Neo4jConnectionDefaults.PASSWORD,
+) {
+    val b = Benchmark(Persistable::class.java, "Streaming translation result to Neo4j")
+    val driver = connectDriver(protocol, host, port, neo4jUsername, neo4jPassword)
+    val pool = Executors.newFixedThreadPool(parallelism)
+
+    try {
+        driver.session().use { session ->
+            if (!noPurgeDb && !resume) {
+                // Deleting everything in a single transaction does not scale to large graphs
+                session
+                    .run(
+                        "MATCH (n) CALL { WITH n DETACH DELETE n } " +
+                            "IN TRANSACTIONS OF $nodeChunkSize ROWS"
+                    )
+                    .consume()
+            }
+
+            // We are matching relationships on the export ID, so we need the index before
+            // writing anything
+            session.executeWrite { tx ->
+                tx.run("CREATE INDEX IF NOT EXISTS FOR (n:Node) ON (n.$EXPORT_ID)").consume()
+            }
+        }
+
+        val completed = if (resume) driver.completedBatches() else setOf()
+        if (completed.isNotEmpty()) {
+            log.info("Resuming export, skipping {} already committed batches", completed.size)
+        }
+        val token = driver.exportToken(resume)
+        if (token == null) {
+            log.info("The previous export is already complete, there is nothing to resume")
+            b.stop()
+            return
+        }
+
+        val plan = ExportPlan(this)
+        log.info("Persisting nodes of {} units", plan.astUnits.size)
+        pool.forEachParallel(plan.astUnits) { unit ->
+            val nodes = unit.nodes()
+            plan.assignKeys(unit, nodes)
+            driver.session().use { it.createNodes(unit, nodes, plan, token, completed) }
+            plan.collectShared(nodes)
+        }
+
+        val sharedUnits = plan.sharedUnits()
+        log.info("Persisting {} chunks of shared nodes", sharedUnits.size)
+        pool.forEachParallel(sharedUnits) { unit ->
+            val nodes = unit.nodes()
+            plan.assignKeys(unit, nodes)
+            driver.session().use { it.createNodes(unit, nodes, plan, token, completed) }
+        }
+
+        log.info("Persisting relationships of {} units", plan.astUnits.size + sharedUnits.size)
+        pool.forEachParallel(plan.astUnits + sharedUnits) { unit ->
+            driver.session().use { session ->
+                unit
+                    .nodes()
+                    .asSequence()
+                    .flatMap { it.relationships(plan::keyOf) }
+                    .chunked(edgeChunkSize)
+                    .forEachIndexed { i, chunk ->
+                        val key = "relationships:${unit.key}:$i"
+                        if (key !in completed) session.createRelationships(chunk, key, token)
+                    }
+            }
+        }
+
+        driver.session().use { session ->
+            session
+                .run(
+                    "MATCH (p:$EXPORT_PROGRESS_LABEL) WHERE p.key <> \$key " +
+                        "CALL { WITH p DELETE p } IN TRANSACTIONS",
+                    mapOf("key" to EXPORT_TOKEN_KEY),
+                )
+                .consume()
+            session.executeWrite { tx ->
+                tx.run(
+                        "MATCH (p:$EXPORT_PROGRESS_LABEL {key: \$key}) SET p.complete = true",
+                        mapOf("key" to EXPORT_TOKEN_KEY),
+                    )
+                    .consume()
+            }
+        }
+    } finally {
+        pool.shutdownNow()
+        driver.close()
+    }
+
+    b.stop()
+}
+
+/**
+ * Creates the [nodes] of the given [unit] in chunks of [nodeChunkSize] in the database, including
+ * their [EXPORT_ID] and the export [token]. Chunks whose key is contained in [completed] are
+ * skipped, so that no node is created twice.
+ */
+private fun Session.createNodes(
+    unit: ExportUnit,
+    nodes: List<Node>,
+    plan: ExportPlan,
+    token: String,
+    completed: Set<String>,
+) {
+    nodes.chunked(nodeChunkSize).forEachIndexed { i, chunk ->
+        val key = "nodes:${unit.key}:$i"
+        if (key in completed) return@forEachIndexed
+
+        val b = Benchmark(Persistable::class.java, "Persisting chunk of ${chunk.size} nodes")
+        val params =
+            mapOf(
+                "props" to
+                    chunk.map {
+                        mapOf("labels" to it::class.labels) +
+                            it.properties() +
+                            mapOf(
+                                "id" to it.id.toString(),
+                                EXPORT_ID to plan.keyOf(it),
+                                EXPORT_TOKEN to token,
+                            )
+                    }
+            )
+        executeWrite { tx ->
+            tx.run(
+                    $$"""
+                   UNWIND $props AS map
+                   WITH map, apoc.map.removeKeys(map, ['labels']) AS properties
+                   CALL apoc.create.node(map.labels, properties) YIELD node
+                   RETURN node
+                   """,
+                    params,
+                )
+                .consume()
+            tx.recordProgress(key)
+        }
+        b.stop()
+    }
+}
+
+/** Records that the batch with the given [key] is committed as part of the current transaction. */
+internal fun TransactionContext.recordProgress(key: String) {
+    run("CREATE (:$EXPORT_PROGRESS_LABEL {key: \$key})", mapOf("key" to key)).consume()
+}
+
+/**
+ * Returns the token of the export. If [resume] is set, the token of the previous (interrupted)
+ * export is returned, if there is one, or null, if the previous export is already complete.
+ * Otherwise, the progress of any previous export is removed and a new token is recorded.
+ */
+private fun Driver.exportToken(resume: Boolean): String? {
+    return session().use { session ->
+        if (resume) {
+            val previous =
+                session.executeRead { tx ->
+                    tx.run(
+                            "MATCH (p:$EXPORT_PROGRESS_LABEL {key: \$key}) " +
+                                "RETURN p.token AS token, p.complete AS complete",
+                            mapOf("key" to EXPORT_TOKEN_KEY),
+                        )
+                        .list { it["token"].asString() to it["complete"].asBoolean(false) }
+                        .firstOrNull()
+                }
+            if (previous != null) {
+                return if (previous.second) null else previous.first
+            }
+        }
+
+        val token = Uuid.random().toString()
+        session.executeWrite { tx ->
+            tx.run("MATCH (p:$EXPORT_PROGRESS_LABEL) DETACH DELETE p").consume()
+            tx.run(
+                    "CREATE (:$EXPORT_PROGRESS_LABEL {key: \$key, token: \$token})",
+                    mapOf("key" to EXPORT_TOKEN_KEY, "token" to token),
+                )
+                .consume()
+        }
+
+        token
+    }
+}
+
+/** Returns the keys of all batches that were committed by a previous (interrupted) export. */
+private fun Driver.completedBatches(): Set<String> {
+    return session().use { session ->
+        session.executeRead { tx ->
+            tx.run("MATCH (p:$EXPORT_PROGRESS_LABEL) RETURN p.key AS key")
+                .list { it["key"].asString() }
+                .toSet()
+        }
+    }
+}
+
+/**
+ * Executes [action] for all [items] using this executor and waits until all of them are finished.
+ * The first failure is re-thrown.
+ */
+internal fun <T> ExecutorService.forEachParallel(items: List<T>, action: (T) -> Unit) {
+    val futures = items.map { item -> submit { action(item) } }
+    futures.forEach { it.get() }
+}
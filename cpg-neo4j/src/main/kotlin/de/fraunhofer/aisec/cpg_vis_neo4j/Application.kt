@@ -30,8 +30,10 @@ import de.fraunhofer.aisec.cpg.frontends.CompilationDatabase.Companion.fromFile
 import de.fraunhofer.aisec.cpg.passes.*
 import de.fraunhofer.aisec.cpg.passes.concepts.file.python.PythonFileConceptPass
 import de.fraunhofer.aisec.cpg.persistence.Neo4jConnectionDefaults
+import de.fraunhofer.aisec.cpg.persistence.exportNeo4jCsv
 import de.fraunhofer.aisec.cpg.persistence.persistJson
 import de.fraunhofer.aisec.cpg.persistence.pushToNeo4j
+import de.fraunhofer.aisec.cpg.persistence.pushToNeo4jStreaming
 import de.fraunhofer.aisec.cpg.project.Project
 import java.io.File
 import java.net.ConnectException
@@ -213,6 +215,36 @@ class Application : Callable<Int> {
     )
     private var noPurgeDb: Boolean = false
 
+    @CommandLine.Option(
+        names = ["--streaming-push"],
+        description =
+            [
+                "Push the cpg in batches from several parallel sessions without materializing all nodes and relationships first"
+            ],
+    )
+    private var streamingPush: Boolean = false
+
+    @CommandLine.Option(
+        names = ["--push-threads"],
+        description = ["The number of parallel sessions used by --streaming-push"],
+    )
+    private var pushThreads: Int = Runtime.getRuntime().availableProcessors()
+
+    @CommandLine.Option(
+        names = ["--resume-push"],
+        description =
+            [
+                "Resume an interrupted --streaming-push of the same code instead of purging the database"
+            ],
+    )
+    private var resumePush: Boolean = false
+
+    @CommandLine.Option(
+        names = ["--export-neo4j-csv"],
+        description = ["Export cpg as CSV files for neo4j-admin import into the given directory"],
+    )
+    private var exportNeo4jCsvDirectory: File? = null
+
     @CommandLine.Option(
         names = ["--infer-nodes"],
         description = ["Create inferred nodes for missing declarations"],
@@ -434,7 +466,18 @@ class Application : Callable<Int> {
         )
 
         exportJsonFile?.let { translationResult.persistJson(it) }
-        if (!noNeo4j) {
+        exportNeo4jCsvDirectory?.let { translationResult.exportNeo4jCsv(it) }
+        if (!noNeo4j && (streamingPush || resumePush)) {
+            translationResult.pushToNeo4jStreaming(
+                noPurgeDb = noPurgeDb,
+                resume = resumePush,
+                parallelism = pushThreads,
+                host = host,
+                port = port,
+                neo4jUsername = neo4jUsername,
+                neo4jPassword = neo4jPassword,
+            )
+        } else if (!noNeo4j) {
             translationResult.pushToNeo4j(
                 noPurgeDb = noPurgeDb,
                 host = host,
@@ -11,6 +11,7 @@ include(":cpg-analysis")
 include(":cpg-neo4j")
 include(":cpg-concepts")
 include(":cpg-serialization")
+include(":cpg-benchmarks")
 
 include(":codyze")
 include(":codyze-core")